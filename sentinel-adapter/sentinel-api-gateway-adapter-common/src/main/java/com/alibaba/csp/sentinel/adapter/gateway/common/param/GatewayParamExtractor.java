@@ -0,0 +1,153 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.gateway.common.param;
+
+import java.util.regex.Pattern;
+
+import com.alibaba.csp.sentinel.adapter.gateway.common.SentinelGatewayConstants;
+import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayFlowRule;
+import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayParamFlowItem;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.StringUtil;
+
+/**
+ * <p>Compiled extractor of the parameter of a gateway flow rule, which is built once when the rules are loaded.</p>
+ * <p>
+ * The parse strategy, the field name (e.g. header, cookie or URL parameter name), the match strategy and
+ * the compiled regex pattern of the parameter item are resolved in advance, so that parsing a request
+ * only reads the request item and matches it.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public final class GatewayParamExtractor {
+
+    private static final String HOST_HEADER = "Host";
+
+    private final GatewayFlowRule rule;
+    private final int index;
+    private final int parseStrategy;
+    private final String fieldName;
+    private final String pattern;
+    private final int matchStrategy;
+    private final Pattern regex;
+
+    private GatewayParamExtractor(GatewayFlowRule rule, int index, int parseStrategy, String fieldName,
+                                  String pattern, int matchStrategy, Pattern regex) {
+        this.rule = rule;
+        this.index = index;
+        this.parseStrategy = parseStrategy;
+        this.fieldName = fieldName;
+        this.pattern = pattern;
+        this.matchStrategy = matchStrategy;
+        this.regex = regex;
+    }
+
+    /**
+     * Compile the extractor for the parameter item of a loaded gateway rule. The regex pattern of
+     * the item should have been cached in {@link GatewayRegexCache}.
+     *
+     * @param rule valid gateway rule with parameter item whose index has been applied
+     * @return compiled extractor
+     */
+    public static GatewayParamExtractor compile(/*@Valid*/ GatewayFlowRule rule) {
+        AssertUtil.notNull(rule, "rule cannot be null");
+        GatewayParamFlowItem item = rule.getParamItem();
+        AssertUtil.isTrue(item != null && item.getIndex() != null, "rule should have applied parameter item");
+        String pattern = StringUtil.isEmpty(item.getPattern()) ? null : item.getPattern();
+        Pattern regex = null;
+        if (pattern != null && item.getMatchStrategy() == SentinelGatewayConstants.PARAM_MATCH_STRATEGY_REGEX) {
+            regex = GatewayRegexCache.getRegexPattern(pattern);
+        }
+        String fieldName = item.getParseStrategy() == SentinelGatewayConstants.PARAM_PARSE_STRATEGY_HOST
+            ? HOST_HEADER : item.getFieldName();
+        return new GatewayParamExtractor(rule, item.getIndex(), item.getParseStrategy(), fieldName, pattern,
+            item.getMatchStrategy(), regex);
+    }
+
+    /**
+     * @return the gateway rule of the extractor, which is referred by the rule predicate
+     */
+    public GatewayFlowRule getRule() {
+        return rule;
+    }
+
+    /**
+     * @return index of the parameter in the converted parameter flow rules
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Extract the parameter from the request.
+     *
+     * @param requestItemParser parser of the request items
+     * @param request           valid request
+     * @param <T>               type of the request
+     * @return the parameter value, {@link SentinelGatewayConstants#GATEWAY_NOT_MATCH_PARAM} if not matched,
+     * or null if absent
+     */
+    public <T> String extract(RequestItemParser<T> requestItemParser, T request) {
+        String value;
+        switch (parseStrategy) {
+            case SentinelGatewayConstants.PARAM_PARSE_STRATEGY_CLIENT_IP:
+                value = requestItemParser.getRemoteAddress(request);
+                break;
+            case SentinelGatewayConstants.PARAM_PARSE_STRATEGY_HOST:
+            case SentinelGatewayConstants.PARAM_PARSE_STRATEGY_HEADER:
+                // TODO: what if the header has multiple values?
+                value = requestItemParser.getHeader(request, fieldName);
+                break;
+            case SentinelGatewayConstants.PARAM_PARSE_STRATEGY_URL_PARAM:
+                value = requestItemParser.getUrlParam(request, fieldName);
+                break;
+            case SentinelGatewayConstants.PARAM_PARSE_STRATEGY_COOKIE:
+                value = requestItemParser.getCookieValue(request, fieldName);
+                break;
+            default:
+                return null;
+        }
+        if (pattern == null || value == null) {
+            return value;
+        }
+        // Match value according to regex pattern or exact mode.
+        switch (matchStrategy) {
+            case SentinelGatewayConstants.PARAM_MATCH_STRATEGY_EXACT:
+                return value.equals(pattern) ? value : SentinelGatewayConstants.GATEWAY_NOT_MATCH_PARAM;
+            case SentinelGatewayConstants.PARAM_MATCH_STRATEGY_CONTAINS:
+                return value.contains(pattern) ? value : SentinelGatewayConstants.GATEWAY_NOT_MATCH_PARAM;
+            case SentinelGatewayConstants.PARAM_MATCH_STRATEGY_REGEX:
+                if (regex == null) {
+                    return value;
+                }
+                return regex.matcher(value).matches() ? value : SentinelGatewayConstants.GATEWAY_NOT_MATCH_PARAM;
+            default:
+                return value;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GatewayParamExtractor{" +
+            "index=" + index +
+            ", parseStrategy=" + parseStrategy +
+            ", fieldName='" + fieldName + '\'' +
+            ", pattern='" + pattern + '\'' +
+            ", matchStrategy=" + matchStrategy +
+            '}';
+    }
+}
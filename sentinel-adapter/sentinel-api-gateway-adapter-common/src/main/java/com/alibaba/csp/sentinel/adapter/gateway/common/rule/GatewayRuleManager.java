@@ -16,6 +16,7 @@
 package com.alibaba.csp.sentinel.adapter.gateway.common.rule;
 
 import com.alibaba.csp.sentinel.adapter.gateway.common.SentinelGatewayConstants;
+import com.alibaba.csp.sentinel.adapter.gateway.common.param.GatewayParamExtractor;
 import com.alibaba.csp.sentinel.adapter.gateway.common.param.GatewayRegexCache;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
@@ -45,6 +46,17 @@ public final class GatewayRuleManager {
 
     private static final Map<String, List<ParamFlowRule>> CONVERTED_PARAM_RULE_MAP = new ConcurrentHashMap<>();
 
+    /**
+     * Compiled parameter extractors of the gateway rules with parameter item: (resource, [extractors...])
+     */
+    private static final Map<String, GatewayParamExtractor[]> PARAM_EXTRACTOR_MAP = new ConcurrentHashMap<>();
+    /**
+     * Resources which have gateway rules without parameter item.
+     */
+    private static final Set<String> NON_PARAM_RESOURCE_SET = Collections.newSetFromMap(
+            new ConcurrentHashMap<String, Boolean>());
+    private static final GatewayParamExtractor[] EMPTY_EXTRACTORS = new GatewayParamExtractor[0];
+
     private static final GatewayRulePropertyListener LISTENER = new GatewayRulePropertyListener();
     private static final Set<Integer> FIELD_REQUIRED_SET = new HashSet<>(
             Arrays.asList(SentinelGatewayConstants.PARAM_PARSE_STRATEGY_URL_PARAM,
@@ -100,6 +112,31 @@ public final class GatewayRuleManager {
         return new HashSet<>(set);
     }
 
+    /**
+     * <p>Get the compiled parameter extractors of the rules with parameter item for provided resource.</p>
+     * <p>Note: caller SHOULD NOT modify the array.</p>
+     *
+     * @param resourceName valid resource name
+     * @return compiled parameter extractors, or empty array if absent
+     * @since 1.8.1
+     */
+    public static GatewayParamExtractor[] getParamExtractors(String resourceName) {
+        if (StringUtil.isBlank(resourceName)) {
+            return EMPTY_EXTRACTORS;
+        }
+        GatewayParamExtractor[] extractors = PARAM_EXTRACTOR_MAP.get(resourceName);
+        return extractors == null ? EMPTY_EXTRACTORS : extractors;
+    }
+
+    /**
+     * @param resourceName valid resource name
+     * @return whether the resource has any gateway rule without parameter item
+     * @since 1.8.1
+     */
+    public static boolean hasNonParamRules(String resourceName) {
+        return resourceName != null && NON_PARAM_RESOURCE_SET.contains(resourceName);
+    }
+
     /**
      * <p>Get all converted parameter rules.</p>
      * <p>Note: caller SHOULD NOT modify the list and rules.</p>
@@ -180,6 +217,8 @@ public final class GatewayRuleManager {
             if (conf == null || conf.isEmpty()) {
                 applyToConvertedParamMap(new HashSet<ParamFlowRule>());
                 GATEWAY_RULE_MAP.clear();
+                PARAM_EXTRACTOR_MAP.clear();
+                NON_PARAM_RESOURCE_SET.clear();
                 return;
             }
             Map<String, Set<GatewayFlowRule>> gatewayRuleMap = new ConcurrentHashMap<>();
@@ -234,6 +273,29 @@ public final class GatewayRuleManager {
 
             GATEWAY_RULE_MAP.clear();
             GATEWAY_RULE_MAP.putAll(gatewayRuleMap);
+
+            applyToParamExtractorMap(gatewayRuleMap, noParamMap.keySet());
+        }
+
+        private void applyToParamExtractorMap(Map<String, Set<GatewayFlowRule>> gatewayRuleMap,
+                                              Set<String> nonParamResources) {
+            // Compile the parameter items after the indexes have been applied in rule conversion.
+            Map<String, GatewayParamExtractor[]> extractorMap = new HashMap<>();
+            for (Map.Entry<String, Set<GatewayFlowRule>> e : gatewayRuleMap.entrySet()) {
+                List<GatewayParamExtractor> extractors = new ArrayList<>();
+                for (GatewayFlowRule rule : e.getValue()) {
+                    if (rule.getParamItem() != null) {
+                        extractors.add(GatewayParamExtractor.compile(rule));
+                    }
+                }
+                if (!extractors.isEmpty()) {
+                    extractorMap.put(e.getKey(), extractors.toArray(new GatewayParamExtractor[0]));
+                }
+            }
+            PARAM_EXTRACTOR_MAP.keySet().retainAll(extractorMap.keySet());
+            PARAM_EXTRACTOR_MAP.putAll(extractorMap);
+            NON_PARAM_RESOURCE_SET.retainAll(nonParamResources);
+            NON_PARAM_RESOURCE_SET.addAll(nonParamResources);
         }
 
         private void applyToConvertedParamMap(Set<ParamFlowRule> paramFlowRules) {
@@ -305,6 +305,47 @@ public class GatewayParamParserTest {
             .isEqualTo(SentinelGatewayConstants.GATEWAY_NOT_MATCH_PARAM);
     }
 
+    @Test
+    public void testParseParametersWithCompiledExtractors() {
+        RequestItemParser<Object> itemParser = mock(RequestItemParser.class);
+        GatewayParamParser<Object> paramParser = new GatewayParamParser<>(itemParser);
+        Object request = new Object();
+
+        Set<GatewayFlowRule> rules = new HashSet<>();
+        final String routeId = "my_test_route_compiled";
+        final String cookieName = "myCookie";
+        GatewayFlowRule routeRule1 = new GatewayFlowRule(routeId)
+            .setCount(10)
+            .setIntervalSec(1)
+            .setParamItem(new GatewayParamFlowItem()
+                .setParseStrategy(SentinelGatewayConstants.PARAM_PARSE_STRATEGY_COOKIE)
+                .setFieldName(cookieName)
+                .setPattern("\\w+-\\d+")
+                .setMatchStrategy(SentinelGatewayConstants.PARAM_MATCH_STRATEGY_REGEX)
+            );
+        rules.add(routeRule1);
+        GatewayRuleManager.loadRules(rules);
+
+        GatewayParamExtractor[] extractors = GatewayRuleManager.getParamExtractors(routeId);
+        assertThat(extractors.length).isEqualTo(1);
+        assertThat(extractors[0].getRule()).isSameAs(routeRule1);
+        assertThat(extractors[0].getIndex()).isEqualTo(routeRule1.getParamItem().getIndex());
+        assertThat(GatewayRuleManager.hasNonParamRules(routeId)).isFalse();
+
+        // The regex pattern has been compiled when the rules are loaded.
+        GatewayRegexCache.clear();
+        mockSingleCookie(itemParser, cookieName, "user-42");
+        Object[] params = paramParser.parseParameterFor(routeId, request, routeIdPredicate);
+        assertThat(params).containsExactly("user-42");
+        mockSingleCookie(itemParser, cookieName, "user");
+        params = paramParser.parseParameterFor(routeId, request, routeIdPredicate);
+        assertThat(params).containsExactly(SentinelGatewayConstants.GATEWAY_NOT_MATCH_PARAM);
+
+        GatewayRuleManager.loadRules(new HashSet<GatewayFlowRule>());
+        assertThat(GatewayRuleManager.getParamExtractors(routeId)).isEmpty();
+        assertThat(paramParser.parseParameterFor(routeId, request, routeIdPredicate)).isEmpty();
+    }
+
     private void mockClientHostAddress(/*@Mock*/ RequestItemParser parser, String address) {
         when(parser.getRemoteAddress(any())).thenReturn(address);
     }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.grpc;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.csp.sentinel.slots.block.flow.controller.AsyncPacing;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ServerCall;
+
+/**
+ * A server call which holds the message requests of the call handler until the paced slot arrives,
+ * so that the call will be deferred without blocking any thread.
+ * Note that {@link ServerCall#request(int)} is thread-safe, so the held requests could be forwarded in the
+ * pacing timer thread.
+ *
+ * @since 1.8.1
+ */
+class PacedServerCall<ReqT, RespT> extends ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT> {
+
+    private final AtomicInteger pausedRequests = new AtomicInteger(0);
+    private volatile boolean paused = true;
+
+    PacedServerCall(ServerCall<ReqT, RespT> delegate, long waitMs) {
+        super(delegate);
+        AsyncPacing.schedule(new Runnable() {
+            @Override
+            public void run() {
+                resume();
+            }
+        }, waitMs);
+    }
+
+    @Override
+    public void request(int numMessages) {
+        if (paused) {
+            pausedRequests.addAndGet(numMessages);
+            // Double check as the call may be resumed concurrently.
+            if (paused) {
+                return;
+            }
+            numMessages = pausedRequests.getAndSet(0);
+            if (numMessages == 0) {
+                return;
+            }
+        }
+        super.request(numMessages);
+    }
+
+    private void resume() {
+        paused = false;
+        int numMessages = pausedRequests.getAndSet(0);
+        if (numMessages > 0) {
+            super.request(numMessages);
+        }
+    }
+}
@@ -20,6 +20,7 @@ import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.SphU;
 import com.alibaba.csp.sentinel.Tracer;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.AsyncPacing;
 import io.grpc.ForwardingServerCall;
 import io.grpc.ForwardingServerCallListener;
 import io.grpc.Metadata;
@@ -57,12 +58,21 @@ public class SentinelGrpcServerInterceptor implements ServerInterceptor {
         // Remote address: serverCall.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR);
         Entry entry = null;
         try {
-            entry = SphU.asyncEntry(fullMethodName, EntryType.IN);
+            long waitMs;
+            // Queueing rules should not block the transport thread, so pace the call asynchronously.
+            AsyncPacing.enter();
+            try {
+                entry = SphU.asyncEntry(fullMethodName, EntryType.IN);
+            } finally {
+                waitMs = AsyncPacing.exit();
+            }
             final AtomicReference<Entry> atomicReferenceEntry = new AtomicReference<>(entry);
+            // Messages will not be delivered to the call handler until the reserved slot arrives.
+            ServerCall<ReqT, RespT> pacedCall = waitMs > 0 ? new PacedServerCall<>(call, waitMs) : call;
             // Allow access, forward the call.
             return new ForwardingServerCallListener.SimpleForwardingServerCallListener<ReqT>(
                     next.startCall(
-                            new ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT>(call) {
+                            new ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT>(pacedCall) {
                                 @Override
                                 public void close(Status status, Metadata trailers) {
                                     Entry entry = atomicReferenceEntry.get();
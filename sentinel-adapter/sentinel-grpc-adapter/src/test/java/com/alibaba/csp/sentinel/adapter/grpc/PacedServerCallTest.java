@@ -0,0 +1,52 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.grpc;
+
+import io.grpc.ServerCall;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test cases for {@link PacedServerCall}.
+ */
+public class PacedServerCallTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRequestsHeldUntilResumed() throws Exception {
+        ServerCall<Object, Object> call = mock(ServerCall.class);
+        PacedServerCall<Object, Object> pacedCall = new PacedServerCall<>(call, 200);
+
+        pacedCall.request(1);
+        pacedCall.request(1);
+        TimeUnit.MILLISECONDS.sleep(50);
+        verify(call, never()).request(1);
+        verify(call, never()).request(2);
+
+        // The held requests should be forwarded as a whole after the slot arrives.
+        verify(call, timeout(2000)).request(2);
+
+        // Requests after resumed should be forwarded directly.
+        pacedCall.request(1);
+        verify(call).request(1);
+    }
+}
@@ -16,6 +16,7 @@
 package com.alibaba.csp.sentinel.adapter.reactor;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.reactivestreams.Subscription;
@@ -41,6 +42,19 @@ abstract class InheritableBaseSubscriber<T> implements CoreSubscriber<T>, Subscr
         AtomicReferenceFieldUpdater.newUpdater(InheritableBaseSubscriber.class, Subscription.class,
             "subscription");
 
+    /**
+     * Whether requests from downstream should be held instead of forwarding to upstream.
+     */
+    volatile boolean requestPaused;
+
+    /**
+     * Demand requested from downstream while the requests are paused.
+     */
+    volatile long pausedDemand;
+
+    static final AtomicLongFieldUpdater<InheritableBaseSubscriber> PAUSED_DEMAND =
+        AtomicLongFieldUpdater.newUpdater(InheritableBaseSubscriber.class, "pausedDemand");
+
     /**
      * Return current {@link Subscription}
      *
@@ -201,6 +215,39 @@ abstract class InheritableBaseSubscriber<T> implements CoreSubscriber<T>, Subscr
     @Override
     public final void request(long n) {
         if (Operators.validate(n)) {
+            if (requestPaused) {
+                Operators.addCap(PAUSED_DEMAND, this, n);
+                // Double check as the requests may be resumed concurrently.
+                if (requestPaused) {
+                    return;
+                }
+                n = PAUSED_DEMAND.getAndSet(this, 0);
+                if (n == 0) {
+                    return;
+                }
+            }
+            Subscription s = this.subscription;
+            if (s != null) {
+                s.request(n);
+            }
+        }
+    }
+
+    /**
+     * Hold the requests from downstream until {@link #resumeRequest()} is called,
+     * so that upstream will not emit anything during the pause.
+     */
+    protected final void pauseRequest() {
+        requestPaused = true;
+    }
+
+    /**
+     * Resume the requests from downstream, and forward the demand requested during the pause to upstream.
+     */
+    protected final void resumeRequest() {
+        requestPaused = false;
+        long n = PAUSED_DEMAND.getAndSet(this, 0);
+        if (n > 0) {
             Subscription s = this.subscription;
             if (s != null) {
                 s.request(n);
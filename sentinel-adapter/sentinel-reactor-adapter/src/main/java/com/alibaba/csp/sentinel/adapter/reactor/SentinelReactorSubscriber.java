@@ -23,11 +23,13 @@ import com.alibaba.csp.sentinel.SphU;
 import com.alibaba.csp.sentinel.Tracer;
 import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.AsyncPacing;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.function.Supplier;
 
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.context.Context;
 
 /**
@@ -82,17 +84,52 @@ public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
         }
     }
 
-    private void entryWhenSubscribed() {
+    private com.alibaba.csp.sentinel.context.Context resolveCarrierContext() {
+        Optional<com.alibaba.csp.sentinel.context.Context> upstreamContext = currentContext()
+            .getOrEmpty(SentinelReactorConstants.SENTINEL_CONTEXT_KEY);
+        if (upstreamContext.isPresent()) {
+            return upstreamContext.get();
+        }
+        com.alibaba.csp.sentinel.context.Context context = ContextUtil.getContext();
         ContextConfig sentinelContextConfig = entryConfig.getContextConfig();
-        if (sentinelContextConfig != null) {
+        if (context == null && sentinelContextConfig != null) {
             // If current we're already in a context, the context config won't work.
-            ContextUtil.enter(sentinelContextConfig.getContextName(), sentinelContextConfig.getOrigin());
+            // The context is carried by the subscriber explicitly, so it's not bound to current thread.
+            context = ContextUtil.createContext(sentinelContextConfig.getContextName(),
+                sentinelContextConfig.getOrigin());
         }
-        try {
-            AsyncEntry entry = SphU.asyncEntry(entryConfig.getResourceName(), entryConfig.getResourceType(),
+        return context;
+    }
+
+    private AsyncEntry doEntry() throws BlockException {
+        com.alibaba.csp.sentinel.context.Context context = resolveCarrierContext();
+        if (context != null) {
+            return SphU.asyncEntry(context, entryConfig.getResourceName(), entryConfig.getResourceType(),
                 entryConfig.getEntryType(), entryConfig.getAcquireCount(), entryConfig.getArgs());
-            this.currentEntry = entry;
-            actual.onSubscribe(this);
+        }
+        return SphU.asyncEntry(entryConfig.getResourceName(), entryConfig.getResourceType(),
+            entryConfig.getEntryType(), entryConfig.getAcquireCount(), entryConfig.getArgs());
+    }
+
+    private void entryWhenSubscribed() {
+        try {
+            long waitMs;
+            // Queueing rules should not block the subscribing thread (e.g. event loop), so pace it asynchronously.
+            AsyncPacing.enter();
+            try {
+                this.currentEntry = doEntry();
+            } finally {
+                waitMs = AsyncPacing.exit();
+            }
+            if (waitMs > 0) {
+                // Hold the demand of downstream until the reserved slot arrives.
+                // Then the demand will be forwarded in the parallel scheduler rather than the pacing timer thread.
+                pauseRequest();
+                actual.onSubscribe(this);
+                AsyncPacing.schedule(() -> Schedulers.parallel().schedule(this::resumeRequest), waitMs);
+            } else {
+                actual.onSubscribe(this);
+            }
         } catch (BlockException ex) {
             // Mark as completed (exited) explicitly.
             entryExited.set(true);
@@ -100,17 +137,13 @@ public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
             cancel();
             actual.onSubscribe(this);
             actual.onError(ex);
-        } finally {
-            if (sentinelContextConfig != null) {
-                ContextUtil.exit();
-            }
         }
     }
 
     @Override
     protected void hookOnSubscribe(Subscription subscription) {
-        doWithContextOrCurrent(() -> currentContext().getOrEmpty(SentinelReactorConstants.SENTINEL_CONTEXT_KEY),
-            this::entryWhenSubscribed);
+        // The upstream context (if present) is provided to the entry directly, so no context switching is needed.
+        entryWhenSubscribed();
     }
 
     @Override
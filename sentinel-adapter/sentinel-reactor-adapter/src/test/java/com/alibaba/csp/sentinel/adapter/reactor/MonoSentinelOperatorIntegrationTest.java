@@ -3,12 +3,15 @@ package com.alibaba.csp.sentinel.adapter.reactor;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.node.ClusterNode;
 import com.alibaba.csp.sentinel.node.EntranceNode;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
 import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
@@ -55,6 +58,38 @@ public class MonoSentinelOperatorIntegrationTest {
         FlowRuleManager.loadRules(new ArrayList<>());
     }
 
+    @Test
+    public void testRateLimiterPacingWithoutBlockingSubscriber() throws Exception {
+        String resourceName = createResourceName("testRateLimiterPacingWithoutBlockingSubscriber");
+        FlowRuleManager.loadRules(Collections.singletonList(
+            new FlowRule(resourceName).setCount(5).setMaxQueueingTimeMs(2000)
+                .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER)
+        ));
+        final int count = 3;
+        final CountDownLatch latch = new CountDownLatch(count);
+        final long[] emitTimes = new long[count];
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            final int idx = i;
+            Mono.just(idx)
+                .transform(new SentinelReactorTransformer<>(resourceName))
+                .subscribe(e -> {
+                    emitTimes[idx] = System.currentTimeMillis();
+                    latch.countDown();
+                });
+        }
+        // The subscribing thread should not be blocked by the queueing rule.
+        assertTrue(System.currentTimeMillis() - start < 150);
+        assertTrue(latch.await(3, TimeUnit.SECONDS));
+        // Requests are paced by the interval of 200ms.
+        assertTrue(emitTimes[2] - start >= 350);
+
+        ClusterNode cn = ClusterBuilderSlot.getClusterNode(resourceName);
+        assertNotNull(cn);
+        assertEquals(0, cn.curThreadNum());
+        FlowRuleManager.loadRules(new ArrayList<>());
+    }
+
     @Test
     public void testFluxToMonoNextThenCancelSuccess() {
         String resourceName = createResourceName("testFluxToMonoNextThenCancelSuccess");
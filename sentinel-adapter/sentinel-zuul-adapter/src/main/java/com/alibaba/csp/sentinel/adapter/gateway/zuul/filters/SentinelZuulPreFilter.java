@@ -22,6 +22,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import com.alibaba.csp.sentinel.AsyncEntry;
+import com.alibaba.csp.sentinel.Entry;
 import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.ResourceTypeConstants;
 import com.alibaba.csp.sentinel.SphU;
@@ -36,7 +37,10 @@ import com.alibaba.csp.sentinel.adapter.gateway.zuul.fallback.BlockResponse;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul.fallback.ZuulBlockFallbackManager;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul.fallback.ZuulBlockFallbackProvider;
 import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.slotchain.ResourceHandle;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowException;
+import com.alibaba.csp.sentinel.slots.system.SystemBlockException;
 import com.alibaba.csp.sentinel.util.StringUtil;
 import com.alibaba.csp.sentinel.util.function.Predicate;
 
@@ -88,21 +92,54 @@ public class SentinelZuulPreFilter extends ZuulFilter {
         return true;
     }
 
-    private void doSentinelEntry(String resourceName, final int resType, RequestContext requestContext,
-                                 Deque<EntryHolder> holders) throws BlockException {
-        Object[] params = paramParser.parseParameterFor(resourceName, requestContext,
+    private Object[] parseParameterFor(String resourceName, final int resType, RequestContext requestContext) {
+        return paramParser.parseParameterFor(resourceName, requestContext,
             new Predicate<GatewayFlowRule>() {
                 @Override
                 public boolean test(GatewayFlowRule r) {
                     return r.getResourceMode() == resType;
                 }
             });
+    }
+
+    private void doSentinelEntry(String resourceName, final int resType, RequestContext requestContext,
+                                 Deque<EntryHolder> holders) throws BlockException {
+        Object[] params = parseParameterFor(resourceName, resType, requestContext);
         AsyncEntry entry = SphU.asyncEntry(resourceName, ResourceTypeConstants.COMMON_API_GATEWAY,
                 EntryType.IN, params);
         EntryHolder holder = new EntryHolder(entry, params);
         holders.push(holder);
     }
 
+    private void doSentinelEntries(Set<String> apiNames, RequestContext requestContext,
+                                   Deque<EntryHolder> holders) throws BlockException {
+        ResourceHandle[] resources = new ResourceHandle[apiNames.size()];
+        Object[][] params = new Object[apiNames.size()][];
+        int i = 0;
+        for (String apiName : apiNames) {
+            resources[i] = SphU.resource(apiName, ResourceTypeConstants.COMMON_API_GATEWAY, EntryType.IN);
+            params[i] = parseParameterFor(apiName, RESOURCE_MODE_CUSTOM_API_NAME, requestContext);
+            i++;
+        }
+        // All matching APIs are entered in one batch. If any of them is blocked, the batch will be rolled back.
+        // The params of each API are kept in the composite entry, so they're absent in the holder.
+        Entry entry = SphU.asyncEntryAll(resources, 1, params);
+        holders.push(new EntryHolder(entry, null));
+    }
+
+    private String resolveBlockedResource(BlockException ex, String defaultResource) {
+        if (ex instanceof ParamFlowException) {
+            return ((ParamFlowException)ex).getResourceName();
+        }
+        if (ex instanceof SystemBlockException) {
+            return ((SystemBlockException)ex).getResourceName();
+        }
+        if (ex.getRule() != null && StringUtil.isNotBlank(ex.getRule().getResource())) {
+            return ex.getRule().getResource();
+        }
+        return defaultResource;
+    }
+
     @Override
     public Object run() throws ZuulException {
         RequestContext ctx = RequestContext.getCurrentContext();
@@ -121,11 +158,11 @@ public class SentinelZuulPreFilter extends ZuulFilter {
             if (!matchingApis.isEmpty() && ContextUtil.getContext() == null) {
                 ContextUtil.enter(ZuulConstant.ZUUL_DEFAULT_CONTEXT, origin);
             }
-            for (String apiName : matchingApis) {
-                fallBackRoute = apiName;
-                doSentinelEntry(apiName, RESOURCE_MODE_CUSTOM_API_NAME, ctx, holders);
+            if (!matchingApis.isEmpty()) {
+                doSentinelEntries(matchingApis, ctx, holders);
             }
         } catch (BlockException ex) {
+            fallBackRoute = resolveBlockedResource(ex, fallBackRoute);
             ZuulBlockFallbackProvider zuulBlockFallbackProvider = ZuulBlockFallbackManager.getFallbackProvider(
                 fallBackRoute);
             BlockResponse blockResponse = zuulBlockFallbackProvider.fallbackResponse(fallBackRoute, ex);
@@ -0,0 +1,121 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.ResourceTypeConstants;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for carrying the context through a large amount of concurrent asynchronous tasks.</p>
+ * <p>
+ * Each task enters an async resource in a context, then hops to another thread (like a continuation
+ * resumed on a different carrier thread) to exit the entry. The context is either switched via the
+ * thread-bound holder ({@link ContextUtil#runOnContext(Context, Runnable)}) or carried explicitly
+ * ({@link ContextUtil#createContext(String, String)}).
+ * </p>
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ContextCarrierBenchmark {
+
+    private static final String CONTEXT_NAME = "benchmark-context-carrier";
+    private static final String RESOURCE_NAME = "benchmark-context-carrier-resource";
+
+    @Param({"100000"})
+    private int taskCount;
+
+    @Param({"64"})
+    private int poolSize;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void prepare() {
+        executor = Executors.newFixedThreadPool(poolSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void testThreadBoundContext() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            futures[i] = CompletableFuture.supplyAsync(() -> {
+                ContextUtil.enter(CONTEXT_NAME, "");
+                try {
+                    return SphU.asyncEntry(RESOURCE_NAME, ResourceTypeConstants.COMMON, EntryType.IN, 1, null);
+                } catch (BlockException ex) {
+                    return null;
+                } finally {
+                    ContextUtil.exit();
+                }
+            }, executor).thenAcceptAsync(entry -> {
+                if (entry != null) {
+                    ContextUtil.runOnContext(entry.getAsyncContext(), entry::exit);
+                }
+            }, executor);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    @Benchmark
+    public void testCarrierContext() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            futures[i] = CompletableFuture.supplyAsync(() -> {
+                Context context = ContextUtil.createContext(CONTEXT_NAME, "");
+                try {
+                    return SphU.asyncEntry(context, RESOURCE_NAME, ResourceTypeConstants.COMMON, EntryType.IN, 1,
+                        null);
+                } catch (BlockException ex) {
+                    return null;
+                }
+            }, executor).thenAcceptAsync(entry -> {
+                if (entry != null) {
+                    entry.exit();
+                }
+            }, executor);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.SphO;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for entry/exit with and without the entry pool. Only the entries of {@link SphO} are pooled,
+ * so the benchmark enters through {@link SphO}.</p>
+ * <p>
+ * Run it with {@code -prof gc} and read {@code gc.alloc.rate.norm} as the bytes
+ * allocated per entry.
+ * </p>
+ */
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class EntryPoolBenchmark {
+
+    private static final String RESOURCE_NAME = "benchmark-entry-pool";
+
+    @Param({"false", "true"})
+    private boolean entryPool;
+
+    @Setup
+    public void prepare() {
+        Constants.ENTRY_POOL_ON = entryPool;
+    }
+
+    @TearDown
+    public void tearDown() {
+        Constants.ENTRY_POOL_ON = false;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testEntryInDefaultContext() {
+        if (SphO.entry(RESOURCE_NAME)) {
+            SphO.exit();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testNestedEntriesInContext() {
+        ContextUtil.enter("benchmark-context");
+        try {
+            if (SphO.entry(RESOURCE_NAME)) {
+                try {
+                    if (SphO.entry(RESOURCE_NAME + "-inner")) {
+                        SphO.exit();
+                    }
+                } finally {
+                    SphO.exit();
+                }
+            }
+        } finally {
+            ContextUtil.exit();
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void testEntry4Threads() {
+        testEntryInDefaultContext();
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowChecker;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParameterMetricStorage;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for the accuracy and the memory of the exact (LRU maps) and the sketch mode of
+ * hot parameter flow control, under Zipfian distributed parameter values.</p>
+ * <p>
+ * Each invocation checks one value sampled from {@code keyCount} keys, and the requests of every key
+ * in the current second are recorded. After each iteration, the following are printed:
+ * the average passed QPS of the hottest keys (which should be close to the threshold),
+ * the ratio of the blocked requests whose key didn't exceed the threshold in that second (false blocks),
+ * and the retained heap after GC compared with the heap before the rule was initialized.
+ * The exact mode serves as the reference of the accuracy, as the token buckets aren't aligned to seconds.
+ * </p>
+ */
+@Warmup(iterations = 3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class HotParamSketchBenchmark {
+
+    private static final int HOTTEST_KEY_COUNT = 10;
+
+    @Param({"exact", "sketch"})
+    private String mode;
+
+    @Param({"0.99", "1.2"})
+    private double skew;
+
+    @Param({"1000000"})
+    private int keyCount;
+
+    @Param({"10"})
+    private int threshold;
+
+    private ResourceWrapper resourceWrapper;
+    private ParamFlowRule rule;
+    private double[] cdf;
+    private final Random random = new Random(1);
+
+    private int[] requestsInSecond;
+    private int[] passedInSecond;
+    private long currentSecond;
+    private long hottestPassed;
+    private long seconds;
+    private long blocked;
+    private long falseBlocked;
+    private long baselineHeap;
+
+    @Setup
+    public void prepare() {
+        cdf = new double[keyCount];
+        double sum = 0;
+        for (int i = 0; i < keyCount; i++) {
+            sum += 1 / Math.pow(i + 1, skew);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < keyCount; i++) {
+            cdf[i] /= sum;
+        }
+        requestsInSecond = new int[keyCount];
+        passedInSecond = new int[keyCount];
+
+        baselineHeap = usedHeapAfterGc();
+        resourceWrapper = new StringResourceWrapper("hotParamSketch", EntryType.IN);
+        rule = new ParamFlowRule(resourceWrapper.getName())
+            .setParamIdx(0)
+            .setCount(threshold)
+            .setSketchTopK("sketch".equals(mode) ? 1024 : 0);
+        ParameterMetricStorage.initParamMetricsFor(resourceWrapper, rule);
+    }
+
+    @TearDown
+    public void clear() {
+        ParameterMetricStorage.clearParamMetricForResource(resourceWrapper.getName());
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        Arrays.fill(requestsInSecond, 0);
+        Arrays.fill(passedInSecond, 0);
+        currentSecond = TimeUtil.currentTimeMillis() / 1000;
+        hottestPassed = 0;
+        seconds = 0;
+        blocked = 0;
+        falseBlocked = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void printAccuracy() {
+        long heap = usedHeapAfterGc() - baselineHeap;
+        System.out.printf("%n[%s, skew %.2f] hottest keys passed: %.1f QPS (threshold %d), blocked: %d, "
+                + "false blocked: %d (%.4f%%), retained heap: %.1f MB%n",
+            mode, skew, (double)hottestPassed / Math.max(1, seconds) / HOTTEST_KEY_COUNT, threshold, blocked,
+            falseBlocked, falseBlocked * 100.0 / Math.max(1, blocked), heap / 1024.0 / 1024.0);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean testZipfianCheck() {
+        int key = nextKey();
+        rollSecond();
+        requestsInSecond[key]++;
+        boolean pass = ParamFlowChecker.passCheck(resourceWrapper, rule, 1, key);
+        if (pass) {
+            passedInSecond[key]++;
+        } else {
+            blocked++;
+            if (requestsInSecond[key] <= threshold) {
+                falseBlocked++;
+            }
+        }
+        return pass;
+    }
+
+    private int nextKey() {
+        int idx = Arrays.binarySearch(cdf, random.nextDouble());
+        return idx >= 0 ? idx : Math.min(-idx - 1, keyCount - 1);
+    }
+
+    private void rollSecond() {
+        long second = TimeUtil.currentTimeMillis() / 1000;
+        if (second == currentSecond) {
+            return;
+        }
+        for (int i = 0; i < HOTTEST_KEY_COUNT; i++) {
+            hottestPassed += passedInSecond[i];
+        }
+        seconds++;
+        Arrays.fill(requestsInSecond, 0);
+        Arrays.fill(passedInSecond, 0);
+        currentSecond = second;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
+import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
+import com.alibaba.csp.sentinel.slots.statistic.metric.ArrayMetric;
+import com.alibaba.csp.sentinel.slots.statistic.metric.BucketLeapArray;
+import com.alibaba.csp.sentinel.slots.statistic.metric.occupy.OccupiableBucketLeapArray;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for the {@code LongAdder} based metric bucket (stripes = 0)
+ * and the single-stripe metric bucket (stripes = 1).</p>
+ * <p>
+ * {@code testCreateResourceMetrics} builds the second-level and minute-level metrics
+ * of one resource with all buckets touched. Run it with {@code -prof gc} and read
+ * {@code gc.alloc.rate.norm} as the memory cost per resource.
+ * </p>
+ */
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class MetricBucketBenchmark {
+
+    @Param({"0", "1"})
+    private int bucketStripes;
+
+    private ArrayMetric metric;
+
+    @Setup
+    public void prepare() {
+        metric = new ArrayMetric(2, 1000, true, false, bucketStripes);
+    }
+
+    private void addAndRead() {
+        metric.addPass(1);
+        metric.addRT(2);
+        metric.pass();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Threads(1)
+    public Object testCreateResourceMetrics() {
+        long now = System.currentTimeMillis();
+        LeapArray<MetricBucket> second = new OccupiableBucketLeapArray(2, 1000, false, bucketStripes);
+        for (int i = 0; i < 2; i++) {
+            second.currentWindow(now + i * 500L);
+        }
+        LeapArray<MetricBucket> minute = new BucketLeapArray(60, 60 * 1000, false, bucketStripes);
+        for (int i = 0; i < 60; i++) {
+            minute.currentWindow(now + i * 1000L);
+        }
+        return new Object[] {new ArrayMetric(second), new ArrayMetric(minute)};
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testSingleThread() {
+        addAndRead();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void test4Threads() {
+        addAndRead();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void test16Threads() {
+        addAndRead();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void test64Threads() {
+        addAndRead();
+    }
+}
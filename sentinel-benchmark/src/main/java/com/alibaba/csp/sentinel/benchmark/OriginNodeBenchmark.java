@@ -0,0 +1,150 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.node.StatisticNode;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for origin nodes of {@link ClusterNode}.</p>
+ * <p>
+ * The ramp benchmarks create a new cluster node and add {@code origins} origins to it one by one,
+ * compared with the previous copy-on-write origin map. The lookup benchmarks read origin nodes
+ * by origin name and by interned origin id when all origins are present.
+ * </p>
+ */
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class OriginNodeBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int origins;
+
+    private String[] originNames;
+
+    private ClusterNode clusterNode;
+
+    @Setup
+    public void prepare() {
+        originNames = new String[origins];
+        for (int i = 0; i < origins; i++) {
+            originNames[i] = "tenant-" + i;
+        }
+        clusterNode = new ClusterNode("benchmark-origin-node");
+        for (int i = 0; i < origins; i++) {
+            clusterNode.getOrCreateOriginNode(i, originNames[i]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        int next(int bound) {
+            int i = next;
+            next = i + 1 == bound ? 0 : i + 1;
+            return i;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public Object testRampCopyOnWriteMap() {
+        CopyOnWriteOriginMap map = new CopyOnWriteOriginMap();
+        for (String origin : originNames) {
+            map.getOrCreateOriginNode(origin);
+        }
+        return map;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public Object testRampClusterNode() {
+        ClusterNode node = new ClusterNode("benchmark-ramp");
+        for (int i = 0; i < originNames.length; i++) {
+            node.getOrCreateOriginNode(i, originNames[i]);
+        }
+        return node;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 5)
+    @Threads(4)
+    public Node testLookupByOrigin(Cursor cursor) {
+        return clusterNode.getOrCreateOriginNode(originNames[cursor.next(origins)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 5)
+    @Threads(4)
+    public Node testLookupByOriginId(Cursor cursor) {
+        int i = cursor.next(origins);
+        return clusterNode.getOrCreateOriginNode(i, originNames[i]);
+    }
+
+    /**
+     * The previous origin map of {@link ClusterNode}, which copies the whole map for every new origin.
+     */
+    private static class CopyOnWriteOriginMap {
+
+        private volatile Map<String, StatisticNode> originCountMap = new HashMap<>();
+
+        Node getOrCreateOriginNode(String origin) {
+            StatisticNode statisticNode = originCountMap.get(origin);
+            if (statisticNode == null) {
+                synchronized (this) {
+                    statisticNode = originCountMap.get(origin);
+                    if (statisticNode == null) {
+                        statisticNode = new StatisticNode();
+                        HashMap<String, StatisticNode> newMap = new HashMap<>(originCountMap.size() + 1);
+                        newMap.putAll(originCountMap);
+                        newMap.put(origin, statisticNode);
+                        originCountMap = newMap;
+                    }
+                }
+            }
+            return statisticNode;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowChecker;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRuleUtil;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParameterMetricStorage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for hot parameter checking with collection or array parameters, where every value
+ * of the parameter is checked against the rule. The threshold is large enough so that all checks pass.
+ */
+@Warmup(iterations = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ParamCollectionCheckBenchmark {
+
+    @Param({"list", "set", "array", "longArray"})
+    private String type;
+
+    @Param({"1", "10", "100"})
+    private int size;
+
+    private ResourceWrapper resourceWrapper;
+    private ParamFlowRule rule;
+    private Object[] args;
+
+    @Setup
+    public void prepare() {
+        List<Object> values = new ArrayList<>(size);
+        long[] longValues = new long[size];
+        for (int i = 0; i < size; i++) {
+            values.add((long)i);
+            longValues[i] = i;
+        }
+        Object param;
+        switch (type) {
+            case "set":
+                param = new HashSet<>(values);
+                break;
+            case "array":
+                param = values.toArray();
+                break;
+            case "longArray":
+                param = longValues;
+                break;
+            default:
+                param = values;
+        }
+        args = new Object[] {"foo", param};
+
+        resourceWrapper = new StringResourceWrapper("paramCollectionCheck", EntryType.IN);
+        rule = new ParamFlowRule(resourceWrapper.getName())
+            .setParamIdx(1)
+            .setCount(Integer.MAX_VALUE);
+        ParamFlowRuleUtil.fillExceptionFlowItems(rule);
+        ParameterMetricStorage.initParamMetricsFor(resourceWrapper, rule);
+    }
+
+    @TearDown
+    public void clear() {
+        ParameterMetricStorage.clearParamMetricForResource(resourceWrapper.getName());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean testCollectionCheck() {
+        return ParamFlowChecker.passCheck(resourceWrapper, rule, 1, args);
+    }
+}
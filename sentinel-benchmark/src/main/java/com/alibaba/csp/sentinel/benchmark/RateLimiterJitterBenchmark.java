@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.PreciseRateLimiterController;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.RateLimiterController;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for the pacing jitter of the rate limiter controllers.</p>
+ * <p>
+ * Each invocation acquires one token and records the interval from the previous passed one.
+ * The achieved QPS, the average and the max deviation from the expected interval
+ * are printed after each iteration. The score itself is the average time of each invocation,
+ * which should be close to the expected interval when the pacing works.
+ * </p>
+ */
+@Warmup(iterations = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class RateLimiterJitterBenchmark {
+
+    @Param({"rateLimiter", "preciseRateLimiter"})
+    private String controllerType;
+
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    private int qps;
+
+    private TrafficShapingController controller;
+    private long expectedInterval;
+
+    private long lastPassedTime;
+    private long passed;
+    private long blocked;
+    private long totalDeviation;
+    private long maxDeviation;
+    private long startTime;
+
+    @Setup
+    public void prepare() {
+        if ("preciseRateLimiter".equals(controllerType)) {
+            controller = new PreciseRateLimiterController(1000, qps);
+        } else {
+            controller = new RateLimiterController(1000, qps);
+        }
+        expectedInterval = TimeUnit.SECONDS.toNanos(1) / qps;
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        lastPassedTime = 0;
+        passed = 0;
+        blocked = 0;
+        totalDeviation = 0;
+        maxDeviation = 0;
+        startTime = System.nanoTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printJitter() {
+        long costTime = System.nanoTime() - startTime;
+        long intervals = Math.max(1, passed - 1);
+        System.out.printf("%n[%s, %d QPS] achieved: %.1f QPS, blocked: %d, avg jitter: %.3f us, max jitter: %.3f us%n",
+            controllerType, qps, passed * 1e9 / costTime, blocked, totalDeviation / 1e3 / intervals,
+            maxDeviation / 1e3);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean testPacing() {
+        boolean pass = controller.canPass(null, 1);
+        if (!pass) {
+            blocked++;
+            return false;
+        }
+        long now = System.nanoTime();
+        if (lastPassedTime != 0) {
+            long deviation = Math.abs(now - lastPassedTime - expectedInterval);
+            totalDeviation += deviation;
+            if (deviation > maxDeviation) {
+                maxDeviation = deviation;
+            }
+        }
+        lastPassedTime = now;
+        passed++;
+        return true;
+    }
+}
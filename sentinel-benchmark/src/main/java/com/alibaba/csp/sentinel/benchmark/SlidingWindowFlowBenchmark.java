@@ -0,0 +1,114 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.node.StatisticNode;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.DefaultController;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for the throughput and the overshoot of {@link DefaultController} in the fixed window mode
+ * and the sliding window mode.</p>
+ * <p>
+ * Requests are issued as fast as possible, and the passed ones are recorded in a ring of 1 ms slots,
+ * so the exact pass count in any sliding second can be computed. The max pass count in a sliding second
+ * divided by the threshold (the overshoot ratio) is printed after each iteration.
+ * </p>
+ */
+@Warmup(iterations = 3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class SlidingWindowFlowBenchmark {
+
+    private static final int SLOT_COUNT = 1000;
+
+    @Param({"false", "true"})
+    private boolean slidingWindow;
+
+    @Param({"1000", "100000"})
+    private int threshold;
+
+    private TrafficShapingController controller;
+    private StatisticNode node;
+
+    private final long[] slotCounts = new long[SLOT_COUNT];
+    private long lastPassTime;
+    private long windowCount;
+    private long maxWindowCount;
+
+    @Setup
+    public void prepare() {
+        controller = new DefaultController(threshold, RuleConstant.FLOW_GRADE_QPS, slidingWindow);
+        node = new StatisticNode();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        maxWindowCount = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void printOvershoot() {
+        System.out.printf("%n[slidingWindow=%s, threshold=%d] max pass in sliding second: %d, overshoot ratio: %.3f%n",
+            slidingWindow, threshold, maxWindowCount, (double) maxWindowCount / threshold);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean testCanPass() {
+        if (!controller.canPass(node, 1)) {
+            return false;
+        }
+        node.addPassRequest(1);
+        recordPass(System.currentTimeMillis());
+        return true;
+    }
+
+    private void recordPass(long currentTime) {
+        if (currentTime != lastPassTime) {
+            // Recycle the slots which are out of the sliding second.
+            long start = Math.max(lastPassTime + 1, currentTime - SLOT_COUNT + 1);
+            for (long time = start; time <= currentTime; time++) {
+                int idx = (int) (time % SLOT_COUNT);
+                windowCount -= slotCounts[idx];
+                slotCounts[idx] = 0;
+            }
+            lastPassTime = currentTime;
+        }
+        slotCounts[(int) (currentTime % SLOT_COUNT)]++;
+        windowCount++;
+        if (windowCount > maxWindowCount) {
+            maxWindowCount = windowCount;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for the read cost and accuracy of the clock modes of {@link TimeUtil}.</p>
+ * <p>
+ * The clock mode is resolved once when {@link TimeUtil} is initialized, so each mode should run
+ * in a separate fork (the default behavior of JMH for different params). The max and average
+ * deviation from {@code System.currentTimeMillis()} are printed after each iteration.
+ * </p>
+ */
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TimeUtilBenchmark {
+
+    @Param({"tick", "adaptive", "system", "monotonic"})
+    private String clockMode;
+
+    private long maxDeviation;
+    private long totalDeviation;
+    private long samples;
+
+    @Setup
+    public void prepare() {
+        System.setProperty(SentinelConfig.TIME_CLOCK_MODE, clockMode);
+        if (!clockMode.equals(TimeUtil.clockMode())) {
+            throw new IllegalStateException("Clock mode has been resolved as " + TimeUtil.clockMode()
+                + ", please run the benchmark with forks");
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void printDeviation() {
+        if (samples > 0) {
+            System.out.printf("%n[%s] max deviation: %d ms, avg deviation: %.3f ms%n", clockMode, maxDeviation,
+                (double) totalDeviation / samples);
+        }
+        maxDeviation = 0;
+        totalDeviation = 0;
+        samples = 0;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long testRead() {
+        return TimeUtil.currentTimeMillis();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long testRead4Threads() {
+        return TimeUtil.currentTimeMillis();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long testDeviation() {
+        long time = TimeUtil.currentTimeMillis();
+        long deviation = Math.abs(System.currentTimeMillis() - time);
+        if (deviation > maxDeviation) {
+            maxDeviation = deviation;
+        }
+        totalDeviation += deviation;
+        samples++;
+        return time;
+    }
+}
@@ -19,13 +19,16 @@ import com.alibaba.csp.sentinel.cluster.TokenResultStatus;
 import com.alibaba.csp.sentinel.cluster.TokenResult;
 import com.alibaba.csp.sentinel.cluster.flow.rule.ClusterFlowRuleManager;
 import com.alibaba.csp.sentinel.cluster.flow.statistic.ClusterMetricStatistics;
+import com.alibaba.csp.sentinel.cluster.flow.statistic.ClusterTokenBucketStatistics;
 import com.alibaba.csp.sentinel.cluster.flow.statistic.limit.GlobalRequestLimiter;
 import com.alibaba.csp.sentinel.cluster.server.config.ClusterServerConfigManager;
 import com.alibaba.csp.sentinel.cluster.flow.statistic.data.ClusterFlowEvent;
 import com.alibaba.csp.sentinel.cluster.flow.statistic.metric.ClusterMetric;
 import com.alibaba.csp.sentinel.cluster.server.log.ClusterServerStatLogUtil;
 import com.alibaba.csp.sentinel.slots.block.ClusterRuleConstant;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.TokenBucketController;
 
 /**
  * Flow checker for cluster flow rules.
@@ -64,6 +67,10 @@ final class ClusterFlowChecker {
             return new TokenResult(TokenResultStatus.FAIL);
         }
 
+        if (rule.getControlBehavior() == RuleConstant.CONTROL_BEHAVIOR_TOKEN_BUCKET) {
+            return acquireFromTokenBucket(rule, metric, acquireCount);
+        }
+
         double latestQps = metric.getAvg(ClusterFlowEvent.PASS);
         double globalThreshold = calcGlobalThreshold(rule) * ClusterServerConfigManager.getExceedCount();
         double nextRemaining = globalThreshold - latestQps - acquireCount;
@@ -111,6 +118,31 @@ final class ClusterFlowChecker {
         }
     }
 
+    private static TokenResult acquireFromTokenBucket(/*@Valid*/ FlowRule rule, ClusterMetric metric,
+                                                      int acquireCount) {
+        Long id = rule.getClusterConfig().getFlowId();
+        TokenBucketController bucket = ClusterTokenBucketStatistics.getBucket(id);
+        if (bucket == null) {
+            return new TokenResult(TokenResultStatus.FAIL);
+        }
+        double globalThreshold = calcGlobalThreshold(rule) * ClusterServerConfigManager.getExceedCount();
+        // The burst count scales with the global threshold in the same way as the refill count.
+        double globalBurstCount = rule.getCount() > 0 ? rule.getBurstCount() * globalThreshold / rule.getCount() : 0;
+        double remaining = bucket.tryAcquire(acquireCount, globalThreshold, globalBurstCount);
+        if (remaining >= 0) {
+            metric.add(ClusterFlowEvent.PASS, acquireCount);
+            metric.add(ClusterFlowEvent.PASS_REQUEST, 1);
+            return new TokenResult(TokenResultStatus.OK)
+                .setRemaining((int) remaining)
+                .setWaitInMs(0);
+        }
+        metric.add(ClusterFlowEvent.BLOCK, acquireCount);
+        metric.add(ClusterFlowEvent.BLOCK_REQUEST, 1);
+        ClusterServerStatLogUtil.log("flow|block|" + id, acquireCount);
+        ClusterServerStatLogUtil.log("flow|block_request|" + id, 1);
+        return blockedResult();
+    }
+
     private static TokenResult blockedResult() {
         return new TokenResult(TokenResultStatus.BLOCKED)
             .setRemaining(0)
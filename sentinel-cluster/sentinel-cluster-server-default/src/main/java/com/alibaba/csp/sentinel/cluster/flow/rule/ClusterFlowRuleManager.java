@@ -16,6 +16,7 @@
 package com.alibaba.csp.sentinel.cluster.flow.rule;
 
 import com.alibaba.csp.sentinel.cluster.flow.statistic.ClusterMetricStatistics;
+import com.alibaba.csp.sentinel.cluster.flow.statistic.ClusterTokenBucketStatistics;
 import com.alibaba.csp.sentinel.cluster.flow.statistic.concurrent.CurrentConcurrencyManager;
 import com.alibaba.csp.sentinel.cluster.flow.statistic.metric.ClusterMetric;
 import com.alibaba.csp.sentinel.cluster.server.ServerConstants;
@@ -29,6 +30,7 @@ import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.flow.ClusterFlowConfig;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleUtil;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.TokenBucketController;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.StringUtil;
 import com.alibaba.csp.sentinel.util.function.Function;
@@ -274,6 +276,7 @@ public final class ClusterFlowRuleManager {
             for (Long flowId : flowIdSet) {
                 FLOW_RULES.remove(flowId);
                 FLOW_NAMESPACE_MAP.remove(flowId);
+                ClusterTokenBucketStatistics.removeBucket(flowId);
                 if (CurrentConcurrencyManager.containsFlowId(flowId)) {
                     CurrentConcurrencyManager.remove(flowId);
                 }
@@ -292,6 +295,7 @@ public final class ClusterFlowRuleManager {
                     FLOW_RULES.remove(flowId);
                     FLOW_NAMESPACE_MAP.remove(flowId);
                     ClusterMetricStatistics.removeMetric(flowId);
+                    ClusterTokenBucketStatistics.removeBucket(flowId);
                     if (CurrentConcurrencyManager.containsFlowId(flowId)) {
                         CurrentConcurrencyManager.remove(flowId);
                     }
@@ -360,6 +364,7 @@ public final class ClusterFlowRuleManager {
             // Prepare cluster metric from valid flow ID.
             ClusterMetricStatistics.putMetricIfAbsent(flowId,
                     new ClusterMetric(clusterConfig.getSampleCount(), clusterConfig.getWindowIntervalMs()));
+            applyTokenBucket(flowId, rule);
         }
 
         // Cleanup unused cluster metrics.
@@ -374,6 +379,21 @@ public final class ClusterFlowRuleManager {
         NAMESPACE_FLOW_ID_MAP.put(namespace, flowIdSet);
     }
 
+    private static void applyTokenBucket(Long flowId, /*@Valid*/ FlowRule rule) {
+        if (rule.getControlBehavior() != RuleConstant.CONTROL_BEHAVIOR_TOKEN_BUCKET) {
+            ClusterTokenBucketStatistics.removeBucket(flowId);
+            return;
+        }
+        FlowRule oldRule = FLOW_RULES.get(flowId);
+        // Keep the tokens of the bucket unless the refill duration has been changed.
+        if (ClusterTokenBucketStatistics.getBucket(flowId) == null || oldRule == null
+            || oldRule.getDurationInSec() != rule.getDurationInSec()) {
+            // The bucket will be acquired with the global threshold, so the count here is not used.
+            ClusterTokenBucketStatistics.putBucket(flowId,
+                new TokenBucketController(rule.getCount(), rule.getBurstCount(), rule.getDurationInSec()));
+        }
+    }
+
     private static final class FlowRulePropertyListener implements PropertyListener<List<FlowRule>> {
 
         private final String namespace;
@@ -0,0 +1,51 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.flow.statistic;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.alibaba.csp.sentinel.slots.block.flow.controller.TokenBucketController;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * Token buckets of the cluster flow rules in token bucket behavior.
+ *
+ * @since 1.8.1
+ */
+public final class ClusterTokenBucketStatistics {
+
+    private static final Map<Long, TokenBucketController> BUCKET_MAP = new ConcurrentHashMap<>();
+
+    public static void clear() {
+        BUCKET_MAP.clear();
+    }
+
+    public static void putBucket(long id, TokenBucketController bucket) {
+        AssertUtil.notNull(bucket, "Cluster token bucket cannot be null");
+        BUCKET_MAP.put(id, bucket);
+    }
+
+    public static void removeBucket(long id) {
+        BUCKET_MAP.remove(id);
+    }
+
+    public static TokenBucketController getBucket(long id) {
+        return BUCKET_MAP.get(id);
+    }
+
+    private ClusterTokenBucketStatistics() {}
+}
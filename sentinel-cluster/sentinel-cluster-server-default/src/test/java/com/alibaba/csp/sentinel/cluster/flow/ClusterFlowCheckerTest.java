@@ -15,10 +15,16 @@
  */
 package com.alibaba.csp.sentinel.cluster.flow;
 
+import java.util.ArrayList;
+import java.util.Collections;
+
 import com.alibaba.csp.sentinel.cluster.TokenResult;
+import com.alibaba.csp.sentinel.cluster.flow.rule.ClusterFlowRuleManager;
 import com.alibaba.csp.sentinel.cluster.flow.statistic.ClusterMetricStatistics;
+import com.alibaba.csp.sentinel.cluster.flow.statistic.ClusterTokenBucketStatistics;
 import com.alibaba.csp.sentinel.cluster.flow.statistic.metric.ClusterMetric;
 import com.alibaba.csp.sentinel.slots.block.ClusterRuleConstant;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.flow.ClusterFlowConfig;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
 
@@ -72,6 +78,34 @@ public class ClusterFlowCheckerTest {
         ClusterMetricStatistics.removeMetric(flowId);
     }
 
+    @Test
+    public void testAcquireClusterTokenFromTokenBucket() {
+        String namespace = "token-bucket-test";
+        long flowId = 98766L;
+        FlowRule clusterRule = new FlowRule("def")
+            .setCount(5)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_TOKEN_BUCKET)
+            .setBurstCount(5)
+            .setDurationInSec(60)
+            .setClusterMode(true)
+            .setClusterConfig(new ClusterFlowConfig()
+                .setFlowId(flowId)
+                .setThresholdType(ClusterRuleConstant.FLOW_THRESHOLD_GLOBAL));
+        ClusterFlowRuleManager.registerPropertyIfAbsent(namespace);
+        ClusterFlowRuleManager.loadRules(namespace, Collections.singletonList(clusterRule));
+        try {
+            FlowRule rule = ClusterFlowRuleManager.getFlowRuleById(flowId);
+            for (int i = 0; i < 10; i++) {
+                assertResultPass(tryAcquire(rule, false));
+            }
+            assertResultBlock(tryAcquire(rule, false));
+            assertNotNull(ClusterTokenBucketStatistics.getBucket(flowId));
+        } finally {
+            ClusterFlowRuleManager.loadRules(namespace, new ArrayList<FlowRule>());
+        }
+        assertNull(ClusterTokenBucketStatistics.getBucket(flowId));
+    }
+
     private TokenResult tryAcquire(FlowRule clusterRule, boolean occupy) {
         return ClusterFlowChecker.acquireClusterToken(clusterRule, 1, occupy);
     }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.util.function.BiConsumer;
+
+/**
+ * <p>The entry of a batch of resources acquired in one call (e.g. via {@link SphU#entryAll(String...)}).</p>
+ * <p>
+ * The composite entry represents the innermost (last) resource of the batch, and exiting it
+ * will exit all the entries of the batch in reverse order. The args of each resource provided
+ * on entry will be used when exiting, so the args provided to {@link #exit(int, Object...)} are ignored.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public class CompositeEntry extends Entry {
+
+    private static final Object[] OBJECTS0 = new Object[0];
+
+    private final Entry[] entries;
+    private final Object[][] args;
+
+    private boolean exited = false;
+
+    CompositeEntry(Entry[] entries, Object[][] args) {
+        super(entries[entries.length - 1].getResourceWrapper());
+        this.entries = entries;
+        this.args = args;
+
+        Entry last = entries[entries.length - 1];
+        setCurNode(last.getCurNode());
+        setOriginNode(last.getOriginNode());
+    }
+
+    /**
+     * Get the entries of the batch, in the order of acquisition.
+     *
+     * @return unmodifiable list of the entries
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(Arrays.asList(entries));
+    }
+
+    @Override
+    public void exit(int count, Object... args) throws ErrorEntryFreeException {
+        trueExit(count, args);
+    }
+
+    @Override
+    protected Entry trueExit(int count, Object... args) throws ErrorEntryFreeException {
+        if (exited) {
+            return null;
+        }
+        exited = true;
+        for (int i = entries.length - 1; i >= 0; i--) {
+            entries[i].exit(count, argsOf(i));
+        }
+        return null;
+    }
+
+    private Object[] argsOf(int i) {
+        return args == null || args[i] == null ? OBJECTS0 : args[i];
+    }
+
+    @Override
+    public Node getLastNode() {
+        return entries[0].getLastNode();
+    }
+
+    @Override
+    public void setError(Throwable error) {
+        super.setError(error);
+        for (Entry entry : entries) {
+            entry.setError(error);
+        }
+    }
+
+    /**
+     * The handler will be invoked when the outermost entry (i.e. the whole batch) terminates.
+     */
+    @Override
+    public void whenTerminate(BiConsumer<Context, Entry> handler) {
+        entries[0].whenTerminate(handler);
+    }
+}
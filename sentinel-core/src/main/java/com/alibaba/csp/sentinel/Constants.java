@@ -15,6 +15,7 @@
  */
 package com.alibaba.csp.sentinel;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.node.ClusterNode;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.node.EntranceNode;
@@ -70,6 +71,11 @@ public final class Constants {
      */
     public static volatile boolean ON = true;
 
+    /**
+     * The switch for recycling entries and contexts through thread-local pools (since 1.8.1).
+     */
+    public static volatile boolean ENTRY_POOL_ON = SentinelConfig.entryPoolEnabled();
+
     /**
      * Order of default processor slots
      */
@@ -41,6 +41,15 @@ class CtEntry extends Entry {
     protected Context context;
     protected LinkedList<BiConsumer<Context, Entry>> exitHandlers;
 
+    /**
+     * Whether the entry will be returned to the {@link EntryPool} after exit.
+     */
+    private boolean pooled = false;
+    /**
+     * Whether the entry has exited and been recycled, so it must not be used any more.
+     */
+    private boolean recycled = false;
+
     CtEntry(ResourceWrapper resourceWrapper, ProcessorSlot<Object> chain, Context context) {
         super(resourceWrapper);
         this.chain = chain;
@@ -49,6 +58,29 @@ class CtEntry extends Entry {
         setUpEntryFor(context);
     }
 
+    /**
+     * Reuse the recycled entry for a new invocation.
+     */
+    void reuse(ResourceWrapper resourceWrapper, ProcessorSlot<Object> chain, Context context) {
+        resetFor(resourceWrapper);
+        this.parent = null;
+        this.child = null;
+        this.exitHandlers = null;
+        this.chain = chain;
+        this.context = context;
+        this.recycled = false;
+
+        setUpEntryFor(context);
+    }
+
+    void setPooled(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    boolean isRecycled() {
+        return recycled;
+    }
+
     private void setUpEntryFor(Context context) {
         // The entry should not be associated to NullContext.
         if (context instanceof NullContext) {
@@ -63,6 +95,10 @@ class CtEntry extends Entry {
 
     @Override
     public void exit(int count, Object... args) throws ErrorEntryFreeException {
+        if (recycled) {
+            warnUseAfterExit();
+            return;
+        }
         trueExit(count, args);
     }
 
@@ -124,6 +160,10 @@ class CtEntry extends Entry {
                 }
                 // Clean the reference of context in current entry to avoid duplicate exit.
                 clearEntryContext();
+                if (pooled) {
+                    recycled = true;
+                    EntryPool.release(this);
+                }
             }
         }
     }
@@ -134,6 +174,10 @@ class CtEntry extends Entry {
 
     @Override
     public void whenTerminate(BiConsumer<Context, Entry> handler) {
+        if (recycled) {
+            warnUseAfterExit();
+            return;
+        }
         if (this.exitHandlers == null) {
             this.exitHandlers = new LinkedList<>();
         }
@@ -147,6 +191,11 @@ class CtEntry extends Entry {
         return parent;
     }
 
+    private void warnUseAfterExit() {
+        RecordLog.warn("[CtEntry] Entry is used after it has exited and been recycled, ignored",
+            new IllegalStateException("Entry has been recycled"));
+    }
+
     @Override
     public Node getLastNode() {
         return parent == null ? null : parent.getCurNode();
@@ -16,8 +16,8 @@
 package com.alibaba.csp.sentinel;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.context.Context;
@@ -26,11 +26,14 @@ import com.alibaba.csp.sentinel.context.NullContext;
 import com.alibaba.csp.sentinel.slotchain.MethodResourceWrapper;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlotChain;
+import com.alibaba.csp.sentinel.slotchain.ResourceHandle;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slotchain.SlotChainProvider;
 import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.Rule;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.IndexedTable;
 
 /**
  * {@inheritDoc}
@@ -48,8 +51,13 @@ public class CtSph implements Sph {
      * Same resource({@link ResourceWrapper#equals(Object)}) will share the same
      * {@link ProcessorSlotChain}, no matter in which {@link Context}.
      */
-    private static volatile Map<ResourceWrapper, ProcessorSlotChain> chainMap
-        = new HashMap<ResourceWrapper, ProcessorSlotChain>();
+    private static final Map<ResourceWrapper, ProcessorSlotChain> chainMap
+        = new ConcurrentHashMap<ResourceWrapper, ProcessorSlotChain>();
+
+    /**
+     * Slot chains of {@link ResourceHandle}s indexed by the interned resource id.
+     */
+    private static final IndexedTable<ProcessorSlotChain> chainTable = new IndexedTable<ProcessorSlotChain>();
 
     private static final Object LOCK = new Object();
 
@@ -64,23 +72,33 @@ public class CtSph implements Sph {
     private AsyncEntry asyncEntryWithPriorityInternal(ResourceWrapper resourceWrapper, int count, boolean prioritized,
                                                       Object... args) throws BlockException {
         Context context = ContextUtil.getContext();
+        if (context == null) {
+            // Using default context.
+            context = InternalContextUtil.internalEnter(Constants.CONTEXT_DEFAULT_NAME);
+        }
+        return asyncEntryWithContextInternal(context, resourceWrapper, count, prioritized, args);
+    }
+
+    private AsyncEntry asyncEntryWithContextInternal(Context context, ResourceWrapper resourceWrapper, int count,
+                                                     boolean prioritized, Object... args) throws BlockException {
         if (context instanceof NullContext) {
             // The {@link NullContext} indicates that the amount of context has exceeded the threshold,
             // so here init the entry only. No rule checking will be done.
             return asyncEntryWithNoChain(resourceWrapper, context);
         }
-        if (context == null) {
-            // Using default context.
-            context = InternalContextUtil.internalEnter(Constants.CONTEXT_DEFAULT_NAME);
-        }
 
         // Global switch is turned off, so no rule checking will be done.
         if (!Constants.ON) {
             return asyncEntryWithNoChain(resourceWrapper, context);
         }
 
-        ProcessorSlot<Object> chain = lookProcessChain(resourceWrapper);
+        return asyncEntryWithChain(context, resourceWrapper, lookProcessChain(resourceWrapper), count, prioritized,
+            args);
+    }
 
+    private AsyncEntry asyncEntryWithChain(Context context, ResourceWrapper resourceWrapper,
+                                           ProcessorSlot<Object> chain, int count, boolean prioritized,
+                                           Object... args) throws BlockException {
         // Means processor cache size exceeds {@link Constants.MAX_SLOT_CHAIN_SIZE}, so no rule checking will be done.
         if (chain == null) {
             return asyncEntryWithNoChain(resourceWrapper, context);
@@ -116,34 +134,66 @@ public class CtSph implements Sph {
 
     private Entry entryWithPriority(ResourceWrapper resourceWrapper, int count, boolean prioritized, Object... args)
         throws BlockException {
+        return entryWithPriority(resourceWrapper, count, prioritized, false, args);
+    }
+
+    private Entry entryWithPriority(ResourceWrapper resourceWrapper, int count, boolean prioritized, boolean pooled,
+                                    Object... args) throws BlockException {
         Context context = ContextUtil.getContext();
+        if (context == null) {
+            // Using default context, which could be recycled only if it is entered for the pooled entry.
+            context = pooled ? InternalContextUtil.internalEnterRecyclable(Constants.CONTEXT_DEFAULT_NAME)
+                : InternalContextUtil.internalEnter(Constants.CONTEXT_DEFAULT_NAME);
+        }
+        return entryWithContextInternal(context, resourceWrapper, count, prioritized, pooled, args);
+    }
+
+    /**
+     * Do all rules checking about the resource for the invocation whose entry is never handed out to the caller
+     * (e.g. {@link SphO}), which will be exited through {@link Context#getCurEntry()}. As no one could hold
+     * the entry after it has exited, the entry could be taken from the {@link EntryPool}. So could the default
+     * context entered for the entry.
+     *
+     * @param resourceWrapper resource name
+     * @param count           tokens needed
+     * @param args            arguments of user method call
+     * @throws BlockException if any rule's threshold is exceeded
+     * @since 1.8.1
+     */
+    void entryWithoutHandle(ResourceWrapper resourceWrapper, int count, Object... args) throws BlockException {
+        entryWithPriority(resourceWrapper, count, false, true, args);
+    }
+
+    private Entry entryWithContextInternal(Context context, ResourceWrapper resourceWrapper, int count,
+                                           boolean prioritized, boolean pooled, Object... args)
+        throws BlockException {
         if (context instanceof NullContext) {
             // The {@link NullContext} indicates that the amount of context has exceeded the threshold,
             // so here init the entry only. No rule checking will be done.
             return new CtEntry(resourceWrapper, null, context);
         }
 
-        if (context == null) {
-            // Using default context.
-            context = InternalContextUtil.internalEnter(Constants.CONTEXT_DEFAULT_NAME);
-        }
-
         // Global switch is close, no rule checking will do.
         if (!Constants.ON) {
-            return new CtEntry(resourceWrapper, null, context);
+            return EntryPool.acquire(resourceWrapper, null, context, pooled);
         }
 
-        ProcessorSlot<Object> chain = lookProcessChain(resourceWrapper);
+        return entryWithChain(context, resourceWrapper, lookProcessChain(resourceWrapper), count, prioritized, pooled,
+            args);
+    }
 
+    private Entry entryWithChain(Context context, ResourceWrapper resourceWrapper, ProcessorSlot<Object> chain,
+                                 int count, boolean prioritized, boolean pooled, Object... args)
+        throws BlockException {
         /*
          * Means amount of resources (slot chain) exceeds {@link Constants.MAX_SLOT_CHAIN_SIZE},
          * so no rule checking will be done.
          */
         if (chain == null) {
-            return new CtEntry(resourceWrapper, null, context);
+            return EntryPool.acquire(resourceWrapper, null, context, pooled);
         }
 
-        Entry e = new CtEntry(resourceWrapper, chain, context);
+        Entry e = EntryPool.acquire(resourceWrapper, chain, context, pooled);
         try {
             chain.entry(context, resourceWrapper, null, count, prioritized, args);
         } catch (BlockException e1) {
@@ -156,6 +206,59 @@ public class CtSph implements Sph {
         return e;
     }
 
+    private Entry entryAllInternal(ResourceWrapper[] resources, int count, Object[][] args, boolean async)
+        throws BlockException {
+        AssertUtil.isTrue(resources != null && resources.length > 0, "resources cannot be empty");
+        AssertUtil.isTrue(args == null || args.length == resources.length,
+            "args should be absent or paired with the resources");
+        Context context = ContextUtil.getContext();
+        if (context == null) {
+            // Using default context.
+            context = InternalContextUtil.internalEnter(Constants.CONTEXT_DEFAULT_NAME);
+        }
+
+        // Resolve all the slot chains ahead, so that no rule is checked when the batch could not be built.
+        ProcessorSlot<Object>[] chains = resolveChains(context, resources);
+        Entry[] entries = new Entry[resources.length];
+        for (int i = 0; i < resources.length; i++) {
+            if (context instanceof NullContext) {
+                // Init the entries only, no rule checking will be done.
+                entries[i] = async ? asyncEntryWithNoChain(resources[i], context)
+                    : new CtEntry(resources[i], null, context);
+                continue;
+            }
+            Object[] entryArgs = args == null || args[i] == null ? OBJECTS0 : args[i];
+            try {
+                entries[i] = async ? asyncEntryWithChain(context, resources[i], chains[i], count, false, entryArgs)
+                    : entryWithChain(context, resources[i], chains[i], count, false, false, entryArgs);
+            } catch (BlockException ex) {
+                // Roll back the acquired entries in reverse order, so that no entry of the batch is held.
+                // The rolled back entries revoke their pass rather than record a completed invocation,
+                // while the tokens taken by the flow controllers are not returned.
+                for (int j = i - 1; j >= 0; j--) {
+                    entries[j].setRolledBack(true);
+                    entries[j].exit(count, args == null || args[j] == null ? OBJECTS0 : args[j]);
+                }
+                throw ex;
+            }
+        }
+        return new CompositeEntry(entries, args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProcessorSlot<Object>[] resolveChains(Context context, ResourceWrapper[] resources) {
+        ProcessorSlot<Object>[] chains = new ProcessorSlot[resources.length];
+        // No rule checking will be done for {@link NullContext} or when the global switch is turned off.
+        if (context instanceof NullContext || !Constants.ON) {
+            return chains;
+        }
+        for (int i = 0; i < resources.length; i++) {
+            AssertUtil.notNull(resources[i], "resource cannot be null");
+            chains[i] = lookProcessChain(resources[i]);
+        }
+        return chains;
+    }
+
     /**
      * Do all {@link Rule}s checking about the resource.
      *
@@ -192,6 +295,22 @@ public class CtSph implements Sph {
      * @return {@link ProcessorSlotChain} of the resource
      */
     ProcessorSlot<Object> lookProcessChain(ResourceWrapper resourceWrapper) {
+        if (resourceWrapper instanceof ResourceHandle) {
+            // Pre-resolved resource, so the slot chain could be reached via the interned id.
+            int id = ((ResourceHandle)resourceWrapper).getId();
+            ProcessorSlotChain chain = chainTable.get(id);
+            if (chain == null) {
+                chain = lookProcessChainInMap(resourceWrapper);
+                if (chain != null) {
+                    chainTable.set(id, chain);
+                }
+            }
+            return chain;
+        }
+        return lookProcessChainInMap(resourceWrapper);
+    }
+
+    private ProcessorSlotChain lookProcessChainInMap(ResourceWrapper resourceWrapper) {
         ProcessorSlotChain chain = chainMap.get(resourceWrapper);
         if (chain == null) {
             synchronized (LOCK) {
@@ -203,11 +322,7 @@ public class CtSph implements Sph {
                     }
 
                     chain = SlotChainProvider.newSlotChain();
-                    Map<ResourceWrapper, ProcessorSlotChain> newMap = new HashMap<ResourceWrapper, ProcessorSlotChain>(
-                        chainMap.size() + 1);
-                    newMap.putAll(chainMap);
-                    newMap.put(resourceWrapper, chain);
-                    chainMap = newMap;
+                    chainMap.put(resourceWrapper, chain);
                 }
             }
         }
@@ -231,6 +346,7 @@ public class CtSph implements Sph {
      */
     static void resetChainMap() {
         chainMap.clear();
+        chainTable.clear();
     }
 
     /**
@@ -253,6 +369,10 @@ public class CtSph implements Sph {
         static Context internalEnter(String name, String origin) {
             return trueEnter(name, origin);
         }
+
+        static Context internalEnterRecyclable(String name) {
+            return trueEnter(name, "", true);
+        }
     }
 
     @Override
@@ -315,6 +435,40 @@ public class CtSph implements Sph {
         return entry(resource, count, args);
     }
 
+    @Override
+    public Entry entry(ResourceHandle resource, int count, Object... args) throws BlockException {
+        return entry((ResourceWrapper)resource, count, args);
+    }
+
+    @Override
+    public AsyncEntry asyncEntry(ResourceHandle resource, int count, Object... args) throws BlockException {
+        return asyncEntryInternal(resource, count, args);
+    }
+
+    @Override
+    public Entry entryWithContext(Context context, ResourceWrapper resource, int count, Object... args)
+        throws BlockException {
+        AssertUtil.notNull(context, "context cannot be null");
+        return entryWithContextInternal(context, resource, count, false, false, args);
+    }
+
+    @Override
+    public AsyncEntry asyncEntryWithContext(Context context, ResourceWrapper resource, int count, Object... args)
+        throws BlockException {
+        AssertUtil.notNull(context, "context cannot be null");
+        return asyncEntryWithContextInternal(context, resource, count, false, args);
+    }
+
+    @Override
+    public Entry entryAll(ResourceWrapper[] resources, int count, Object[][] args) throws BlockException {
+        return entryAllInternal(resources, count, args, false);
+    }
+
+    @Override
+    public Entry asyncEntryAll(ResourceWrapper[] resources, int count, Object[][] args) throws BlockException {
+        return entryAllInternal(resources, count, args, true);
+    }
+
     @Override
     public AsyncEntry asyncEntry(String name, EntryType type, int count, Object... args) throws BlockException {
         StringResourceWrapper resource = new StringResourceWrapper(name, type);
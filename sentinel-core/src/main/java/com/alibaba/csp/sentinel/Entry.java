@@ -55,7 +55,7 @@ public abstract class Entry implements AutoCloseable {
 
     private static final Object[] OBJECTS0 = new Object[0];
 
-    private final long createTimestamp;
+    private long createTimestamp;
     private long completeTimestamp;
 
     private Node curNode;
@@ -66,14 +66,36 @@ public abstract class Entry implements AutoCloseable {
 
     private Throwable error;
     private BlockException blockError;
+    /**
+     * Whether the passed entry is rolled back (e.g. as another entry of the same batch is blocked),
+     * so that its pass should be revoked rather than completed on exit.
+     */
+    private boolean rolledBack;
 
-    protected final ResourceWrapper resourceWrapper;
+    protected ResourceWrapper resourceWrapper;
 
     public Entry(ResourceWrapper resourceWrapper) {
         this.resourceWrapper = resourceWrapper;
         this.createTimestamp = TimeUtil.currentTimeMillis();
     }
 
+    /**
+     * Reset the state of this entry, so that it could be reused for a new invocation of given resource.
+     *
+     * @param resourceWrapper the resource of the new invocation
+     * @since 1.8.1
+     */
+    protected void resetFor(ResourceWrapper resourceWrapper) {
+        this.resourceWrapper = resourceWrapper;
+        this.createTimestamp = TimeUtil.currentTimeMillis();
+        this.completeTimestamp = 0;
+        this.curNode = null;
+        this.originNode = null;
+        this.error = null;
+        this.blockError = null;
+        this.rolledBack = false;
+    }
+
     public ResourceWrapper getResourceWrapper() {
         return resourceWrapper;
     }
@@ -157,6 +179,18 @@ public abstract class Entry implements AutoCloseable {
         return this;
     }
 
+    /**
+     * @return whether the entry is rolled back, which means the invocation never happened
+     * @since 1.8.1
+     */
+    public boolean isRolledBack() {
+        return rolledBack;
+    }
+
+    void setRolledBack(boolean rolledBack) {
+        this.rolledBack = rolledBack;
+    }
+
     public Throwable getError() {
         return error;
     }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+
+/**
+ * <p>Thread-local pool of exited {@link CtEntry}s, which is only used when {@link Constants#ENTRY_POOL_ON}
+ * is on.</p>
+ * <p>
+ * An entry is returned to the pool of the thread where it exits, and will be reused by the next
+ * invocation of that thread. So only the entries which are never handed out to user code (e.g. the entries
+ * of {@link SphO}, which are exited through the context) are pooled, as a stale reference to a reused entry
+ * could exit another live invocation.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+final class EntryPool {
+
+    /**
+     * Max amount of pooled entries per thread, which should cover common depth of nested entries.
+     */
+    static final int MAX_POOLED_ENTRIES = 16;
+
+    private static final ThreadLocal<EntryPool> POOL_HOLDER = new ThreadLocal<EntryPool>() {
+        @Override
+        protected EntryPool initialValue() {
+            return new EntryPool();
+        }
+    };
+
+    private final CtEntry[] entries = new CtEntry[MAX_POOLED_ENTRIES];
+    private int size = 0;
+
+    /**
+     * Get an entry for the invocation, from the pool of current thread if possible.
+     *
+     * @param resourceWrapper resource of the invocation
+     * @param chain           slot chain of the resource, may be null
+     * @param context         context of the invocation
+     * @param pooled          whether the entry is never handed out to user code, so that it could be pooled
+     * @return the entry which has been set up in the context
+     */
+    static CtEntry acquire(ResourceWrapper resourceWrapper, ProcessorSlot<Object> chain, Context context,
+                           boolean pooled) {
+        if (!pooled || !Constants.ENTRY_POOL_ON || context.isAsync()) {
+            return new CtEntry(resourceWrapper, chain, context);
+        }
+        EntryPool pool = POOL_HOLDER.get();
+        if (pool.size == 0) {
+            CtEntry entry = new CtEntry(resourceWrapper, chain, context);
+            entry.setPooled(true);
+            return entry;
+        }
+        CtEntry entry = pool.entries[--pool.size];
+        pool.entries[pool.size] = null;
+        entry.reuse(resourceWrapper, chain, context);
+        return entry;
+    }
+
+    /**
+     * Return an exited entry to the pool of current thread.
+     *
+     * @param entry the exited entry
+     */
+    static void release(CtEntry entry) {
+        EntryPool pool = POOL_HOLDER.get();
+        if (pool.size < MAX_POOLED_ENTRIES) {
+            pool.entries[pool.size++] = entry;
+        }
+    }
+
+    private EntryPool() {}
+}
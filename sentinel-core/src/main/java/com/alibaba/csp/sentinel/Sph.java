@@ -17,6 +17,9 @@ package com.alibaba.csp.sentinel;
 
 import java.lang.reflect.Method;
 
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.slotchain.ResourceHandle;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.system.SystemRule;
 
@@ -193,4 +196,85 @@ public interface Sph extends SphResourceTypeSupport {
      */
     Entry entryWithPriority(String name, EntryType trafficType, int batchCount, boolean prioritized, Object... args)
         throws BlockException;
+
+    /**
+     * Create a protected resource with a pre-resolved resource handle.
+     *
+     * @param resource   the pre-resolved resource handle
+     * @param batchCount the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args       args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met
+     * @since 1.8.1
+     */
+    Entry entry(ResourceHandle resource, int batchCount, Object... args) throws BlockException;
+
+    /**
+     * Create a protected asynchronous resource with a pre-resolved resource handle.
+     *
+     * @param resource   the pre-resolved resource handle
+     * @param batchCount the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args       args for parameter flow control or customized slots
+     * @return created asynchronous entry
+     * @throws BlockException if the block criteria is met
+     * @since 1.8.1
+     */
+    AsyncEntry asyncEntry(ResourceHandle resource, int batchCount, Object... args) throws BlockException;
+
+    /**
+     * Create a protected resource within the explicitly provided context. The context will not be
+     * looked up from (or bound to) current thread, so it could be carried along with the invocation
+     * across threads (see {@link com.alibaba.csp.sentinel.context.ContextUtil#createContext(String, String)}).
+     *
+     * @param context    the context of the invocation
+     * @param resource   the resource
+     * @param batchCount the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args       args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met
+     * @since 1.8.1
+     */
+    Entry entryWithContext(Context context, ResourceWrapper resource, int batchCount, Object... args)
+        throws BlockException;
+
+    /**
+     * Create a protected asynchronous resource within the explicitly provided context.
+     *
+     * @param context    the context of the invocation
+     * @param resource   the resource
+     * @param batchCount the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args       args for parameter flow control or customized slots
+     * @return created asynchronous entry
+     * @throws BlockException if the block criteria is met
+     * @since 1.8.1
+     */
+    AsyncEntry asyncEntryWithContext(Context context, ResourceWrapper resource, int batchCount, Object... args)
+        throws BlockException;
+
+    /**
+     * Create a batch of protected resources in one call. Rules of the resources will be checked in order,
+     * and the acquired entries will be rolled back in reverse order if a later one is blocked. The rollback
+     * only revokes the recorded statistics, the tokens taken by flow controllers are not returned.
+     *
+     * @param resources  the resources, in the order of acquisition
+     * @param batchCount the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args       args for parameter flow control or customized slots of each resource, could be null
+     * @return the {@link CompositeEntry} of the batch, which exits all the entries in reverse order
+     * @throws BlockException if the block criteria of any resource is met
+     * @since 1.8.1
+     */
+    Entry entryAll(ResourceWrapper[] resources, int batchCount, Object[][] args) throws BlockException;
+
+    /**
+     * Create a batch of protected asynchronous resources in one call. The acquired entries will be rolled
+     * back in the same way as {@link #entryAll(ResourceWrapper[], int, Object[][])} if a later one is blocked.
+     *
+     * @param resources  the resources, in the order of acquisition
+     * @param batchCount the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args       args for parameter flow control or customized slots of each resource, could be null
+     * @return the {@link CompositeEntry} of the batch, which exits all the async entries in reverse order
+     * @throws BlockException if the block criteria of any resource is met
+     * @since 1.8.1
+     */
+    Entry asyncEntryAll(ResourceWrapper[] resources, int batchCount, Object[][] args) throws BlockException;
 }
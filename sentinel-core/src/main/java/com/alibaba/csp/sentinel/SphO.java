@@ -20,6 +20,9 @@ import java.util.List;
 
 import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.slotchain.MethodResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.Rule;
 import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRuleManager;
@@ -179,7 +182,7 @@ public class SphO {
      */
     public static boolean entry(String name, EntryType trafficType, int batchCount, Object... args) {
         try {
-            Env.sph.entry(name, trafficType, batchCount, args);
+            entryWithoutHandle(new StringResourceWrapper(name, trafficType), batchCount, args);
         } catch (BlockException e) {
             return false;
         } catch (Throwable e) {
@@ -202,7 +205,7 @@ public class SphO {
      */
     public static boolean entry(Method method, EntryType trafficType, int batchCount, Object... args) {
         try {
-            Env.sph.entry(method, trafficType, batchCount, args);
+            entryWithoutHandle(new MethodResourceWrapper(method, trafficType), batchCount, args);
         } catch (BlockException e) {
             return false;
         } catch (Throwable e) {
@@ -212,6 +215,12 @@ public class SphO {
         return true;
     }
 
+    private static void entryWithoutHandle(ResourceWrapper resource, int count, Object... args)
+        throws BlockException {
+        // The entry is exited through the context rather than handed out, so it could be pooled.
+        ((CtSph)Env.sph).entryWithoutHandle(resource, count, args);
+    }
+
     public static void exit(int count, Object... args) {
         ContextUtil.getContext().getCurEntry().exit(count, args);
     }
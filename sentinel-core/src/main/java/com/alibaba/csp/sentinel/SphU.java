@@ -17,9 +17,14 @@ package com.alibaba.csp.sentinel;
 
 import java.lang.reflect.Method;
 
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.slotchain.ResourceHandle;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.Rule;
 import com.alibaba.csp.sentinel.slots.system.SystemRule;
+import com.alibaba.csp.sentinel.util.AssertUtil;
 
 /**
  * <p>The fundamental Sentinel API for recording statistics and performing rule checking for resources.</p>
@@ -365,4 +370,247 @@ public class SphU {
                                         Object[] args) throws BlockException {
         return Env.sph.asyncEntryWithType(name, resourceType, trafficType, batchCount, false, args);
     }
+
+    /**
+     * Get the pre-resolved handle of the given resource. The handle carries an interned id of
+     * the resource, so entries with the handle could skip hashing the resource name.
+     * The handle should be kept and reused by the caller.
+     *
+     * @param name the unique name of the protected resource
+     * @return the pre-resolved handle of the resource
+     * @since 1.8.1
+     */
+    public static ResourceHandle resource(String name) {
+        return ResourceHandle.of(name);
+    }
+
+    /**
+     * Get the pre-resolved handle of the given resource.
+     *
+     * @param name        the unique name of the protected resource
+     * @param trafficType the traffic type (inbound, outbound or internal). This is used
+     *                    to mark whether it can be blocked when the system is unstable,
+     *                    only inbound traffic could be blocked by {@link SystemRule}
+     * @return the pre-resolved handle of the resource
+     * @since 1.8.1
+     */
+    public static ResourceHandle resource(String name, EntryType trafficType) {
+        return ResourceHandle.of(name, trafficType);
+    }
+
+    /**
+     * Get the pre-resolved handle of the given resource.
+     *
+     * @param name         the unique name of the protected resource
+     * @param resourceType classification of the resource (e.g. Web or RPC)
+     * @param trafficType  the traffic type (inbound, outbound or internal). This is used
+     *                     to mark whether it can be blocked when the system is unstable,
+     *                     only inbound traffic could be blocked by {@link SystemRule}
+     * @return the pre-resolved handle of the resource
+     * @since 1.8.1
+     */
+    public static ResourceHandle resource(String name, int resourceType, EntryType trafficType) {
+        return ResourceHandle.of(name, trafficType, resourceType);
+    }
+
+    /**
+     * Record statistics and perform rule checking for the given pre-resolved resource.
+     *
+     * @param resource the pre-resolved resource handle
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     * @since 1.8.1
+     */
+    public static Entry entry(ResourceHandle resource) throws BlockException {
+        return Env.sph.entry(resource, 1, OBJECTS0);
+    }
+
+    /**
+     * Record statistics and perform rule checking for the given pre-resolved resource.
+     *
+     * @param resource   the pre-resolved resource handle
+     * @param batchCount the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args       args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     * @since 1.8.1
+     */
+    public static Entry entry(ResourceHandle resource, int batchCount, Object... args) throws BlockException {
+        return Env.sph.entry(resource, batchCount, args);
+    }
+
+    /**
+     * Record statistics and perform rule checking for the given pre-resolved resource
+     * that indicates an async invocation.
+     *
+     * @param resource   the pre-resolved resource handle
+     * @param batchCount the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args       args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     * @since 1.8.1
+     */
+    public static AsyncEntry asyncEntry(ResourceHandle resource, int batchCount, Object... args)
+        throws BlockException {
+        return Env.sph.asyncEntry(resource, batchCount, args);
+    }
+
+    /**
+     * Record statistics and perform rule checking for the given resource within the explicitly
+     * provided context. The context is not looked up from current thread, so it could be carried
+     * along with the invocation (e.g. in reactive streams or virtual threads) without {@code ThreadLocal}
+     * switching. The carrier context could be created via
+     * {@link com.alibaba.csp.sentinel.context.ContextUtil#createContext(String, String)}.
+     *
+     * @param context     the context of the invocation
+     * @param name        the unique name of the protected resource
+     * @param trafficType the traffic type (inbound, outbound or internal). This is used
+     *                    to mark whether it can be blocked when the system is unstable,
+     *                    only inbound traffic could be blocked by {@link SystemRule}
+     * @param batchCount  the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args        args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     * @since 1.8.1
+     */
+    public static Entry entry(Context context, String name, EntryType trafficType, int batchCount, Object... args)
+        throws BlockException {
+        return Env.sph.entryWithContext(context, new StringResourceWrapper(name, trafficType), batchCount, args);
+    }
+
+    /**
+     * Record statistics and perform rule checking for the given pre-resolved resource within the explicitly
+     * provided context.
+     *
+     * @param context    the context of the invocation
+     * @param resource   the pre-resolved resource handle
+     * @param batchCount the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args       args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     * @since 1.8.1
+     */
+    public static Entry entry(Context context, ResourceHandle resource, int batchCount, Object... args)
+        throws BlockException {
+        return Env.sph.entryWithContext(context, resource, batchCount, args);
+    }
+
+    /**
+     * Record statistics and perform rule checking for the given resource that indicates an async invocation,
+     * within the explicitly provided context.
+     *
+     * @param context      the context of the invocation
+     * @param name         the unique name of the protected resource
+     * @param resourceType classification of the resource (e.g. Web or RPC)
+     * @param trafficType  the traffic type (inbound, outbound or internal). This is used
+     *                     to mark whether it can be blocked when the system is unstable,
+     *                     only inbound traffic could be blocked by {@link SystemRule}
+     * @param batchCount   the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args         args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     * @since 1.8.1
+     */
+    public static AsyncEntry asyncEntry(Context context, String name, int resourceType, EntryType trafficType,
+                                        int batchCount, Object[] args) throws BlockException {
+        return Env.sph.asyncEntryWithContext(context, new StringResourceWrapper(name, trafficType, resourceType),
+            batchCount, args);
+    }
+
+    /**
+     * <p>Record statistics and perform rule checking for a batch of resources in one call.
+     * The context is resolved only once, and the rules of the resources are checked in order.
+     * If any resource is blocked, the acquired entries will be rolled back in reverse order before
+     * the {@link BlockException} is thrown, so no entry of the batch is held by the caller.</p>
+     * <p>Note that the rollback only revokes the statistics recorded on entry (the thread count, and the pass
+     * count which is subtracted from the current window rather than the window that recorded it). The tokens
+     * already taken by the earlier entries are not returned to the flow controllers (e.g. rate limiter,
+     * warm-up rate limiter, token bucket) or the parameter flow counters, and queueing controllers may have
+     * already waited for them.</p>
+     *
+     * <pre>
+     * Entry entry = null;
+     * try {
+     *     entry = SphU.entryAll("route", "apiGroup", "downstream");
+     *     // Do something.
+     * } catch (BlockException ex) {
+     *     // Blocked.
+     * } finally {
+     *     if (entry != null) {
+     *         // All the entries will be exited in reverse order.
+     *         entry.exit();
+     *     }
+     * }
+     * </pre>
+     *
+     * @param names the unique names of the protected resources, in the order of acquisition
+     * @return the {@link CompositeEntry} of the batch
+     * @throws BlockException if the block criteria of any resource is met
+     * @since 1.8.1
+     */
+    public static Entry entryAll(String... names) throws BlockException {
+        return entryAll(EntryType.OUT, names);
+    }
+
+    /**
+     * Record statistics and perform rule checking for a batch of resources in one call.
+     *
+     * @param trafficType the traffic type (inbound, outbound or internal) of the resources
+     * @param names       the unique names of the protected resources, in the order of acquisition
+     * @return the {@link CompositeEntry} of the batch
+     * @throws BlockException if the block criteria of any resource is met
+     * @since 1.8.1
+     */
+    public static Entry entryAll(EntryType trafficType, String... names) throws BlockException {
+        AssertUtil.isTrue(names != null && names.length > 0, "resource names cannot be empty");
+        ResourceWrapper[] resources = new ResourceWrapper[names.length];
+        for (int i = 0; i < names.length; i++) {
+            resources[i] = new StringResourceWrapper(names[i], trafficType);
+        }
+        return Env.sph.entryAll(resources, 1, null);
+    }
+
+    /**
+     * Record statistics and perform rule checking for a batch of pre-resolved resources in one call.
+     *
+     * @param resources the pre-resolved resource handles, in the order of acquisition
+     * @return the {@link CompositeEntry} of the batch
+     * @throws BlockException if the block criteria of any resource is met
+     * @since 1.8.1
+     */
+    public static Entry entryAll(ResourceHandle... resources) throws BlockException {
+        return Env.sph.entryAll(resources, 1, null);
+    }
+
+    /**
+     * Record statistics and perform rule checking for a batch of pre-resolved resources in one call.
+     *
+     * @param resources  the pre-resolved resource handles, in the order of acquisition
+     * @param batchCount the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args       args for parameter flow control or customized slots of each resource, could be null
+     * @return the {@link CompositeEntry} of the batch
+     * @throws BlockException if the block criteria of any resource is met
+     * @since 1.8.1
+     */
+    public static Entry entryAll(ResourceHandle[] resources, int batchCount, Object[][] args)
+        throws BlockException {
+        return Env.sph.entryAll(resources, batchCount, args);
+    }
+
+    /**
+     * Record statistics and perform rule checking for a batch of pre-resolved resources that indicate
+     * async invocations in one call. Exiting the returned entry will exit all the async entries in reverse order.
+     * The rollback on block has the same guarantee as {@link #entryAll(String...)}.
+     *
+     * @param resources  the pre-resolved resource handles, in the order of acquisition
+     * @param batchCount the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args       args for parameter flow control or customized slots of each resource, could be null
+     * @return the {@link CompositeEntry} of the batch
+     * @throws BlockException if the block criteria of any resource is met
+     * @since 1.8.1
+     */
+    public static Entry asyncEntryAll(ResourceHandle[] resources, int batchCount, Object[][] args)
+        throws BlockException {
+        return Env.sph.asyncEntryAll(resources, batchCount, args);
+    }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * <p>A hashed timing wheel for scheduling lots of short delayed tasks with low overhead.</p>
+ * <p>
+ * Tasks are scheduled lock-free into a pending queue, and then put into the wheel buckets by the
+ * single worker thread, which expires the tasks of a bucket every tick. The worker thread is started
+ * lazily and parks while no task is scheduled. The tasks are executed in the worker thread,
+ * so they should be short and non-blocking (e.g. dispatch the real work to other executors).
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public class TimingWheel {
+
+    private final String threadName;
+    private final long tickNanos;
+    private final int mask;
+    private final Timeout[] buckets;
+
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    private volatile Thread worker;
+    private volatile boolean idle = false;
+
+    /**
+     * Amount of timeouts in the wheel buckets, only accessed by the worker thread.
+     */
+    private int size = 0;
+
+    /**
+     * @param threadName name of the worker thread
+     * @param tickMs     tick duration in ms
+     * @param wheelSize  amount of buckets in the wheel, which will be normalized to power of 2
+     */
+    public TimingWheel(String threadName, long tickMs, int wheelSize) {
+        AssertUtil.notEmpty(threadName, "threadName cannot be empty");
+        AssertUtil.isTrue(tickMs > 0, "tickMs should be positive");
+        AssertUtil.isTrue(wheelSize > 0 && wheelSize <= (1 << 20), "wheelSize should be in (0, 2^20]");
+        this.threadName = threadName;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        int n = 1;
+        while (n < wheelSize) {
+            n <<= 1;
+        }
+        this.mask = n - 1;
+        this.buckets = new Timeout[n];
+    }
+
+    /**
+     * Schedule the task to be executed after the given delay.
+     *
+     * @param task  the task, which should be short and non-blocking
+     * @param delay the delay
+     * @param unit  time unit of the delay
+     */
+    public void schedule(Runnable task, long delay, TimeUnit unit) {
+        AssertUtil.notNull(task, "task cannot be null");
+        AssertUtil.notNull(unit, "unit cannot be null");
+        long deadline = System.nanoTime() + unit.toNanos(Math.max(delay, 0));
+        pendingTimeouts.offer(new Timeout(task, deadline));
+        startIfNeeded();
+        if (idle) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private void startIfNeeded() {
+        if (started.get() || !started.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(new Worker());
+        thread.setDaemon(true);
+        thread.setName(threadName);
+        worker = thread;
+        thread.start();
+    }
+
+    private final class Worker implements Runnable {
+
+        private final long startNanos = System.nanoTime();
+        /**
+         * The next tick to process.
+         */
+        private long tick = 0;
+
+        @Override
+        public void run() {
+            while (true) {
+                long currentTick = (System.nanoTime() - startNanos) / tickNanos;
+                if (size == 0) {
+                    // No task in the wheel, so it's safe to fast forward.
+                    tick = Math.max(tick, currentTick);
+                }
+                transferPendingTimeouts();
+                for (; tick <= currentTick; tick++) {
+                    expireTimeouts(tick);
+                }
+
+                if (size == 0) {
+                    idle = true;
+                    // Double check to avoid missing the tasks scheduled before the idle flag is set.
+                    if (pendingTimeouts.isEmpty()) {
+                        LockSupport.park(this);
+                        Thread.interrupted();
+                    }
+                    idle = false;
+                    continue;
+                }
+                long sleepNanos = startNanos + tick * tickNanos - System.nanoTime();
+                if (sleepNanos > 0) {
+                    LockSupport.parkNanos(this, sleepNanos);
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        private void transferPendingTimeouts() {
+            Timeout timeout;
+            while ((timeout = pendingTimeouts.poll()) != null) {
+                long deadlineTick = (timeout.deadline - startNanos + tickNanos - 1) / tickNanos;
+                // The expired ones should be executed in current round.
+                timeout.deadlineTick = Math.max(deadlineTick, tick);
+                int idx = (int) (timeout.deadlineTick & mask);
+                timeout.next = buckets[idx];
+                buckets[idx] = timeout;
+                size++;
+            }
+        }
+
+        private void expireTimeouts(long tick) {
+            int idx = (int) (tick & mask);
+            Timeout prev = null;
+            Timeout timeout = buckets[idx];
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.deadlineTick <= tick) {
+                    if (prev == null) {
+                        buckets[idx] = next;
+                    } else {
+                        prev.next = next;
+                    }
+                    timeout.next = null;
+                    size--;
+                    runTask(timeout.task);
+                } else {
+                    prev = timeout;
+                }
+                timeout = next;
+            }
+        }
+
+        private void runTask(Runnable task) {
+            try {
+                task.run();
+            } catch (Throwable ex) {
+                RecordLog.warn("[TimingWheel] Error when running the scheduled task", ex);
+            }
+        }
+    }
+
+    private static final class Timeout {
+        private final Runnable task;
+        private final long deadline;
+
+        private long deadlineTick;
+        private Timeout next;
+
+        Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+    }
+}
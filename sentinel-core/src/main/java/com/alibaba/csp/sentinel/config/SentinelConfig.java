@@ -61,6 +61,16 @@ public final class SentinelConfig {
     public static final String STATISTIC_MAX_RT = "csp.sentinel.statistic.max.rt";
     public static final String SPI_CLASSLOADER = "csp.sentinel.spi.classloader";
     public static final String METRIC_FLUSH_INTERVAL = "csp.sentinel.metric.flush.interval";
+    public static final String STATISTIC_LOCK_FREE_ROTATION = "csp.sentinel.statistic.lock.free.rotation";
+    public static final String STATISTIC_BUCKET_STRIPES = "csp.sentinel.statistic.bucket.stripes";
+    public static final String RULE_AWARE_SLOT_CHAIN = "csp.sentinel.slot.chain.rule.aware";
+    public static final String ENTRY_POOL_ENABLED = "csp.sentinel.entry.pool.enabled";
+    public static final String STATISTIC_MAX_ORIGIN_COUNT = "csp.sentinel.statistic.max.origin.count";
+    public static final String STATISTIC_ORIGIN_IDLE_TIME = "csp.sentinel.statistic.origin.idle.time";
+    public static final String TIME_CLOCK_MODE = "csp.sentinel.time.clock.mode";
+    public static final String TIME_TICK_INTERVAL = "csp.sentinel.time.tick.interval";
+    public static final String TIME_TICK_IDLE_TIME = "csp.sentinel.time.tick.idle.time";
+    public static final String PARAM_FLOW_PACKED_COUNTER = "csp.sentinel.param.flow.packed.counter";
 
     public static final String DEFAULT_CHARSET = "UTF-8";
     public static final long DEFAULT_SINGLE_METRIC_FILE_SIZE = 1024 * 1024 * 50;
@@ -68,6 +78,13 @@ public final class SentinelConfig {
     public static final int DEFAULT_COLD_FACTOR = 3;
     public static final int DEFAULT_STATISTIC_MAX_RT = 5000;
     public static final long DEFAULT_METRIC_FLUSH_INTERVAL = 1L;
+    public static final int MAX_STATISTIC_BUCKET_STRIPES = 1;
+    public static final long DEFAULT_STATISTIC_ORIGIN_IDLE_TIME = 2 * 60 * 1000;
+    public static final long MIN_STATISTIC_ORIGIN_IDLE_TIME = 1000;
+    public static final String DEFAULT_TIME_CLOCK_MODE = "tick";
+    public static final long DEFAULT_TIME_TICK_INTERVAL = 1;
+    public static final long DEFAULT_TIME_TICK_IDLE_TIME = 3000;
+    public static final long MIN_TIME_TICK_IDLE_TIME = 100;
 
     static {
         try {
@@ -241,6 +258,195 @@ public final class SentinelConfig {
         }
     }
 
+    /**
+     * Whether the sliding windows of statistic nodes should rotate buckets with lock-free epoch stamps
+     * rather than the update lock.
+     *
+     * @return true if lock-free bucket rotation is enabled, false by default
+     * @since 1.8.1
+     */
+    public static boolean statisticLockFreeRotation() {
+        return Boolean.parseBoolean(props.get(STATISTIC_LOCK_FREE_ROTATION));
+    }
+
+    /**
+     * <p>Get the stripe count of the striped metric buckets for statistic nodes.</p>
+     * <p>
+     * 0 (by default) means using the {@code LongAdder} based buckets. Only a single unpadded stripe
+     * is supported, which takes less memory per resource than the default buckets, so larger values
+     * are regarded as 1. Padded stripes would take more memory than the default buckets.
+     * </p>
+     *
+     * @return the stripe count of metric buckets
+     * @since 1.8.1
+     */
+    public static int statisticBucketStripes() {
+        String v = props.get(STATISTIC_BUCKET_STRIPES);
+        if (StringUtil.isEmpty(v)) {
+            return 0;
+        }
+        try {
+            int stripes = Integer.parseInt(v.trim());
+            if (stripes <= 0) {
+                return 0;
+            }
+            if (stripes > MAX_STATISTIC_BUCKET_STRIPES) {
+                RecordLog.warn("[SentinelConfig] Only a single stripe of metric buckets is supported, "
+                    + "statisticBucketStripes {} is regarded as {}", stripes, MAX_STATISTIC_BUCKET_STRIPES);
+                return MAX_STATISTIC_BUCKET_STRIPES;
+            }
+            return stripes;
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Invalid statisticBucketStripes value: {}, using LongAdder buckets", v);
+            return 0;
+        }
+    }
+
+    /**
+     * Whether the default slot chain builder should build rule-aware slot chains, which leave out
+     * rule checker slots that have no rules for the resource.
+     * <p>Each rule-aware slot chain holds its own instance of every slot, including the slots declared
+     * as singletons (see {@link com.alibaba.csp.sentinel.spi.Spi#isSingleton()}).</p>
+     *
+     * @return true if rule-aware slot chains are enabled, false by default
+     * @since 1.8.1
+     */
+    public static boolean ruleAwareSlotChain() {
+        return Boolean.parseBoolean(props.get(RULE_AWARE_SLOT_CHAIN));
+    }
+
+    /**
+     * <p>Whether {@code CtEntry} and {@link com.alibaba.csp.sentinel.context.Context} instances
+     * should be recycled through thread-local pools after exit.</p>
+     * <p>Only the entries which are never handed out to user code (i.e. the entries of {@code SphO}) and
+     * the default contexts entered for them are pooled, as the instance may be reused by another invocation
+     * of the same thread after exit. Contexts entered via {@code ContextUtil} are never recycled.</p>
+     *
+     * @return true if entry pooling is enabled, false by default
+     * @since 1.8.1
+     */
+    public static boolean entryPoolEnabled() {
+        return Boolean.parseBoolean(props.get(ENTRY_POOL_ENABLED));
+    }
+
+    /**
+     * Get the max amount of origin nodes kept in each cluster node. When the limit is reached,
+     * idle origin nodes will be evicted, and invocations of new origins will be counted in a
+     * shared overflow node if nothing could be evicted. Flow rules of specific origins
+     * ({@code limitApp}) are not checked for the invocations counted in the overflow node.
+     *
+     * @return the max amount of origin nodes per resource, 0 (by default) indicates no limit
+     * @since 1.8.1
+     */
+    public static int statisticMaxOriginCount() {
+        String v = props.get(STATISTIC_MAX_ORIGIN_COUNT);
+        if (StringUtil.isEmpty(v)) {
+            return 0;
+        }
+        try {
+            return Math.max(Integer.parseInt(v.trim()), 0);
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Invalid statisticMaxOriginCount value: {}, "
+                + "origin nodes will not be limited", v);
+            return 0;
+        }
+    }
+
+    /**
+     * Get the time (in ms) after which an origin node that has not been accessed is treated as idle,
+     * and could be evicted once the amount of origin nodes reaches the limit.
+     *
+     * @return the idle time of origin nodes in ms, not less than {@link #MIN_STATISTIC_ORIGIN_IDLE_TIME}
+     * @since 1.8.1
+     */
+    public static long statisticOriginIdleTime() {
+        String v = props.get(STATISTIC_ORIGIN_IDLE_TIME);
+        if (StringUtil.isEmpty(v)) {
+            return DEFAULT_STATISTIC_ORIGIN_IDLE_TIME;
+        }
+        try {
+            return Math.max(Long.parseLong(v.trim()), MIN_STATISTIC_ORIGIN_IDLE_TIME);
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Invalid statisticOriginIdleTime value: {}, using the default value {}",
+                v, DEFAULT_STATISTIC_ORIGIN_IDLE_TIME);
+            return DEFAULT_STATISTIC_ORIGIN_IDLE_TIME;
+        }
+    }
+
+    /**
+     * Get the clock mode of {@link com.alibaba.csp.sentinel.util.TimeUtil}. Supported modes:
+     *
+     * <ul>
+     * <li>{@code tick}: a dedicated thread refreshes the time every tick interval (by default);</li>
+     * <li>{@code adaptive}: like {@code tick}, but the thread parks when the time has not been read
+     * for a while, and the time is read from the system directly until the thread resumes;</li>
+     * <li>{@code system}: read {@code System.currentTimeMillis()} directly;</li>
+     * <li>{@code monotonic}: derived from {@code System.nanoTime()}, which is not affected by
+     * wall-clock jumps.</li>
+     * </ul>
+     *
+     * @return the clock mode in lower case
+     * @since 1.8.1
+     */
+    public static String timeClockMode() {
+        String v = props.get(TIME_CLOCK_MODE);
+        if (StringUtil.isBlank(v)) {
+            return DEFAULT_TIME_CLOCK_MODE;
+        }
+        return v.trim().toLowerCase();
+    }
+
+    /**
+     * Get the interval (in ms) of the tick thread in {@code tick} and {@code adaptive} clock mode.
+     *
+     * @return the tick interval in ms, not less than 1
+     * @since 1.8.1
+     */
+    public static long timeTickInterval() {
+        String v = props.get(TIME_TICK_INTERVAL);
+        if (StringUtil.isEmpty(v)) {
+            return DEFAULT_TIME_TICK_INTERVAL;
+        }
+        try {
+            return Math.max(Long.parseLong(v.trim()), 1);
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Invalid timeTickInterval value: {}, using the default value {}",
+                v, DEFAULT_TIME_TICK_INTERVAL);
+            return DEFAULT_TIME_TICK_INTERVAL;
+        }
+    }
+
+    /**
+     * Get the time (in ms) without any read after which the tick thread parks in {@code adaptive} clock mode.
+     *
+     * @return the idle time in ms, not less than {@link #MIN_TIME_TICK_IDLE_TIME}
+     * @since 1.8.1
+     */
+    public static long timeTickIdleTime() {
+        String v = props.get(TIME_TICK_IDLE_TIME);
+        if (StringUtil.isEmpty(v)) {
+            return DEFAULT_TIME_TICK_IDLE_TIME;
+        }
+        try {
+            return Math.max(Long.parseLong(v.trim()), MIN_TIME_TICK_IDLE_TIME);
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Invalid timeTickIdleTime value: {}, using the default value {}",
+                v, DEFAULT_TIME_TICK_IDLE_TIME);
+            return DEFAULT_TIME_TICK_IDLE_TIME;
+        }
+    }
+
+    /**
+     * Whether the default hot parameter flow checker should keep the tokens of the parameter values in
+     * packed primitive slots instead of the cache maps, which creates no garbage for the hot values.
+     *
+     * @return true if the packed parameter token counter is enabled, false by default
+     * @since 1.8.1
+     */
+    public static boolean paramFlowPackedCounter() {
+        return Boolean.parseBoolean(props.get(PARAM_FLOW_PACKED_COUNTER));
+    }
+
     /**
      * Function for resolving project name. The order is elaborated below:
      *
@@ -15,6 +15,7 @@
  */
 package com.alibaba.csp.sentinel.context;
 
+import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.Entry;
 import com.alibaba.csp.sentinel.SphO;
 import com.alibaba.csp.sentinel.SphU;
@@ -22,6 +23,7 @@ import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.node.EntranceNode;
 import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.slots.nodeselector.NodeSelectorSlot;
+import com.alibaba.csp.sentinel.util.IdInterner;
 
 /**
  * This class holds metadata of current invocation:<br/>
@@ -56,10 +58,26 @@ import com.alibaba.csp.sentinel.slots.nodeselector.NodeSelectorSlot;
  */
 public class Context {
 
+    private static final int ID_UNRESOLVED = -2;
+
+    /**
+     * Max amount of interned context names. Entrance contexts are limited to {@link Constants#MAX_CONTEXT_NAME_SIZE}
+     * names, while the room is left for contexts created directly (e.g. async contexts).
+     */
+    private static final int MAX_NAME_IDS = Constants.MAX_CONTEXT_NAME_SIZE * 2;
+    /**
+     * Max amount of interned origins, which matches the capacity of the origin node table of
+     * {@link com.alibaba.csp.sentinel.node.ClusterNode}. Origins beyond it are looked up by name.
+     */
+    private static final int MAX_ORIGIN_IDS = 64 * 1024;
+
+    private static final IdInterner NAME_IDS = new IdInterner(MAX_NAME_IDS);
+    private static final IdInterner ORIGIN_IDS = new IdInterner(MAX_ORIGIN_IDS);
+
     /**
      * Context name.
      */
-    private final String name;
+    private String name;
 
     /**
      * The entrance node of current invocation tree.
@@ -76,8 +94,24 @@ public class Context {
      */
     private String origin = "";
 
+    /**
+     * Interned ids of the context name and the origin, which are resolved lazily.
+     */
+    private int id = ID_UNRESOLVED;
+    private int originId = ID_UNRESOLVED;
+
     private final boolean async;
 
+    /**
+     * Whether the context is recycled through the thread-local pool of {@link ContextUtil}.
+     */
+    private boolean recyclable;
+
+    /**
+     * Whether the recyclable context is entered and not exited yet.
+     */
+    private boolean inUse;
+
     /**
      * Create a new async context.
      *
@@ -100,6 +134,31 @@ public class Context {
         this.async = async;
     }
 
+    void resetFor(DefaultNode entranceNode, String name) {
+        this.name = name;
+        this.entranceNode = entranceNode;
+        this.curEntry = null;
+        this.origin = "";
+        this.id = ID_UNRESOLVED;
+        this.originId = ID_UNRESOLVED;
+    }
+
+    boolean isRecyclable() {
+        return recyclable;
+    }
+
+    void setRecyclable(boolean recyclable) {
+        this.recyclable = recyclable;
+    }
+
+    boolean isInUse() {
+        return inUse;
+    }
+
+    void setInUse(boolean inUse) {
+        this.inUse = inUse;
+    }
+
     public boolean isAsync() {
         return async;
     }
@@ -132,9 +191,42 @@ public class Context {
 
     public Context setOrigin(String origin) {
         this.origin = origin;
+        this.originId = ID_UNRESOLVED;
         return this;
     }
 
+    /**
+     * Get the interned id of the context name. Contexts of the same name share the same id.
+     *
+     * @return the interned id of the context name, or {@link IdInterner#ID_ABSENT} if too many names
+     * have been interned
+     * @since 1.8.1
+     */
+    public int getId() {
+        int id = this.id;
+        if (id == ID_UNRESOLVED) {
+            id = NAME_IDS.intern(name);
+            this.id = id;
+        }
+        return id;
+    }
+
+    /**
+     * Get the interned id of the origin. Contexts of the same origin share the same id.
+     *
+     * @return the interned id of the origin, or {@link IdInterner#ID_ABSENT} if too many origins
+     * have been interned
+     * @since 1.8.1
+     */
+    public int getOriginId() {
+        int originId = this.originId;
+        if (originId == ID_UNRESOLVED) {
+            originId = ORIGIN_IDS.intern(origin);
+            this.originId = originId;
+        }
+        return originId;
+    }
+
     public double getOriginTotalQps() {
         return getOriginNode() == null ? 0 : getOriginNode().totalQps();
     }
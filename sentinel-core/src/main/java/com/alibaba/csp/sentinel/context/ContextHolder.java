@@ -0,0 +1,60 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.context;
+
+/**
+ * <p>Holder of the current {@link Context}, which decides where the context of current execution
+ * is stored. The default implementation keeps the context in a {@code ThreadLocal}.</p>
+ *
+ * <p>Users may provide a customized holder via SPI (e.g. one backed by scoped values for
+ * virtual threads or continuations). The first resolved holder will be used globally.</p>
+ *
+ * @since 1.8.1
+ */
+public interface ContextHolder {
+
+    /**
+     * Get the context of current execution.
+     *
+     * @return current context, or null if absent
+     */
+    Context get();
+
+    /**
+     * Bind the context to current execution. A null context means clearing the current context.
+     *
+     * @param context the context to bind
+     */
+    void set(Context context);
+
+    /**
+     * Get the exited context kept for reuse in current execution, which is only used when
+     * {@link com.alibaba.csp.sentinel.Constants#ENTRY_POOL_ON} is on.
+     *
+     * @return the kept context, or null if absent or the holder does not keep contexts for reuse
+     */
+    default Context getRecycled() {
+        return null;
+    }
+
+    /**
+     * Keep the context for reuse in current execution. Holders that do not support reusing contexts
+     * could simply ignore it.
+     *
+     * @param context the context to keep
+     */
+    default void setRecycled(Context context) {}
+}
@@ -17,6 +17,7 @@ package com.alibaba.csp.sentinel.context;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.alibaba.csp.sentinel.Constants;
@@ -29,6 +30,7 @@ import com.alibaba.csp.sentinel.node.EntranceNode;
 import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.slots.nodeselector.NodeSelectorSlot;
+import com.alibaba.csp.sentinel.spi.SpiLoader;
 
 /**
  * Utility class to get or create {@link Context} in current thread.
@@ -45,9 +47,9 @@ import com.alibaba.csp.sentinel.slots.nodeselector.NodeSelectorSlot;
 public class ContextUtil {
 
     /**
-     * Store the context in ThreadLocal for easy access.
+     * Store the context of current execution (ThreadLocal by default) for easy access.
      */
-    private static ThreadLocal<Context> contextHolder = new ThreadLocal<>();
+    private static final ContextHolder contextHolder = resolveContextHolder();
 
     /**
      * Holds all {@link EntranceNode}. Each {@link EntranceNode} is associated with a distinct context name.
@@ -62,6 +64,16 @@ public class ContextUtil {
         initDefaultContext();
     }
 
+    private static ContextHolder resolveContextHolder() {
+        ContextHolder holder = SpiLoader.of(ContextHolder.class).loadFirstInstanceOrDefault();
+        if (holder == null) {
+            RecordLog.warn("[ContextUtil] No context holder resolved, using default");
+            return new ThreadLocalContextHolder();
+        }
+        RecordLog.info("[ContextUtil] Context holder resolved: {}", holder.getClass().getCanonicalName());
+        return holder;
+    }
+
     private static void initDefaultContext() {
         String defaultContextName = Constants.CONTEXT_DEFAULT_NAME;
         EntranceNode node = new EntranceNode(new StringResourceWrapper(defaultContextName, EntryType.IN), null);
@@ -118,39 +130,29 @@ public class ContextUtil {
     }
 
     protected static Context trueEnter(String name, String origin) {
+        return trueEnter(name, origin, false);
+    }
+
+    /**
+     * Enter the invocation context of current thread.
+     *
+     * @param name       the context name
+     * @param origin     the origin of this invocation
+     * @param recyclable whether the context could be recycled after exit, which is only allowed
+     *                   if the context is never handed out to the caller (e.g. the default context
+     *                   entered by {@code SphO})
+     * @return The invocation context of the current thread
+     * @since 1.8.1
+     */
+    protected static Context trueEnter(String name, String origin, boolean recyclable) {
         Context context = contextHolder.get();
         if (context == null) {
-            Map<String, DefaultNode> localCacheNameMap = contextNameNodeMap;
-            DefaultNode node = localCacheNameMap.get(name);
+            DefaultNode node = getOrCreateEntranceNode(name);
             if (node == null) {
-                if (localCacheNameMap.size() > Constants.MAX_CONTEXT_NAME_SIZE) {
-                    setNullContext();
-                    return NULL_CONTEXT;
-                } else {
-                    LOCK.lock();
-                    try {
-                        node = contextNameNodeMap.get(name);
-                        if (node == null) {
-                            if (contextNameNodeMap.size() > Constants.MAX_CONTEXT_NAME_SIZE) {
-                                setNullContext();
-                                return NULL_CONTEXT;
-                            } else {
-                                node = new EntranceNode(new StringResourceWrapper(name, EntryType.IN), null);
-                                // Add entrance node.
-                                Constants.ROOT.addChild(node);
-
-                                Map<String, DefaultNode> newMap = new HashMap<>(contextNameNodeMap.size() + 1);
-                                newMap.putAll(contextNameNodeMap);
-                                newMap.put(name, node);
-                                contextNameNodeMap = newMap;
-                            }
-                        }
-                    } finally {
-                        LOCK.unlock();
-                    }
-                }
+                setNullContext();
+                return NULL_CONTEXT;
             }
-            context = new Context(node, name);
+            context = recyclable ? newRecyclableContext(node, name) : new Context(node, name);
             context.setOrigin(origin);
             contextHolder.set(context);
         }
@@ -158,10 +160,109 @@ public class ContextUtil {
         return context;
     }
 
+    /**
+     * <p>
+     * Create an invocation context which is NOT bound to current thread. The context works as an
+     * explicit carrier: it could be passed along with the asynchronous invocation (e.g. reactive streams,
+     * coroutines or virtual threads) and provided to entries directly
+     * (see {@link SphU#entry(Context, String, EntryType, int, Object...)}), without any {@code ThreadLocal}
+     * access or switching.
+     * </p>
+     * <p>
+     * Note that a carrier context must not be shared between concurrent invocation chains, since entries
+     * of the context will be organized as a call stack.
+     * </p>
+     *
+     * @param name   the context name
+     * @param origin the origin of this invocation
+     * @return the created context, or a {@link NullContext} if the amount of context exceeds the threshold
+     * @since 1.8.1
+     */
+    public static Context createContext(String name, String origin) {
+        if (Constants.CONTEXT_DEFAULT_NAME.equals(name)) {
+            throw new ContextNameDefineException(
+                "The " + Constants.CONTEXT_DEFAULT_NAME + " can't be permit to defined!");
+        }
+        DefaultNode node = getOrCreateEntranceNode(name);
+        if (node == null) {
+            warnContextExceeded();
+            return NULL_CONTEXT;
+        }
+        Context context = new Context(node, name);
+        context.setOrigin(origin);
+        return context;
+    }
+
+    /**
+     * Get the entrance node of the given context name, creating it if absent.
+     *
+     * @return the entrance node, or null if the amount of context exceeds the threshold
+     */
+    private static DefaultNode getOrCreateEntranceNode(String name) {
+        Map<String, DefaultNode> localCacheNameMap = contextNameNodeMap;
+        DefaultNode node = localCacheNameMap.get(name);
+        if (node != null) {
+            return node;
+        }
+        if (localCacheNameMap.size() > Constants.MAX_CONTEXT_NAME_SIZE) {
+            return null;
+        }
+        LOCK.lock();
+        try {
+            node = contextNameNodeMap.get(name);
+            if (node == null) {
+                if (contextNameNodeMap.size() > Constants.MAX_CONTEXT_NAME_SIZE) {
+                    return null;
+                }
+                node = new EntranceNode(new StringResourceWrapper(name, EntryType.IN), null);
+                // Add entrance node.
+                Constants.ROOT.addChild(node);
+
+                Map<String, DefaultNode> newMap = new HashMap<>(contextNameNodeMap.size() + 1);
+                newMap.putAll(contextNameNodeMap);
+                newMap.put(name, node);
+                contextNameNodeMap = newMap;
+            }
+            return node;
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    private static Context newRecyclableContext(DefaultNode node, String name) {
+        if (!Constants.ENTRY_POOL_ON) {
+            return new Context(node, name);
+        }
+        Context context = contextHolder.getRecycled();
+        if (context == null) {
+            context = new Context(node, name);
+            context.setRecyclable(true);
+            contextHolder.setRecycled(context);
+        } else if (context.isInUse()) {
+            // The recycled context is still in use (e.g. replaced via runOnContext), so do not share it.
+            return new Context(node, name);
+        } else {
+            context.resetFor(node, name);
+        }
+        context.setInUse(true);
+        return context;
+    }
+
+    private static void recycleContext(Context context) {
+        // Only the execution that owns the recycled context could release it.
+        if (contextHolder.getRecycled() == context) {
+            context.setInUse(false);
+        }
+    }
+
     private static boolean shouldWarn = true;
 
     private static void setNullContext() {
         contextHolder.set(NULL_CONTEXT);
+        warnContextExceeded();
+    }
+
+    private static void warnContextExceeded() {
         // Don't need to be thread-safe.
         if (shouldWarn) {
             RecordLog.warn("[SentinelStatusChecker] WARN: Amount of context exceeds the threshold "
@@ -201,6 +302,9 @@ public class ContextUtil {
         Context context = contextHolder.get();
         if (context != null && context.getCurEntry() == null) {
             contextHolder.set(null);
+            if (context.isRecyclable()) {
+                recycleContext(context);
+            }
         }
     }
 
@@ -254,11 +358,7 @@ public class ContextUtil {
      */
     static Context replaceContext(Context newContext) {
         Context backupContext = contextHolder.get();
-        if (newContext == null) {
-            contextHolder.remove();
-        } else {
-            contextHolder.set(newContext);
-        }
+        contextHolder.set(newContext);
         return backupContext;
     }
 
@@ -278,4 +378,24 @@ public class ContextUtil {
             replaceContext(curContext);
         }
     }
+
+    /**
+     * Execute the code within provided context and return the result. The provided context is only
+     * visible within the scope of the callable, and the original context will be restored afterwards.
+     *
+     * @param context the context
+     * @param f       lambda to call within the context
+     * @param <T>     type of the result
+     * @return result of the callable
+     * @throws Exception if the callable throws
+     * @since 1.8.1
+     */
+    public static <T> T callOnContext(Context context, Callable<T> f) throws Exception {
+        Context curContext = replaceContext(context);
+        try {
+            return f.call();
+        } finally {
+            replaceContext(curContext);
+        }
+    }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.context;
+
+import com.alibaba.csp.sentinel.spi.Spi;
+
+/**
+ * The default {@link ContextHolder} which keeps the context in a {@code ThreadLocal}.
+ *
+ * @since 1.8.1
+ */
+@Spi(isDefault = true)
+public class ThreadLocalContextHolder implements ContextHolder {
+
+    private final ThreadLocal<Context> holder = new ThreadLocal<>();
+    private final ThreadLocal<Context> recycledHolder = new ThreadLocal<>();
+
+    @Override
+    public Context get() {
+        return holder.get();
+    }
+
+    @Override
+    public void set(Context context) {
+        if (context == null) {
+            holder.remove();
+        } else {
+            holder.set(context);
+        }
+    }
+
+    @Override
+    public Context getRecycled() {
+        return recycledHolder.get();
+    }
+
+    @Override
+    public void setRecycled(Context context) {
+        recycledHolder.set(context);
+    }
+}
@@ -43,6 +43,13 @@ public class MetricExitCallback implements ProcessorSlotExitCallback {
             if (curEntry.getBlockError() != null) {
                 continue;
             }
+            if (curEntry.isRolledBack()) {
+                // The rolled back invocation is not completed, only release the thread count.
+                if (!(m instanceof AdvancedMetricExtension)) {
+                    m.decreaseThreadNum(rw.getName(), args);
+                }
+                continue;
+            }
             String resource = rw.getName();
             Throwable ex = curEntry.getError();
             long completeTime = curEntry.getCompleteTimestamp();
@@ -15,14 +15,21 @@
  */
 package com.alibaba.csp.sentinel.node;
 
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.alibaba.csp.sentinel.ResourceTypeConstants;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.IndexedTable;
+import com.alibaba.csp.sentinel.util.TimeUtil;
 
 /**
  * <p>
@@ -44,28 +51,84 @@ import com.alibaba.csp.sentinel.util.AssertUtil;
  */
 public class ClusterNode extends StatisticNode {
 
+    private static final int ORIGIN_TABLE_SEGMENT_SIZE = 64;
+    private static final int ORIGIN_TABLE_MAX_SEGMENTS = 1024;
+
+    /**
+     * Access time of origin nodes is only updated when it falls behind for this interval,
+     * to avoid writing shared memory for every invocation.
+     */
+    private static final long ORIGIN_ACCESS_TIME_PRECISION_MS = 200;
+    /**
+     * Min interval between two scans for idle origin nodes when the origin table is full.
+     */
+    private static final long ORIGIN_EVICTION_SCAN_INTERVAL_MS = 1000;
+
     private final String name;
     private final int resourceType;
 
+    /**
+     * Max amount of origin nodes, 0 indicates no limit.
+     */
+    private final int maxOriginCount;
+    private final long originIdleTimeMs;
+
     public ClusterNode(String name) {
         this(name, ResourceTypeConstants.COMMON);
     }
 
     public ClusterNode(String name, int resourceType) {
+        this(name, resourceType, SentinelConfig.statisticMaxOriginCount(), SentinelConfig.statisticOriginIdleTime());
+    }
+
+    /**
+     * @param name             resource name
+     * @param resourceType     classification of the resource
+     * @param maxOriginCount   max amount of origin nodes, 0 indicates no limit
+     * @param originIdleTimeMs time (in ms) after which an origin node that has not been accessed is idle
+     * @since 1.8.1
+     */
+    public ClusterNode(String name, int resourceType, int maxOriginCount, long originIdleTimeMs) {
         AssertUtil.notEmpty(name, "name cannot be empty");
+        AssertUtil.isTrue(maxOriginCount >= 0, "maxOriginCount should not be negative");
+        AssertUtil.isTrue(originIdleTimeMs > 0, "originIdleTimeMs should be positive");
         this.name = name;
         this.resourceType = resourceType;
+        this.maxOriginCount = maxOriginCount;
+        this.originIdleTimeMs = originIdleTimeMs;
     }
 
     /**
      * <p>The origin map holds the pair: (origin, originNode) for one specific resource.</p>
      * <p>
-     * The longer the application runs, the more stable this mapping will become.
-     * So we didn't use concurrent map here, but a lock, as this lock only happens
-     * at the very beginning while concurrent map will hold the lock all the time.
+     * Reads of the concurrent map are lock-free, and new origin nodes are put into the map
+     * directly rather than copying the whole map, as there might be thousands of origins
+     * (e.g. tenant IDs). The lock only guards creation and eviction of origin nodes.
+     * </p>
+     * <p>
+     * If the max origin count is set, origin nodes that have been idle for a while will be
+     * evicted once the map is full. If none could be evicted, invocations of new origins
+     * will be counted in the overflow node. As the overflow node sums up the traffic of many
+     * origins, flow rules of specific origins ({@code limitApp}) are not checked against it.
      * </p>
      */
-    private Map<String, StatisticNode> originCountMap = new HashMap<>();
+    private final Map<String, StatisticNode> originCountMap = new ConcurrentHashMap<>();
+
+    /**
+     * Origin nodes indexed by the interned origin id (see {@link Context#getOriginId()}),
+     * which is created on demand.
+     */
+    private volatile IndexedTable<StatisticNode> originNodeTable = null;
+
+    /**
+     * The shared node of origins that cannot be put into the full origin map, which is created on demand.
+     */
+    private volatile StatisticNode overflowOriginNode = null;
+
+    private volatile long nextOriginEvictionTime = 0;
+
+    private final LongAdder evictedOriginCount = new LongAdder();
+    private final LongAdder overflowOriginCount = new LongAdder();
 
     private final ReentrantLock lock = new ReentrantLock();
 
@@ -92,7 +155,8 @@ public class ClusterNode extends StatisticNode {
     /**
      * <p>Get {@link Node} of the specific origin. Usually the origin is the Service Consumer's app name.</p>
      * <p>If the origin node for given origin is absent, then a new {@link StatisticNode}
-     * for the origin will be created and returned.</p>
+     * for the origin will be created and returned. If the amount of origin nodes has reached
+     * the limit and no idle origin node could be evicted, the overflow node will be returned.</p>
      *
      * @param origin The caller's name, which is designated in the {@code parameter} parameter
      *               {@link ContextUtil#enter(String name, String origin)}.
@@ -100,27 +164,206 @@ public class ClusterNode extends StatisticNode {
      */
     public Node getOrCreateOriginNode(String origin) {
         StatisticNode statisticNode = originCountMap.get(origin);
-        if (statisticNode == null) {
+        if (statisticNode != null) {
+            touch(statisticNode);
+            return statisticNode;
+        }
+        if (isOriginMapFull() && TimeUtil.currentTimeMillis() < nextOriginEvictionTime) {
+            // Fast path for overflowed origins, which avoids taking the lock for every invocation.
+            return overflow();
+        }
+        lock.lock();
+        try {
+            statisticNode = originCountMap.get(origin);
+            if (statisticNode == null) {
+                if (isOriginMapFull() && !evictIdleOriginNodes()) {
+                    return overflow();
+                }
+                // The node is absent, create a new node for the origin.
+                statisticNode = new OriginNode(TimeUtil.currentTimeMillis());
+                originCountMap.put(origin, statisticNode);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return statisticNode;
+    }
+
+    /**
+     * Get {@link Node} of the specific origin via the interned origin id, which avoids hashing the origin
+     * for every invocation. If the origin node for given origin is absent, then a new {@link StatisticNode}
+     * for the origin will be created and returned.
+     *
+     * @param originId the interned id of the origin (negative if absent), see {@link Context#getOriginId()}
+     * @param origin   the origin
+     * @return the {@link Node} of the specific origin
+     * @since 1.8.1
+     */
+    public Node getOrCreateOriginNode(int originId, String origin) {
+        if (originId < 0) {
+            return getOrCreateOriginNode(origin);
+        }
+        IndexedTable<StatisticNode> table = originNodeTable;
+        if (table != null) {
+            StatisticNode statisticNode = table.get(originId);
+            if (statisticNode != null) {
+                touch(statisticNode);
+                return statisticNode;
+            }
+        }
+        Node node = getOrCreateOriginNode(origin);
+        if (node == overflowOriginNode || !(node instanceof OriginNode)) {
+            return node;
+        }
+        lock.lock();
+        try {
+            // Index the node only if it has not been evicted, so that an evicted node won't be left in the table.
+            if (originCountMap.get(origin) == node) {
+                if (table == null) {
+                    table = getOrCreateOriginNodeTable();
+                }
+                if (table.set(originId, (StatisticNode)node)) {
+                    ((OriginNode)node).originId = originId;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return node;
+    }
+
+    private IndexedTable<StatisticNode> getOrCreateOriginNodeTable() {
+        IndexedTable<StatisticNode> table = originNodeTable;
+        if (table == null) {
+            table = new IndexedTable<>(ORIGIN_TABLE_SEGMENT_SIZE, ORIGIN_TABLE_MAX_SEGMENTS);
+            originNodeTable = table;
+        }
+        return table;
+    }
+
+    private void touch(StatisticNode node) {
+        if (maxOriginCount > 0 && node instanceof OriginNode) {
+            ((OriginNode)node).touch(TimeUtil.currentTimeMillis());
+        }
+    }
+
+    private boolean isOriginMapFull() {
+        return maxOriginCount > 0 && originCountMap.size() >= maxOriginCount;
+    }
+
+    private StatisticNode overflow() {
+        overflowOriginCount.increment();
+        StatisticNode node = overflowOriginNode;
+        if (node == null) {
             lock.lock();
             try {
-                statisticNode = originCountMap.get(origin);
-                if (statisticNode == null) {
-                    // The node is absent, create a new node for the origin.
-                    statisticNode = new StatisticNode();
-                    HashMap<String, StatisticNode> newMap = new HashMap<>(originCountMap.size() + 1);
-                    newMap.putAll(originCountMap);
-                    newMap.put(origin, statisticNode);
-                    originCountMap = newMap;
+                node = overflowOriginNode;
+                if (node == null) {
+                    RecordLog.warn("[ClusterNode] Amount of origin nodes of resource <{}> has reached the limit {}, "
+                        + "new origins will be counted together and flow rules of specific origins won't be "
+                        + "checked for them", name, maxOriginCount);
+                    node = new StatisticNode();
+                    overflowOriginNode = node;
                 }
             } finally {
                 lock.unlock();
             }
         }
-        return statisticNode;
+        return node;
+    }
+
+    /**
+     * Evict all idle origin nodes, which should be called with the lock held.
+     *
+     * @return true if any origin node has been evicted
+     */
+    private boolean evictIdleOriginNodes() {
+        long now = TimeUtil.currentTimeMillis();
+        if (now < nextOriginEvictionTime) {
+            return false;
+        }
+        nextOriginEvictionTime = now + ORIGIN_EVICTION_SCAN_INTERVAL_MS;
+        IndexedTable<StatisticNode> table = originNodeTable;
+        int evicted = 0;
+        for (Iterator<StatisticNode> it = originCountMap.values().iterator(); it.hasNext(); ) {
+            StatisticNode node = it.next();
+            if (!(node instanceof OriginNode)) {
+                continue;
+            }
+            OriginNode originNode = (OriginNode)node;
+            if (now - originNode.lastAccessTime >= originIdleTimeMs) {
+                it.remove();
+                if (table != null && originNode.originId >= 0) {
+                    table.remove(originNode.originId);
+                }
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            evictedOriginCount.add(evicted);
+            // Let new origins try again.
+            nextOriginEvictionTime = 0;
+        }
+        return evicted > 0;
     }
 
     public Map<String, StatisticNode> getOriginCountMap() {
         return originCountMap;
     }
 
+    /**
+     * Get the shared node of origins that have not been put into the full origin map.
+     *
+     * @return the overflow node, or null if no origin has overflowed
+     * @since 1.8.1
+     */
+    public StatisticNode getOverflowOriginNode() {
+        return overflowOriginNode;
+    }
+
+    /**
+     * @return max amount of origin nodes, 0 indicates no limit
+     * @since 1.8.1
+     */
+    public int getMaxOriginCount() {
+        return maxOriginCount;
+    }
+
+    /**
+     * @return total amount of evicted idle origin nodes
+     * @since 1.8.1
+     */
+    public long getEvictedOriginCount() {
+        return evictedOriginCount.sum();
+    }
+
+    /**
+     * @return total amount of lookups that have been counted in the overflow node
+     * @since 1.8.1
+     */
+    public long getOverflowOriginCount() {
+        return overflowOriginCount.sum();
+    }
+
+    /**
+     * Origin node with the last access time.
+     */
+    private static class OriginNode extends StatisticNode {
+
+        private volatile long lastAccessTime;
+        /**
+         * Interned id of the origin if the node is indexed in the origin table.
+         */
+        private int originId = -1;
+
+        OriginNode(long now) {
+            this.lastAccessTime = now;
+        }
+
+        void touch(long now) {
+            if (now - lastAccessTime >= ORIGIN_ACCESS_TIME_PRECISION_MS) {
+                lastAccessTime = now;
+            }
+        }
+    }
 }
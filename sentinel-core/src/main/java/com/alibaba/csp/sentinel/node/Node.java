@@ -75,6 +75,19 @@ public interface Node extends OccupySupport, DebugSupport {
      */
     double passQps();
 
+    /**
+     * Get pass request count in the sliding one-second window ending at current time. The count is interpolated
+     * from the pass count of current second and the previous second (weighted by the overlapped proportion),
+     * so it's more accurate than {@link #passQps()} at the boundaries of sampling windows.
+     * Nodes without the interpolation fall back to {@link #passQps()}.
+     *
+     * @return interpolated QPS of passed requests
+     * @since 1.8.1
+     */
+    default double slidingPassQps() {
+        return passQps();
+    }
+
     /**
      * Get block request per second.
      *
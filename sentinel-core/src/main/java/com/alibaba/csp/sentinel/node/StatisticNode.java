@@ -201,6 +201,15 @@ public class StatisticNode implements Node {
         return rollingCounterInSecond.pass() / rollingCounterInSecond.getWindowIntervalInSec();
     }
 
+    @Override
+    public double slidingPassQps() {
+        long currentTime = TimeUtil.currentTimeMillis();
+        // Each bucket of the minute counter holds the statistics of one second.
+        double previousWeight = (1000 - currentTime % 1000) / 1000.0;
+        return rollingCounterInMinute.getWindowPass(currentTime)
+            + rollingCounterInMinute.previousWindowPass() * previousWeight;
+    }
+
     @Override
     public long totalPass() {
         return rollingCounterInMinute.pass();
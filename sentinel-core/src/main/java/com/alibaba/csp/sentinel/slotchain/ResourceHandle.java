@@ -0,0 +1,105 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.ResourceTypeConstants;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.IdInterner;
+
+/**
+ * <p>A pre-resolved resource with an interned integer id.</p>
+ * <p>
+ * Resources of the same name always share the same id, so the slot chain and the
+ * cluster node of the resource can be reached via the id directly rather than
+ * hashing the resource name. Hot callers should keep the handle and reuse it:
+ * </p>
+ *
+ * <pre>
+ * private static final ResourceHandle RESOURCE = SphU.resource("abc");
+ *
+ * Entry entry = SphU.entry(RESOURCE);
+ * </pre>
+ *
+ * @since 1.8.1
+ */
+public class ResourceHandle extends ResourceWrapper {
+
+    private static final IdInterner ID_INTERNER = new IdInterner();
+
+    private final int id;
+
+    private ResourceHandle(String name, EntryType entryType, int resourceType, int id) {
+        super(name, entryType, resourceType);
+        this.id = id;
+    }
+
+    /**
+     * Get the handle of the resource.
+     *
+     * @param name         the unique name of the resource
+     * @param entryType    the traffic type (inbound, outbound or internal)
+     * @param resourceType classification of the resource (e.g. Web or RPC)
+     * @return the handle of the resource
+     */
+    public static ResourceHandle of(String name, EntryType entryType, int resourceType) {
+        AssertUtil.notEmpty(name, "resource name cannot be empty");
+        return new ResourceHandle(name, entryType, resourceType, ID_INTERNER.intern(name));
+    }
+
+    /**
+     * Get the interned id of the resource name, which is the same as the id of its handles.
+     *
+     * @param name the unique name of the resource
+     * @return the interned id
+     */
+    public static int internId(String name) {
+        AssertUtil.notEmpty(name, "resource name cannot be empty");
+        return ID_INTERNER.intern(name);
+    }
+
+    public static ResourceHandle of(String name, EntryType entryType) {
+        return of(name, entryType, ResourceTypeConstants.COMMON);
+    }
+
+    public static ResourceHandle of(String name) {
+        return of(name, EntryType.OUT, ResourceTypeConstants.COMMON);
+    }
+
+    /**
+     * Get the interned id of the resource. Resources of the same name share the same id.
+     *
+     * @return the interned id
+     */
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public String getShowName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceHandle{" +
+            "id=" + id +
+            ", name='" + name + '\'' +
+            ", entryType=" + entryType +
+            ", resourceType=" + resourceType +
+            '}';
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.context.Context;
+
+/**
+ * <p>A {@link ProcessorSlotChain} that leaves out {@link RuleCheckerSlot}s which have
+ * no rules for the resource of the chain.</p>
+ * <p>
+ * Each slot is linked to a fixed hop of the chain once it is added, and the hop forwards the invocation
+ * to the next slot of the compiled links. The links are compiled lazily on entry: once the global rule
+ * version has changed (see {@link #onRulesUpdated()}), new links without the rule checker slots that have
+ * nothing to check are built and published with a single volatile write, so the slots are never re-linked
+ * while other threads are walking the chain. A walk in progress may follow the new links from its next hop,
+ * which only decides whether the remaining rule checker slots are checked. Other slots (e.g. the statistic
+ * slot) are always kept.
+ * </p>
+ * <p>
+ * As the slots are linked to the hops of this chain, the slots added must not be shared with other chains.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public class RuleAwareProcessorSlotChain extends ProcessorSlotChain {
+
+    private static final long NOT_COMPILED = -1L;
+
+    private static final AtomicLong RULE_VERSION = new AtomicLong();
+
+    private final List<AbstractLinkedProcessorSlot<?>> slots = new ArrayList<>();
+
+    private volatile Links links = new Links(NOT_COMPILED, null, new AbstractLinkedProcessorSlot<?>[0]);
+
+    /**
+     * Notify all rule-aware chains that rules have been updated, so the chains will be
+     * compiled again on next entry.
+     */
+    public static void onRulesUpdated() {
+        RULE_VERSION.incrementAndGet();
+    }
+
+    @Override
+    public synchronized void addFirst(AbstractLinkedProcessorSlot<?> protocolProcessor) {
+        slots.add(0, protocolProcessor);
+        linkAll();
+    }
+
+    @Override
+    public synchronized void addLast(AbstractLinkedProcessorSlot<?> protocolProcessor) {
+        slots.add(protocolProcessor);
+        linkAll();
+    }
+
+    /**
+     * Same as {@link #addLast(AbstractLinkedProcessorSlot)}.
+     *
+     * @param next processor to be added.
+     */
+    @Override
+    public void setNext(AbstractLinkedProcessorSlot<?> next) {
+        addLast(next);
+    }
+
+    @Override
+    public AbstractLinkedProcessorSlot<?> getNext() {
+        return links.head;
+    }
+
+    @Override
+    public void entry(Context context, ResourceWrapper resourceWrapper, Object t, int count, boolean prioritized, Object... args)
+        throws Throwable {
+        // The version must be read before the rules, so that rule updates during compiling won't be missed.
+        long version = RULE_VERSION.get();
+        Links links = this.links;
+        if (links.version != version) {
+            links = compile(resourceWrapper, version);
+        }
+        if (links.head != null) {
+            links.head.transformEntry(context, resourceWrapper, t, count, prioritized, args);
+        }
+    }
+
+    @Override
+    public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
+        AbstractLinkedProcessorSlot<?> head = links.head;
+        if (head != null) {
+            head.exit(context, resourceWrapper, count, args);
+        }
+    }
+
+    private void linkAll() {
+        for (int i = 0; i < slots.size(); i++) {
+            slots.get(i).setNext(new Hop(i));
+        }
+        // Keep all the slots until the links are compiled.
+        links = buildLinks(null, NOT_COMPILED);
+    }
+
+    private synchronized Links compile(ResourceWrapper resourceWrapper, long version) {
+        Links links = this.links;
+        if (links.version == version) {
+            return links;
+        }
+        links = buildLinks(resourceWrapper, version);
+        // Publish the new links.
+        this.links = links;
+        return links;
+    }
+
+    private Links buildLinks(ResourceWrapper resourceWrapper, long version) {
+        int size = slots.size();
+        AbstractLinkedProcessorSlot<?>[] nextSlots = new AbstractLinkedProcessorSlot<?>[size];
+        AbstractLinkedProcessorSlot<?> next = null;
+        for (int i = size - 1; i >= 0; i--) {
+            nextSlots[i] = next;
+            AbstractLinkedProcessorSlot<?> slot = slots.get(i);
+            if (resourceWrapper == null || !(slot instanceof RuleCheckerSlot)
+                || ((RuleCheckerSlot)slot).hasRules(resourceWrapper)) {
+                next = slot;
+            }
+        }
+        return new Links(version, next, nextSlots);
+    }
+
+    /**
+     * Immutable links compiled from a rule version.
+     */
+    private static final class Links {
+
+        private final long version;
+        private final AbstractLinkedProcessorSlot<?> head;
+        /**
+         * The next slot of each slot (by index), null for the last one.
+         */
+        private final AbstractLinkedProcessorSlot<?>[] nextSlots;
+
+        Links(long version, AbstractLinkedProcessorSlot<?> head, AbstractLinkedProcessorSlot<?>[] nextSlots) {
+            this.version = version;
+            this.head = head;
+            this.nextSlots = nextSlots;
+        }
+    }
+
+    /**
+     * The fixed next of a slot, which forwards the invocation to the next slot of current links.
+     */
+    private final class Hop extends AbstractLinkedProcessorSlot<Object> {
+
+        private final int index;
+
+        Hop(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void entry(Context context, ResourceWrapper resourceWrapper, Object t, int count, boolean prioritized,
+                          Object... args) throws Throwable {
+            AbstractLinkedProcessorSlot<?> next = links.nextSlots[index];
+            if (next != null) {
+                next.transformEntry(context, resourceWrapper, t, count, prioritized, args);
+            }
+        }
+
+        @Override
+        public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
+            AbstractLinkedProcessorSlot<?> next = links.nextSlots[index];
+            if (next != null) {
+                next.exit(context, resourceWrapper, count, args);
+            }
+        }
+    }
+}
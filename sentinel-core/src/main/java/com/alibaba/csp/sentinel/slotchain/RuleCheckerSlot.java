@@ -0,0 +1,38 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+/**
+ * <p>A processor slot that only checks rules of the resource.</p>
+ * <p>
+ * Rule checker slots that have nothing to check for a resource can be left out of
+ * the {@link RuleAwareProcessorSlotChain} of the resource. So the slot should not
+ * record any statistics, and rule managers should call
+ * {@link RuleAwareProcessorSlotChain#onRulesUpdated()} once the rules have been updated.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public interface RuleCheckerSlot {
+
+    /**
+     * Check whether there are any rules to check for provided resource.
+     *
+     * @param resourceWrapper the resource
+     * @return true if there are rules of the resource, otherwise false
+     */
+    boolean hasRules(ResourceWrapper resourceWrapper);
+}
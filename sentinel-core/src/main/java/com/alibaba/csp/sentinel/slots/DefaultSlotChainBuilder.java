@@ -15,11 +15,13 @@
  */
 package com.alibaba.csp.sentinel.slots;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.DefaultProcessorSlotChain;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlotChain;
+import com.alibaba.csp.sentinel.slotchain.RuleAwareProcessorSlotChain;
 import com.alibaba.csp.sentinel.slotchain.SlotChainBuilder;
 import com.alibaba.csp.sentinel.spi.Spi;
 import com.alibaba.csp.sentinel.spi.SpiLoader;
@@ -37,9 +39,16 @@ public class DefaultSlotChainBuilder implements SlotChainBuilder {
 
     @Override
     public ProcessorSlotChain build() {
-        ProcessorSlotChain chain = new DefaultProcessorSlotChain();
-
-        List<ProcessorSlot> sortedSlotList = SpiLoader.of(ProcessorSlot.class).loadInstanceListSorted();
+        ProcessorSlotChain chain;
+        List<ProcessorSlot> sortedSlotList;
+        if (SentinelConfig.ruleAwareSlotChain()) {
+            // Rule-aware chains link each slot to the hops of their own, so no slot can be shared with other chains.
+            chain = new RuleAwareProcessorSlotChain();
+            sortedSlotList = SpiLoader.of(ProcessorSlot.class).loadNewInstanceListSorted();
+        } else {
+            chain = new DefaultProcessorSlotChain();
+            sortedSlotList = SpiLoader.of(ProcessorSlot.class).loadInstanceListSorted();
+        }
         for (ProcessorSlot slot : sortedSlotList) {
             if (!(slot instanceof AbstractLinkedProcessorSlot)) {
                 RecordLog.warn("The ProcessorSlot(" + slot.getClass().getCanonicalName() + ") is not an instance of AbstractLinkedProcessorSlot, can't be added into ProcessorSlotChain");
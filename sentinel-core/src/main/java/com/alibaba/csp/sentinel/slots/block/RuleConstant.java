@@ -25,6 +25,26 @@ public final class RuleConstant {
 
     public static final int FLOW_GRADE_THREAD = 0;
     public static final int FLOW_GRADE_QPS = 1;
+    /**
+     * Adaptive concurrency limit, which follows the measured response time. The {@code count}
+     * of the rule is the max concurrency.
+     *
+     * @since 1.8.1
+     */
+    public static final int FLOW_GRADE_ADAPTIVE_CONCURRENCY = 2;
+
+    /**
+     * Gradient (like Gradient2 of Netflix concurrency-limits) algorithm of the adaptive concurrency limit.
+     *
+     * @since 1.8.1
+     */
+    public static final int ADAPTIVE_CONCURRENCY_GRADIENT = 0;
+    /**
+     * TCP Vegas algorithm of the adaptive concurrency limit.
+     *
+     * @since 1.8.1
+     */
+    public static final int ADAPTIVE_CONCURRENCY_VEGAS = 1;
 
     public static final int DEGRADE_GRADE_RT = 0;
     /**
@@ -35,6 +55,12 @@ public final class RuleConstant {
      * Degrade by biz exception count in the last 60 seconds.
      */
     public static final int DEGRADE_GRADE_EXCEPTION_COUNT = 2;
+    /**
+     * Degrade by the response time at the given percentile in the statistic interval.
+     *
+     * @since 1.8.1
+     */
+    public static final int DEGRADE_GRADE_RT_PERCENTILE = 3;
 
     public static final int DEGRADE_DEFAULT_SLOW_REQUEST_AMOUNT = 5;
     public static final int DEGRADE_DEFAULT_MIN_REQUEST_AMOUNT = 5;
@@ -50,6 +76,19 @@ public final class RuleConstant {
     public static final int CONTROL_BEHAVIOR_WARM_UP = 1;
     public static final int CONTROL_BEHAVIOR_RATE_LIMITER = 2;
     public static final int CONTROL_BEHAVIOR_WARM_UP_RATE_LIMITER = 3;
+    /**
+     * Rate limiter (leaky bucket) working in nanosecond resolution, which keeps the pacing above 1000 QPS.
+     *
+     * @since 1.8.1
+     */
+    public static final int CONTROL_BEHAVIOR_PRECISE_RATE_LIMITER = 4;
+    /**
+     * Token bucket, which refills {@code count} tokens per {@code durationInSec} and allows bursts
+     * up to {@code count + burstCount}.
+     *
+     * @since 1.8.1
+     */
+    public static final int CONTROL_BEHAVIOR_TOKEN_BUCKET = 5;
 
     public static final int DEFAULT_BLOCK_STRATEGY = 0;
     public static final int TRY_AGAIN_BLOCK_STRATEGY = 1;
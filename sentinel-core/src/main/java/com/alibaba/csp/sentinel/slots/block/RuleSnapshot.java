@@ -0,0 +1,120 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.alibaba.csp.sentinel.slotchain.ResourceHandle;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+
+/**
+ * <p>An immutable snapshot of the compiled rules (e.g. the sorted rule list or the circuit breakers)
+ * of each resource.</p>
+ * <p>
+ * The snapshot is compiled when rules are loaded: besides the map keyed by resource name, the rules are
+ * also indexed by the interned resource id (see {@link ResourceHandle#internId(String)}) in an array.
+ * Rule managers swap the whole snapshot on updates, so the rules of all resources are updated atomically,
+ * and slots may cache the rules of their resource until the snapshot is changed (see {@link RuleSnapshotCache}).
+ * </p>
+ *
+ * @param <T> type of the compiled rules of one resource
+ * @since 1.8.1
+ */
+public final class RuleSnapshot<T> {
+
+    @SuppressWarnings("rawtypes")
+    private static final RuleSnapshot EMPTY = new RuleSnapshot<>(Collections.emptyMap());
+
+    private final Map<String, T> ruleMap;
+    private final Object[] rulesById;
+
+    private RuleSnapshot(Map<String, T> ruleMap) {
+        this.ruleMap = ruleMap;
+        int maxId = -1;
+        for (String resourceName : ruleMap.keySet()) {
+            maxId = Math.max(maxId, ResourceHandle.internId(resourceName));
+        }
+        this.rulesById = new Object[maxId + 1];
+        for (Map.Entry<String, T> entry : ruleMap.entrySet()) {
+            rulesById[ResourceHandle.internId(entry.getKey())] = entry.getValue();
+        }
+    }
+
+    /**
+     * Compile the snapshot from the rule map. The map should not be modified afterwards.
+     *
+     * @param ruleMap map of the resource name and its compiled rules
+     * @param <T>     type of the compiled rules of one resource
+     * @return the compiled snapshot
+     */
+    public static <T> RuleSnapshot<T> of(Map<String, T> ruleMap) {
+        if (ruleMap == null || ruleMap.isEmpty()) {
+            return empty();
+        }
+        return new RuleSnapshot<>(ruleMap);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> RuleSnapshot<T> empty() {
+        return (RuleSnapshot<T>) EMPTY;
+    }
+
+    /**
+     * Get the rules of provided resource id.
+     *
+     * @param resourceId interned id of the resource
+     * @return the rules of the resource, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int resourceId) {
+        if (resourceId < 0 || resourceId >= rulesById.length) {
+            return null;
+        }
+        return (T) rulesById[resourceId];
+    }
+
+    /**
+     * Get the rules of provided resource. The rules are looked up via the id directly
+     * if the resource is a {@link ResourceHandle}.
+     *
+     * @param resource the resource
+     * @return the rules of the resource, or null if absent
+     */
+    public T get(ResourceWrapper resource) {
+        if (resource instanceof ResourceHandle) {
+            return get(((ResourceHandle) resource).getId());
+        }
+        return ruleMap.get(resource.getName());
+    }
+
+    public T get(String resourceName) {
+        return ruleMap.get(resourceName);
+    }
+
+    public boolean containsKey(String resourceName) {
+        return ruleMap.containsKey(resourceName);
+    }
+
+    /**
+     * Get the map of the resource name and its compiled rules, which should not be modified.
+     *
+     * @return the rule map
+     */
+    public Map<String, T> getRuleMap() {
+        return ruleMap;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block;
+
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+
+/**
+ * <p>Cache of the rules of one resource in a {@link RuleSnapshot}, held by each slot.</p>
+ * <p>
+ * Each slot chain has its own slot instances for one resource (all built-in slots are prototypes,
+ * see {@link com.alibaba.csp.sentinel.spi.Spi#isSingleton()}), so the cached rules can be reused
+ * until the rule manager swaps the snapshot, without looking up any map on entry.
+ * The cache still works if the slot is shared by different resources, but then it misses whenever
+ * the resource differs from the last one, so slots holding a cache should not be singletons.
+ * </p>
+ *
+ * @param <T> type of the compiled rules of one resource
+ * @since 1.8.1
+ */
+public final class RuleSnapshotCache<T> {
+
+    private volatile CachedRules<T> cached;
+
+    /**
+     * Get the rules of provided resource in the snapshot.
+     *
+     * @param snapshot current rule snapshot
+     * @param resource the resource
+     * @return the rules of the resource, or null if absent
+     */
+    public T get(RuleSnapshot<T> snapshot, ResourceWrapper resource) {
+        CachedRules<T> c = cached;
+        if (c != null && c.snapshot == snapshot && c.resourceName.equals(resource.getName())) {
+            return c.rules;
+        }
+        T rules = snapshot.get(resource);
+        this.cached = new CachedRules<>(snapshot, resource.getName(), rules);
+        return rules;
+    }
+
+    /**
+     * Get the rules of provided resource in the snapshot.
+     *
+     * @param snapshot     current rule snapshot
+     * @param resourceName name of the resource
+     * @return the rules of the resource, or null if absent
+     */
+    public T get(RuleSnapshot<T> snapshot, String resourceName) {
+        CachedRules<T> c = cached;
+        if (c != null && c.snapshot == snapshot && c.resourceName.equals(resourceName)) {
+            return c.rules;
+        }
+        T rules = snapshot.get(resourceName);
+        this.cached = new CachedRules<>(snapshot, resourceName, rules);
+        return rules;
+    }
+
+    private static final class CachedRules<T> {
+
+        private final RuleSnapshot<T> snapshot;
+        private final String resourceName;
+        private final T rules;
+
+        CachedRules(RuleSnapshot<T> snapshot, String resourceName, T rules) {
+            this.snapshot = snapshot;
+            this.resourceName = resourceName;
+            this.rules = rules;
+        }
+    }
+}
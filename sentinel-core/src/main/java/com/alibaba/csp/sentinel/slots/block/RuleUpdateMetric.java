@@ -0,0 +1,86 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block;
+
+/**
+ * Timing metric of one rule update.
+ *
+ * @since 1.8.1
+ */
+public class RuleUpdateMetric {
+
+    private final String ruleType;
+    private final long timestamp;
+    private final long costNanos;
+    private final int resourceCount;
+    private final int ruleCount;
+    private final int changedResourceCount;
+
+    public RuleUpdateMetric(String ruleType, long timestamp, long costNanos, int resourceCount, int ruleCount,
+                            int changedResourceCount) {
+        this.ruleType = ruleType;
+        this.timestamp = timestamp;
+        this.costNanos = costNanos;
+        this.resourceCount = resourceCount;
+        this.ruleCount = ruleCount;
+        this.changedResourceCount = changedResourceCount;
+    }
+
+    public String getRuleType() {
+        return ruleType;
+    }
+
+    /**
+     * @return the time (in ms) when the update finished
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return time cost (in ns) of building and applying the rules
+     */
+    public long getCostNanos() {
+        return costNanos;
+    }
+
+    public int getResourceCount() {
+        return resourceCount;
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    /**
+     * @return number of added, modified or removed resources in the update
+     */
+    public int getChangedResourceCount() {
+        return changedResourceCount;
+    }
+
+    @Override
+    public String toString() {
+        return "RuleUpdateMetric{" +
+            "ruleType='" + ruleType + '\'' +
+            ", timestamp=" + timestamp +
+            ", costNanos=" + costNanos +
+            ", resourceCount=" + resourceCount +
+            ", ruleCount=" + ruleCount +
+            ", changedResourceCount=" + changedResourceCount +
+            '}';
+    }
+}
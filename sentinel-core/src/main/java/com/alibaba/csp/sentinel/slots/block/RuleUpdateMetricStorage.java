@@ -0,0 +1,67 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * Storage of the timing metrics of the latest rule update of each rule type.
+ *
+ * @since 1.8.1
+ */
+public final class RuleUpdateMetricStorage {
+
+    private static final Map<String, RuleUpdateMetric> METRIC_MAP = new ConcurrentHashMap<>();
+
+    /**
+     * Record the metric of a finished rule update.
+     *
+     * @param ruleType             type of the rules (e.g. flow)
+     * @param startNanos           start time of the update (from {@link System#nanoTime()})
+     * @param resourceCount        number of resources with rules after the update
+     * @param ruleCount            number of rules after the update
+     * @param changedResourceCount number of added, modified or removed resources
+     * @return the recorded metric
+     */
+    public static RuleUpdateMetric record(String ruleType, long startNanos, int resourceCount, int ruleCount,
+                                          int changedResourceCount) {
+        AssertUtil.notEmpty(ruleType, "ruleType cannot be empty");
+        RuleUpdateMetric metric = new RuleUpdateMetric(ruleType, TimeUtil.currentTimeMillis(),
+            System.nanoTime() - startNanos, resourceCount, ruleCount, changedResourceCount);
+        METRIC_MAP.put(ruleType, metric);
+        RecordLog.info("[RuleUpdateMetricStorage] Rules updated: {}", metric);
+        return metric;
+    }
+
+    public static RuleUpdateMetric getMetric(String ruleType) {
+        return METRIC_MAP.get(ruleType);
+    }
+
+    /**
+     * @return a copy of the latest update metrics, keyed by rule type
+     */
+    public static Map<String, RuleUpdateMetric> getMetrics() {
+        return new HashMap<>(METRIC_MAP);
+    }
+
+    private RuleUpdateMetricStorage() {}
+}
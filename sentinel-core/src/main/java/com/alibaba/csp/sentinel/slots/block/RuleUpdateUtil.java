@@ -0,0 +1,87 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Util class for incremental (diff-based) rule updates.
+ *
+ * @since 1.8.1
+ */
+public final class RuleUpdateUtil {
+
+    /**
+     * <p>Replace the compiled rules of unchanged resources in the new rule map with the existing ones,
+     * so that the state of unchanged rules (e.g. traffic shaping controllers and circuit breakers)
+     * and the compiled lists are kept.</p>
+     * <p>
+     * The rules of a resource are regarded as unchanged if the new rules equal the existing ones
+     * regardless of the order. As a {@link Rule} may be modified in place after loaded, whose previous content
+     * is unknown, a rule that is the same instance as an existing one is regarded as changed.
+     * </p>
+     *
+     * @param existingRuleMap existing rule map
+     * @param newRuleMap      newly built rule map, which will be modified
+     * @param <T>             type of the compiled rule
+     * @return number of changed (added, modified or removed) resources
+     */
+    public static <T> int retainUnchanged(Map<String, List<T>> existingRuleMap, Map<String, List<T>> newRuleMap) {
+        int changed = 0;
+        for (Map.Entry<String, List<T>> entry : newRuleMap.entrySet()) {
+            List<T> existing = existingRuleMap.get(entry.getKey());
+            if (sameElements(existing, entry.getValue())) {
+                entry.setValue(existing);
+            } else {
+                changed++;
+            }
+        }
+        for (String resource : existingRuleMap.keySet()) {
+            if (!newRuleMap.containsKey(resource)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private static <T> boolean sameElements(List<T> existing, List<T> rules) {
+        if (existing == null || rules == null || existing.size() != rules.size()) {
+            return false;
+        }
+        if (!new HashSet<>(existing).equals(new HashSet<>(rules))) {
+            return false;
+        }
+        for (T rule : rules) {
+            if (rule instanceof Rule && containsInstance(existing, rule)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <T> boolean containsInstance(List<T> list, T element) {
+        for (T e : list) {
+            if (e == element) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private RuleUpdateUtil() {}
+}
@@ -23,7 +23,9 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.slotchain.RuleAwareProcessorSlotChain;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.RuleSnapshot;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.StringUtil;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
@@ -39,7 +41,7 @@ import com.alibaba.csp.sentinel.property.SentinelProperty;
  */
 public final class AuthorityRuleManager {
 
-    private static Map<String, Set<AuthorityRule>> authorityRules = new ConcurrentHashMap<>();
+    private static volatile RuleSnapshot<Set<AuthorityRule>> authorityRules = RuleSnapshot.empty();
 
     private static final RulePropertyListener LISTENER = new RulePropertyListener();
     private static SentinelProperty<List<AuthorityRule>> currentProperty = new DynamicSentinelProperty<>();
@@ -80,10 +82,7 @@ public final class AuthorityRuleManager {
      */
     public static List<AuthorityRule> getRules() {
         List<AuthorityRule> rules = new ArrayList<>();
-        if (authorityRules == null) {
-            return rules;
-        }
-        for (Map.Entry<String, Set<AuthorityRule>> entry : authorityRules.entrySet()) {
+        for (Map.Entry<String, Set<AuthorityRule>> entry : authorityRules.getRuleMap().entrySet()) {
             rules.addAll(entry.getValue());
         }
         return rules;
@@ -95,11 +94,9 @@ public final class AuthorityRuleManager {
         public void configUpdate(List<AuthorityRule> conf) {
             Map<String, Set<AuthorityRule>> rules = loadAuthorityConf(conf);
 
-            authorityRules.clear();
-            if (rules != null) {
-                authorityRules.putAll(rules);
-            }
-            RecordLog.info("[AuthorityRuleManager] Authority rules received: {}", authorityRules);
+            authorityRules = RuleSnapshot.of(rules);
+            RuleAwareProcessorSlotChain.onRulesUpdated();
+            RecordLog.info("[AuthorityRuleManager] Authority rules received: {}", rules);
         }
 
         private Map<String, Set<AuthorityRule>> loadAuthorityConf(List<AuthorityRule> list) {
@@ -139,15 +136,17 @@ public final class AuthorityRuleManager {
         public void configLoad(List<AuthorityRule> value) {
             Map<String, Set<AuthorityRule>> rules = loadAuthorityConf(value);
 
-            authorityRules.clear();
-            if (rules != null) {
-                authorityRules.putAll(rules);
-            }
-            RecordLog.info("[AuthorityRuleManager] Load authority rules: {}", authorityRules);
+            authorityRules = RuleSnapshot.of(rules);
+            RuleAwareProcessorSlotChain.onRulesUpdated();
+            RecordLog.info("[AuthorityRuleManager] Load authority rules: {}", rules);
         }
     }
 
     static Map<String, Set<AuthorityRule>> getAuthorityRules() {
+        return authorityRules.getRuleMap();
+    }
+
+    static RuleSnapshot<Set<AuthorityRule>> getRuleSnapshot() {
         return authorityRules;
     }
 
@@ -15,7 +15,6 @@
  */
 package com.alibaba.csp.sentinel.slots.block.authority;
 
-import java.util.Map;
 import java.util.Set;
 
 import com.alibaba.csp.sentinel.Constants;
@@ -24,6 +23,8 @@ import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleCheckerSlot;
+import com.alibaba.csp.sentinel.slots.block.RuleSnapshotCache;
 import com.alibaba.csp.sentinel.spi.Spi;
 
 /**
@@ -32,8 +33,10 @@ import com.alibaba.csp.sentinel.spi.Spi;
  * @author leyou
  * @author Eric Zhao
  */
-@Spi(order = Constants.ORDER_AUTHORITY_SLOT)
-public class AuthoritySlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+@Spi(isSingleton = false, order = Constants.ORDER_AUTHORITY_SLOT)
+public class AuthoritySlot extends AbstractLinkedProcessorSlot<DefaultNode> implements RuleCheckerSlot {
+
+    private final RuleSnapshotCache<Set<AuthorityRule>> ruleCache = new RuleSnapshotCache<>();
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode node, int count, boolean prioritized, Object... args)
@@ -47,14 +50,13 @@ public class AuthoritySlot extends AbstractLinkedProcessorSlot<DefaultNode> {
         fireExit(context, resourceWrapper, count, args);
     }
 
-    void checkBlackWhiteAuthority(ResourceWrapper resource, Context context) throws AuthorityException {
-        Map<String, Set<AuthorityRule>> authorityRules = AuthorityRuleManager.getAuthorityRules();
-
-        if (authorityRules == null) {
-            return;
-        }
+    @Override
+    public boolean hasRules(ResourceWrapper resourceWrapper) {
+        return AuthorityRuleManager.hasConfig(resourceWrapper.getName());
+    }
 
-        Set<AuthorityRule> rules = authorityRules.get(resource.getName());
+    void checkBlackWhiteAuthority(ResourceWrapper resource, Context context) throws AuthorityException {
+        Set<AuthorityRule> rules = ruleCache.get(AuthorityRuleManager.getRuleSnapshot(), resource);
         if (rules == null) {
             return;
         }
@@ -23,13 +23,18 @@ import java.util.Map;
 import java.util.Set;
 
 import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.slotchain.RuleAwareProcessorSlotChain;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
 import com.alibaba.csp.sentinel.property.PropertyListener;
 import com.alibaba.csp.sentinel.property.SentinelProperty;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.RuleSnapshot;
+import com.alibaba.csp.sentinel.slots.block.RuleUpdateMetricStorage;
+import com.alibaba.csp.sentinel.slots.block.RuleUpdateUtil;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.CircuitBreaker;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.ExceptionCircuitBreaker;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.ResponseTimeCircuitBreaker;
+import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.ResponseTimePercentileCircuitBreaker;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.StringUtil;
 
@@ -42,7 +47,12 @@ import com.alibaba.csp.sentinel.util.StringUtil;
  */
 public final class DegradeRuleManager {
 
-    private static volatile Map<String, List<CircuitBreaker>> circuitBreakers = new HashMap<>();
+    /**
+     * Rule type of the circuit breaking rules in {@link RuleUpdateMetricStorage}.
+     */
+    public static final String RULE_TYPE = "degrade";
+
+    private static volatile RuleSnapshot<List<CircuitBreaker>> circuitBreakers = RuleSnapshot.empty();
     private static volatile Map<String, Set<DegradeRule>> ruleMap = new HashMap<>();
 
     private static final RulePropertyListener LISTENER = new RulePropertyListener();
@@ -73,6 +83,16 @@ public final class DegradeRuleManager {
         return circuitBreakers.get(resourceName);
     }
 
+    /**
+     * Get current snapshot of the circuit breakers, which will be swapped as a whole when rules are updated.
+     *
+     * @return current snapshot of the circuit breakers
+     * @since 1.8.1
+     */
+    static RuleSnapshot<List<CircuitBreaker>> getCircuitBreakerSnapshot() {
+        return circuitBreakers;
+    }
+
     public static boolean hasConfig(String resource) {
         if (resource == null) {
             return false;
@@ -175,6 +195,8 @@ public final class DegradeRuleManager {
             case RuleConstant.DEGRADE_GRADE_EXCEPTION_RATIO:
             case RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT:
                 return new ExceptionCircuitBreaker(rule);
+            case RuleConstant.DEGRADE_GRADE_RT_PERCENTILE:
+                return new ResponseTimePercentileCircuitBreaker(rule);
             default:
                 return null;
         }
@@ -196,6 +218,8 @@ public final class DegradeRuleManager {
                 return rule.getCount() <= 1;
             case RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT:
                 return true;
+            case RuleConstant.DEGRADE_GRADE_RT_PERCENTILE:
+                return rule.getPercentile() > 0 && rule.getPercentile() <= 1;
             default:
                 return false;
         }
@@ -204,7 +228,14 @@ public final class DegradeRuleManager {
     private static class RulePropertyListener implements PropertyListener<List<DegradeRule>> {
 
         private synchronized void reloadFrom(List<DegradeRule> list) {
+            long start = System.nanoTime();
             Map<String, List<CircuitBreaker>> cbs = buildCircuitBreakers(list);
+            // Unchanged rules have reused their circuit breakers, so the lists of unchanged resources can be kept.
+            int changed = RuleUpdateUtil.retainUnchanged(circuitBreakers.getRuleMap(), cbs);
+            if (changed == 0) {
+                RuleUpdateMetricStorage.record(RULE_TYPE, start, cbs.size(), countRules(cbs), 0);
+                return;
+            }
             Map<String, Set<DegradeRule>> rm = new HashMap<>(cbs.size());
 
             for (Map.Entry<String, List<CircuitBreaker>> e : cbs.entrySet()) {
@@ -217,8 +248,18 @@ public final class DegradeRuleManager {
                 rm.put(e.getKey(), rules);
             }
 
-            DegradeRuleManager.circuitBreakers = cbs;
+            DegradeRuleManager.circuitBreakers = RuleSnapshot.of(cbs);
             DegradeRuleManager.ruleMap = rm;
+            RuleAwareProcessorSlotChain.onRulesUpdated();
+            RuleUpdateMetricStorage.record(RULE_TYPE, start, cbs.size(), countRules(cbs), changed);
+        }
+
+        private int countRules(Map<String, List<CircuitBreaker>> cbs) {
+            int count = 0;
+            for (List<CircuitBreaker> list : cbs.values()) {
+                count += list.size();
+            }
+            return count;
         }
 
         @Override
@@ -24,7 +24,9 @@ import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleCheckerSlot;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleSnapshotCache;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.CircuitBreaker;
 import com.alibaba.csp.sentinel.spi.Spi;
 
@@ -34,8 +36,10 @@ import com.alibaba.csp.sentinel.spi.Spi;
  * @author Carpenter Lee
  * @author Eric Zhao
  */
-@Spi(order = Constants.ORDER_DEGRADE_SLOT)
-public class DegradeSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+@Spi(isSingleton = false, order = Constants.ORDER_DEGRADE_SLOT)
+public class DegradeSlot extends AbstractLinkedProcessorSlot<DefaultNode> implements RuleCheckerSlot {
+
+    private final RuleSnapshotCache<List<CircuitBreaker>> circuitBreakerCache = new RuleSnapshotCache<>();
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode node, int count,
@@ -45,8 +49,13 @@ public class DegradeSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
         fireEntry(context, resourceWrapper, node, count, prioritized, args);
     }
 
+    @Override
+    public boolean hasRules(ResourceWrapper resourceWrapper) {
+        return DegradeRuleManager.hasConfig(resourceWrapper.getName());
+    }
+
     void performChecking(Context context, ResourceWrapper r) throws BlockException {
-        List<CircuitBreaker> circuitBreakers = DegradeRuleManager.getCircuitBreakers(r.getName());
+        List<CircuitBreaker> circuitBreakers = getCircuitBreakers(r);
         if (circuitBreakers == null || circuitBreakers.isEmpty()) {
             return;
         }
@@ -57,14 +66,18 @@ public class DegradeSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
         }
     }
 
+    private List<CircuitBreaker> getCircuitBreakers(ResourceWrapper r) {
+        return circuitBreakerCache.get(DegradeRuleManager.getCircuitBreakerSnapshot(), r);
+    }
+
     @Override
     public void exit(Context context, ResourceWrapper r, int count, Object... args) {
         Entry curEntry = context.getCurEntry();
-        if (curEntry.getBlockError() != null) {
+        if (curEntry.getBlockError() != null || curEntry.isRolledBack()) {
             fireExit(context, r, count, args);
             return;
         }
-        List<CircuitBreaker> circuitBreakers = DegradeRuleManager.getCircuitBreakers(r.getName());
+        List<CircuitBreaker> circuitBreakers = getCircuitBreakers(r);
         if (circuitBreakers == null || circuitBreakers.isEmpty()) {
             fireExit(context, r, count, args);
             return;
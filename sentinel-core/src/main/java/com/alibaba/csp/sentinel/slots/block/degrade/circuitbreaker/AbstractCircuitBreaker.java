@@ -111,8 +111,8 @@ public abstract class AbstractCircuitBreaker implements CircuitBreaker {
                     // Note: This works as a temporary workaround for https://github.com/alibaba/Sentinel/issues/1638
                     // Without the hook, the circuit breaker won't recover from half-open state in some circumstances
                     // when the request is actually blocked by upcoming rules (not only degrade rules).
-                    if (entry.getBlockError() != null) {
-                        // Fallback to OPEN due to detecting request is blocked
+                    if (entry.getBlockError() != null || entry.isRolledBack()) {
+                        // Fallback to OPEN due to detecting request is blocked or rolled back
                         currentState.compareAndSet(State.HALF_OPEN, State.OPEN);
                         notifyObservers(State.HALF_OPEN, State.OPEN, 1.0d);
                     }
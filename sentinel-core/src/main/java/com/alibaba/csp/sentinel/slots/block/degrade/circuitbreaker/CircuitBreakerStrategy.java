@@ -32,7 +32,13 @@ public enum CircuitBreakerStrategy {
     /**
      * Circuit breaker opens (cuts off) when error count exceeds the threshold.
      */
-    ERROR_COUNT(2);
+    ERROR_COUNT(2),
+    /**
+     * Circuit breaker opens (cuts off) when the response time at the given percentile exceeds the threshold.
+     *
+     * @since 1.8.1
+     */
+    SLOW_REQUEST_PERCENTILE(3);
 
     private int type;
 
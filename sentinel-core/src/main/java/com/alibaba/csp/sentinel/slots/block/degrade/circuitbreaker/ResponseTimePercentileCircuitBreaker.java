@@ -0,0 +1,152 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
+
+import java.util.List;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
+import com.alibaba.csp.sentinel.slots.statistic.base.LogLinearHistogram;
+import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * <p>Circuit breaker that opens when the response time at the given percentile (e.g. p99)
+ * in the statistic interval exceeds the threshold.</p>
+ * <p>
+ * The response time of each request is recorded in a {@link LogLinearHistogram} of the current
+ * sub-window, and the statistic interval is divided into several sub-windows, so that the stats slide
+ * across the interval rather than being dropped at once. The percentile is resolved within the precision
+ * of the histogram (1/16 of the value), and the circuit breaker opens only if all values
+ * equivalent to the percentile are larger than the threshold.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public class ResponseTimePercentileCircuitBreaker extends AbstractCircuitBreaker {
+
+    private static final int[] SAMPLE_COUNT_CANDIDATES = {5, 4, 2};
+
+    private final long maxAllowedRt;
+    private final double percentile;
+    private final int minRequestAmount;
+
+    private final LeapArray<LogLinearHistogram> slidingHistogram;
+
+    public ResponseTimePercentileCircuitBreaker(DegradeRule rule) {
+        this(rule, new HistogramLeapArray(sampleCountOf(rule.getStatIntervalMs()), rule.getStatIntervalMs()));
+    }
+
+    ResponseTimePercentileCircuitBreaker(DegradeRule rule, LeapArray<LogLinearHistogram> stat) {
+        super(rule);
+        AssertUtil.isTrue(rule.getGrade() == RuleConstant.DEGRADE_GRADE_RT_PERCENTILE,
+            "rule metric type should be RT percentile");
+        AssertUtil.notNull(stat, "stat cannot be null");
+        this.maxAllowedRt = Math.round(rule.getCount());
+        this.percentile = rule.getPercentile();
+        this.minRequestAmount = rule.getMinRequestAmount();
+        this.slidingHistogram = stat;
+    }
+
+    static int sampleCountOf(int statIntervalMs) {
+        for (int sampleCount : SAMPLE_COUNT_CANDIDATES) {
+            if (statIntervalMs % sampleCount == 0) {
+                return sampleCount;
+            }
+        }
+        return 1;
+    }
+
+    @Override
+    public void resetStat() {
+        for (LogLinearHistogram histogram : slidingHistogram.values()) {
+            histogram.reset();
+        }
+    }
+
+    @Override
+    public void onRequestComplete(Context context) {
+        Entry entry = context.getCurEntry();
+        if (entry == null) {
+            return;
+        }
+        long completeTime = entry.getCompleteTimestamp();
+        if (completeTime <= 0) {
+            completeTime = TimeUtil.currentTimeMillis();
+        }
+        long rt = completeTime - entry.getCreateTimestamp();
+        slidingHistogram.currentWindow().value().record(rt);
+
+        handleStateChangeWhenThresholdExceeded(rt);
+    }
+
+    private void handleStateChangeWhenThresholdExceeded(long rt) {
+        if (currentState.get() == State.OPEN) {
+            return;
+        }
+
+        if (currentState.get() == State.HALF_OPEN) {
+            // In detecting request
+            if (rt > maxAllowedRt) {
+                fromHalfOpenToOpen(rt);
+            } else {
+                fromHalfOpenToClose();
+            }
+            return;
+        }
+
+        // Only slow requests can raise the percentile over the threshold,
+        // so the histograms are not merged for each request.
+        if (rt <= maxAllowedRt) {
+            return;
+        }
+        List<LogLinearHistogram> histograms = slidingHistogram.values();
+        long totalCount = 0;
+        for (LogLinearHistogram histogram : histograms) {
+            totalCount += histogram.getTotalCount();
+        }
+        if (totalCount < minRequestAmount) {
+            return;
+        }
+        long currentRt = LogLinearHistogram.valueAtPercentile(histograms, percentile);
+        if (currentRt > maxAllowedRt) {
+            transformToOpen(currentRt);
+        }
+    }
+
+    static class HistogramLeapArray extends LeapArray<LogLinearHistogram> {
+
+        public HistogramLeapArray(int sampleCount, int intervalInMs) {
+            super(sampleCount, intervalInMs);
+        }
+
+        @Override
+        public LogLinearHistogram newEmptyBucket(long timeMillis) {
+            return new LogLinearHistogram();
+        }
+
+        @Override
+        protected WindowWrap<LogLinearHistogram> resetWindowTo(WindowWrap<LogLinearHistogram> w, long startTime) {
+            w.resetTo(startTime);
+            w.value().reset();
+            return w;
+        }
+    }
+}
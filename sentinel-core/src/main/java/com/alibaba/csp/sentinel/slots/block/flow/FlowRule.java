@@ -47,7 +47,7 @@ public class FlowRule extends AbstractRule {
     }
 
     /**
-     * The threshold type of flow control (0: thread count, 1: QPS).
+     * The threshold type of flow control (0: thread count, 1: QPS, 2: adaptive concurrency).
      */
     private int grade = RuleConstant.FLOW_GRADE_QPS;
 
@@ -72,7 +72,8 @@ public class FlowRule extends AbstractRule {
 
     /**
      * Rate limiter control behavior.
-     * 0. default(reject directly), 1. warm up, 2. rate limiter, 3. warm up + rate limiter
+     * 0. default(reject directly), 1. warm up, 2. rate limiter, 3. warm up + rate limiter,
+     * 4. precise rate limiter, 5. token bucket
      */
     private int controlBehavior = RuleConstant.CONTROL_BEHAVIOR_DEFAULT;
 
@@ -83,6 +84,27 @@ public class FlowRule extends AbstractRule {
      */
     private int maxQueueingTimeMs = 500;
 
+    /**
+     * Extra tokens allowed in token bucket behavior, so the bucket can hold at most {@code count + burstCount}
+     * tokens for bursts.
+     */
+    private double burstCount = 0;
+    /**
+     * Refill period of the token bucket behavior, in which {@code count} tokens will be refilled.
+     */
+    private long durationInSec = 1;
+
+    /**
+     * Whether to check the QPS threshold with the sliding window in default behavior, which interpolates
+     * the pass count of the previous second to avoid overshoot at the boundaries of sampling windows.
+     */
+    private boolean slidingWindowMode;
+
+    /**
+     * Algorithm of the adaptive concurrency limit (0: gradient, 1: Vegas), only for adaptive concurrency grade.
+     */
+    private int adaptiveStrategy = RuleConstant.ADAPTIVE_CONCURRENCY_GRADIENT;
+
     private boolean clusterMode;
     /**
      * Flow rule config for cluster mode.
@@ -112,6 +134,42 @@ public class FlowRule extends AbstractRule {
         return this;
     }
 
+    public double getBurstCount() {
+        return burstCount;
+    }
+
+    public FlowRule setBurstCount(double burstCount) {
+        this.burstCount = burstCount;
+        return this;
+    }
+
+    public long getDurationInSec() {
+        return durationInSec;
+    }
+
+    public FlowRule setDurationInSec(long durationInSec) {
+        this.durationInSec = durationInSec;
+        return this;
+    }
+
+    public boolean isSlidingWindowMode() {
+        return slidingWindowMode;
+    }
+
+    public FlowRule setSlidingWindowMode(boolean slidingWindowMode) {
+        this.slidingWindowMode = slidingWindowMode;
+        return this;
+    }
+
+    public int getAdaptiveStrategy() {
+        return adaptiveStrategy;
+    }
+
+    public FlowRule setAdaptiveStrategy(int adaptiveStrategy) {
+        this.adaptiveStrategy = adaptiveStrategy;
+        return this;
+    }
+
     FlowRule setRater(TrafficShapingController rater) {
         this.controller = rater;
         return this;
@@ -198,6 +256,10 @@ public class FlowRule extends AbstractRule {
         if (controlBehavior != rule.controlBehavior) { return false; }
         if (warmUpPeriodSec != rule.warmUpPeriodSec) { return false; }
         if (maxQueueingTimeMs != rule.maxQueueingTimeMs) { return false; }
+        if (Double.compare(rule.burstCount, burstCount) != 0) { return false; }
+        if (durationInSec != rule.durationInSec) { return false; }
+        if (slidingWindowMode != rule.slidingWindowMode) { return false; }
+        if (adaptiveStrategy != rule.adaptiveStrategy) { return false; }
         if (clusterMode != rule.clusterMode) { return false; }
         if (refResource != null ? !refResource.equals(rule.refResource) : rule.refResource != null) { return false; }
         return clusterConfig != null ? clusterConfig.equals(rule.clusterConfig) : rule.clusterConfig == null;
@@ -215,6 +277,11 @@ public class FlowRule extends AbstractRule {
         result = 31 * result + controlBehavior;
         result = 31 * result + warmUpPeriodSec;
         result = 31 * result + maxQueueingTimeMs;
+        temp = Double.doubleToLongBits(burstCount);
+        result = 31 * result + (int)(temp ^ (temp >>> 32));
+        result = 31 * result + (int)(durationInSec ^ (durationInSec >>> 32));
+        result = 31 * result + (slidingWindowMode ? 1 : 0);
+        result = 31 * result + adaptiveStrategy;
         result = 31 * result + (clusterMode ? 1 : 0);
         result = 31 * result + (clusterConfig != null ? clusterConfig.hashCode() : 0);
         return result;
@@ -232,6 +299,10 @@ public class FlowRule extends AbstractRule {
             ", controlBehavior=" + controlBehavior +
             ", warmUpPeriodSec=" + warmUpPeriodSec +
             ", maxQueueingTimeMs=" + maxQueueingTimeMs +
+            ", burstCount=" + burstCount +
+            ", durationInSec=" + durationInSec +
+            ", slidingWindowMode=" + slidingWindowMode +
+            ", adaptiveStrategy=" + adaptiveStrategy +
             ", clusterMode=" + clusterMode +
             ", clusterConfig=" + clusterConfig +
             ", controller=" + controller +
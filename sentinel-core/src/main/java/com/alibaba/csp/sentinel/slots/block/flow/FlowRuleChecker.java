@@ -112,6 +112,20 @@ public class FlowRuleChecker {
         return !RuleConstant.LIMIT_APP_DEFAULT.equals(origin) && !RuleConstant.LIMIT_APP_OTHER.equals(origin);
     }
 
+    /**
+     * Get the origin node of current invocation, or null if the origin is counted in the overflow node of
+     * the resource (see {@link com.alibaba.csp.sentinel.config.SentinelConfig#statisticMaxOriginCount()}),
+     * which sums up the traffic of many origins, so that the origin-scoped rule won't be checked.
+     */
+    private static Node selectOriginNode(Context context, DefaultNode node) {
+        Node originNode = context.getOriginNode();
+        if (originNode != null && node != null && node.getClusterNode() != null
+            && originNode == node.getClusterNode().getOverflowOriginNode()) {
+            return null;
+        }
+        return originNode;
+    }
+
     static Node selectNodeByRequesterAndStrategy(/*@NonNull*/ FlowRule rule, Context context, DefaultNode node) {
         // The limit app should not be empty.
         String limitApp = rule.getLimitApp();
@@ -121,7 +135,7 @@ public class FlowRuleChecker {
         if (limitApp.equals(origin) && filterOrigin(origin)) {
             if (strategy == RuleConstant.STRATEGY_DIRECT) {
                 // Matches limit origin, return origin statistic node.
-                return context.getOriginNode();
+                return selectOriginNode(context, node);
             }
 
             return selectReferenceNode(rule, context, node);
@@ -135,7 +149,7 @@ public class FlowRuleChecker {
         } else if (RuleConstant.LIMIT_APP_OTHER.equals(limitApp)
             && FlowRuleManager.isOtherOrigin(origin, rule.getResource())) {
             if (strategy == RuleConstant.STRATEGY_DIRECT) {
-                return context.getOriginNode();
+                return selectOriginNode(context, node);
             }
 
             return selectReferenceNode(rule, context, node);
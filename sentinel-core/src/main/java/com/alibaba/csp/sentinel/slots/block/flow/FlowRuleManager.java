@@ -16,7 +16,6 @@
 package com.alibaba.csp.sentinel.slots.block.flow;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -28,6 +27,10 @@ import java.util.concurrent.atomic.AtomicReference;
 import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
 import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.slotchain.RuleAwareProcessorSlotChain;
+import com.alibaba.csp.sentinel.slots.block.RuleSnapshot;
+import com.alibaba.csp.sentinel.slots.block.RuleUpdateMetricStorage;
+import com.alibaba.csp.sentinel.slots.block.RuleUpdateUtil;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.StringUtil;
 import com.alibaba.csp.sentinel.node.metric.MetricTimerListener;
@@ -50,7 +53,12 @@ import com.alibaba.csp.sentinel.property.SentinelProperty;
  */
 public class FlowRuleManager {
 
-    private static final AtomicReference<Map<String, List<FlowRule>>> flowRules = new AtomicReference<Map<String, List<FlowRule>>>();
+    /**
+     * Rule type of the flow rules in {@link RuleUpdateMetricStorage}.
+     */
+    public static final String RULE_TYPE = "flow";
+
+    private static final AtomicReference<RuleSnapshot<List<FlowRule>>> flowRules = new AtomicReference<RuleSnapshot<List<FlowRule>>>();
 
     private static final FlowPropertyListener LISTENER = new FlowPropertyListener();
     private static SentinelProperty<List<FlowRule>> currentProperty = new DynamicSentinelProperty<List<FlowRule>>();
@@ -60,7 +68,7 @@ public class FlowRuleManager {
         new NamedThreadFactory("sentinel-metrics-record-task", true));
 
     static {
-        flowRules.set(Collections.<String, List<FlowRule>>emptyMap());
+        flowRules.set(RuleSnapshot.<List<FlowRule>>empty());
         currentProperty.addListener(LISTENER);
         startMetricTimerListener();
     }
@@ -108,7 +116,7 @@ public class FlowRuleManager {
      */
     public static List<FlowRule> getRules() {
         List<FlowRule> rules = new ArrayList<FlowRule>();
-        for (Map.Entry<String, List<FlowRule>> entry : flowRules.get().entrySet()) {
+        for (Map.Entry<String, List<FlowRule>> entry : flowRules.get().getRuleMap().entrySet()) {
             rules.addAll(entry.getValue());
         }
         return rules;
@@ -124,6 +132,16 @@ public class FlowRuleManager {
     }
 
     static Map<String, List<FlowRule>> getFlowRuleMap() {
+        return flowRules.get().getRuleMap();
+    }
+
+    /**
+     * Get current snapshot of the flow rules, which will be swapped as a whole when rules are updated.
+     *
+     * @return current rule snapshot
+     * @since 1.8.1
+     */
+    static RuleSnapshot<List<FlowRule>> getRuleSnapshot() {
         return flowRules.get();
     }
 
@@ -151,19 +169,33 @@ public class FlowRuleManager {
 
     private static final class FlowPropertyListener implements PropertyListener<List<FlowRule>> {
 
+        private synchronized Map<String, List<FlowRule>> reloadFrom(List<FlowRule> value) {
+            long start = System.nanoTime();
+            RuleSnapshot<List<FlowRule>> current = flowRules.get();
+            Map<String, List<FlowRule>> rules = FlowRuleUtil.rebuildFlowRuleMap(value, current.getRuleMap());
+            // Only the changed resources are rebuilt, the unchanged ones keep their traffic shaping controllers.
+            int changed = RuleUpdateUtil.retainUnchanged(current.getRuleMap(), rules);
+            if (changed > 0) {
+                flowRules.set(RuleSnapshot.of(rules));
+                RuleAwareProcessorSlotChain.onRulesUpdated();
+            }
+            int ruleCount = 0;
+            for (List<FlowRule> list : rules.values()) {
+                ruleCount += list.size();
+            }
+            RuleUpdateMetricStorage.record(RULE_TYPE, start, rules.size(), ruleCount, changed);
+            return rules;
+        }
+
         @Override
         public void configUpdate(List<FlowRule> value) {
-            Map<String, List<FlowRule>> rules = FlowRuleUtil.buildFlowRuleMap(value);
-            //the rules was always not null, it's no need to check nullable
-            //remove checking to avoid IDE warning
-            flowRules.set(rules);
+            Map<String, List<FlowRule>> rules = reloadFrom(value);
             RecordLog.info("[FlowRuleManager] Flow rules received: {}", rules);
         }
 
         @Override
         public void configLoad(List<FlowRule> conf) {
-            Map<String, List<FlowRule>> rules = FlowRuleUtil.buildFlowRuleMap(conf);
-            flowRules.set(rules);
+            Map<String, List<FlowRule>> rules = reloadFrom(conf);
             RecordLog.info("[FlowRuleManager] Flow rules loaded: {}", rules);
         }
     }
@@ -19,7 +19,11 @@ import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.slots.block.ClusterRuleConstant;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.DefaultController;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.GradientConcurrencyController;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.PreciseRateLimiterController;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.RateLimiterController;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.TokenBucketController;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.VegasConcurrencyController;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.WarmUpController;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.WarmUpRateLimiterController;
 import com.alibaba.csp.sentinel.util.StringUtil;
@@ -70,6 +74,29 @@ public final class FlowRuleUtil {
         return buildFlowRuleMap(list, extractResource, filter, shouldSort);
     }
 
+    /**
+     * Build the flow rule map from raw list of flow rules, grouping by resource name. The traffic shaping
+     * controllers of unchanged rules in the existing rule map are reused, so their state (e.g. warm-up
+     * and the latest passed time) is kept.
+     *
+     * @param list            raw list of flow rules
+     * @param existingRuleMap existing flow rule map
+     * @return constructed new flow rule map; empty map if list is null or empty, or no valid rules
+     * @since 1.8.1
+     */
+    public static Map<String, List<FlowRule>> rebuildFlowRuleMap(List<FlowRule> list,
+                                                                 Map<String, List<FlowRule>> existingRuleMap) {
+        Map<FlowRule, FlowRule> existingRules = new HashMap<>();
+        if (existingRuleMap != null) {
+            for (List<FlowRule> rules : existingRuleMap.values()) {
+                for (FlowRule rule : rules) {
+                    existingRules.put(rule, rule);
+                }
+            }
+        }
+        return buildFlowRuleMap(list, extractResource, null, true, existingRules);
+    }
+
     /**
      * Build the flow rule map from raw list of flow rules, grouping by provided group function.
      *
@@ -82,6 +109,12 @@ public final class FlowRuleUtil {
      */
     public static <K> Map<K, List<FlowRule>> buildFlowRuleMap(List<FlowRule> list, Function<FlowRule, K> groupFunction,
                                                               Predicate<FlowRule> filter, boolean shouldSort) {
+        return buildFlowRuleMap(list, groupFunction, filter, shouldSort, null);
+    }
+
+    private static <K> Map<K, List<FlowRule>> buildFlowRuleMap(List<FlowRule> list, Function<FlowRule, K> groupFunction,
+                                                               Predicate<FlowRule> filter, boolean shouldSort,
+                                                               Map<FlowRule, FlowRule> existingRules) {
         Map<K, List<FlowRule>> newRuleMap = new ConcurrentHashMap<>();
         if (list == null || list.isEmpty()) {
             return newRuleMap;
@@ -99,8 +132,7 @@ public final class FlowRuleUtil {
             if (StringUtil.isBlank(rule.getLimitApp())) {
                 rule.setLimitApp(RuleConstant.LIMIT_APP_DEFAULT);
             }
-            TrafficShapingController rater = generateRater(rule);
-            rule.setRater(rater);
+            rule.setRater(getExistingRaterOrNew(rule, existingRules));
 
             K key = groupFunction.apply(rule);
             if (key == null) {
@@ -129,6 +161,18 @@ public final class FlowRuleUtil {
         return newRuleMap;
     }
 
+    private static TrafficShapingController getExistingRaterOrNew(/*@Valid*/ FlowRule rule,
+                                                                  Map<FlowRule, FlowRule> existingRules) {
+        if (existingRules != null) {
+            FlowRule existing = existingRules.get(rule);
+            // The same rule instance may have been modified after loaded, so it's not regarded as unchanged.
+            if (existing != null && existing != rule && existing.getRater() != null) {
+                return existing.getRater();
+            }
+        }
+        return generateRater(rule);
+    }
+
     private static TrafficShapingController generateRater(/*@Valid*/ FlowRule rule) {
         if (rule.getGrade() == RuleConstant.FLOW_GRADE_QPS) {
             switch (rule.getControlBehavior()) {
@@ -137,6 +181,10 @@ public final class FlowRuleUtil {
                             ColdFactorProperty.coldFactor);
                 case RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER:
                     return new RateLimiterController(rule.getMaxQueueingTimeMs(), rule.getCount());
+                case RuleConstant.CONTROL_BEHAVIOR_PRECISE_RATE_LIMITER:
+                    return new PreciseRateLimiterController(rule.getMaxQueueingTimeMs(), rule.getCount());
+                case RuleConstant.CONTROL_BEHAVIOR_TOKEN_BUCKET:
+                    return new TokenBucketController(rule.getCount(), rule.getBurstCount(), rule.getDurationInSec());
                 case RuleConstant.CONTROL_BEHAVIOR_WARM_UP_RATE_LIMITER:
                     return new WarmUpRateLimiterController(rule.getCount(), rule.getWarmUpPeriodSec(),
                             rule.getMaxQueueingTimeMs(), ColdFactorProperty.coldFactor);
@@ -145,7 +193,13 @@ public final class FlowRuleUtil {
                     // Default mode or unknown mode: default traffic shaping controller (fast-reject).
             }
         }
-        return new DefaultController(rule.getCount(), rule.getGrade());
+        if (rule.getGrade() == RuleConstant.FLOW_GRADE_ADAPTIVE_CONCURRENCY) {
+            if (rule.getAdaptiveStrategy() == RuleConstant.ADAPTIVE_CONCURRENCY_VEGAS) {
+                return new VegasConcurrencyController((int)rule.getCount());
+            }
+            return new GradientConcurrencyController((int)rule.getCount());
+        }
+        return new DefaultController(rule.getCount(), rule.getGrade(), rule.isSlidingWindowMode());
     }
 
     /**
@@ -175,6 +229,8 @@ public final class FlowRuleUtil {
             return checkClusterField(rule) && checkStrategyField(rule) && checkControlBehaviorField(rule);
         } else if (rule.getGrade() == RuleConstant.FLOW_GRADE_THREAD) {
             return checkClusterConcurrentField(rule);
+        } else if (rule.getGrade() == RuleConstant.FLOW_GRADE_ADAPTIVE_CONCURRENCY) {
+            return checkAdaptiveConcurrencyField(rule);
         } else {
             return false;
         }
@@ -204,6 +260,15 @@ public final class FlowRuleUtil {
         return isWindowConfigValid(clusterConfig.getSampleCount(), clusterConfig.getWindowIntervalMs());
     }
 
+    private static boolean checkAdaptiveConcurrencyField(/*@NonNull*/ FlowRule rule) {
+        // The adaptive limit is measured locally, so cluster mode is not supported.
+        if (rule.isClusterMode() || rule.getCount() < 1) {
+            return false;
+        }
+        return checkStrategyField(rule) && (rule.getAdaptiveStrategy() == RuleConstant.ADAPTIVE_CONCURRENCY_GRADIENT
+            || rule.getAdaptiveStrategy() == RuleConstant.ADAPTIVE_CONCURRENCY_VEGAS);
+    }
+
     private static boolean checkClusterField(/*@NonNull*/ FlowRule rule) {
         if (!rule.isClusterMode()) {
             return true;
@@ -242,9 +307,12 @@ public final class FlowRuleUtil {
             case RuleConstant.CONTROL_BEHAVIOR_WARM_UP:
                 return rule.getWarmUpPeriodSec() > 0;
             case RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER:
+            case RuleConstant.CONTROL_BEHAVIOR_PRECISE_RATE_LIMITER:
                 return rule.getMaxQueueingTimeMs() > 0;
             case RuleConstant.CONTROL_BEHAVIOR_WARM_UP_RATE_LIMITER:
                 return rule.getWarmUpPeriodSec() > 0 && rule.getMaxQueueingTimeMs() > 0;
+            case RuleConstant.CONTROL_BEHAVIOR_TOKEN_BUCKET:
+                return rule.getBurstCount() >= 0 && rule.getDurationInSec() > 0;
             default:
                 return true;
         }
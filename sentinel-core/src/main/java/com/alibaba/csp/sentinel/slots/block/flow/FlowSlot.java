@@ -20,14 +20,15 @@ import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleCheckerSlot;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleSnapshotCache;
 import com.alibaba.csp.sentinel.spi.Spi;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.function.Function;
 
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 
 /**
  * <p>
@@ -138,11 +139,16 @@ import java.util.Map;
  * @author jialiang.linjl
  * @author Eric Zhao
  */
-@Spi(order = Constants.ORDER_FLOW_SLOT)
-public class FlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+@Spi(isSingleton = false, order = Constants.ORDER_FLOW_SLOT)
+public class FlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> implements RuleCheckerSlot {
 
     private final FlowRuleChecker checker;
 
+    /**
+     * The slot is held by the slot chain of one resource, so the rules of the resource can be cached.
+     */
+    private final RuleSnapshotCache<List<FlowRule>> ruleCache = new RuleSnapshotCache<>();
+
     public FlowSlot() {
         this(new FlowRuleChecker());
     }
@@ -176,12 +182,16 @@ public class FlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
         fireExit(context, resourceWrapper, count, args);
     }
 
+    @Override
+    public boolean hasRules(ResourceWrapper resourceWrapper) {
+        return FlowRuleManager.hasConfig(resourceWrapper.getName());
+    }
+
     private final Function<String, Collection<FlowRule>> ruleProvider = new Function<String, Collection<FlowRule>>() {
         @Override
         public Collection<FlowRule> apply(String resource) {
-            // Flow rule map should not be null.
-            Map<String, List<FlowRule>> flowRules = FlowRuleManager.getFlowRuleMap();
-            return flowRules.get(resource);
+            // Flow rule snapshot should not be null.
+            return ruleCache.get(FlowRuleManager.getRuleSnapshot(), resource);
         }
     };
 }
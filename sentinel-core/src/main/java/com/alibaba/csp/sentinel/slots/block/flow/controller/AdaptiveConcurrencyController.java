@@ -0,0 +1,152 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.node.IntervalProperty;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * <p>Base of the adaptive concurrency limit controllers, which limit the concurrency of the resource
+ * by an estimated limit following the measured response time of the node.</p>
+ * <p>
+ * Requests only read the current limit. The limit is estimated from the stats of the node
+ * (average RT and concurrency of the current second) at most once per sample interval,
+ * by the request which wins the CAS of the next update time.
+ * </p>
+ * <p>
+ * The no-load RT is the min of the average RT of the samples (the RT of a single request is too noisy
+ * to be the baseline). Once the requests are queued in the downstream, the RT of every request inflates
+ * with the queue, so the no-load RT is probed periodically: the limit is halved for one statistic window
+ * to drain the queue, then the no-load RT is re-measured and the previous limit is restored.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public abstract class AdaptiveConcurrencyController implements TrafficShapingController {
+
+    public static final int DEFAULT_SAMPLE_INTERVAL_MS = 500;
+
+    private static final int DEFAULT_INITIAL_LIMIT = 20;
+    private static final int DEFAULT_MIN_LIMIT = 1;
+    private static final int PROBE_INTERVAL = 60;
+
+    protected final int maxLimit;
+    protected final int minLimit;
+    private final int sampleIntervalMs;
+    private final int probeSamples;
+
+    private final AtomicLong nextUpdateTime = new AtomicLong(0);
+    private volatile double estimatedLimit;
+
+    private volatile double noLoadRt;
+    private volatile double limitBeforeProbe;
+    private volatile int samplesToProbe = PROBE_INTERVAL;
+    private volatile int probeSamplesLeft;
+
+    protected AdaptiveConcurrencyController(int maxLimit) {
+        this(maxLimit, Math.min(maxLimit, DEFAULT_INITIAL_LIMIT), DEFAULT_SAMPLE_INTERVAL_MS);
+    }
+
+    protected AdaptiveConcurrencyController(int maxLimit, int initialLimit, int sampleIntervalMs) {
+        AssertUtil.isTrue(maxLimit >= DEFAULT_MIN_LIMIT, "maxLimit should be positive");
+        AssertUtil.isTrue(initialLimit >= DEFAULT_MIN_LIMIT && initialLimit <= maxLimit,
+            "initialLimit should be in [1, maxLimit]");
+        AssertUtil.isTrue(sampleIntervalMs > 0, "sampleIntervalMs should be positive");
+        this.maxLimit = maxLimit;
+        this.minLimit = DEFAULT_MIN_LIMIT;
+        this.sampleIntervalMs = sampleIntervalMs;
+        // The probe lasts for a whole statistic window, so the average RT is measured without the queue.
+        this.probeSamples = Math.max(1, (int)Math.ceil((double)IntervalProperty.INTERVAL / sampleIntervalMs));
+        this.estimatedLimit = initialLimit;
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount) {
+        return canPass(node, acquireCount, false);
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount, boolean prioritized) {
+        tryUpdateLimit(node);
+        return node.curThreadNum() + acquireCount <= getLimit();
+    }
+
+    /**
+     * @return current concurrency limit
+     */
+    public int getLimit() {
+        return (int)estimatedLimit;
+    }
+
+    private void tryUpdateLimit(Node node) {
+        long currentTime = TimeUtil.currentTimeMillis();
+        long updateTime = nextUpdateTime.get();
+        if (currentTime < updateTime || !nextUpdateTime.compareAndSet(updateTime, currentTime + sampleIntervalMs)) {
+            return;
+        }
+        double avgRt = node.avgRt();
+        if (node.successQps() <= 0 || avgRt <= 0) {
+            // No completed requests (or the RT is too short to measure) in current second.
+            return;
+        }
+        if (limitBeforeProbe > 0) {
+            if (--probeSamplesLeft > 0) {
+                return;
+            }
+            // The queue has been drained, so the average RT is close to the no-load RT.
+            this.noLoadRt = avgRt;
+            this.estimatedLimit = limitBeforeProbe;
+            this.limitBeforeProbe = 0;
+            return;
+        }
+        if (noLoadRt <= 0 || avgRt < noLoadRt) {
+            this.noLoadRt = avgRt;
+        }
+        if (--samplesToProbe <= 0) {
+            this.samplesToProbe = PROBE_INTERVAL;
+            this.probeSamplesLeft = probeSamples;
+            this.limitBeforeProbe = estimatedLimit;
+            this.estimatedLimit = Math.max(minLimit, estimatedLimit / 2);
+            return;
+        }
+        double newLimit = nextLimit(estimatedLimit, noLoadRt, avgRt, node.curThreadNum());
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    /**
+     * @return the no-load response time (in ms) measured, or 0 if not measured yet
+     */
+    public double getNoLoadRt() {
+        return noLoadRt;
+    }
+
+    /**
+     * Estimate the next concurrency limit from the stats of the latest sample. This is called
+     * by one thread at a time.
+     *
+     * @param limit    current limit
+     * @param noLoadRt no-load response time (in ms)
+     * @param avgRt    average response time (in ms) in current second
+     * @param inflight current concurrency
+     * @return the new limit, which will be bounded in [minLimit, maxLimit]
+     */
+    protected abstract double nextLimit(double limit, double noLoadRt, double avgRt, int inflight);
+}
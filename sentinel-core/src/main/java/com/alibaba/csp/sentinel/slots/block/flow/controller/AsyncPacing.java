@@ -0,0 +1,146 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.concurrent.TimingWheel;
+
+/**
+ * <p>Non-blocking pacing support for the queueing traffic shaping controllers
+ * ({@link RateLimiterController} and {@link WarmUpRateLimiterController}).</p>
+ * <p>
+ * By default, the queueing controllers make the calling thread sleep until the reserved slot arrives.
+ * If the entries are performed within the pacing scope of current thread, the controllers will only
+ * reserve the slot and record the time to wait, so that the caller (e.g. reactive or RPC adapters) could
+ * defer the invocation asynchronously without holding the thread:
+ * </p>
+ *
+ * <pre>
+ * long waitMs;
+ * AsyncPacing.enter();
+ * try {
+ *     entry = SphU.asyncEntry(resourceName);
+ * } finally {
+ *     waitMs = AsyncPacing.exit();
+ * }
+ * AsyncPacing.delay(waitMs).thenRunAsync(invocation, executor);
+ * </pre>
+ *
+ * <p>The delayed tasks are driven by a shared {@link TimingWheel}, so the queued invocations cost no threads.</p>
+ *
+ * @since 1.8.1
+ */
+public final class AsyncPacing {
+
+    private static final TimingWheel TIMER = new TimingWheel("sentinel-pacing-timer", 1, 512);
+
+    private static final ThreadLocal<PacingScope> SCOPE_HOLDER = new ThreadLocal<PacingScope>() {
+        @Override
+        protected PacingScope initialValue() {
+            return new PacingScope();
+        }
+    };
+
+    /**
+     * Enter the pacing scope of current thread. The queueing controllers will not block
+     * in the scope, but record the time to wait instead.
+     */
+    public static void enter() {
+        PacingScope scope = SCOPE_HOLDER.get();
+        scope.entered = true;
+        scope.waitMs = 0;
+    }
+
+    /**
+     * Exit the pacing scope of current thread.
+     *
+     * @return the time (in ms) to wait before the invocation could proceed, 0 if no need to wait
+     */
+    public static long exit() {
+        PacingScope scope = SCOPE_HOLDER.get();
+        long waitMs = scope.waitMs;
+        scope.entered = false;
+        scope.waitMs = 0;
+        return waitMs;
+    }
+
+    /**
+     * Check whether current thread is in the pacing scope.
+     *
+     * @return true if in the pacing scope
+     */
+    public static boolean isEntered() {
+        return SCOPE_HOLDER.get().entered;
+    }
+
+    /**
+     * Record the time to wait in the pacing scope of current thread.
+     *
+     * @param waitMs the time to wait in ms
+     * @return true if the wait has been deferred to the caller, false if current thread is not in the pacing scope
+     */
+    static boolean defer(long waitMs) {
+        PacingScope scope = SCOPE_HOLDER.get();
+        if (!scope.entered) {
+            return false;
+        }
+        // Multiple queueing rules may exist, so the invocation should wait until the latest slot arrives.
+        scope.waitMs = Math.max(scope.waitMs, waitMs);
+        return true;
+    }
+
+    /**
+     * Schedule the task to be executed after the given delay in the shared timer. The task will be executed
+     * in the timer thread, so it should be short and non-blocking.
+     *
+     * @param task    the task
+     * @param delayMs the delay in ms
+     */
+    public static void schedule(Runnable task, long delayMs) {
+        TIMER.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get a future which will be completed after the given delay. Dependent actions should be executed
+     * asynchronously in other executors, as the future is completed in the timer thread.
+     *
+     * @param delayMs the delay in ms
+     * @return the future completed after the delay
+     */
+    public static CompletableFuture<Void> delay(long delayMs) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        if (delayMs <= 0) {
+            future.complete(null);
+            return future;
+        }
+        schedule(new Runnable() {
+            @Override
+            public void run() {
+                future.complete(null);
+            }
+        }, delayMs);
+        return future;
+    }
+
+    private static final class PacingScope {
+        private boolean entered;
+        private long waitMs;
+    }
+
+    private AsyncPacing() {}
+}
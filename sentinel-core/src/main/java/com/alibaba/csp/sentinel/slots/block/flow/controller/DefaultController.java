@@ -34,10 +34,16 @@ public class DefaultController implements TrafficShapingController {
 
     private double count;
     private int grade;
+    private boolean slidingWindow;
 
     public DefaultController(double count, int grade) {
+        this(count, grade, false);
+    }
+
+    public DefaultController(double count, int grade, boolean slidingWindow) {
         this.count = count;
         this.grade = grade;
+        this.slidingWindow = slidingWindow;
     }
 
     @Override
@@ -72,7 +78,10 @@ public class DefaultController implements TrafficShapingController {
         if (node == null) {
             return DEFAULT_AVG_USED_TOKENS;
         }
-        return grade == RuleConstant.FLOW_GRADE_THREAD ? node.curThreadNum() : (int)(node.passQps());
+        if (grade == RuleConstant.FLOW_GRADE_THREAD) {
+            return node.curThreadNum();
+        }
+        return slidingWindow ? (int)(node.slidingPassQps()) : (int)(node.passQps());
     }
 
     private void sleep(long timeMillis) {
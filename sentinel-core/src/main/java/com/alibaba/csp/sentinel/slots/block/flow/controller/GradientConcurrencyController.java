@@ -0,0 +1,53 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+/**
+ * <p>Adaptive concurrency limit in the gradient algorithm (like Gradient2 of Netflix concurrency-limits).</p>
+ * <p>
+ * The average RT of the latest sample is compared with the no-load RT. The limit shrinks by the gradient
+ * {@code tolerance * noLoadRt / avgRt} (bounded in [0.5, 1]) when the RT grows, and grows by a queue of
+ * {@code sqrt(limit)} otherwise. The baseline is the no-load RT (rather than a moving average of the
+ * average RT), so it won't drift up with the queueing delay caused by the limit itself.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public class GradientConcurrencyController extends AdaptiveConcurrencyController {
+
+    private static final double RT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+
+    public GradientConcurrencyController(int maxLimit) {
+        super(maxLimit);
+    }
+
+    public GradientConcurrencyController(int maxLimit, int initialLimit, int sampleIntervalMs) {
+        super(maxLimit, initialLimit, sampleIntervalMs);
+    }
+
+    @Override
+    protected double nextLimit(double limit, double noLoadRt, double avgRt, int inflight) {
+        // The limit is not probed when the resource is far from saturated.
+        if (inflight < limit / 2) {
+            return limit;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, RT_TOLERANCE * noLoadRt / avgRt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        return limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+    }
+}
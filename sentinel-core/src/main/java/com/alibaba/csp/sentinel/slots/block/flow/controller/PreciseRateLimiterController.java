@@ -0,0 +1,126 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
+
+/**
+ * <p>A leaky bucket traffic shaping controller working in nanosecond resolution.</p>
+ * <p>
+ * Different from {@link RateLimiterController}, the interval between two requests is not rounded
+ * to milliseconds, so the requests can still be paced uniformly when the threshold is above 1000 QPS
+ * (up to 1M QPS). The controller keeps the virtual schedule time of the next free slot, and each request
+ * reserves its slot by a CAS on it, so the reservation is lock-free and never goes back in time.
+ * </p>
+ * <p>
+ * Waiting for less than {@link #SPIN_THRESHOLD_NS} is done by yielding instead of parking,
+ * as the timer slack of parking is usually larger than the interval itself in high QPS.
+ * In the async pacing scope the wait is deferred in milliseconds, so the requests within one millisecond
+ * may pass together while the overall rate is still kept by the virtual schedule.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public class PreciseRateLimiterController implements TrafficShapingController {
+
+    static final long SPIN_THRESHOLD_NS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long maxQueueingTimeNs;
+    private final double count;
+
+    /**
+     * The virtual time (from {@link System#nanoTime()}) at which the next request can pass.
+     */
+    private final AtomicLong nextFreeTime = new AtomicLong(System.nanoTime());
+
+    public PreciseRateLimiterController(int timeOut, double count) {
+        this.maxQueueingTimeNs = TimeUnit.MILLISECONDS.toNanos(timeOut);
+        this.count = count;
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount) {
+        return canPass(node, acquireCount, false);
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount, boolean prioritized) {
+        // Pass when acquire count is less or equal than 0.
+        if (acquireCount <= 0) {
+            return true;
+        }
+        // Reject when count is less or equal than 0.
+        if (count <= 0) {
+            return false;
+        }
+        // Calculate the interval of the acquired count in nanoseconds, at least 1 ns.
+        long costTime = Math.max(1L, Math.round(acquireCount * NANOS_PER_SECOND / count));
+
+        long currentTime;
+        long expectedTime;
+        while (true) {
+            currentTime = System.nanoTime();
+            long nextFree = nextFreeTime.get();
+            // The bucket is drained when the next free time has passed, so the request can pass now.
+            expectedTime = nextFree - currentTime > 0 ? nextFree : currentTime;
+            if (expectedTime - currentTime > maxQueueingTimeNs) {
+                return false;
+            }
+            if (nextFreeTime.compareAndSet(nextFree, expectedTime + costTime)) {
+                break;
+            }
+        }
+        if (waitUntil(expectedTime, expectedTime - currentTime)) {
+            return true;
+        }
+        // The wait is interrupted, so give back the reserved slot if no later request has reserved after it.
+        nextFreeTime.compareAndSet(expectedTime + costTime, expectedTime);
+        return false;
+    }
+
+    private boolean waitUntil(long expectedTime, long waitTime) {
+        if (waitTime <= 0) {
+            return true;
+        }
+        // In the async pacing scope, the caller will defer the invocation instead of waiting.
+        if (AsyncPacing.isEntered()) {
+            long waitMs = TimeUnit.NANOSECONDS.toMillis(waitTime);
+            return waitMs <= 0 || AsyncPacing.defer(waitMs);
+        }
+        Thread currentThread = Thread.currentThread();
+        while (true) {
+            long remaining = expectedTime - System.nanoTime();
+            if (remaining <= 0) {
+                return true;
+            }
+            if (currentThread.isInterrupted()) {
+                return false;
+            }
+            if (remaining > SPIN_THRESHOLD_NS) {
+                LockSupport.parkNanos(this, remaining - SPIN_THRESHOLD_NS);
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+}
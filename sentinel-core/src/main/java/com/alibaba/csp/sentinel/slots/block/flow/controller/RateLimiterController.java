@@ -79,7 +79,8 @@ public class RateLimiterController implements TrafficShapingController {
                         return false;
                     }
                     // in race condition waitTime may <= 0
-                    if (waitTime > 0) {
+                    // In the async pacing scope, the caller will defer the invocation instead of sleeping.
+                    if (waitTime > 0 && !AsyncPacing.defer(waitTime)) {
                         Thread.sleep(waitTime);
                     }
                     return true;
@@ -0,0 +1,106 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * <p>A token bucket traffic shaping controller, which refills {@code count} tokens per {@code durationInSec}
+ * and holds at most {@code count + burstCount} tokens, so bursts are allowed after being idle.</p>
+ * <p>
+ * The bucket is refilled lazily on access. Instead of keeping the token count and the last refill time,
+ * the controller keeps only the virtual time when the bucket was empty, and the tokens available at
+ * current time can be derived from it. So each acquisition is a single CAS on one {@code long}.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public class TokenBucketController implements TrafficShapingController {
+
+    private final double count;
+    private final double burstCount;
+    private final long durationNanos;
+
+    /**
+     * The virtual time (in ns) when the bucket was empty. The initial value indicates a full bucket.
+     */
+    private final AtomicLong emptyTime = new AtomicLong(0);
+
+    public TokenBucketController(double count, double burstCount, long durationInSec) {
+        this.count = count;
+        this.burstCount = burstCount;
+        this.durationNanos = TimeUnit.SECONDS.toNanos(durationInSec);
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount) {
+        return canPass(node, acquireCount, false);
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount, boolean prioritized) {
+        return tryAcquire(acquireCount, count, burstCount) >= 0;
+    }
+
+    /**
+     * Try to acquire tokens from the bucket with provided refill count and burst count, which is useful when
+     * the threshold is not fixed (e.g. the global threshold of cluster flow control).
+     *
+     * @param acquireCount count of tokens to acquire
+     * @param tokenCount   count of tokens refilled per duration
+     * @param burstCount   extra count of tokens for bursts
+     * @return the remaining tokens after the acquisition, or -1 if there are not enough tokens
+     */
+    public double tryAcquire(int acquireCount, double tokenCount, double burstCount) {
+        if (acquireCount <= 0) {
+            return availableTokens(tokenCount, burstCount);
+        }
+        if (tokenCount <= 0) {
+            return -1;
+        }
+        double interval = durationNanos / tokenCount;
+        long maxFillTime = Math.round((tokenCount + burstCount) * interval);
+        long costTime = Math.round(acquireCount * interval);
+        while (true) {
+            long currentTime = TimeUnit.MILLISECONDS.toNanos(TimeUtil.currentTimeMillis());
+            long oldEmptyTime = emptyTime.get();
+            // Tokens will not be refilled beyond the max capacity.
+            long startTime = Math.max(oldEmptyTime, currentTime - maxFillTime);
+            long remainingTime = currentTime - startTime - costTime;
+            if (remainingTime < 0) {
+                return -1;
+            }
+            if (emptyTime.compareAndSet(oldEmptyTime, startTime + costTime)) {
+                return remainingTime / interval;
+            }
+        }
+    }
+
+    private double availableTokens(double tokenCount, double burstCount) {
+        if (tokenCount <= 0) {
+            return 0;
+        }
+        double interval = durationNanos / tokenCount;
+        long currentTime = TimeUnit.MILLISECONDS.toNanos(TimeUtil.currentTimeMillis());
+        long startTime = Math.max(emptyTime.get(), currentTime - Math.round((tokenCount + burstCount) * interval));
+        return (currentTime - startTime) / interval;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+/**
+ * <p>Adaptive concurrency limit in the TCP Vegas algorithm.</p>
+ * <p>
+ * The queue size is estimated as {@code limit * (1 - noLoadRt / avgRt)}, where the no-load RT is the min RT
+ * observed. The limit grows when the queue is small (less than {@code 3 * log10(limit)}) and shrinks when the
+ * queue is large (more than {@code 6 * log10(limit)}).
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public class VegasConcurrencyController extends AdaptiveConcurrencyController {
+
+    public VegasConcurrencyController(int maxLimit) {
+        super(maxLimit);
+    }
+
+    public VegasConcurrencyController(int maxLimit, int initialLimit, int sampleIntervalMs) {
+        super(maxLimit, initialLimit, sampleIntervalMs);
+    }
+
+    @Override
+    protected double nextLimit(double limit, double noLoadRt, double avgRt, int inflight) {
+        // The limit is not probed when the resource is far from saturated.
+        if (inflight < limit / 2) {
+            return limit;
+        }
+
+        double queueSize = Math.ceil(limit * (1 - noLoadRt / avgRt));
+        double log = Math.max(1, Math.log10(limit));
+        if (queueSize <= log) {
+            return limit + 6 * log;
+        } else if (queueSize < 3 * log) {
+            return limit + log;
+        } else if (queueSize > 6 * log) {
+            return limit - log;
+        }
+        return limit;
+    }
+}
@@ -75,7 +75,8 @@ public class WarmUpRateLimiterController extends WarmUpController {
                         latestPassedTime.addAndGet(-costTime);
                         return false;
                     }
-                    if (waitTime > 0) {
+                    // In the async pacing scope, the caller will defer the invocation instead of sleeping.
+                    if (waitTime > 0 && !AsyncPacing.defer(waitTime)) {
                         Thread.sleep(waitTime);
                     }
                     return true;
@@ -15,8 +15,8 @@
  */
 package com.alibaba.csp.sentinel.slots.clusterbuilder;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.EntryType;
@@ -29,9 +29,12 @@ import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.node.SampleCountProperty;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlotChain;
+import com.alibaba.csp.sentinel.slotchain.ResourceHandle;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.spi.Spi;
+import com.alibaba.csp.sentinel.util.IndexedTable;
+import com.alibaba.csp.sentinel.util.StringUtil;
 
 /**
  * <p>
@@ -63,11 +66,16 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
      * </p>
      * <p>
      * The longer the application runs, the more stable this mapping will
-     * become. so we don't concurrent map but a lock. as this lock only happens
-     * at the very beginning while concurrent map will hold the lock all the time.
+     * become. Reads of the concurrent map are lock-free, and new cluster nodes
+     * are put into the map directly rather than copying the whole map.
      * </p>
      */
-    private static volatile Map<ResourceWrapper, ClusterNode> clusterNodeMap = new HashMap<>();
+    private static final Map<ResourceWrapper, ClusterNode> clusterNodeMap = new ConcurrentHashMap<>();
+
+    /**
+     * {@link ClusterNode}s of {@link ResourceHandle}s indexed by the interned resource id.
+     */
+    private static final IndexedTable<ClusterNode> clusterNodeTable = new IndexedTable<>();
 
     private static final Object lock = new Object();
 
@@ -82,11 +90,10 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
                 if (clusterNode == null) {
                     // Create the cluster node.
                     clusterNode = new ClusterNode(resourceWrapper.getName(), resourceWrapper.getResourceType());
-                    HashMap<ResourceWrapper, ClusterNode> newMap = new HashMap<>(Math.max(clusterNodeMap.size(), 16));
-                    newMap.putAll(clusterNodeMap);
-                    newMap.put(node.getId(), clusterNode);
-
-                    clusterNodeMap = newMap;
+                    clusterNodeMap.put(node.getId(), clusterNode);
+                    if (resourceWrapper instanceof ResourceHandle) {
+                        clusterNodeTable.set(((ResourceHandle)resourceWrapper).getId(), clusterNode);
+                    }
                 }
             }
         }
@@ -96,8 +103,9 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
          * if context origin is set, we should get or create a new {@link Node} of
          * the specific origin.
          */
-        if (!"".equals(context.getOrigin())) {
-            Node originNode = node.getClusterNode().getOrCreateOriginNode(context.getOrigin());
+        if (StringUtil.isNotEmpty(context.getOrigin())) {
+            Node originNode = node.getClusterNode().getOrCreateOriginNode(context.getOriginId(),
+                context.getOrigin());
             context.getCurEntry().setOriginNode(originNode);
         }
 
@@ -120,6 +128,28 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
         return clusterNodeMap.get(new StringResourceWrapper(id, type));
     }
 
+    /**
+     * Get {@link ClusterNode} of the pre-resolved resource.
+     *
+     * @param resource the pre-resolved resource handle
+     * @return the {@link ClusterNode}
+     * @since 1.8.1
+     */
+    public static ClusterNode getClusterNode(ResourceHandle resource) {
+        if (resource == null) {
+            return null;
+        }
+        ClusterNode clusterNode = clusterNodeTable.get(resource.getId());
+        if (clusterNode == null) {
+            // The cluster node may be created by a plain resource of the same name.
+            clusterNode = clusterNodeMap.get(resource);
+            if (clusterNode != null) {
+                clusterNodeTable.set(resource.getId(), clusterNode);
+            }
+        }
+        return clusterNode;
+    }
+
     /**
      * Get {@link ClusterNode} of the resource name.
      *
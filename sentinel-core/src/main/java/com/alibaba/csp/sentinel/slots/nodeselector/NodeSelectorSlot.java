@@ -24,9 +24,10 @@ import com.alibaba.csp.sentinel.node.EntranceNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.spi.Spi;
+import com.alibaba.csp.sentinel.util.IndexedTable;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * </p>
@@ -128,9 +129,16 @@ import java.util.Map;
 public class NodeSelectorSlot extends AbstractLinkedProcessorSlot<Object> {
 
     /**
-     * {@link DefaultNode}s of the same resource in different context.
+     * {@link DefaultNode}s of the same resource in different context, indexed by the interned context id.
+     * Amount of contexts is limited by {@link Constants#MAX_CONTEXT_NAME_SIZE} in general, so small
+     * segments are used to keep the table compact for each resource.
      */
-    private volatile Map<String, DefaultNode> map = new HashMap<String, DefaultNode>(10);
+    private final IndexedTable<DefaultNode> nodeTable = new IndexedTable<DefaultNode>(16, 128);
+
+    /**
+     * {@link DefaultNode}s of contexts whose ids are out of the capacity of {@link #nodeTable}.
+     */
+    private final Map<String, DefaultNode> map = new ConcurrentHashMap<String, DefaultNode>();
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, Object obj, int count, boolean prioritized, Object... args)
@@ -153,16 +161,16 @@ public class NodeSelectorSlot extends AbstractLinkedProcessorSlot<Object> {
          * The answer is all {@link DefaultNode}s with same resource name share one
          * {@link ClusterNode}. See {@link ClusterBuilderSlot} for detail.
          */
-        DefaultNode node = map.get(context.getName());
+        int contextId = context.getId();
+        DefaultNode node = getNode(context, contextId);
         if (node == null) {
             synchronized (this) {
-                node = map.get(context.getName());
+                node = getNode(context, contextId);
                 if (node == null) {
                     node = new DefaultNode(resourceWrapper, null);
-                    HashMap<String, DefaultNode> cacheMap = new HashMap<String, DefaultNode>(map.size());
-                    cacheMap.putAll(map);
-                    cacheMap.put(context.getName(), node);
-                    map = cacheMap;
+                    if (!nodeTable.set(contextId, node)) {
+                        map.put(context.getName(), node);
+                    }
                     // Build invocation tree
                     ((DefaultNode) context.getLastNode()).addChild(node);
                 }
@@ -174,6 +182,13 @@ public class NodeSelectorSlot extends AbstractLinkedProcessorSlot<Object> {
         fireEntry(context, resourceWrapper, node, count, prioritized, args);
     }
 
+    private DefaultNode getNode(Context context, int contextId) {
+        if (nodeTable.isInCapacity(contextId)) {
+            return nodeTable.get(contextId);
+        }
+        return map.get(context.getName());
+    }
+
     @Override
     public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
         fireExit(context, resourceWrapper, count, args);
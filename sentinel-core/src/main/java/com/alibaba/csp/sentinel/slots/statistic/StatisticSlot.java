@@ -48,7 +48,7 @@ import com.alibaba.csp.sentinel.slots.block.BlockException;
  * @author jialiang.linjl
  * @author Eric Zhao
  */
-@Spi(order = Constants.ORDER_STATISTIC_SLOT)
+@Spi(isSingleton = false, order = Constants.ORDER_STATISTIC_SLOT)
 public class StatisticSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
 
     @Override
@@ -126,7 +126,15 @@ public class StatisticSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
     public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
         Node node = context.getCurNode();
 
-        if (context.getCurEntry().getBlockError() == null) {
+        if (context.getCurEntry().isRolledBack()) {
+            // The invocation never happened, so revoke the pass and thread count added on entry.
+            // The pass is subtracted from the current window, which may not be the window that recorded it.
+            revokePassFor(node, count);
+            revokePassFor(context.getCurEntry().getOriginNode(), count);
+            if (resourceWrapper.getEntryType() == EntryType.IN) {
+                revokePassFor(Constants.ENTRY_NODE, count);
+            }
+        } else if (context.getCurEntry().getBlockError() == null) {
             // Calculate response time (use completeStatTime as the time of completion).
             long completeStatTime = TimeUtil.currentTimeMillis();
             context.getCurEntry().setCompleteTimestamp(completeStatTime);
@@ -151,6 +159,14 @@ public class StatisticSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
         fireExit(context, resourceWrapper, count);
     }
 
+    private void revokePassFor(Node node, int batchCount) {
+        if (node == null) {
+            return;
+        }
+        node.addPassRequest(-batchCount);
+        node.decreaseThreadNum();
+    }
+
     private void recordCompleteFor(Node node, int batchCount, long rt, Throwable error) {
         if (node == null) {
             return;
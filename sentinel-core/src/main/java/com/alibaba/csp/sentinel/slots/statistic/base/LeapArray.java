@@ -17,6 +17,7 @@ package com.alibaba.csp.sentinel.slots.statistic.base;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -52,6 +53,16 @@ public abstract class LeapArray<T> {
      */
     private final ReentrantLock updateLock = new ReentrantLock();
 
+    /**
+     * Start time stamps of each bucket, only present in lock-free rotation mode.
+     * A bucket is owned by the thread that CAS the stamp to {@link #STAMP_RESETTING}.
+     */
+    private final AtomicLongArray windowStamps;
+
+    private static final long STAMP_ABSENT = -1L;
+    private static final long STAMP_RESETTING = -2L;
+    private static final int MAX_RESET_SPINS = 64;
+
     /**
      * The total bucket count is: {@code sampleCount = intervalInMs / windowLengthInMs}.
      *
@@ -59,6 +70,23 @@ public abstract class LeapArray<T> {
      * @param intervalInMs the total time interval of this {@link LeapArray} in milliseconds
      */
     public LeapArray(int sampleCount, int intervalInMs) {
+        this(sampleCount, intervalInMs, false);
+    }
+
+    /**
+     * <p>The total bucket count is: {@code sampleCount = intervalInMs / windowLengthInMs}.</p>
+     * <p>
+     * If {@code lockFreeRotation} is enabled, deprecated buckets will be reset via a per-bucket CAS
+     * on the window start time rather than the shared update lock, and the {@link WindowWrap} will be
+     * reused. In this mode {@link #resetWindowTo(WindowWrap, long)} must reset the given bucket in place.
+     * </p>
+     *
+     * @param sampleCount      bucket count of the sliding window
+     * @param intervalInMs     the total time interval of this {@link LeapArray} in milliseconds
+     * @param lockFreeRotation whether to rotate buckets with the lock-free epoch stamps
+     * @since 1.8.1
+     */
+    public LeapArray(int sampleCount, int intervalInMs, boolean lockFreeRotation) {
         AssertUtil.isTrue(sampleCount > 0, "bucket count is invalid: " + sampleCount);
         AssertUtil.isTrue(intervalInMs > 0, "total time interval of the sliding window should be positive");
         AssertUtil.isTrue(intervalInMs % sampleCount == 0, "time span needs to be evenly divided");
@@ -69,6 +97,14 @@ public abstract class LeapArray<T> {
         this.sampleCount = sampleCount;
 
         this.array = new AtomicReferenceArray<>(sampleCount);
+        if (lockFreeRotation) {
+            this.windowStamps = new AtomicLongArray(sampleCount);
+            for (int i = 0; i < sampleCount; i++) {
+                windowStamps.set(i, STAMP_ABSENT);
+            }
+        } else {
+            this.windowStamps = null;
+        }
     }
 
     /**
@@ -117,6 +153,9 @@ public abstract class LeapArray<T> {
         if (timeMillis < 0) {
             return null;
         }
+        if (windowStamps != null) {
+            return currentWindowLockFree(timeMillis);
+        }
 
         int idx = calculateTimeIdx(timeMillis);
         // Calculate current bucket start time.
@@ -201,6 +240,65 @@ public abstract class LeapArray<T> {
         }
     }
 
+    private WindowWrap<T> currentWindowLockFree(long timeMillis) {
+        int idx = calculateTimeIdx(timeMillis);
+        long windowStart = calculateWindowStart(timeMillis);
+
+        /*
+         * The window start stamp of each bucket is the single source of truth:
+         *
+         * (1) Stamp equals to current window start, then the bucket is up-to-date.
+         * (2) Stamp is being reset by another thread, then spin until the stamp is published.
+         *     The reset is only a few counter writes, so the thread yields its time slice only
+         *     if the resetting thread seems to be descheduled.
+         * (3) Stamp is absent or deprecated, then CAS the stamp to "resetting" to own the bucket,
+         *     reset it in place (or create it for the first time) and publish the new stamp.
+         */
+        int spins = 0;
+        while (true) {
+            long stamp = windowStamps.get(idx);
+            if (stamp == windowStart) {
+                return array.get(idx);
+            } else if (stamp == STAMP_RESETTING) {
+                if (++spins > MAX_RESET_SPINS) {
+                    spins = 0;
+                    Thread.yield();
+                }
+            } else if (stamp < windowStart) {
+                if (!windowStamps.compareAndSet(idx, stamp, STAMP_RESETTING)) {
+                    continue;
+                }
+                boolean reset = false;
+                try {
+                    WindowWrap<T> old = array.get(idx);
+                    if (old == null) {
+                        array.set(idx, new WindowWrap<T>(windowLengthInMs, windowStart, newEmptyBucket(timeMillis)));
+                    } else {
+                        resetWindowTo(old, windowStart);
+                    }
+                    reset = true;
+                } finally {
+                    // Publish the stamp (volatile write) after the bucket is ready.
+                    windowStamps.set(idx, reset ? windowStart : stamp);
+                }
+                return array.get(idx);
+            } else {
+                // Should not go through here, as the provided time is already behind.
+                return new WindowWrap<T>(windowLengthInMs, windowStart, newEmptyBucket(timeMillis));
+            }
+        }
+    }
+
+    /**
+     * Whether deprecated buckets are rotated with the lock-free epoch stamps.
+     *
+     * @return true if lock-free rotation is enabled
+     * @since 1.8.1
+     */
+    public boolean isLockFreeRotation() {
+        return windowStamps != null;
+    }
+
     /**
      * Get the previous bucket item before provided timestamp.
      *
@@ -0,0 +1,133 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.base;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * <p>A log-linear histogram (like HDR histogram) of non-negative values (e.g. response time in ms).</p>
+ * <p>
+ * Values less than 16 are recorded exactly. Larger values are grouped by the power of two, and each
+ * power-of-two range is split into 16 linear sub-buckets, so the relative error of a recorded value is
+ * at most 1/16. Values larger than {@link #MAX_TRACKABLE_VALUE} are recorded as the max trackable value.
+ * </p>
+ * <p>
+ * Recording is lock-free (a single atomic increment), so the histogram can be updated on the exit path
+ * by concurrent requests.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public class LogLinearHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 20;
+
+    /**
+     * Max trackable value (about 35 minutes in ms).
+     */
+    public static final long MAX_TRACKABLE_VALUE = (1L << (MAX_MAGNITUDE + 1)) - 1;
+
+    static final int BUCKET_COUNT = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+
+    /**
+     * Record a value.
+     *
+     * @param value a non-negative value, negative values will be recorded as 0
+     */
+    public void record(long value) {
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+    }
+
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+    }
+
+    /**
+     * Get the value at provided percentile of all values in the histograms.
+     *
+     * @param histograms histograms to merge
+     * @param percentile the percentile in (0, 1]
+     * @return the lowest value equivalent to the value at the percentile, or 0 if no values recorded
+     */
+    public static long valueAtPercentile(List<LogLinearHistogram> histograms, double percentile) {
+        AssertUtil.isTrue(percentile > 0 && percentile <= 1, "percentile should be in (0, 1]");
+        long total = 0;
+        for (LogLinearHistogram histogram : histograms) {
+            total += histogram.getTotalCount();
+        }
+        if (total <= 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long)Math.ceil(percentile * total));
+        // Scan from the max bucket, since high percentiles are usually wanted.
+        long countAbove = total - rank;
+        long count = 0;
+        for (int i = BUCKET_COUNT - 1; i >= 0; i--) {
+            for (LogLinearHistogram histogram : histograms) {
+                count += histogram.counts.get(i);
+            }
+            if (count > countAbove) {
+                return lowestEquivalentValue(i);
+            }
+        }
+        return 0;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return value < 0 ? 0 : (int)value;
+        }
+        if (value > MAX_TRACKABLE_VALUE) {
+            value = MAX_TRACKABLE_VALUE;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKET_COUNT + (int)(value >>> shift) - SUB_BUCKET_COUNT;
+    }
+
+    static long lowestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        return (long)(SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        return lowestEquivalentValue(index) + (1L << shift) - 1;
+    }
+}
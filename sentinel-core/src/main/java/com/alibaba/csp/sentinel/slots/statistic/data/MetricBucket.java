@@ -40,6 +40,19 @@ public class MetricBucket {
         initMinRt();
     }
 
+    /**
+     * Constructor for buckets that maintain the counters by themselves. Such buckets should override
+     * {@link #get(MetricEvent)}, {@link #add(MetricEvent, long)}, {@link #reset()} and
+     * {@link #reset(MetricBucket)}.
+     *
+     * @param counters the adders of each event, could be null if the counter operations are overridden
+     * @since 1.8.1
+     */
+    protected MetricBucket(LongAdder[] counters) {
+        this.counters = counters;
+        initMinRt();
+    }
+
     public MetricBucket reset(MetricBucket bucket) {
         for (MetricEvent event : MetricEvent.values()) {
             counters[event.ordinal()].reset();
@@ -49,7 +62,7 @@ public class MetricBucket {
         return this;
     }
 
-    private void initMinRt() {
+    protected void initMinRt() {
         this.minRt = SentinelConfig.statisticMaxRt();
     }
 
@@ -0,0 +1,72 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.data;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
+
+/**
+ * <p>A {@link MetricBucket} that keeps the counters of all events in one flat long array
+ * rather than one {@code LongAdder} per event.</p>
+ * <p>
+ * The bucket holds a single unpadded stripe of counters, which takes less memory than the
+ * {@code LongAdder} based bucket. All updating threads share the stripe, so it fits the resources
+ * that are not heavily contended. Padded stripes per thread are not supported, as they would take
+ * more memory than the {@code LongAdder} based bucket.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public class StripedMetricBucket extends MetricBucket {
+
+    private static final int EVENT_COUNT = MetricEvent.values().length;
+
+    private final AtomicLongArray cells = new AtomicLongArray(EVENT_COUNT);
+
+    public StripedMetricBucket() {
+        super(null);
+    }
+
+    @Override
+    public MetricBucket reset(MetricBucket bucket) {
+        reset();
+        for (MetricEvent event : MetricEvent.values()) {
+            cells.set(event.ordinal(), bucket.get(event));
+        }
+        return this;
+    }
+
+    @Override
+    public MetricBucket reset() {
+        for (int i = 0; i < cells.length(); i++) {
+            cells.set(i, 0);
+        }
+        initMinRt();
+        return this;
+    }
+
+    @Override
+    public long get(MetricEvent event) {
+        return cells.get(event.ordinal());
+    }
+
+    @Override
+    public MetricBucket add(MetricEvent event, long n) {
+        cells.getAndAdd(event.ordinal(), n);
+        return this;
+    }
+}
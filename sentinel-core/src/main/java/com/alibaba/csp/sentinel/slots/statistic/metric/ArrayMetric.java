@@ -38,14 +38,38 @@ public class ArrayMetric implements Metric {
     private final LeapArray<MetricBucket> data;
 
     public ArrayMetric(int sampleCount, int intervalInMs) {
-        this.data = new OccupiableBucketLeapArray(sampleCount, intervalInMs);
+        this(sampleCount, intervalInMs, true);
     }
 
     public ArrayMetric(int sampleCount, int intervalInMs, boolean enableOccupy) {
+        this(sampleCount, intervalInMs, enableOccupy, SentinelConfig.statisticLockFreeRotation());
+    }
+
+    /**
+     * @param sampleCount      bucket count of the sliding window
+     * @param intervalInMs     the total time interval in milliseconds
+     * @param enableOccupy     whether to support occupying future buckets
+     * @param lockFreeRotation whether to rotate buckets with the lock-free epoch stamps
+     * @since 1.8.1
+     */
+    public ArrayMetric(int sampleCount, int intervalInMs, boolean enableOccupy, boolean lockFreeRotation) {
+        this(sampleCount, intervalInMs, enableOccupy, lockFreeRotation, SentinelConfig.statisticBucketStripes());
+    }
+
+    /**
+     * @param sampleCount      bucket count of the sliding window
+     * @param intervalInMs     the total time interval in milliseconds
+     * @param enableOccupy     whether to support occupying future buckets
+     * @param lockFreeRotation whether to rotate buckets with the lock-free epoch stamps
+     * @param bucketStripes    1 for the striped metric bucket, 0 for the {@code LongAdder} based bucket
+     * @since 1.8.1
+     */
+    public ArrayMetric(int sampleCount, int intervalInMs, boolean enableOccupy, boolean lockFreeRotation,
+                       int bucketStripes) {
         if (enableOccupy) {
-            this.data = new OccupiableBucketLeapArray(sampleCount, intervalInMs);
+            this.data = new OccupiableBucketLeapArray(sampleCount, intervalInMs, lockFreeRotation, bucketStripes);
         } else {
-            this.data = new BucketLeapArray(sampleCount, intervalInMs);
+            this.data = new BucketLeapArray(sampleCount, intervalInMs, lockFreeRotation, bucketStripes);
         }
     }
 
@@ -18,6 +18,7 @@ package com.alibaba.csp.sentinel.slots.statistic.metric;
 import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
 import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
 import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
+import com.alibaba.csp.sentinel.slots.statistic.data.StripedMetricBucket;
 
 /**
  * The fundamental data structure for metric statistics in a time span.
@@ -28,13 +29,40 @@ import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
  */
 public class BucketLeapArray extends LeapArray<MetricBucket> {
 
+    /**
+     * Stripe count of {@link StripedMetricBucket} (only 1 is supported), or 0 for the {@code LongAdder} based bucket.
+     */
+    private final int bucketStripes;
+
     public BucketLeapArray(int sampleCount, int intervalInMs) {
-        super(sampleCount, intervalInMs);
+        this(sampleCount, intervalInMs, false);
+    }
+
+    /**
+     * @param sampleCount      bucket count of the sliding window
+     * @param intervalInMs     the total time interval in milliseconds
+     * @param lockFreeRotation whether to rotate buckets with the lock-free epoch stamps
+     * @since 1.8.1
+     */
+    public BucketLeapArray(int sampleCount, int intervalInMs, boolean lockFreeRotation) {
+        this(sampleCount, intervalInMs, lockFreeRotation, 0);
+    }
+
+    /**
+     * @param sampleCount      bucket count of the sliding window
+     * @param intervalInMs     the total time interval in milliseconds
+     * @param lockFreeRotation whether to rotate buckets with the lock-free epoch stamps
+     * @param bucketStripes    1 for {@link StripedMetricBucket}, 0 for the {@code LongAdder} based bucket
+     * @since 1.8.1
+     */
+    public BucketLeapArray(int sampleCount, int intervalInMs, boolean lockFreeRotation, int bucketStripes) {
+        super(sampleCount, intervalInMs, lockFreeRotation);
+        this.bucketStripes = bucketStripes;
     }
 
     @Override
     public MetricBucket newEmptyBucket(long time) {
-        return new MetricBucket();
+        return bucketStripes > 0 ? new StripedMetricBucket() : new MetricBucket();
     }
 
     @Override
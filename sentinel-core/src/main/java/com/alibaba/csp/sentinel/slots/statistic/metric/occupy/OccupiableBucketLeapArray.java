@@ -21,6 +21,7 @@ import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
 import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
 import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
 import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
+import com.alibaba.csp.sentinel.slots.statistic.data.StripedMetricBucket;
 
 /**
  * @author jialiang.linjl
@@ -30,15 +31,43 @@ public class OccupiableBucketLeapArray extends LeapArray<MetricBucket> {
 
     private final FutureBucketLeapArray borrowArray;
 
+    /**
+     * Stripe count of {@link StripedMetricBucket} (only 1 is supported), or 0 for the {@code LongAdder} based bucket.
+     */
+    private final int bucketStripes;
+
     public OccupiableBucketLeapArray(int sampleCount, int intervalInMs) {
+        this(sampleCount, intervalInMs, false);
+    }
+
+    /**
+     * @param sampleCount      bucket count of the sliding window
+     * @param intervalInMs     the total time interval in milliseconds
+     * @param lockFreeRotation whether to rotate buckets with the lock-free epoch stamps
+     * @since 1.8.1
+     */
+    public OccupiableBucketLeapArray(int sampleCount, int intervalInMs, boolean lockFreeRotation) {
+        this(sampleCount, intervalInMs, lockFreeRotation, 0);
+    }
+
+    /**
+     * @param sampleCount      bucket count of the sliding window
+     * @param intervalInMs     the total time interval in milliseconds
+     * @param lockFreeRotation whether to rotate buckets with the lock-free epoch stamps
+     * @param bucketStripes    1 for {@link StripedMetricBucket}, 0 for the {@code LongAdder} based bucket
+     * @since 1.8.1
+     */
+    public OccupiableBucketLeapArray(int sampleCount, int intervalInMs, boolean lockFreeRotation,
+                                     int bucketStripes) {
         // This class is the original "CombinedBucketArray".
-        super(sampleCount, intervalInMs);
+        super(sampleCount, intervalInMs, lockFreeRotation);
         this.borrowArray = new FutureBucketLeapArray(sampleCount, intervalInMs);
+        this.bucketStripes = bucketStripes;
     }
 
     @Override
     public MetricBucket newEmptyBucket(long time) {
-        MetricBucket newBucket = new MetricBucket();
+        MetricBucket newBucket = bucketStripes > 0 ? new StripedMetricBucket() : new MetricBucket();
 
         MetricBucket borrowBucket = borrowArray.getWindowValue(time);
         if (borrowBucket != null) {
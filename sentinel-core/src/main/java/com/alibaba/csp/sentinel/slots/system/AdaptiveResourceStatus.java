@@ -0,0 +1,124 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+import com.alibaba.csp.sentinel.node.ClusterNode;
+
+/**
+ * <p>Status of the system adaptive protection scoped to one resource.</p>
+ * <p>
+ * The status is refreshed by {@link SystemStatusListener} every second: the protection is triggered when the
+ * system load, the CPU usage or the average RT of the resource exceeds the threshold, and the max concurrency
+ * of the resource is estimated (BBR) from the statistics of the resource's own {@link ClusterNode}
+ * as {@code maxSuccessQps * minRt / 1000}. Requests of the resource only read the volatile status and
+ * the current concurrency of the node.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+final class AdaptiveResourceStatus {
+
+    private final String resource;
+
+    private final double highestSystemLoad;
+    private final double highestCpuUsage;
+    private final long maxRt;
+
+    private volatile ClusterNode node;
+    private volatile boolean triggered = false;
+    private volatile double maxInflight = Double.MAX_VALUE;
+
+    AdaptiveResourceStatus(SystemRule rule) {
+        this(rule.getResource(),
+            rule.getHighestSystemLoad() >= 0 ? rule.getHighestSystemLoad() : Double.MAX_VALUE,
+            rule.getHighestCpuUsage() >= 0 ? rule.getHighestCpuUsage() : Double.MAX_VALUE,
+            rule.getAvgRt() >= 0 ? rule.getAvgRt() : Long.MAX_VALUE);
+    }
+
+    private AdaptiveResourceStatus(String resource, double highestSystemLoad, double highestCpuUsage, long maxRt) {
+        this.resource = resource;
+        this.highestSystemLoad = highestSystemLoad;
+        this.highestCpuUsage = highestCpuUsage;
+        this.maxRt = maxRt;
+    }
+
+    /**
+     * Merge the thresholds of another rule of the same resource. The lowest thresholds take effect.
+     *
+     * @param rule another rule of the resource
+     * @return the merged status
+     */
+    AdaptiveResourceStatus merge(SystemRule rule) {
+        AdaptiveResourceStatus other = new AdaptiveResourceStatus(rule);
+        return new AdaptiveResourceStatus(resource, Math.min(highestSystemLoad, other.highestSystemLoad),
+            Math.min(highestCpuUsage, other.highestCpuUsage), Math.min(maxRt, other.maxRt));
+    }
+
+    /**
+     * Refresh the status with the statistics of the resource. This is called by one thread at a time.
+     *
+     * @param node        cluster node of the resource, may be null if the resource has not been visited
+     * @param currentLoad current system load
+     * @param currentCpu  current CPU usage
+     */
+    void refresh(ClusterNode node, double currentLoad, double currentCpu) {
+        if (node == null) {
+            // The protection is not triggered until the resource has been visited.
+            return;
+        }
+        this.node = node;
+        this.maxInflight = node.maxSuccessQps() * node.minRt() / 1000;
+        this.triggered = currentLoad > highestSystemLoad || currentCpu > highestCpuUsage
+            || node.avgRt() > maxRt;
+    }
+
+    /**
+     * @return false if the protection is triggered and the concurrency of the resource exceeds the estimated
+     * max concurrency, otherwise true
+     */
+    boolean canPass() {
+        if (!triggered) {
+            return true;
+        }
+        ClusterNode node = this.node;
+        int currentThread = node == null ? 0 : node.curThreadNum();
+        return currentThread <= 1 || currentThread <= maxInflight;
+    }
+
+    String getResource() {
+        return resource;
+    }
+
+    boolean isTriggered() {
+        return triggered;
+    }
+
+    double getMaxInflight() {
+        return maxInflight;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveResourceStatus{" +
+            "resource='" + resource + '\'' +
+            ", highestSystemLoad=" + highestSystemLoad +
+            ", highestCpuUsage=" + highestCpuUsage +
+            ", maxRt=" + maxRt +
+            ", triggered=" + triggered +
+            ", maxInflight=" + maxInflight +
+            '}';
+    }
+}
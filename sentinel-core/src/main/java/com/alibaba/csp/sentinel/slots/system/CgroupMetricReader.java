@@ -0,0 +1,359 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.alibaba.csp.sentinel.util.StringUtil;
+
+/**
+ * <p>Reader of the CPU and memory metrics of the cgroup (v1 or v2) of current process.</p>
+ * <p>
+ * In containers, the system load and CPU usage from the JMX reflect the host rather than the CPU quota of
+ * the container. The reader reads the files under {@code /sys/fs/cgroup} directly (a few small files per
+ * refresh, without forking any process) and calculates the following metrics between two refreshes:
+ * </p>
+ * <ul>
+ * <li>CPU usage: CPU time used / (elapsed time * CPU quota), in [0, 1]. If no quota is set,
+ * the available processors are used as the quota.</li>
+ * <li>CPU throttle ratio: throttled periods / elapsed periods in {@code cpu.stat}, in [0, 1].</li>
+ * <li>Memory usage: current memory usage / memory limit, in [0, 1], or -1 if no limit is set.</li>
+ * <li>Memory pressure: the {@code some avg10} of the memory PSI (pressure stall information), in [0, 1].
+ * For cgroup v1, the system-wide PSI ({@code /proc/pressure/memory}) is used.</li>
+ * </ul>
+ * <p>Metrics that are unavailable are -1.</p>
+ *
+ * @since 1.8.1
+ */
+final class CgroupMetricReader {
+
+    static final String DEFAULT_CGROUP_ROOT = "/sys/fs/cgroup";
+    static final String PROC_SELF_CGROUP = "/proc/self/cgroup";
+    static final String PROC_MEMORY_PRESSURE = "/proc/pressure/memory";
+
+    /**
+     * Memory limit of cgroup v1 is a huge number (page-aligned {@code Long.MAX_VALUE}) if not set.
+     */
+    private static final long UNLIMITED_MEMORY = Long.MAX_VALUE / 2;
+
+    private final int version;
+    private final File cpuDir;
+    private final File cpuacctDir;
+    private final File memoryDir;
+    private final File memoryPressureFile;
+
+    private final byte[] buffer = new byte[4096];
+
+    private boolean sampled = false;
+    private long lastSampleNanos;
+    private long lastUsageNanos;
+    private long lastPeriods;
+    private long lastThrottled;
+
+    private volatile double cpuUsage = -1;
+    private volatile double cpuThrottleRatio = -1;
+    private volatile double memoryUsage = -1;
+    private volatile double memoryPressure = -1;
+
+    CgroupMetricReader(int version, File cpuDir, File cpuacctDir, File memoryDir, File memoryPressureFile) {
+        this.version = version;
+        this.cpuDir = cpuDir;
+        this.cpuacctDir = cpuacctDir;
+        this.memoryDir = memoryDir;
+        this.memoryPressureFile = memoryPressureFile;
+    }
+
+    /**
+     * Detect the cgroup of current process.
+     *
+     * @return the reader of the cgroup, or null if cgroup is unavailable (e.g. not on Linux)
+     */
+    static CgroupMetricReader detect() {
+        return detect(new File(DEFAULT_CGROUP_ROOT), new File(PROC_SELF_CGROUP), new File(PROC_MEMORY_PRESSURE));
+    }
+
+    static CgroupMetricReader detect(File root, File procSelfCgroup, File procMemoryPressure) {
+        if (!root.isDirectory()) {
+            return null;
+        }
+        // Controller -> path of the cgroup, parsed from lines like "4:cpu,cpuacct:/docker/abc" (v1)
+        // or "0::/kubepods/abc" (v2).
+        Map<String, String> cgroupPaths = parseCgroupPaths(readFileQuietly(procSelfCgroup, new byte[4096]));
+        if (new File(root, "cgroup.controllers").exists()) {
+            File dir = resolveDir(root, cgroupPaths.get(""), "cpu.stat");
+            return new CgroupMetricReader(2, dir, dir, dir, new File(dir, "memory.pressure"));
+        }
+
+        File cpuMount = firstExisting(new File(root, "cpu,cpuacct"), new File(root, "cpu"));
+        File cpuacctMount = firstExisting(new File(root, "cpu,cpuacct"), new File(root, "cpuacct"));
+        File memoryMount = firstExisting(new File(root, "memory"));
+        if (cpuMount == null && memoryMount == null) {
+            return null;
+        }
+        return new CgroupMetricReader(1, resolveDir(cpuMount, cgroupPaths.get("cpu"), "cpu.stat"),
+            resolveDir(cpuacctMount, cgroupPaths.get("cpuacct"), "cpuacct.usage"),
+            resolveDir(memoryMount, cgroupPaths.get("memory"), "memory.usage_in_bytes"), procMemoryPressure);
+    }
+
+    /**
+     * Refresh the metrics. This is called by one thread at a time.
+     *
+     * @param nanoTime            current time in nanoseconds
+     * @param availableProcessors available processors, used as the CPU quota if no quota is set
+     */
+    void refresh(long nanoTime, int availableProcessors) {
+        refreshCpu(nanoTime, availableProcessors);
+        refreshMemory();
+    }
+
+    private void refreshCpu(long nanoTime, int availableProcessors) {
+        String cpuStat = readFile(cpuDir, "cpu.stat");
+        long usageNanos;
+        if (version == 2) {
+            long usageUsec = parseKeyedValue(cpuStat, "usage_usec");
+            usageNanos = usageUsec < 0 ? -1 : usageUsec * 1000;
+        } else {
+            usageNanos = parseLong(readFile(cpuacctDir, "cpuacct.usage"));
+        }
+        long periods = parseKeyedValue(cpuStat, "nr_periods");
+        long throttled = parseKeyedValue(cpuStat, "nr_throttled");
+        double quota = readCpuQuota();
+        double cores = quota > 0 ? quota : availableProcessors;
+
+        if (sampled && nanoTime - lastSampleNanos > 0) {
+            if (usageNanos >= 0 && lastUsageNanos >= 0 && cores > 0) {
+                double usage = (double)(usageNanos - lastUsageNanos) / (nanoTime - lastSampleNanos) / cores;
+                this.cpuUsage = Math.max(0, Math.min(1, usage));
+            } else {
+                this.cpuUsage = -1;
+            }
+            if (periods >= 0 && throttled >= 0 && lastPeriods >= 0 && lastThrottled >= 0) {
+                long elapsedPeriods = periods - lastPeriods;
+                this.cpuThrottleRatio = elapsedPeriods > 0
+                    ? Math.max(0, Math.min(1, (double)(throttled - lastThrottled) / elapsedPeriods)) : 0;
+            } else {
+                this.cpuThrottleRatio = -1;
+            }
+        }
+        this.sampled = true;
+        this.lastSampleNanos = nanoTime;
+        this.lastUsageNanos = usageNanos;
+        this.lastPeriods = periods;
+        this.lastThrottled = throttled;
+    }
+
+    /**
+     * @return the CPU quota in cores, or -1 if no quota is set
+     */
+    private double readCpuQuota() {
+        long quota;
+        long period;
+        if (version == 2) {
+            // "max 100000" or "200000 100000"
+            String cpuMax = readFile(cpuDir, "cpu.max");
+            if (cpuMax == null) {
+                return -1;
+            }
+            String[] parts = cpuMax.trim().split("\\s+");
+            if (parts.length != 2) {
+                return -1;
+            }
+            quota = parseLong(parts[0]);
+            period = parseLong(parts[1]);
+        } else {
+            quota = parseLong(readFile(cpuDir, "cpu.cfs_quota_us"));
+            period = parseLong(readFile(cpuDir, "cpu.cfs_period_us"));
+        }
+        return quota > 0 && period > 0 ? (double)quota / period : -1;
+    }
+
+    private void refreshMemory() {
+        long current;
+        long limit;
+        if (version == 2) {
+            current = parseLong(readFile(memoryDir, "memory.current"));
+            limit = parseLong(readFile(memoryDir, "memory.max"));
+        } else {
+            current = parseLong(readFile(memoryDir, "memory.usage_in_bytes"));
+            limit = parseLong(readFile(memoryDir, "memory.limit_in_bytes"));
+        }
+        this.memoryUsage = current >= 0 && limit > 0 && limit < UNLIMITED_MEMORY
+            ? Math.min(1, (double)current / limit) : -1;
+
+        // "some avg10=1.23 avg60=0.50 avg300=0.10 total=12345"
+        double avg10 = parsePressureAvg10(readFileQuietly(memoryPressureFile));
+        this.memoryPressure = avg10 < 0 ? -1 : Math.min(1, avg10 / 100);
+    }
+
+    double getCpuUsage() {
+        return cpuUsage;
+    }
+
+    double getCpuThrottleRatio() {
+        return cpuThrottleRatio;
+    }
+
+    double getMemoryUsage() {
+        return memoryUsage;
+    }
+
+    double getMemoryPressure() {
+        return memoryPressure;
+    }
+
+    int getVersion() {
+        return version;
+    }
+
+    private String readFile(File dir, String name) {
+        return dir == null ? null : readFileQuietly(new File(dir, name), buffer);
+    }
+
+    private String readFileQuietly(File file) {
+        return readFileQuietly(file, buffer);
+    }
+
+    private static String readFileQuietly(File file, byte[] buffer) {
+        if (file == null) {
+            return null;
+        }
+        InputStream in = null;
+        try {
+            in = new FileInputStream(file);
+            int length = 0;
+            int n;
+            while (length < buffer.length && (n = in.read(buffer, length, buffer.length - length)) > 0) {
+                length += n;
+            }
+            return new String(buffer, 0, length, StandardCharsets.US_ASCII);
+        } catch (IOException ex) {
+            return null;
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException ignore) {
+                }
+            }
+        }
+    }
+
+    static Map<String, String> parseCgroupPaths(String content) {
+        Map<String, String> paths = new HashMap<String, String>();
+        if (content == null) {
+            return paths;
+        }
+        for (String line : content.split("\n")) {
+            String[] parts = line.trim().split(":", 3);
+            if (parts.length != 3) {
+                continue;
+            }
+            if (StringUtil.isEmpty(parts[1])) {
+                paths.put("", parts[2]);
+                continue;
+            }
+            for (String controller : parts[1].split(",")) {
+                paths.put(controller, parts[2]);
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Resolve the directory of the cgroup. Inside the container (with cgroup namespace), the cgroup is
+     * mounted as the root of the hierarchy, so the mount point is used if the path of the cgroup doesn't exist.
+     */
+    private static File resolveDir(File mount, String path, String probeFile) {
+        if (mount == null) {
+            return null;
+        }
+        if (StringUtil.isNotEmpty(path) && !"/".equals(path)) {
+            File dir = new File(mount, path);
+            if (new File(dir, probeFile).exists()) {
+                return dir;
+            }
+        }
+        return mount;
+    }
+
+    private static File firstExisting(File... dirs) {
+        for (File dir : dirs) {
+            if (dir.isDirectory()) {
+                return dir;
+            }
+        }
+        return null;
+    }
+
+    static long parseKeyedValue(String content, String key) {
+        if (content == null) {
+            return -1;
+        }
+        int from = 0;
+        while (from < content.length()) {
+            int end = content.indexOf('\n', from);
+            if (end < 0) {
+                end = content.length();
+            }
+            if (content.startsWith(key, from) && from + key.length() < end
+                && content.charAt(from + key.length()) == ' ') {
+                return parseLong(content.substring(from + key.length() + 1, end));
+            }
+            from = end + 1;
+        }
+        return -1;
+    }
+
+    static double parsePressureAvg10(String content) {
+        if (content == null || !content.startsWith("some ")) {
+            return -1;
+        }
+        int start = content.indexOf("avg10=");
+        if (start < 0) {
+            return -1;
+        }
+        start += "avg10=".length();
+        int end = start;
+        while (end < content.length() && content.charAt(end) != ' ' && content.charAt(end) != '\n') {
+            end++;
+        }
+        try {
+            return Double.parseDouble(content.substring(start, end));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the value, or -1 if absent or not a number (e.g. "max")
+     */
+    static long parseLong(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+}
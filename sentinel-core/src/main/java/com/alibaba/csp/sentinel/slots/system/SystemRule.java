@@ -28,6 +28,11 @@ import com.alibaba.csp.sentinel.slots.block.AbstractRule;
  * and {@link #maxThread} to make sure your system run in safety level.
  * </p>
  * <p>
+ * If the resource is set, the rule is scoped to the resource: the system load, CPU usage and average RT
+ * (of the resource) thresholds trigger the adaptive protection of the resource with its own statistics,
+ * and the QPS and thread thresholds are not supported. Rules of different resources are checked separately.
+ * </p>
+ * <p>
  * To set the threshold appropriately, performance test may be needed.
  * </p>
  *
@@ -48,6 +53,14 @@ public class SystemRule extends AbstractRule {
     private double qps = -1;
     private long avgRt = -1;
     private long maxThread = -1;
+    /**
+     * ratio of the CPU throttled periods of the cgroup, between [0, 1]
+     */
+    private double highestCpuThrottleRatio = -1;
+    /**
+     * memory pressure (PSI some avg10), between [0, 1]
+     */
+    private double highestMemoryPressure = -1;
 
     public double getQps() {
         return qps;
@@ -131,6 +144,42 @@ public class SystemRule extends AbstractRule {
         this.highestCpuUsage = highestCpuUsage;
     }
 
+    public double getHighestCpuThrottleRatio() {
+        return highestCpuThrottleRatio;
+    }
+
+    /**
+     * Set highest ratio of the CPU throttled periods of the cgroup (the CFS periods in which the CPU quota
+     * was exhausted), between [0, 1]. In containers, the CPU usage of the host may be low while the process
+     * is heavily throttled by the quota.
+     * <p>
+     * Note that this parameter is only available on Linux with cgroup (v1 or v2) CPU controller.
+     * </p>
+     *
+     * @param highestCpuThrottleRatio the value to set, values < 0 are special for clearing the threshold.
+     */
+    public void setHighestCpuThrottleRatio(double highestCpuThrottleRatio) {
+        this.highestCpuThrottleRatio = highestCpuThrottleRatio;
+    }
+
+    public double getHighestMemoryPressure() {
+        return highestMemoryPressure;
+    }
+
+    /**
+     * Set highest memory pressure, between [0, 1]. The memory pressure is the share of time in which some tasks
+     * are stalled on memory in the last 10 seconds (the {@code some avg10} of the PSI).
+     * <p>
+     * Note that this parameter is only available on Linux 4.20+ with PSI enabled. The PSI of the cgroup is used
+     * with cgroup v2, otherwise the system-wide PSI is used.
+     * </p>
+     *
+     * @param highestMemoryPressure the value to set, values < 0 are special for clearing the threshold.
+     */
+    public void setHighestMemoryPressure(double highestMemoryPressure) {
+        this.highestMemoryPressure = highestMemoryPressure;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -159,6 +208,12 @@ public class SystemRule extends AbstractRule {
         if (avgRt != that.avgRt) {
             return false;
         }
+        if (Double.compare(that.highestCpuThrottleRatio, highestCpuThrottleRatio) != 0) {
+            return false;
+        }
+        if (Double.compare(that.highestMemoryPressure, highestMemoryPressure) != 0) {
+            return false;
+        }
         return maxThread == that.maxThread;
     }
 
@@ -177,17 +232,26 @@ public class SystemRule extends AbstractRule {
 
         result = 31 * result + (int)(avgRt ^ (avgRt >>> 32));
         result = 31 * result + (int)(maxThread ^ (maxThread >>> 32));
+
+        temp = Double.doubleToLongBits(highestCpuThrottleRatio);
+        result = 31 * result + (int)(temp ^ (temp >>> 32));
+
+        temp = Double.doubleToLongBits(highestMemoryPressure);
+        result = 31 * result + (int)(temp ^ (temp >>> 32));
         return result;
     }
 
     @Override
     public String toString() {
         return "SystemRule{" +
-            "highestSystemLoad=" + highestSystemLoad +
+            "resource=" + getResource() +
+            ", highestSystemLoad=" + highestSystemLoad +
             ", highestCpuUsage=" + highestCpuUsage +
             ", qps=" + qps +
             ", avgRt=" + avgRt +
             ", maxThread=" + maxThread +
+            ", highestCpuThrottleRatio=" + highestCpuThrottleRatio +
+            ", highestMemoryPressure=" + highestMemoryPressure +
             "}";
     }
 }
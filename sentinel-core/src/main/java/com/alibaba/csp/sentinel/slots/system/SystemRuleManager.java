@@ -16,7 +16,10 @@
 package com.alibaba.csp.sentinel.slots.system;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -26,11 +29,15 @@ import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
 import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.node.ClusterNode;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
 import com.alibaba.csp.sentinel.property.SentinelProperty;
 import com.alibaba.csp.sentinel.property.SimplePropertyListener;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleSnapshot;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.util.StringUtil;
 
 /**
  * <p>
@@ -59,6 +66,14 @@ import com.alibaba.csp.sentinel.slots.block.BlockException;
  * Note that {@link SystemRule} only effect on inbound requests, outbound traffic
  * will not limit by {@link SystemRule}
  * </p>
+ * <p>
+ * The adaptive protection above takes the global inbound statistics into account, so one slow resource
+ * may trigger shedding for all resources. {@link SystemRule}s with the resource set are scoped to the resource
+ * instead: when the system load, CPU usage or the average RT of the resource exceeds the threshold, the requests
+ * of the resource (both inbound and outbound) are rejected if its concurrency exceeds the max concurrency
+ * estimated from its own {@link ClusterNode} ({@code maxSuccessQps * minRt}). The status of the resources is
+ * refreshed by the {@link SystemStatusListener} every second, so the checking reads the status without locks.
+ * </p>
  *
  * @author jialiang.linjl
  * @author leyou
@@ -73,6 +88,14 @@ public final class SystemRuleManager {
     private static volatile double qps = Double.MAX_VALUE;
     private static volatile long maxRt = Long.MAX_VALUE;
     private static volatile long maxThread = Long.MAX_VALUE;
+    /**
+     * ratio of the CPU throttled periods of the cgroup, between [0, 1]
+     */
+    private static volatile double highestCpuThrottleRatio = Double.MAX_VALUE;
+    /**
+     * memory pressure (PSI some avg10), between [0, 1]
+     */
+    private static volatile double highestMemoryPressure = Double.MAX_VALUE;
     /**
      * mark whether the threshold are set by user.
      */
@@ -81,9 +104,17 @@ public final class SystemRuleManager {
     private static volatile boolean qpsIsSet = false;
     private static volatile boolean maxRtIsSet = false;
     private static volatile boolean maxThreadIsSet = false;
+    private static volatile boolean highestCpuThrottleRatioIsSet = false;
+    private static volatile boolean highestMemoryPressureIsSet = false;
 
     private static AtomicBoolean checkSystemStatus = new AtomicBoolean(false);
 
+    /**
+     * Adaptive protection scoped to resources, indexed by the resource.
+     */
+    private static volatile RuleSnapshot<AdaptiveResourceStatus> resourceStatus = RuleSnapshot.empty();
+    private static volatile List<SystemRule> resourceRules = Collections.emptyList();
+
     private static SystemStatusListener statusListener = null;
     private final static SystemPropertyListener listener = new SystemPropertyListener();
     private static SentinelProperty<List<SystemRule>> currentProperty = new DynamicSentinelProperty<List<SystemRule>>();
@@ -132,6 +163,7 @@ public final class SystemRuleManager {
 
         List<SystemRule> result = new ArrayList<SystemRule>();
         if (!checkSystemStatus.get()) {
+            result.addAll(resourceRules);
             return result;
         }
 
@@ -165,6 +197,19 @@ public final class SystemRuleManager {
             result.add(qpsRule);
         }
 
+        if (highestCpuThrottleRatioIsSet) {
+            SystemRule rule = new SystemRule();
+            rule.setHighestCpuThrottleRatio(highestCpuThrottleRatio);
+            result.add(rule);
+        }
+
+        if (highestMemoryPressureIsSet) {
+            SystemRule rule = new SystemRule();
+            rule.setHighestMemoryPressure(highestMemoryPressure);
+            result.add(rule);
+        }
+
+        result.addAll(resourceRules);
         return result;
     }
 
@@ -186,26 +231,57 @@ public final class SystemRuleManager {
         public synchronized void configUpdate(List<SystemRule> rules) {
             restoreSetting();
             // systemRules = rules;
+            List<SystemRule> scopedRules = new ArrayList<SystemRule>();
             if (rules != null && rules.size() >= 1) {
                 for (SystemRule rule : rules) {
-                    loadSystemConf(rule);
+                    if (rule != null && StringUtil.isNotBlank(rule.getResource())) {
+                        scopedRules.add(rule);
+                    } else {
+                        loadSystemConf(rule);
+                    }
                 }
             } else {
                 checkSystemStatus.set(false);
             }
+            loadResourceRules(scopedRules);
 
             RecordLog.info(String.format("[SystemRuleManager] Current system check status: %s, "
                     + "highestSystemLoad: %e, "
                     + "highestCpuUsage: %e, "
                     + "maxRt: %d, "
                     + "maxThread: %d, "
-                    + "maxQps: %e",
+                    + "maxQps: %e, "
+                    + "highestCpuThrottleRatio: %e, "
+                    + "highestMemoryPressure: %e",
                 checkSystemStatus.get(),
                 highestSystemLoad,
                 highestCpuUsage,
                 maxRt,
                 maxThread,
-                qps));
+                qps,
+                highestCpuThrottleRatio,
+                highestMemoryPressure));
+        }
+
+        private void loadResourceRules(List<SystemRule> rules) {
+            List<SystemRule> validRules = new ArrayList<SystemRule>();
+            Map<String, AdaptiveResourceStatus> statusMap = new HashMap<String, AdaptiveResourceStatus>();
+            for (SystemRule rule : rules) {
+                if (!isValidResourceRule(rule)) {
+                    RecordLog.warn("[SystemRuleManager] Ignoring invalid SystemRule of resource: {}", rule);
+                    continue;
+                }
+                validRules.add(rule);
+                AdaptiveResourceStatus status = statusMap.get(rule.getResource());
+                statusMap.put(rule.getResource(), status == null ? new AdaptiveResourceStatus(rule)
+                    : status.merge(rule));
+            }
+            resourceRules = validRules;
+            resourceStatus = RuleSnapshot.of(statusMap);
+            if (!statusMap.isEmpty()) {
+                RecordLog.info("[SystemRuleManager] System adaptive protection of resources loaded: {}",
+                    statusMap.values());
+            }
         }
 
         protected void restoreSetting() {
@@ -217,12 +293,16 @@ public final class SystemRuleManager {
             maxRt = Long.MAX_VALUE;
             maxThread = Long.MAX_VALUE;
             qps = Double.MAX_VALUE;
+            highestCpuThrottleRatio = Double.MAX_VALUE;
+            highestMemoryPressure = Double.MAX_VALUE;
 
             highestSystemLoadIsSet = false;
             highestCpuUsageIsSet = false;
             maxRtIsSet = false;
             maxThreadIsSet = false;
             qpsIsSet = false;
+            highestCpuThrottleRatioIsSet = false;
+            highestMemoryPressureIsSet = false;
         }
 
     }
@@ -239,6 +319,51 @@ public final class SystemRuleManager {
         return highestCpuUsage;
     }
 
+    public static double getCpuThrottleRatioThreshold() {
+        return highestCpuThrottleRatio;
+    }
+
+    public static double getMemoryPressureThreshold() {
+        return highestMemoryPressure;
+    }
+
+    /**
+     * Check whether the {@link SystemRule} scoped to a resource is valid. The rule should have
+     * the system load, CPU usage or average RT threshold as the trigger of the adaptive protection,
+     * while the QPS and thread thresholds (use flow rules instead) and the cgroup thresholds are not supported.
+     *
+     * @param rule the rule with the resource set
+     * @return true if valid, otherwise false
+     */
+    static boolean isValidResourceRule(SystemRule rule) {
+        if (rule == null || StringUtil.isBlank(rule.getResource())) {
+            return false;
+        }
+        if (rule.getQps() >= 0 || rule.getMaxThread() >= 0 || rule.getHighestCpuUsage() > 1
+            || rule.getHighestCpuThrottleRatio() >= 0 || rule.getHighestMemoryPressure() >= 0) {
+            return false;
+        }
+        return rule.getHighestSystemLoad() >= 0 || rule.getHighestCpuUsage() >= 0 || rule.getAvgRt() >= 0;
+    }
+
+    /**
+     * Refresh the status of the adaptive protection scoped to resources with the statistics of the resources.
+     * This is driven by the {@link SystemStatusListener}.
+     *
+     * @param currentLoad current system load
+     * @param currentCpu  current CPU usage
+     */
+    static void refreshResourceStatus(double currentLoad, double currentCpu) {
+        for (AdaptiveResourceStatus status : resourceStatus.getRuleMap().values()) {
+            ClusterNode node = ClusterBuilderSlot.getClusterNode(status.getResource());
+            status.refresh(node, currentLoad, currentCpu);
+        }
+    }
+
+    static AdaptiveResourceStatus getResourceStatus(String resource) {
+        return resourceStatus.get(resource);
+    }
+
     public static void loadSystemConf(SystemRule rule) {
         boolean checkStatus = false;
         // Check if it's valid.
@@ -277,7 +402,32 @@ public final class SystemRuleManager {
             checkStatus = true;
         }
 
-        checkSystemStatus.set(checkStatus);
+        if (rule.getHighestCpuThrottleRatio() >= 0) {
+            if (rule.getHighestCpuThrottleRatio() > 1) {
+                RecordLog.warn(String.format("[SystemRuleManager] Ignoring invalid SystemRule: "
+                    + "highestCpuThrottleRatio %.3f > 1", rule.getHighestCpuThrottleRatio()));
+            } else {
+                highestCpuThrottleRatio = Math.min(highestCpuThrottleRatio, rule.getHighestCpuThrottleRatio());
+                highestCpuThrottleRatioIsSet = true;
+                checkStatus = true;
+            }
+        }
+
+        if (rule.getHighestMemoryPressure() >= 0) {
+            if (rule.getHighestMemoryPressure() > 1) {
+                RecordLog.warn(String.format("[SystemRuleManager] Ignoring invalid SystemRule: "
+                    + "highestMemoryPressure %.3f > 1", rule.getHighestMemoryPressure()));
+            } else {
+                highestMemoryPressure = Math.min(highestMemoryPressure, rule.getHighestMemoryPressure());
+                highestMemoryPressureIsSet = true;
+                checkStatus = true;
+            }
+        }
+
+        // Invalid rules should not turn off the checking of former valid rules.
+        if (checkStatus) {
+            checkSystemStatus.set(true);
+        }
 
     }
 
@@ -291,6 +441,11 @@ public final class SystemRuleManager {
         if (resourceWrapper == null) {
             return;
         }
+        AdaptiveResourceStatus status = resourceStatus.get(resourceWrapper);
+        if (status != null && !status.canPass()) {
+            throw new SystemBlockException(resourceWrapper.getName(), "resourceLoad");
+        }
+
         // Ensure the checking switch is on.
         if (!checkSystemStatus.get()) {
             return;
@@ -329,6 +484,14 @@ public final class SystemRuleManager {
         if (highestCpuUsageIsSet && getCurrentCpuUsage() > highestCpuUsage) {
             throw new SystemBlockException(resourceWrapper.getName(), "cpu");
         }
+
+        // cgroup CPU throttling and memory pressure (in containers)
+        if (highestCpuThrottleRatioIsSet && getCurrentCpuThrottleRatio() > highestCpuThrottleRatio) {
+            throw new SystemBlockException(resourceWrapper.getName(), "cpuThrottle");
+        }
+        if (highestMemoryPressureIsSet && getCurrentMemoryPressure() > highestMemoryPressure) {
+            throw new SystemBlockException(resourceWrapper.getName(), "memoryPressure");
+        }
     }
 
     private static boolean checkBbr(int currentThread) {
@@ -346,4 +509,16 @@ public final class SystemRuleManager {
     public static double getCurrentCpuUsage() {
         return statusListener.getCpuUsage();
     }
+
+    public static double getCurrentCpuThrottleRatio() {
+        return statusListener.getCpuThrottleRatio();
+    }
+
+    public static double getCurrentMemoryUsage() {
+        return statusListener.getMemoryUsage();
+    }
+
+    public static double getCurrentMemoryPressure() {
+        return statusListener.getMemoryPressure();
+    }
 }
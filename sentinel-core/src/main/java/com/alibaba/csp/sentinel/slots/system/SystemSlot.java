@@ -29,7 +29,7 @@ import com.alibaba.csp.sentinel.spi.Spi;
  * @author jialiang.linjl
  * @author leyou
  */
-@Spi(order = Constants.ORDER_SYSTEM_SLOT)
+@Spi(isSingleton = false, order = Constants.ORDER_SYSTEM_SLOT)
 public class SystemSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
 
     @Override
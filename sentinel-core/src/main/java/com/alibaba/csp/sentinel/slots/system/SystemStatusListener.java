@@ -33,11 +33,32 @@ public class SystemStatusListener implements Runnable {
     volatile double currentLoad = -1;
     volatile double currentCpuUsage = -1;
 
+    volatile double currentCpuThrottleRatio = -1;
+    volatile double currentMemoryUsage = -1;
+    volatile double currentMemoryPressure = -1;
+
     volatile String reason = StringUtil.EMPTY;
 
     volatile long processCpuTime = 0;
     volatile long processUpTime = 0;
 
+    /**
+     * Reader of the cgroup metrics, which is null if cgroup is unavailable.
+     */
+    private final CgroupMetricReader cgroupReader;
+
+    public SystemStatusListener() {
+        this(CgroupMetricReader.detect());
+    }
+
+    SystemStatusListener(CgroupMetricReader cgroupReader) {
+        this.cgroupReader = cgroupReader;
+        if (cgroupReader != null) {
+            RecordLog.info("[SystemStatusListener] Reading CPU and memory metrics from cgroup v{}",
+                cgroupReader.getVersion());
+        }
+    }
+
     public double getSystemAverageLoad() {
         return currentLoad;
     }
@@ -46,6 +67,27 @@ public class SystemStatusListener implements Runnable {
         return currentCpuUsage;
     }
 
+    /**
+     * @return ratio of the CPU throttled periods of the cgroup in [0, 1], or -1 if unavailable
+     */
+    public double getCpuThrottleRatio() {
+        return currentCpuThrottleRatio;
+    }
+
+    /**
+     * @return memory usage / memory limit of the cgroup in [0, 1], or -1 if unavailable
+     */
+    public double getMemoryUsage() {
+        return currentMemoryUsage;
+    }
+
+    /**
+     * @return memory pressure (PSI {@code some avg10}) in [0, 1], or -1 if unavailable
+     */
+    public double getMemoryPressure() {
+        return currentMemoryPressure;
+    }
+
     @Override
     public void run() {
         try {
@@ -76,12 +118,26 @@ public class SystemStatusListener implements Runnable {
 
             currentCpuUsage = Math.max(processCpuUsage, systemCpuUsage);
 
+            // CPU usage of the cgroup is relative to the CPU quota, which makes sense in containers.
+            if (cgroupReader != null) {
+                cgroupReader.refresh(System.nanoTime(), cpuCores);
+                currentCpuUsage = Math.max(currentCpuUsage, cgroupReader.getCpuUsage());
+                currentCpuThrottleRatio = cgroupReader.getCpuThrottleRatio();
+                currentMemoryUsage = cgroupReader.getMemoryUsage();
+                currentMemoryPressure = cgroupReader.getMemoryPressure();
+            }
+
             if (currentLoad > SystemRuleManager.getSystemLoadThreshold()) {
                 writeSystemStatusLog();
             }
         } catch (Throwable e) {
             RecordLog.warn("[SystemStatusListener] Failed to get system metrics from JMX", e);
         }
+        try {
+            SystemRuleManager.refreshResourceStatus(currentLoad, currentCpuUsage);
+        } catch (Throwable e) {
+            RecordLog.warn("[SystemStatusListener] Failed to refresh the system status of resources", e);
+        }
     }
 
     private void writeSystemStatusLog() {
@@ -89,6 +145,11 @@ public class SystemStatusListener implements Runnable {
         sb.append("Load exceeds the threshold: ");
         sb.append("load:").append(String.format("%.4f", currentLoad)).append("; ");
         sb.append("cpuUsage:").append(String.format("%.4f", currentCpuUsage)).append("; ");
+        if (cgroupReader != null) {
+            sb.append("cpuThrottleRatio:").append(String.format("%.4f", currentCpuThrottleRatio)).append("; ");
+            sb.append("memoryUsage:").append(String.format("%.4f", currentMemoryUsage)).append("; ");
+            sb.append("memoryPressure:").append(String.format("%.4f", currentMemoryPressure)).append("; ");
+        }
         sb.append("qps:").append(String.format("%.4f", Constants.ENTRY_NODE.passQps())).append("; ");
         sb.append("rt:").append(String.format("%.4f", Constants.ENTRY_NODE.avgRt())).append("; ");
         sb.append("thread:").append(Constants.ENTRY_NODE.curThreadNum()).append("; ");
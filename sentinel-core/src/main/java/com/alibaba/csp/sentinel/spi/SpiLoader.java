@@ -171,6 +171,23 @@ public final class SpiLoader<S> {
         return createInstanceList(sortedClassList);
     }
 
+    /**
+     * Load new Provider instances of the specified Service, sorted by order value in class's {@link Spi} annotation.
+     * New instances will be created even if the Provider class is a singleton.
+     *
+     * @return Sorted new Provider instances list
+     * @since 1.8.1
+     */
+    public List<S> loadNewInstanceListSorted() {
+        load();
+
+        List<S> instances = new ArrayList<>(sortedClassList.size());
+        for (Class<? extends S> clazz : sortedClassList) {
+            instances.add(createInstance(clazz, false));
+        }
+        return instances;
+    }
+
     /**
      * Load highest order priority instance, order value is defined in class's {@link Spi} annotation
      *
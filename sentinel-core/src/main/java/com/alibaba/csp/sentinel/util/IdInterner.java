@@ -0,0 +1,88 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Interns names to compact non-negative integer ids, so that values related to
+ * the names could be stored in an {@link IndexedTable}.</p>
+ * <p>
+ * The same name always gets the same id. Ids are never recycled, so the amount of interned names could be
+ * bounded, after which new names get {@link #ID_ABSENT} and callers should fall back to the names.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public final class IdInterner {
+
+    /**
+     * The id of names that cannot be interned as the amount of interned names has reached the limit.
+     */
+    public static final int ID_ABSENT = -1;
+
+    private final Map<String, Integer> idMap = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    private int nextId = 0;
+
+    public IdInterner() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxSize max amount of interned names
+     */
+    public IdInterner(int maxSize) {
+        AssertUtil.isTrue(maxSize > 0, "maxSize should be positive");
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the interned id of provided name, a new id will be assigned if absent.
+     *
+     * @param name the name, must not be null
+     * @return the interned id, or {@link #ID_ABSENT} if absent and the amount of interned names has reached
+     * the limit
+     */
+    public int intern(String name) {
+        Integer id = idMap.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = idMap.get(name);
+            if (id == null) {
+                if (nextId >= maxSize) {
+                    return ID_ABSENT;
+                }
+                id = nextId++;
+                idMap.put(name, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Get the amount of interned names.
+     *
+     * @return the amount of interned names
+     */
+    public int size() {
+        return idMap.size();
+    }
+}
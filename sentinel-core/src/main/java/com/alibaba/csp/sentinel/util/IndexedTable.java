@@ -0,0 +1,163 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>A concurrent table that maps non-negative integer ids to values.</p>
+ * <p>
+ * The table is divided into fixed-size segments which are created lazily,
+ * so it grows without copying existing values. Reads are plain array accesses
+ * without hashing. Ids beyond the capacity are not stored, and callers should
+ * fall back to other lookups in that case.
+ * </p>
+ *
+ * @param <V> type of the value
+ * @since 1.8.1
+ */
+public final class IndexedTable<V> {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 1024;
+    public static final int DEFAULT_MAX_SEGMENTS = 64;
+
+    private final int segmentShift;
+    private final int segmentMask;
+    private final AtomicReferenceArray<AtomicReferenceArray<V>> segments;
+
+    public IndexedTable() {
+        this(DEFAULT_MAX_SEGMENTS);
+    }
+
+    /**
+     * @param maxSegments max amount of segments, each segment holds 1024 values
+     */
+    public IndexedTable(int maxSegments) {
+        this(DEFAULT_SEGMENT_SIZE, maxSegments);
+    }
+
+    /**
+     * @param segmentSize amount of values in each segment, must be a power of 2
+     * @param maxSegments max amount of segments
+     * @since 1.8.1
+     */
+    public IndexedTable(int segmentSize, int maxSegments) {
+        AssertUtil.isTrue(segmentSize > 0 && (segmentSize & (segmentSize - 1)) == 0,
+            "segmentSize should be a power of 2");
+        AssertUtil.isTrue(maxSegments > 0, "maxSegments should be positive");
+        this.segmentShift = Integer.numberOfTrailingZeros(segmentSize);
+        this.segmentMask = segmentSize - 1;
+        this.segments = new AtomicReferenceArray<>(maxSegments);
+    }
+
+    /**
+     * Get the value of provided id.
+     *
+     * @param id the id
+     * @return the value if present, otherwise null
+     */
+    public V get(int id) {
+        AtomicReferenceArray<V> segment = segmentOf(id, false);
+        return segment == null ? null : segment.get(id & segmentMask);
+    }
+
+    /**
+     * Set the value of provided id.
+     *
+     * @param id    the id
+     * @param value the value
+     * @return true if the value has been stored; false if the id is out of capacity
+     */
+    public boolean set(int id, V value) {
+        AtomicReferenceArray<V> segment = segmentOf(id, true);
+        if (segment == null) {
+            return false;
+        }
+        segment.set(id & segmentMask, value);
+        return true;
+    }
+
+    /**
+     * Set the value of provided id if absent.
+     *
+     * @param id    the id
+     * @param value the value
+     * @return the present value if any, otherwise null (including the case the id is out of capacity)
+     */
+    public V putIfAbsent(int id, V value) {
+        AtomicReferenceArray<V> segment = segmentOf(id, true);
+        if (segment == null) {
+            return null;
+        }
+        int idx = id & segmentMask;
+        while (true) {
+            if (segment.compareAndSet(idx, null, value)) {
+                return null;
+            }
+            V present = segment.get(idx);
+            if (present != null) {
+                return present;
+            }
+        }
+    }
+
+    /**
+     * Remove the value of provided id.
+     *
+     * @param id the id
+     * @return the removed value, or null if absent
+     */
+    public V remove(int id) {
+        AtomicReferenceArray<V> segment = segmentOf(id, false);
+        return segment == null ? null : segment.getAndSet(id & segmentMask, null);
+    }
+
+    /**
+     * Check whether the provided id can be stored in the table.
+     *
+     * @param id the id
+     * @return true if the id is within capacity
+     */
+    public boolean isInCapacity(int id) {
+        return id >= 0 && (id >>> segmentShift) < segments.length();
+    }
+
+    public int capacity() {
+        return segments.length() << segmentShift;
+    }
+
+    /**
+     * Remove all values.
+     */
+    public void clear() {
+        for (int i = 0; i < segments.length(); i++) {
+            segments.set(i, null);
+        }
+    }
+
+    private AtomicReferenceArray<V> segmentOf(int id, boolean create) {
+        if (!isInCapacity(id)) {
+            return null;
+        }
+        int segmentIdx = id >>> segmentShift;
+        AtomicReferenceArray<V> segment = segments.get(segmentIdx);
+        if (segment == null && create) {
+            segments.compareAndSet(segmentIdx, null, new AtomicReferenceArray<V>(segmentMask + 1));
+            segment = segments.get(segmentIdx);
+        }
+        return segment;
+    }
+}
@@ -16,37 +16,176 @@
 package com.alibaba.csp.sentinel.util;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.log.RecordLog;
 
 /**
- * Provides millisecond-level time of OS.
+ * <p>Provides millisecond-level time of OS.</p>
+ * <p>
+ * The clock mode could be selected via {@link SentinelConfig#TIME_CLOCK_MODE}:
+ * </p>
+ * <ul>
+ * <li>{@code tick} (default): a daemon thread refreshes a cached time every tick interval;</li>
+ * <li>{@code adaptive}: like {@code tick}, but the thread parks when the time has not been read
+ * for a while (so idle services won't be woken up every tick), and the system time is returned
+ * directly until the thread resumes;</li>
+ * <li>{@code system}: read {@code System.currentTimeMillis()} directly;</li>
+ * <li>{@code monotonic}: derived from {@code System.nanoTime()}, so it's safe against wall-clock jumps,
+ * but may slightly drift from the wall clock in a long run.</li>
+ * </ul>
  *
  * @author qinan.qn
  */
 public final class TimeUtil {
 
-    private static volatile long currentTimeMillis;
+    public static final String CLOCK_MODE_TICK = "tick";
+    public static final String CLOCK_MODE_ADAPTIVE = "adaptive";
+    public static final String CLOCK_MODE_SYSTEM = "system";
+    public static final String CLOCK_MODE_MONOTONIC = "monotonic";
+
+    private static final int MODE_TICK = 0;
+    private static final int MODE_SYSTEM = 1;
+    private static final int MODE_MONOTONIC = 2;
+
+    private static final int MODE;
+    private static final String MODE_NAME;
+    private static final Ticker TICKER;
+
+    private static final long MONOTONIC_BASE_MILLIS;
+    private static final long MONOTONIC_BASE_NANOS;
 
     static {
-        currentTimeMillis = System.currentTimeMillis();
-        Thread daemon = new Thread(new Runnable() {
-            @Override
-            public void run() {
-                while (true) {
-                    currentTimeMillis = System.currentTimeMillis();
-                    try {
-                        TimeUnit.MILLISECONDS.sleep(1);
-                    } catch (Throwable e) {
+        MONOTONIC_BASE_MILLIS = System.currentTimeMillis();
+        MONOTONIC_BASE_NANOS = System.nanoTime();
 
-                    }
-                }
+        String mode = SentinelConfig.timeClockMode();
+        if (CLOCK_MODE_SYSTEM.equals(mode)) {
+            MODE = MODE_SYSTEM;
+            TICKER = null;
+        } else if (CLOCK_MODE_MONOTONIC.equals(mode)) {
+            MODE = MODE_MONOTONIC;
+            TICKER = null;
+        } else {
+            if (!CLOCK_MODE_TICK.equals(mode) && !CLOCK_MODE_ADAPTIVE.equals(mode)) {
+                RecordLog.warn("[TimeUtil] Unknown clock mode: {}, using {} mode", mode, CLOCK_MODE_TICK);
+                mode = CLOCK_MODE_TICK;
             }
-        });
-        daemon.setDaemon(true);
-        daemon.setName("sentinel-time-tick-thread");
-        daemon.start();
+            MODE = MODE_TICK;
+            long idleTime = CLOCK_MODE_ADAPTIVE.equals(mode) ? SentinelConfig.timeTickIdleTime() : -1;
+            TICKER = new Ticker(SentinelConfig.timeTickInterval(), idleTime);
+            TICKER.start();
+        }
+        MODE_NAME = mode;
     }
 
     public static long currentTimeMillis() {
-        return currentTimeMillis;
+        switch (MODE) {
+            case MODE_SYSTEM:
+                return System.currentTimeMillis();
+            case MODE_MONOTONIC:
+                return MONOTONIC_BASE_MILLIS + (System.nanoTime() - MONOTONIC_BASE_NANOS) / 1000000;
+            default:
+                return TICKER.read();
+        }
+    }
+
+    /**
+     * Get the resolved clock mode.
+     *
+     * @return the clock mode
+     * @since 1.8.1
+     */
+    public static String clockMode() {
+        return MODE_NAME;
     }
+
+    /**
+     * The thread refreshing the cached time every tick interval. When the idle time is positive,
+     * the thread parks if the time has not been read within the idle time, and resumes on next read.
+     */
+    static final class Ticker implements Runnable {
+
+        private final long intervalMs;
+        private final long idleTimeMs;
+
+        private volatile long currentTimeMillis;
+        /**
+         * Whether the time has been read since last idle check.
+         */
+        private volatile boolean read = true;
+        private volatile boolean parked = false;
+
+        private Thread thread;
+
+        Ticker(long intervalMs, long idleTimeMs) {
+            this.intervalMs = intervalMs;
+            this.idleTimeMs = idleTimeMs;
+            this.currentTimeMillis = System.currentTimeMillis();
+        }
+
+        void start() {
+            thread = new Thread(this);
+            thread.setDaemon(true);
+            thread.setName("sentinel-time-tick-thread");
+            thread.start();
+        }
+
+        long read() {
+            if (idleTimeMs > 0) {
+                if (parked) {
+                    // The cached time is stale, so resume the tick thread and use the system time directly.
+                    read = true;
+                    LockSupport.unpark(thread);
+                    return System.currentTimeMillis();
+                }
+                if (!read) {
+                    read = true;
+                }
+            }
+            return currentTimeMillis;
+        }
+
+        boolean isParked() {
+            return parked;
+        }
+
+        @Override
+        public void run() {
+            long lastCheck = System.currentTimeMillis();
+            while (true) {
+                long now = System.currentTimeMillis();
+                currentTimeMillis = now;
+                if (idleTimeMs > 0 && now - lastCheck >= idleTimeMs) {
+                    if (read) {
+                        read = false;
+                    } else {
+                        parkUntilRead();
+                    }
+                    lastCheck = System.currentTimeMillis();
+                    continue;
+                }
+                try {
+                    TimeUnit.MILLISECONDS.sleep(intervalMs);
+                } catch (Throwable e) {
+
+                }
+            }
+        }
+
+        private void parkUntilRead() {
+            parked = true;
+            // Readers set the flag before unpark, so the read between the idle check and parking won't be missed.
+            while (!read) {
+                LockSupport.park(this);
+                // Clear the interrupted status, otherwise the thread could not be parked any more.
+                Thread.interrupted();
+            }
+            currentTimeMillis = System.currentTimeMillis();
+            parked = false;
+        }
+    }
+
+    private TimeUtil() {}
 }
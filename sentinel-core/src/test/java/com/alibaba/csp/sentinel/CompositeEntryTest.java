@@ -0,0 +1,120 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import java.util.Collections;
+
+import com.alibaba.csp.sentinel.context.ContextTestUtil;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.slotchain.ResourceHandle;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link CompositeEntry}.
+ */
+public class CompositeEntryTest {
+
+    @Before
+    public void setUp() {
+        FlowRuleManager.loadRules(Collections.<FlowRule>emptyList());
+    }
+
+    @After
+    public void tearDown() {
+        FlowRuleManager.loadRules(Collections.<FlowRule>emptyList());
+        ContextTestUtil.cleanUpContext();
+    }
+
+    @Test
+    public void testEntryAllAndExitInReverseOrder() throws BlockException {
+        Entry entry = SphU.entryAll("compositeResA", "compositeResB", "compositeResC");
+
+        assertTrue(entry instanceof CompositeEntry);
+        CompositeEntry compositeEntry = (CompositeEntry) entry;
+        assertEquals(3, compositeEntry.getEntries().size());
+        assertEquals("compositeResC", entry.getResourceWrapper().getName());
+        // Entries of the batch are nested in order.
+        Entry entryC = compositeEntry.getEntries().get(2);
+        assertSame(entryC, ContextUtil.getContext().getCurEntry());
+        assertSame(compositeEntry.getEntries().get(1), ((CtEntry) entryC).parent);
+
+        ClusterNode nodeA = ClusterBuilderSlot.getClusterNode("compositeResA");
+        assertEquals(1, nodeA.curThreadNum());
+
+        entry.exit();
+        assertEquals(0, nodeA.curThreadNum());
+        assertEquals(0, ClusterBuilderSlot.getClusterNode("compositeResC").curThreadNum());
+        // The default context should be exited with the outermost entry.
+        assertNull(ContextUtil.getContext());
+
+        // Duplicate exit should be ignored.
+        entry.exit();
+    }
+
+    @Test
+    public void testEntryAllRollbackWhenBlocked() {
+        FlowRule rule = new FlowRule("compositeBlockedResC").setCount(0);
+        FlowRuleManager.loadRules(Collections.singletonList(rule));
+
+        try {
+            SphU.entryAll("compositeBlockedResA", "compositeBlockedResB", "compositeBlockedResC");
+            fail("The batch should be blocked");
+        } catch (BlockException ex) {
+            assertEquals("compositeBlockedResC", ex.getRule().getResource());
+        }
+        for (String resource : new String[] {"compositeBlockedResA", "compositeBlockedResB"}) {
+            ClusterNode node = ClusterBuilderSlot.getClusterNode(resource);
+            assertEquals(0, node.curThreadNum());
+            // The rolled back entries should revoke their pass rather than complete.
+            assertEquals(0, node.totalPass());
+            assertEquals(0, node.totalSuccess());
+        }
+        assertEquals(1, ClusterBuilderSlot.getClusterNode("compositeBlockedResC").blockRequest());
+        assertNull(ContextUtil.getContext());
+    }
+
+    @Test
+    public void testAsyncEntryAll() throws BlockException {
+        ResourceHandle[] resources = new ResourceHandle[] {
+            SphU.resource("compositeAsyncResA"), SphU.resource("compositeAsyncResB")
+        };
+        ContextUtil.enter("compositeAsyncContext");
+        Entry entry = SphU.asyncEntryAll(resources, 1, null);
+
+        for (Entry e : ((CompositeEntry) entry).getEntries()) {
+            assertTrue(e instanceof AsyncEntry);
+            assertNotNull(((AsyncEntry) e).getAsyncContext());
+        }
+        // Async entries should not be hanged on current context.
+        assertNull(ContextUtil.getContext().getCurEntry());
+        assertEquals(1, ClusterBuilderSlot.getClusterNode("compositeAsyncResB").curThreadNum());
+
+        entry.exit();
+        assertEquals(0, ClusterBuilderSlot.getClusterNode("compositeAsyncResA").curThreadNum());
+        assertEquals(0, ClusterBuilderSlot.getClusterNode("compositeAsyncResB").curThreadNum());
+        ContextUtil.exit();
+    }
+}
@@ -1,5 +1,8 @@
 package com.alibaba.csp.sentinel;
 
+import java.util.Collections;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.context.ContextTestUtil;
 import com.alibaba.csp.sentinel.context.ContextUtil;
@@ -8,10 +11,14 @@ import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.DefaultProcessorSlotChain;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlotChain;
+import com.alibaba.csp.sentinel.slotchain.ResourceHandle;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slotchain.SlotChainProvider;
 import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleAwareProcessorSlotChain;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
 
 import org.junit.After;
 import org.junit.Before;
@@ -269,6 +276,61 @@ public class CtSphTest {
         assertNull(ctSph.lookProcessChain(r2));
     }
 
+    @Test
+    public void testLookUpSlotChainWithResourceHandle() {
+        ResourceHandle handle = ResourceHandle.of("handleRes", EntryType.IN);
+        assertEquals(handle.getId(), ResourceHandle.of("handleRes").getId());
+        assertNotEquals(handle.getId(), ResourceHandle.of("anotherHandleRes").getId());
+
+        // Same name shares the same slot chain with plain resources.
+        ProcessorSlot<Object> chain = ctSph.lookProcessChain(new StringResourceWrapper("handleRes", EntryType.IN));
+        assertNotNull(chain);
+        assertSame(chain, ctSph.lookProcessChain(handle));
+        assertSame(chain, ctSph.lookProcessChain(ResourceHandle.of("handleRes")));
+    }
+
+    @Test
+    public void testEntryWithResourceHandle() throws Exception {
+        ResourceHandle handle = ResourceHandle.of("testEntryWithResourceHandle", EntryType.IN);
+        ShouldPassSlot slot = addShouldPassSlotFor(handle);
+
+        Entry entry = ctSph.entry(handle, 1);
+        assertTrue(slot.entered);
+        assertSame(handle, entry.getResourceWrapper());
+        entry.exit();
+        assertTrue(slot.exited);
+    }
+
+    @Test
+    public void testRuleAwareChainsOfDifferentResources() throws Exception {
+        String resA = "testRuleAwareChainsOfDifferentResourcesA";
+        String resB = "testRuleAwareChainsOfDifferentResourcesB";
+        SentinelConfig.setConfig(SentinelConfig.RULE_AWARE_SLOT_CHAIN, "true");
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resA).setCount(0)));
+        try {
+            assertBlocked(resA);
+            assertTrue(ctSph.lookProcessChain(new StringResourceWrapper(resA, EntryType.OUT))
+                instanceof RuleAwareProcessorSlotChain);
+
+            // Building the chain of another resource without rules should not affect the first chain.
+            Entry entry = SphU.entry(resB);
+            entry.exit();
+            assertBlocked(resA);
+        } finally {
+            FlowRuleManager.loadRules(Collections.<FlowRule>emptyList());
+            SentinelConfig.setConfig(SentinelConfig.RULE_AWARE_SLOT_CHAIN, "false");
+        }
+    }
+
+    private void assertBlocked(String resourceName) {
+        try {
+            SphU.entry(resourceName).exit();
+            fail("Should be blocked: " + resourceName);
+        } catch (BlockException expected) {
+            assertEquals(resourceName, expected.getRule().getResource());
+        }
+    }
+
     private void fillFullContext() {
         for (int i = 0; i < Constants.MAX_CONTEXT_NAME_SIZE; i++) {
             ContextUtil.enter("test-context-" + i);
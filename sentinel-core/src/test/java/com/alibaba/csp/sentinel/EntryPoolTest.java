@@ -0,0 +1,158 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.context.ContextTestUtil;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link EntryPool}.
+ */
+public class EntryPoolTest {
+
+    @Before
+    public void setUp() {
+        ContextTestUtil.cleanUpContext();
+        Constants.ENTRY_POOL_ON = true;
+    }
+
+    @After
+    public void tearDown() {
+        Constants.ENTRY_POOL_ON = false;
+        ContextTestUtil.cleanUpContext();
+    }
+
+    @Test
+    public void testReuseEntryAndContextAfterExit() {
+        assertTrue(SphO.entry("testReuseEntryAndContextAfterExit"));
+        Context context = ContextUtil.getContext();
+        Entry entry = context.getCurEntry();
+        assertNotNull(entry.getCurNode());
+        SphO.exit();
+        assertNull(ContextUtil.getContext());
+        assertTrue(((CtEntry)entry).isRecycled());
+
+        assertTrue(SphO.entry("testReuseEntryAndContextAfterExit2"));
+        Entry entry2 = ContextUtil.getContext().getCurEntry();
+        assertSame(entry, entry2);
+        assertSame(context, ContextUtil.getContext());
+        assertFalse(((CtEntry)entry2).isRecycled());
+        assertEquals("testReuseEntryAndContextAfterExit2", entry2.getResourceWrapper().getName());
+        SphO.exit();
+        assertNull(ContextUtil.getContext());
+    }
+
+    @Test
+    public void testNestedEntries() {
+        ContextUtil.enter("testNestedEntries", "abc");
+        Context context = ContextUtil.getContext();
+        assertTrue(SphO.entry("testNestedEntries1"));
+        Entry entry1 = context.getCurEntry();
+        assertTrue(SphO.entry("testNestedEntries2"));
+        Entry entry2 = context.getCurEntry();
+        assertNotSame(entry1, entry2);
+        assertSame(entry1, ((CtEntry)entry2).parent);
+        SphO.exit();
+        assertSame(entry1, context.getCurEntry());
+        assertNull(((CtEntry)entry1).child);
+
+        assertTrue(SphO.entry("testNestedEntries3"));
+        Entry entry3 = context.getCurEntry();
+        assertSame(entry2, entry3);
+        assertSame(entry1, ((CtEntry)entry3).parent);
+        SphO.exit();
+        SphO.exit();
+        assertEquals("abc", context.getOrigin());
+        ContextUtil.exit();
+        assertNull(ContextUtil.getContext());
+
+        ContextUtil.enter("testNestedEntries");
+        assertNotSame(context, ContextUtil.getContext());
+        ContextUtil.exit();
+    }
+
+    @Test
+    public void testContextHandedOutIsNotRecycled() {
+        Context context = ContextUtil.enter("testContextHandedOutIsNotRecycledA", "originA");
+        ContextUtil.exit();
+
+        Context context2 = ContextUtil.enter("testContextHandedOutIsNotRecycledB", "originB");
+        assertNotSame(context, context2);
+        // The stale reference should keep its own name and origin.
+        assertEquals("testContextHandedOutIsNotRecycledA", context.getName());
+        assertEquals("originA", context.getOrigin());
+        ContextUtil.exit();
+    }
+
+    @Test
+    public void testExitAfterRecycledIsIgnored() {
+        assertTrue(SphO.entry("testExitAfterRecycledIsIgnored"));
+        Entry entry = ContextUtil.getContext().getCurEntry();
+        SphO.exit();
+        // Duplicate exit should not affect anything.
+        entry.exit();
+        assertNull(ContextUtil.getContext());
+
+        assertTrue(SphO.entry("testExitAfterRecycledIsIgnored"));
+        Entry entry2 = ContextUtil.getContext().getCurEntry();
+        assertTrue(SphO.entry("testExitAfterRecycledIsIgnoredInner"));
+        Entry inner = ContextUtil.getContext().getCurEntry();
+        assertSame(entry2, ((CtEntry)inner).parent);
+        SphO.exit();
+        // The recycled inner entry must not exit current entry.
+        inner.exit();
+        assertSame(entry2, ContextUtil.getContext().getCurEntry());
+        SphO.exit();
+        assertNull(ContextUtil.getContext());
+    }
+
+    @Test
+    public void testEntryHandedOutIsNotPooled() throws Exception {
+        Entry entry = SphU.entry("testEntryHandedOutIsNotPooled");
+        entry.exit();
+        assertFalse(((CtEntry)entry).isRecycled());
+
+        Entry entry2 = SphU.entry("testEntryHandedOutIsNotPooled");
+        assertNotSame(entry, entry2);
+        // The stale reference must not exit the live invocation.
+        entry.exit();
+        assertSame(entry2, ContextUtil.getContext().getCurEntry());
+        entry2.exit();
+        assertNull(ContextUtil.getContext());
+    }
+
+    @Test
+    public void testPoolDisabled() {
+        Constants.ENTRY_POOL_ON = false;
+        assertTrue(SphO.entry("testPoolDisabled"));
+        Context context = ContextUtil.getContext();
+        Entry entry = context.getCurEntry();
+        SphO.exit();
+        assertFalse(((CtEntry)entry).isRecycled());
+
+        assertTrue(SphO.entry("testPoolDisabled"));
+        assertNotSame(entry, ContextUtil.getContext().getCurEntry());
+        assertNotSame(context, ContextUtil.getContext());
+        SphO.exit();
+    }
+}
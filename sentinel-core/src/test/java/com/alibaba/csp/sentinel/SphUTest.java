@@ -22,6 +22,7 @@ import java.lang.reflect.Method;
 import org.junit.Test;
 
 import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 
@@ -157,4 +158,35 @@ public class SphUTest {
 
         e.exit(2, arg0, arg1);
     }
+
+    @Test
+    public void testEntryWithCarrierContext() throws BlockException {
+        Context context = ContextUtil.createContext("carrierContextA", "originA");
+        Entry e = SphU.entry(context, "resourceName", EntryType.IN, 1);
+
+        assertNotNull(e);
+        assertSame(e, context.getCurEntry());
+        // Current thread should not be bound to any context.
+        assertNull(ContextUtil.getContext());
+
+        Entry e1 = SphU.entry(context, SphU.resource("resourceNameB"), 1);
+        assertSame(e, ((CtEntry) e1).parent);
+        e1.exit();
+        e.exit();
+        assertNull(context.getCurEntry());
+        assertNull(ContextUtil.getContext());
+    }
+
+    @Test
+    public void testAsyncEntryWithCarrierContext() throws BlockException {
+        Context context = ContextUtil.createContext("carrierContextB", "");
+        AsyncEntry e = SphU.asyncEntry(context, "resourceName", ResourceTypeConstants.COMMON, EntryType.OUT, 1,
+            null);
+
+        assertNotNull(e.getAsyncContext());
+        // The async entry has been removed from the carrier context.
+        assertNull(context.getCurEntry());
+        assertNull(ContextUtil.getContext());
+        e.exit();
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link TimingWheel}.
+ */
+public class TimingWheelTest {
+
+    @Test
+    public void testScheduleInOrder() throws Exception {
+        TimingWheel timer = new TimingWheel("sentinel-test-timer", 1, 8);
+        final List<Integer> results = Collections.synchronizedList(new ArrayList<Integer>());
+        final CountDownLatch latch = new CountDownLatch(3);
+        long start = System.nanoTime();
+        // The delay exceeds a round of the wheel.
+        for (final int delay : new int[] {60, 5, 30}) {
+            timer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    results.add(delay);
+                    latch.countDown();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 60);
+        assertEquals(5, (int) results.get(0));
+        assertEquals(30, (int) results.get(1));
+        assertEquals(60, (int) results.get(2));
+    }
+
+    @Test
+    public void testScheduleAfterIdle() throws Exception {
+        TimingWheel timer = new TimingWheel("sentinel-test-timer", 1, 8);
+        for (int i = 0; i < 2; i++) {
+            final CountDownLatch latch = new CountDownLatch(1);
+            long start = System.nanoTime();
+            timer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    throw new IllegalStateException("Errors of a task should not affect the timer");
+                }
+            }, 0, TimeUnit.MILLISECONDS);
+            timer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    latch.countDown();
+                }
+            }, 20, TimeUnit.MILLISECONDS);
+            assertTrue(latch.await(2, TimeUnit.SECONDS));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 20);
+            // Let the timer become idle.
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+    }
+}
@@ -15,6 +15,8 @@
  */
 package com.alibaba.csp.sentinel.context;
 
+import java.util.concurrent.Callable;
+
 import com.alibaba.csp.sentinel.Constants;
 
 import org.junit.After;
@@ -139,4 +141,68 @@ public class ContextTest {
         });
         assertEquals(contextName, ContextUtil.getContext().getName());
     }
+
+    @Test
+    public void testInternedIds() {
+        Context context1 = new Context(null, "contextIdA");
+        Context context2 = new Context(null, "contextIdA");
+        Context context3 = new Context(null, "contextIdB");
+        assertEquals(context1.getId(), context2.getId());
+        assertNotEquals(context1.getId(), context3.getId());
+
+        context1.setOrigin("originIdA");
+        context2.setOrigin("originIdB");
+        context3.setOrigin("originIdA");
+        assertEquals(context1.getOriginId(), context3.getOriginId());
+        assertNotEquals(context1.getOriginId(), context2.getOriginId());
+
+        // The origin id should be resolved again after the origin changed.
+        context2.setOrigin("originIdA");
+        assertEquals(context1.getOriginId(), context2.getOriginId());
+    }
+
+    @Test
+    public void testCallOnContext() throws Exception {
+        final Context contextB = Context.newAsyncContext(null, "contextB")
+            .setOrigin("originB");
+        assertNull(ContextUtil.getContext());
+        String name = ContextUtil.callOnContext(contextB, new Callable<String>() {
+            @Override
+            public String call() {
+                return ContextUtil.getContext().getName();
+            }
+        });
+        assertEquals(contextB.getName(), name);
+        assertNull(ContextUtil.getContext());
+    }
+
+    @Test
+    public void testCreateContext() {
+        Context context = ContextUtil.createContext("carrierContext", "originA");
+        assertEquals("carrierContext", context.getName());
+        assertEquals("originA", context.getOrigin());
+        assertNotNull(context.getEntranceNode());
+        // The carrier context should not be bound to current thread.
+        assertNull(ContextUtil.getContext());
+
+        // Same context name shares the same entrance node.
+        assertSame(context.getEntranceNode(), ContextUtil.createContext("carrierContext", "").getEntranceNode());
+    }
+
+    @Test(expected = ContextNameDefineException.class)
+    public void testCreateDefaultContext() {
+        ContextUtil.createContext(Constants.CONTEXT_DEFAULT_NAME, "");
+    }
+
+    @Test
+    public void testCreateContextWhenExceedsThreshold() {
+        fillContext();
+        try {
+            Context context = ContextUtil.createContext("abc", "bcd");
+            assertTrue(context instanceof NullContext);
+            assertNull(ContextUtil.getContext());
+        } finally {
+            resetContextMap();
+        }
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node;
+
+import com.alibaba.csp.sentinel.ResourceTypeConstants;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for the bounded origin table of {@link ClusterNode}.
+ */
+public class ClusterNodeOriginEvictionTest extends AbstractTimeBasedTest {
+
+    @Test
+    public void testOverflowWhenNoIdleOrigin() {
+        setCurrentMillis(10000);
+        ClusterNode clusterNode = new ClusterNode("testOverflow", ResourceTypeConstants.COMMON, 2, 5000);
+        Node node1 = clusterNode.getOrCreateOriginNode("origin1");
+        Node node2 = clusterNode.getOrCreateOriginNode(2, "origin2");
+        assertNull(clusterNode.getOverflowOriginNode());
+
+        Node node3 = clusterNode.getOrCreateOriginNode("origin3");
+        assertSame(clusterNode.getOverflowOriginNode(), node3);
+        assertSame(node3, clusterNode.getOrCreateOriginNode(4, "origin4"));
+        assertEquals(2, clusterNode.getOriginCountMap().size());
+        assertEquals(2, clusterNode.getOverflowOriginCount());
+        assertEquals(0, clusterNode.getEvictedOriginCount());
+
+        // Present origins are not affected.
+        assertSame(node1, clusterNode.getOrCreateOriginNode("origin1"));
+        assertSame(node2, clusterNode.getOrCreateOriginNode(2, "origin2"));
+    }
+
+    @Test
+    public void testEvictIdleOrigins() {
+        setCurrentMillis(10000);
+        ClusterNode clusterNode = new ClusterNode("testEvict", ResourceTypeConstants.COMMON, 2, 5000);
+        Node node1 = clusterNode.getOrCreateOriginNode(1, "origin1");
+        clusterNode.getOrCreateOriginNode(2, "origin2");
+
+        sleep(3000);
+        // Keep origin1 active.
+        assertSame(node1, clusterNode.getOrCreateOriginNode(1, "origin1"));
+        sleep(3000);
+
+        // origin2 has been idle for 6s, so it's evicted for origin3.
+        Node node3 = clusterNode.getOrCreateOriginNode(3, "origin3");
+        assertNotSame(clusterNode.getOverflowOriginNode(), node3);
+        assertEquals(1, clusterNode.getEvictedOriginCount());
+        assertTrue(clusterNode.getOriginCountMap().containsKey("origin1"));
+        assertFalse(clusterNode.getOriginCountMap().containsKey("origin2"));
+        assertTrue(clusterNode.getOriginCountMap().containsKey("origin3"));
+
+        // The evicted origin is removed from the origin table too, so it overflows now.
+        Node node2 = clusterNode.getOrCreateOriginNode(2, "origin2");
+        assertSame(clusterNode.getOverflowOriginNode(), node2);
+        assertEquals(1, clusterNode.getOverflowOriginCount());
+    }
+
+    @Test
+    public void testEvictionScanInterval() {
+        setCurrentMillis(10000);
+        ClusterNode clusterNode = new ClusterNode("testScanInterval", ResourceTypeConstants.COMMON, 1, 1000);
+        clusterNode.getOrCreateOriginNode("origin1");
+        // Nothing is idle, so the new origin overflows.
+        Node overflowNode = clusterNode.getOrCreateOriginNode("origin2");
+        assertSame(clusterNode.getOverflowOriginNode(), overflowNode);
+
+        sleep(500);
+        assertSame(clusterNode.getOverflowOriginNode(), clusterNode.getOrCreateOriginNode("origin2"));
+        sleep(600);
+        // origin1 has become idle and the next scan is allowed.
+        Node node2 = clusterNode.getOrCreateOriginNode("origin2");
+        assertNotSame(clusterNode.getOverflowOriginNode(), node2);
+        assertEquals(1, clusterNode.getEvictedOriginCount());
+        assertEquals(2, clusterNode.getOverflowOriginCount());
+    }
+
+    @Test
+    public void testNoLimitByDefault() {
+        ClusterNode clusterNode = new ClusterNode("testNoLimit");
+        assertEquals(0, clusterNode.getMaxOriginCount());
+        for (int i = 0; i < 100; i++) {
+            clusterNode.getOrCreateOriginNode("origin" + i);
+        }
+        assertEquals(100, clusterNode.getOriginCountMap().size());
+        assertNull(clusterNode.getOverflowOriginNode());
+    }
+}
@@ -61,6 +61,26 @@ public class ClusterNodeTest {
         assertTrue(clusterNode.getOriginCountMap().containsKey(origin2));
     }
 
+    @Test
+    public void testGetOrCreateOriginNodeWithOriginId() {
+        ClusterNode clusterNode = new ClusterNode("test");
+
+        Node originNode1 = clusterNode.getOrCreateOriginNode(3, "origin1");
+        assertNotNull(originNode1);
+        assertSame(originNode1, clusterNode.getOrCreateOriginNode(3, "origin1"));
+        // The origin node is shared with the lookup by origin name.
+        assertSame(originNode1, clusterNode.getOrCreateOriginNode("origin1"));
+
+        Node originNode2 = clusterNode.getOrCreateOriginNode("origin2");
+        assertSame(originNode2, clusterNode.getOrCreateOriginNode(5000, "origin2"));
+        assertEquals(2, clusterNode.getOriginCountMap().size());
+
+        // Origin ids out of capacity fall back to the lookup by origin name.
+        Node originNode3 = clusterNode.getOrCreateOriginNode(Integer.MAX_VALUE, "origin3");
+        assertSame(originNode3, clusterNode.getOrCreateOriginNode(Integer.MAX_VALUE, "origin3"));
+        assertEquals(3, clusterNode.getOriginCountMap().size());
+    }
+
     @Test
     public void testGetOrCreateOriginNodeMultiThread() {
         // Note: in JUnit 4, repeat execute a test method is not very convenient
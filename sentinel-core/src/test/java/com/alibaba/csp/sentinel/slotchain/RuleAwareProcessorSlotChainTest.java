@@ -0,0 +1,131 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.context.Context;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link RuleAwareProcessorSlotChain}.
+ */
+public class RuleAwareProcessorSlotChainTest {
+
+    @Test
+    public void testSkipCheckerSlotWithoutRules() throws Throwable {
+        List<String> trace = new ArrayList<>();
+        TracingSlot statSlot = new TracingSlot("stat", trace);
+        CheckerSlot checkerSlot = new CheckerSlot("checker", trace);
+        TracingSlot lastSlot = new TracingSlot("last", trace);
+
+        RuleAwareProcessorSlotChain chain = new RuleAwareProcessorSlotChain();
+        chain.addLast(statSlot);
+        chain.addLast(checkerSlot);
+        chain.addLast(lastSlot);
+
+        AbstractLinkedProcessorSlot<?> statNext = statSlot.getNext();
+
+        ResourceWrapper resource = new StringResourceWrapper("testSkipCheckerSlotWithoutRules", EntryType.IN);
+        chain.entry(null, resource, null, 1, false);
+        assertEquals(2, trace.size());
+        assertEquals("stat", trace.get(0));
+        assertEquals("last", trace.get(1));
+        assertSame(statSlot, chain.getNext());
+        // Live slots are never re-linked when compiling.
+        assertSame(statNext, statSlot.getNext());
+
+        // Rules are not re-checked until the rule version changes.
+        checkerSlot.hasRules = true;
+        trace.clear();
+        chain.entry(null, resource, null, 1, false);
+        assertEquals(2, trace.size());
+
+        RuleAwareProcessorSlotChain.onRulesUpdated();
+        trace.clear();
+        chain.entry(null, resource, null, 1, false);
+        assertEquals(3, trace.size());
+        assertEquals("checker", trace.get(1));
+
+        trace.clear();
+        chain.exit(null, resource, 1);
+        assertEquals(3, trace.size());
+
+        checkerSlot.hasRules = false;
+        RuleAwareProcessorSlotChain.onRulesUpdated();
+        trace.clear();
+        chain.entry(null, resource, null, 1, false);
+        assertEquals(2, trace.size());
+    }
+
+    @Test
+    public void testAddSlotAfterCompiled() throws Throwable {
+        List<String> trace = new ArrayList<>();
+        RuleAwareProcessorSlotChain chain = new RuleAwareProcessorSlotChain();
+        chain.addLast(new CheckerSlot("checker", trace));
+        ResourceWrapper resource = new StringResourceWrapper("testAddSlotAfterCompiled", EntryType.IN);
+        chain.entry(null, resource, null, 1, false);
+        assertTrue(trace.isEmpty());
+
+        chain.addFirst(new TracingSlot("first", trace));
+        chain.entry(null, resource, null, 1, false);
+        assertEquals(1, trace.size());
+        assertEquals("first", trace.get(0));
+    }
+
+    private static class TracingSlot extends AbstractLinkedProcessorSlot<Object> {
+
+        private final String name;
+        private final List<String> trace;
+
+        TracingSlot(String name, List<String> trace) {
+            this.name = name;
+            this.trace = trace;
+        }
+
+        @Override
+        public void entry(Context context, ResourceWrapper resourceWrapper, Object param, int count,
+                          boolean prioritized, Object... args) throws Throwable {
+            trace.add(name);
+            fireEntry(context, resourceWrapper, param, count, prioritized, args);
+        }
+
+        @Override
+        public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
+            trace.add(name);
+            fireExit(context, resourceWrapper, count, args);
+        }
+    }
+
+    private static class CheckerSlot extends TracingSlot implements RuleCheckerSlot {
+
+        private volatile boolean hasRules = false;
+
+        CheckerSlot(String name, List<String> trace) {
+            super(name, trace);
+        }
+
+        @Override
+        public boolean hasRules(ResourceWrapper resourceWrapper) {
+            return hasRules;
+        }
+    }
+}
@@ -86,4 +86,28 @@ public class DefaultSlotChainBuilderTest {
         // Verify the two NodeSelectorSlot instances are different
         assertNotSame(nodeSelectorSlot, nodeSelectorSlot2);
     }
+
+    @Test
+    public void testBuildDistinctSlotsForEachChain() {
+        DefaultSlotChainBuilder builder = new DefaultSlotChainBuilder();
+        ProcessorSlotChain slotChain = builder.build();
+        FlowSlot flowSlot = findSlot(slotChain, FlowSlot.class);
+        assertNotNull(flowSlot);
+
+        ProcessorSlotChain slotChain2 = builder.build();
+        FlowSlot flowSlot2 = findSlot(slotChain2, FlowSlot.class);
+        assertNotNull(flowSlot2);
+        assertNotSame(flowSlot, flowSlot2);
+        // Building another chain should not re-link the slots of the first chain.
+        assertSame(flowSlot, findSlot(slotChain, FlowSlot.class));
+    }
+
+    private static <T> T findSlot(ProcessorSlotChain slotChain, Class<T> slotClass) {
+        for (AbstractLinkedProcessorSlot<?> slot = slotChain.getNext(); slot != null; slot = slot.getNext()) {
+            if (slotClass.isInstance(slot)) {
+                return slotClass.cast(slot);
+            }
+        }
+        return null;
+    }
 }
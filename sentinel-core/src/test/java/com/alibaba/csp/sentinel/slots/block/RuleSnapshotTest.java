@@ -0,0 +1,85 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.slotchain.ResourceHandle;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RuleSnapshotTest {
+
+    @Test
+    public void testLookupByIdAndName() {
+        String resA = "testRuleSnapshotLookupA";
+        String resB = "testRuleSnapshotLookupB";
+        Map<String, String> ruleMap = new HashMap<>();
+        ruleMap.put(resA, "rulesA");
+        RuleSnapshot<String> snapshot = RuleSnapshot.of(ruleMap);
+
+        ResourceHandle handleA = ResourceHandle.of(resA);
+        ResourceHandle handleB = ResourceHandle.of(resB);
+        assertEquals("rulesA", snapshot.get(handleA.getId()));
+        assertEquals("rulesA", snapshot.get(handleA));
+        assertEquals("rulesA", snapshot.get(new StringResourceWrapper(resA, EntryType.OUT)));
+        assertEquals("rulesA", snapshot.get(resA));
+        assertTrue(snapshot.containsKey(resA));
+
+        assertNull(snapshot.get(handleB));
+        assertNull(snapshot.get(resB));
+        assertNull(snapshot.get(-1));
+        assertNull(snapshot.get(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testEmptySnapshot() {
+        assertSame(RuleSnapshot.empty(), RuleSnapshot.of(null));
+        assertSame(RuleSnapshot.empty(), RuleSnapshot.of(new HashMap<String, Object>()));
+        assertNull(RuleSnapshot.empty().get(ResourceHandle.of("testRuleSnapshotEmpty")));
+        assertTrue(RuleSnapshot.empty().getRuleMap().isEmpty());
+    }
+
+    @Test
+    public void testCacheInvalidatedWhenSnapshotSwapped() {
+        String resource = "testRuleSnapshotCache";
+        ResourceHandle handle = ResourceHandle.of(resource);
+        RuleSnapshotCache<String> cache = new RuleSnapshotCache<>();
+
+        Map<String, String> oldMap = new HashMap<>();
+        oldMap.put(resource, "oldRules");
+        RuleSnapshot<String> oldSnapshot = RuleSnapshot.of(oldMap);
+        String rules = cache.get(oldSnapshot, handle);
+        assertEquals("oldRules", rules);
+        assertSame(rules, cache.get(oldSnapshot, handle));
+
+        Map<String, String> newMap = new HashMap<>();
+        newMap.put(resource, "newRules");
+        assertEquals("newRules", cache.get(RuleSnapshot.of(newMap), handle));
+        assertNull(cache.get(RuleSnapshot.<String>empty(), handle));
+        // Shared by another resource.
+        assertEquals("oldRules", cache.get(oldSnapshot, resource));
+        assertNull(cache.get(oldSnapshot, "testRuleSnapshotCacheOther"));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRuleManager;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ResponseTimePercentileCircuitBreakerTest extends AbstractTimeBasedTest {
+
+    @Before
+    public void setUp() {
+        DegradeRuleManager.loadRules(new ArrayList<DegradeRule>());
+    }
+
+    @After
+    public void tearDown() {
+        DegradeRuleManager.loadRules(new ArrayList<DegradeRule>());
+    }
+
+    @Test
+    public void testOpenWhenPercentileExceeded() {
+        String resource = "testRtPercentileCircuitBreaker";
+        DegradeRule rule = new DegradeRule(resource)
+            .setGrade(RuleConstant.DEGRADE_GRADE_RT_PERCENTILE)
+            .setCount(50)
+            .setPercentile(0.9)
+            .setMinRequestAmount(10)
+            .setStatIntervalMs(10000)
+            .setTimeWindow(5);
+        DegradeRuleManager.loadRules(Collections.singletonList(rule));
+
+        setCurrentMillis(1000000);
+        for (int i = 0; i < 18; i++) {
+            assertTrue(entryAndSleepFor(resource, 10));
+        }
+        // p90 of 20 requests: 2 slow requests are tolerated.
+        assertTrue(entryAndSleepFor(resource, 100));
+        assertTrue(entryAndSleepFor(resource, 100));
+        assertTrue(entryAndSleepFor(resource, 10));
+
+        // 3 slow requests of 21 requests, the p90 exceeds the threshold.
+        assertTrue(entryAndSleepFor(resource, 100));
+        assertFalse(entryAndSleepFor(resource, 10));
+
+        // Half-open after the recovery timeout, and closed when the probe is not slow.
+        sleep(5000);
+        assertTrue(entryAndSleepFor(resource, 10));
+        assertTrue(entryAndSleepFor(resource, 10));
+    }
+
+    @Test
+    public void testSampleCountOf() {
+        assertEquals(5, ResponseTimePercentileCircuitBreaker.sampleCountOf(1000));
+        assertEquals(4, ResponseTimePercentileCircuitBreaker.sampleCountOf(1004));
+        assertEquals(2, ResponseTimePercentileCircuitBreaker.sampleCountOf(1002));
+        assertEquals(1, ResponseTimePercentileCircuitBreaker.sampleCountOf(1001));
+    }
+}
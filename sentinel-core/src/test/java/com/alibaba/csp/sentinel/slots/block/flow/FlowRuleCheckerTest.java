@@ -21,6 +21,7 @@ import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.node.ClusterNode;
 import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
@@ -72,6 +73,29 @@ public class FlowRuleCheckerTest {
         assertNull(FlowRuleChecker.selectNodeByRequesterAndStrategy(rule, context, node));
     }
 
+    @Test
+    public void testOverflowOriginFlowSelectNode() {
+        String origin = "appA";
+
+        DefaultNode node = mock(DefaultNode.class);
+        ClusterNode cn = new ClusterNode("testOverflowOriginFlowSelectNode", 0, 1, 60 * 1000);
+        when(node.getClusterNode()).thenReturn(cn);
+        Context context = mock(Context.class);
+        when(context.getOrigin()).thenReturn(origin);
+
+        FlowRule rule = new FlowRule("testOverflowOriginFlowSelectNode").setCount(1);
+        rule.setLimitApp(origin);
+        Node originNode = cn.getOrCreateOriginNode("appB");
+        when(context.getOriginNode()).thenReturn(originNode);
+        assertEquals(originNode, FlowRuleChecker.selectNodeByRequesterAndStrategy(rule, context, node));
+
+        // The origin map is full, so the origin is counted in the overflow node, which won't be checked.
+        Node overflowNode = cn.getOrCreateOriginNode(origin);
+        assertSame(cn.getOverflowOriginNode(), overflowNode);
+        when(context.getOriginNode()).thenReturn(overflowNode);
+        assertNull(FlowRuleChecker.selectNodeByRequesterAndStrategy(rule, context, node));
+    }
+
     @Test
     public void testOtherOriginFlowSelectNode() {
         String originA = "appA";
@@ -15,14 +15,21 @@
  */
 package com.alibaba.csp.sentinel.slots.block.flow;
 
+import com.alibaba.csp.sentinel.slots.block.RuleUpdateMetric;
+import com.alibaba.csp.sentinel.slots.block.RuleUpdateMetricStorage;
+
+import org.junit.After;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 /**
  * @author Weihua
@@ -76,4 +83,53 @@ public class FlowRuleManagerTest {
         }
         latchEnd.await(10, TimeUnit.SECONDS);
     }
+
+    @Test
+    public void testIncrementalLoadKeepsUnchangedControllers() {
+        FlowRuleManager.loadRules(Arrays.asList(newRule("incrementalA", 10), newRule("incrementalB", 20)));
+        TrafficShapingController raterA = FlowRuleManager.getFlowRuleMap().get("incrementalA").get(0).getRater();
+        List<FlowRule> rulesB = FlowRuleManager.getFlowRuleMap().get("incrementalB");
+
+        // Rules are parsed again from the data source, and only resource B has been changed.
+        FlowRuleManager.loadRules(Arrays.asList(newRule("incrementalA", 10), newRule("incrementalB", 30)));
+        assertSame(raterA, FlowRuleManager.getFlowRuleMap().get("incrementalA").get(0).getRater());
+        assertNotSame(rulesB, FlowRuleManager.getFlowRuleMap().get("incrementalB"));
+        assertEquals(30, FlowRuleManager.getFlowRuleMap().get("incrementalB").get(0).getCount(), 0.01);
+
+        RuleUpdateMetric metric = RuleUpdateMetricStorage.getMetric(FlowRuleManager.RULE_TYPE);
+        assertEquals(1, metric.getChangedResourceCount());
+        assertEquals(2, metric.getResourceCount());
+        assertEquals(2, metric.getRuleCount());
+
+        // Nothing changed, so the snapshot is kept.
+        Object snapshot = FlowRuleManager.getRuleSnapshot();
+        FlowRuleManager.loadRules(Arrays.asList(newRule("incrementalB", 30), newRule("incrementalA", 10)));
+        assertSame(snapshot, FlowRuleManager.getRuleSnapshot());
+        assertEquals(0, RuleUpdateMetricStorage.getMetric(FlowRuleManager.RULE_TYPE).getChangedResourceCount());
+    }
+
+    @Test
+    public void testModifiedRuleInstanceIsRebuilt() {
+        FlowRule rule = newRule("incrementalModified", 10);
+        FlowRuleManager.loadRules(Arrays.asList(rule, newRule("incrementalOther", 10)));
+        TrafficShapingController rater = rule.getRater();
+
+        // Only the rule instance is modified in place and loaded again. The rules are reordered,
+        // otherwise the property regards the list as equal to the current one and ignores it.
+        Object snapshot = FlowRuleManager.getRuleSnapshot();
+        rule.setCount(5);
+        FlowRuleManager.loadRules(Arrays.asList(newRule("incrementalOther", 10), rule));
+        assertNotSame(rater, FlowRuleManager.getFlowRuleMap().get("incrementalModified").get(0).getRater());
+        assertNotSame(snapshot, FlowRuleManager.getRuleSnapshot());
+        assertEquals(1, RuleUpdateMetricStorage.getMetric(FlowRuleManager.RULE_TYPE).getChangedResourceCount());
+    }
+
+    @After
+    public void tearDown() {
+        FlowRuleManager.loadRules(new ArrayList<FlowRule>());
+    }
+
+    private FlowRule newRule(String resource, double count) {
+        return new FlowRule(resource).setCount(count);
+    }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Simulation of the adaptive concurrency limit against a downstream stub, which serves {@link #CAPACITY}
+ * requests in parallel and queues the rest in FIFO order, so both the average RT and the min RT grow
+ * with the concurrency over the capacity.
+ */
+public class AdaptiveConcurrencyControllerTest extends AbstractTimeBasedTest {
+
+    private static final int CAPACITY = 50;
+    private static final double BASE_RT = 20;
+    private static final int OFFERED_CONCURRENCY = 500;
+    private static final int MAX_LIMIT = 1000;
+
+    @Test
+    public void testGradientConvergence() {
+        int limit = simulate(new GradientConcurrencyController(MAX_LIMIT));
+        // The limit converges above the capacity, with a queue bounded by the RT tolerance.
+        assertTrue("limit: " + limit, limit >= CAPACITY && limit <= CAPACITY * 2);
+    }
+
+    @Test
+    public void testVegasConvergence() {
+        int limit = simulate(new VegasConcurrencyController(MAX_LIMIT));
+        assertTrue("limit: " + limit, limit >= CAPACITY && limit <= CAPACITY * 1.5);
+    }
+
+    @Test
+    public void testFollowCapacityDrop() {
+        setCurrentMillis(1000000);
+        AdaptiveConcurrencyController controller = new GradientConcurrencyController(MAX_LIMIT);
+        DownstreamStub downstream = new DownstreamStub(controller);
+        run(downstream, 300);
+        downstream.capacity = CAPACITY / 2;
+        int limit = run(downstream, 300);
+        assertTrue("limit: " + limit, limit >= CAPACITY / 2 && limit <= CAPACITY);
+        assertEquals(BASE_RT, controller.getNoLoadRt(), 0.01);
+    }
+
+    @Test
+    public void testLimitNotProbedWhenNotSaturated() {
+        setCurrentMillis(1000000);
+        AdaptiveConcurrencyController controller = new GradientConcurrencyController(MAX_LIMIT);
+        DownstreamStub downstream = new DownstreamStub(controller);
+        downstream.offered = 5;
+        assertEquals(20, run(downstream, 100));
+    }
+
+    @Test
+    public void testRejectOverLimit() {
+        setCurrentMillis(1000000);
+        AdaptiveConcurrencyController controller = new VegasConcurrencyController(10);
+        Node node = mock(Node.class);
+        when(node.curThreadNum()).thenReturn(9);
+        assertTrue(controller.canPass(node, 1));
+        assertFalse(controller.canPass(node, 2));
+    }
+
+    private int simulate(AdaptiveConcurrencyController controller) {
+        setCurrentMillis(1000000);
+        return run(new DownstreamStub(controller), 600);
+    }
+
+    /**
+     * @return the limit at the end, ignoring the halved limit if a probe of the no-load RT is in progress
+     */
+    private int run(DownstreamStub downstream, int ticks) {
+        int limit = 0;
+        for (int i = 0; i < ticks; i++) {
+            downstream.tick();
+            sleep(AdaptiveConcurrencyController.DEFAULT_SAMPLE_INTERVAL_MS);
+            limit = i >= ticks - 2 ? Math.max(limit, downstream.controller.getLimit()) : 0;
+        }
+        return limit;
+    }
+
+    private static class DownstreamStub {
+
+        private final AdaptiveConcurrencyController controller;
+        private final Node node = mock(Node.class);
+
+        private int offered = OFFERED_CONCURRENCY;
+        private int capacity = CAPACITY;
+        private int inflight;
+
+        DownstreamStub(AdaptiveConcurrencyController controller) {
+            this.controller = controller;
+            when(node.curThreadNum()).thenAnswer(new Answer<Integer>() {
+                @Override
+                public Integer answer(InvocationOnMock invocation) {
+                    return inflight;
+                }
+            });
+            when(node.successQps()).thenReturn(100d);
+            Answer<Double> rt = new Answer<Double>() {
+                @Override
+                public Double answer(InvocationOnMock invocation) {
+                    // Requests over the capacity are queued, and every request waits in the queue.
+                    return BASE_RT * Math.max(1, (double)inflight / capacity);
+                }
+            };
+            when(node.minRt()).thenAnswer(rt);
+            when(node.avgRt()).thenAnswer(rt);
+        }
+
+        void tick() {
+            // Each in-flight request completes and its caller issues another one.
+            int previous = inflight;
+            for (int i = 0; i < previous; i++) {
+                inflight--;
+                if (controller.canPass(node, 1)) {
+                    inflight++;
+                }
+            }
+            // Idle callers retry, so the offered concurrency is kept.
+            while (inflight < offered && controller.canPass(node, 1)) {
+                inflight++;
+            }
+        }
+    }
+}
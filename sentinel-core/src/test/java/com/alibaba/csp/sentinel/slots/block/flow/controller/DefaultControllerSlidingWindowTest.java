@@ -0,0 +1,79 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import com.alibaba.csp.sentinel.node.StatisticNode;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DefaultControllerSlidingWindowTest extends AbstractTimeBasedTest {
+
+    @Test
+    public void testSlidingPassQps() {
+        setCurrentMillis(100000 + 999);
+        StatisticNode node = new StatisticNode();
+        node.addPassRequest(10);
+
+        sleep(251);
+        // 10 * (1 - 250 / 1000) + 0
+        assertEquals(7.5, node.slidingPassQps(), 0.01);
+        node.addPassRequest(2);
+        assertEquals(9.5, node.slidingPassQps(), 0.01);
+
+        sleep(1000);
+        // 2 * (1 - 250 / 1000) + 0
+        assertEquals(1.5, node.slidingPassQps(), 0.01);
+        sleep(1000);
+        assertEquals(0, node.slidingPassQps(), 0.01);
+    }
+
+    @Test
+    public void testOvershootAtWindowBoundary() {
+        double threshold = 10;
+        TrafficShapingController fixedController = new DefaultController(threshold, RuleConstant.FLOW_GRADE_QPS);
+        TrafficShapingController slidingController = new DefaultController(threshold, RuleConstant.FLOW_GRADE_QPS,
+            true);
+
+        // All requests come at the end of the sampling window, then at the start of the next window.
+        assertEquals(20, passInBurstsAtBoundary(fixedController));
+        // Half of the previous second is overlapped by the sliding window.
+        assertEquals(15, passInBurstsAtBoundary(slidingController));
+    }
+
+    private int passInBurstsAtBoundary(TrafficShapingController controller) {
+        setCurrentMillis(200000 + 999);
+        StatisticNode node = new StatisticNode();
+        int passed = tryPass(controller, node, 100);
+        sleep(501);
+        return passed + tryPass(controller, node, 100);
+    }
+
+    private int tryPass(TrafficShapingController controller, StatisticNode node, int requests) {
+        int passed = 0;
+        for (int i = 0; i < requests; i++) {
+            if (controller.canPass(node, 1)) {
+                node.addPassRequest(1);
+                passed++;
+            }
+        }
+        return passed;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.node.Node;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class PreciseRateLimiterControllerTest {
+
+    @Test
+    public void testPacingAboveOneThousandQps() {
+        PreciseRateLimiterController controller = new PreciseRateLimiterController(500, 10000d);
+        Node node = mock(Node.class);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(controller.canPass(node, 1));
+        }
+        long costMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        // 999 intervals of 100 us.
+        assertTrue("Cost time: " + costMs, costMs >= 99);
+        assertTrue("Cost time: " + costMs, costMs < 1000);
+    }
+
+    @Test
+    public void testRejectWhenExceedingMaxQueueingTime() {
+        PreciseRateLimiterController controller = new PreciseRateLimiterController(500, 10d);
+        Node node = mock(Node.class);
+
+        AsyncPacing.enter();
+        try {
+            assertTrue(controller.canPass(node, 1));
+            assertEquals(0, AsyncPacing.exit());
+
+            // The slots are reserved in 100 ms, 200 ms ... 500 ms later.
+            for (int i = 1; i <= 5; i++) {
+                AsyncPacing.enter();
+                assertTrue(controller.canPass(node, 1));
+                long waitMs = AsyncPacing.exit();
+                assertTrue("Wait time: " + waitMs, waitMs > (i - 1) * 100 && waitMs <= i * 100);
+            }
+            AsyncPacing.enter();
+            assertFalse(controller.canPass(node, 1));
+        } finally {
+            AsyncPacing.exit();
+        }
+    }
+
+    @Test
+    public void testRefundSlotWhenWaitInterrupted() {
+        PreciseRateLimiterController controller = new PreciseRateLimiterController(500, 10d);
+        Node node = mock(Node.class);
+
+        assertTrue(controller.canPass(node, 1));
+        // The wait for the slot in 100 ms later is interrupted.
+        Thread.currentThread().interrupt();
+        try {
+            assertFalse(controller.canPass(node, 1));
+        } finally {
+            Thread.interrupted();
+        }
+
+        // The slot given back should be reserved by the next request.
+        AsyncPacing.enter();
+        try {
+            assertTrue(controller.canPass(node, 1));
+        } finally {
+            long waitMs = AsyncPacing.exit();
+            assertTrue("Wait time: " + waitMs, waitMs <= 100);
+        }
+    }
+
+    @Test
+    public void testRejectWhenCountIsZero() {
+        PreciseRateLimiterController controller = new PreciseRateLimiterController(500, 0d);
+        Node node = mock(Node.class);
+
+        assertTrue(controller.canPass(node, 0));
+        assertFalse(controller.canPass(node, 1));
+    }
+}
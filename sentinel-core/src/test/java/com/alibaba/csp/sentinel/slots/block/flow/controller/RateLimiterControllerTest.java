@@ -20,6 +20,7 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
@@ -95,4 +96,30 @@ public class RateLimiterControllerTest {
             assertTrue(paceController.canPass(node, 0));
         }
     }
+
+    @Test
+    public void testPaceControllerInAsyncPacingScope() throws Exception {
+        RateLimiterController paceController = new RateLimiterController(1000, 10d);
+        Node node = mock(Node.class);
+
+        long start = System.currentTimeMillis();
+        long lastWaitMs = 0;
+        for (int i = 0; i < 6; i++) {
+            AsyncPacing.enter();
+            try {
+                assertTrue(paceController.canPass(node, 1));
+            } finally {
+                long waitMs = AsyncPacing.exit();
+                assertTrue(waitMs >= lastWaitMs);
+                lastWaitMs = waitMs;
+            }
+        }
+        // The calling thread should not be blocked, but the wait time should be deferred to the caller.
+        assertTrue(System.currentTimeMillis() - start < 200);
+        assertTrue(lastWaitMs > 300);
+        assertFalse(AsyncPacing.isEntered());
+
+        AsyncPacing.delay(lastWaitMs).get(2, TimeUnit.SECONDS);
+        assertTrue(System.currentTimeMillis() - start >= lastWaitMs);
+    }
 }
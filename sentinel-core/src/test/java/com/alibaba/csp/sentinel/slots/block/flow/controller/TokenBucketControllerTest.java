@@ -0,0 +1,85 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class TokenBucketControllerTest extends AbstractTimeBasedTest {
+
+    @Test
+    public void testBurstAndRefill() {
+        setCurrentMillis(System.currentTimeMillis());
+        TokenBucketController controller = new TokenBucketController(10, 5, 1);
+        Node node = mock(Node.class);
+
+        // The bucket is full at first, so 10 + 5 tokens can be acquired in a burst.
+        for (int i = 0; i < 15; i++) {
+            assertTrue(controller.canPass(node, 1));
+        }
+        assertFalse(controller.canPass(node, 1));
+
+        // One token is refilled per 100 ms.
+        sleep(50);
+        assertFalse(controller.canPass(node, 1));
+        sleep(50);
+        assertTrue(controller.canPass(node, 1));
+        assertFalse(controller.canPass(node, 1));
+
+        // Tokens will not be refilled beyond the capacity.
+        sleep(10000);
+        assertEquals(15, controller.tryAcquire(0, 10, 5), 0.01);
+        assertTrue(controller.canPass(node, 15));
+        assertFalse(controller.canPass(node, 1));
+    }
+
+    @Test
+    public void testRefillInDuration() {
+        setCurrentMillis(System.currentTimeMillis());
+        TokenBucketController controller = new TokenBucketController(3, 0, 2);
+        Node node = mock(Node.class);
+
+        assertFalse(controller.canPass(node, 4));
+        assertTrue(controller.canPass(node, 3));
+        assertFalse(controller.canPass(node, 1));
+
+        // 3 tokens per 2 seconds.
+        sleep(1000);
+        assertTrue(controller.canPass(node, 1));
+        assertFalse(controller.canPass(node, 1));
+        sleep(1000);
+        assertTrue(controller.canPass(node, 2));
+        assertFalse(controller.canPass(node, 1));
+    }
+
+    @Test
+    public void testTryAcquireWithVariableThreshold() {
+        setCurrentMillis(System.currentTimeMillis());
+        TokenBucketController controller = new TokenBucketController(10, 0, 1);
+
+        assertEquals(15, controller.tryAcquire(5, 20, 0), 0.01);
+        assertEquals(-1, controller.tryAcquire(16, 20, 0), 0.01);
+        assertEquals(0, controller.tryAcquire(15, 20, 0), 0.01);
+        assertEquals(-1, controller.tryAcquire(1, 0, 0), 0.01);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.base;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LogLinearHistogramTest {
+
+    @Test
+    public void testBucketBoundaries() {
+        long previousHighest = -1;
+        for (int i = 0; i < LogLinearHistogram.BUCKET_COUNT; i++) {
+            long lowest = LogLinearHistogram.lowestEquivalentValue(i);
+            long highest = LogLinearHistogram.highestEquivalentValue(i);
+            // Buckets are contiguous and the relative error is at most 1/16.
+            assertEquals(previousHighest + 1, lowest);
+            assertTrue(highest - lowest <= lowest / 16);
+            assertEquals(i, LogLinearHistogram.indexOf(lowest));
+            assertEquals(i, LogLinearHistogram.indexOf(highest));
+            previousHighest = highest;
+        }
+        assertEquals(LogLinearHistogram.MAX_TRACKABLE_VALUE, previousHighest);
+        assertEquals(LogLinearHistogram.BUCKET_COUNT - 1, LogLinearHistogram.indexOf(Long.MAX_VALUE));
+        assertEquals(0, LogLinearHistogram.indexOf(-1));
+    }
+
+    @Test
+    public void testValueAtPercentile() {
+        LogLinearHistogram first = new LogLinearHistogram();
+        LogLinearHistogram second = new LogLinearHistogram();
+        for (int i = 1; i <= 99; i++) {
+            first.record(10);
+        }
+        second.record(1000);
+
+        assertEquals(10, LogLinearHistogram.valueAtPercentile(Arrays.asList(first, second), 0.5));
+        assertEquals(10, LogLinearHistogram.valueAtPercentile(Arrays.asList(first, second), 0.99));
+        long max = LogLinearHistogram.valueAtPercentile(Arrays.asList(first, second), 1);
+        assertTrue(max <= 1000 && max > 1000 - 1000 / 16);
+
+        second.record(1000);
+        assertTrue(LogLinearHistogram.valueAtPercentile(Arrays.asList(first, second), 0.99) > 900);
+
+        second.reset();
+        assertEquals(0, second.getTotalCount());
+        assertEquals(0, LogLinearHistogram.valueAtPercentile(Collections.singletonList(second), 0.99));
+    }
+}
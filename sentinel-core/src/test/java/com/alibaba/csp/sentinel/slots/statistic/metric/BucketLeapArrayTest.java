@@ -215,4 +215,55 @@ public class BucketLeapArrayTest {
 
         assertEquals(1, leapArray.list().size());
     }
+
+    @Test
+    public void testLockFreeRotationReuseWindow() {
+        BucketLeapArray leapArray = new BucketLeapArray(sampleCount, intervalInMs, true);
+        assertTrue(leapArray.isLockFreeRotation());
+        long time = TimeUtil.currentTimeMillis();
+        long windowStart = time - time % windowLengthInMs;
+
+        WindowWrap<MetricBucket> window = leapArray.currentWindow(time);
+        assertEquals(windowStart, window.windowStart());
+        window.value().addPass(3);
+        assertSame(window, leapArray.currentWindow(time + 1));
+
+        // The deprecated bucket should be reset in place rather than re-created.
+        long nextRoundTime = time + intervalInMs;
+        WindowWrap<MetricBucket> nextRoundWindow = leapArray.currentWindow(nextRoundTime);
+        assertSame(window, nextRoundWindow);
+        assertEquals(windowStart + intervalInMs, nextRoundWindow.windowStart());
+        assertEquals(0L, nextRoundWindow.value().pass());
+
+        // The provided time is already behind.
+        WindowWrap<MetricBucket> staleWindow = leapArray.currentWindow(time);
+        assertNotSame(window, staleWindow);
+        assertEquals(windowStart, staleWindow.windowStart());
+    }
+
+    @Test
+    public void testLockFreeRotationMultiThreadUpdate() throws Exception {
+        final long time = TimeUtil.currentTimeMillis();
+        final int nThreads = 16;
+        final BucketLeapArray leapArray = new BucketLeapArray(sampleCount, intervalInMs, true);
+        leapArray.currentWindow(time).value().addPass(100);
+
+        final long nextRoundTime = time + intervalInMs;
+        final CountDownLatch latch = new CountDownLatch(nThreads);
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                leapArray.currentWindow(nextRoundTime).value().addPass(1);
+                latch.countDown();
+            }
+        };
+
+        for (int i = 0; i < nThreads; i++) {
+            new Thread(task).start();
+        }
+
+        latch.await();
+
+        assertEquals(nThreads, leapArray.currentWindow(nextRoundTime).value().pass());
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+import com.alibaba.csp.sentinel.node.ClusterNode;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AdaptiveResourceStatusTest {
+
+    @Test
+    public void testTriggeredByLoadOrCpu() {
+        SystemRule rule = new SystemRule();
+        rule.setResource("abc");
+        rule.setHighestSystemLoad(2.0);
+        AdaptiveResourceStatus status = new AdaptiveResourceStatus(rule);
+        ClusterNode node = mockNode(100, 10, 10, 2);
+
+        status.refresh(node, 1.5, 0.9);
+        assertFalse(status.isTriggered());
+        status.refresh(node, 2.5, 0.9);
+        assertTrue(status.isTriggered());
+
+        SystemRule cpuRule = new SystemRule();
+        cpuRule.setResource("abc");
+        cpuRule.setHighestCpuUsage(0.8);
+        status = status.merge(cpuRule);
+        status.refresh(node, 1.5, 0.9);
+        assertTrue(status.isTriggered());
+    }
+
+    @Test
+    public void testBbrCheck() {
+        SystemRule rule = new SystemRule();
+        rule.setResource("abc");
+        rule.setAvgRt(50);
+        AdaptiveResourceStatus status = new AdaptiveResourceStatus(rule);
+
+        // Not triggered when the RT of the resource is under the threshold.
+        ClusterNode node = mockNode(100, 20, 40, 30);
+        status.refresh(node, -1, -1);
+        assertFalse(status.isTriggered());
+        assertTrue(status.canPass());
+
+        // max inflight = 100 * 20 / 1000 = 2
+        when(node.avgRt()).thenReturn(80d);
+        status.refresh(node, -1, -1);
+        assertTrue(status.isTriggered());
+        assertEquals(2, status.getMaxInflight(), 0.01);
+        assertFalse(status.canPass());
+        when(node.curThreadNum()).thenReturn(2);
+        assertTrue(status.canPass());
+        // Always allow one request to probe.
+        when(node.minRt()).thenReturn(1d);
+        status.refresh(node, -1, -1);
+        when(node.curThreadNum()).thenReturn(1);
+        assertTrue(status.canPass());
+    }
+
+    @Test
+    public void testNotTriggeredWithoutNode() {
+        SystemRule rule = new SystemRule();
+        rule.setResource("abc");
+        rule.setHighestSystemLoad(0);
+        AdaptiveResourceStatus status = new AdaptiveResourceStatus(rule);
+        status.refresh(null, 1, 1);
+        assertFalse(status.isTriggered());
+        assertTrue(status.canPass());
+    }
+
+    private ClusterNode mockNode(double maxSuccessQps, double minRt, double avgRt, int curThreadNum) {
+        ClusterNode node = mock(ClusterNode.class);
+        when(node.maxSuccessQps()).thenReturn(maxSuccessQps);
+        when(node.minRt()).thenReturn(minRt);
+        when(node.avgRt()).thenReturn(avgRt);
+        when(node.curThreadNum()).thenReturn(curThreadNum);
+        return node;
+    }
+}
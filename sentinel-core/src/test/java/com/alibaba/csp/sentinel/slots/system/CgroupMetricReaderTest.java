@@ -0,0 +1,156 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class CgroupMetricReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReadCgroupV2() throws IOException {
+        File root = folder.newFolder("cgroup");
+        write(new File(root, "cgroup.controllers"), "cpu memory");
+        File procSelfCgroup = write(folder.newFile("self-cgroup"), "0::/kubepods/pod1\n");
+        File dir = new File(root, "kubepods/pod1");
+        // Quota of 2 cores.
+        write(new File(dir, "cpu.max"), "200000 100000\n");
+        writeCpuStatV2(dir, 0, 0, 0);
+        write(new File(dir, "memory.current"), "536870912\n");
+        write(new File(dir, "memory.max"), "1073741824\n");
+        write(new File(dir, "memory.pressure"),
+            "some avg10=12.50 avg60=3.00 avg300=1.00 total=123456\nfull avg10=1.00 avg60=0.00 avg300=0.00 total=1\n");
+
+        CgroupMetricReader reader = CgroupMetricReader.detect(root, procSelfCgroup, folder.newFile("pressure"));
+        assertNotNull(reader);
+        assertEquals(2, reader.getVersion());
+        long start = System.nanoTime();
+        reader.refresh(start, 8);
+        assertEquals(-1, reader.getCpuUsage(), 0.001);
+        assertEquals(0.5, reader.getMemoryUsage(), 0.001);
+        assertEquals(0.125, reader.getMemoryPressure(), 0.001);
+
+        // 1.5 cores used in 1 second, throttled in 3 of 10 periods.
+        writeCpuStatV2(dir, 1500000, 10, 3);
+        reader.refresh(start + TimeUnit.SECONDS.toNanos(1), 8);
+        assertEquals(0.75, reader.getCpuUsage(), 0.001);
+        assertEquals(0.3, reader.getCpuThrottleRatio(), 0.001);
+    }
+
+    @Test
+    public void testReadCgroupV2WithoutLimits() throws IOException {
+        File root = folder.newFolder("cgroup");
+        write(new File(root, "cgroup.controllers"), "cpu memory");
+        // Inside the cgroup namespace, the cgroup of the container is the root.
+        File procSelfCgroup = write(folder.newFile("self-cgroup"), "0::/\n");
+        write(new File(root, "cpu.max"), "max 100000\n");
+        writeCpuStatV2(root, 0, 0, 0);
+        write(new File(root, "memory.current"), "536870912\n");
+        write(new File(root, "memory.max"), "max\n");
+
+        CgroupMetricReader reader = CgroupMetricReader.detect(root, procSelfCgroup, folder.newFile("pressure"));
+        assertNotNull(reader);
+        long start = System.nanoTime();
+        reader.refresh(start, 4);
+        writeCpuStatV2(root, 1000000, 0, 0);
+        reader.refresh(start + TimeUnit.SECONDS.toNanos(1), 4);
+        // No quota, so the available processors are used.
+        assertEquals(0.25, reader.getCpuUsage(), 0.001);
+        assertEquals(0, reader.getCpuThrottleRatio(), 0.001);
+        assertEquals(-1, reader.getMemoryUsage(), 0.001);
+        assertEquals(-1, reader.getMemoryPressure(), 0.001);
+    }
+
+    @Test
+    public void testReadCgroupV1() throws IOException {
+        File root = folder.newFolder("cgroup");
+        File procSelfCgroup = write(folder.newFile("self-cgroup"),
+            "12:memory:/docker/abc\n4:cpu,cpuacct:/docker/abc\n1:name=systemd:/docker/abc\n");
+        File cpuDir = new File(root, "cpu,cpuacct/docker/abc");
+        write(new File(cpuDir, "cpu.cfs_quota_us"), "50000\n");
+        write(new File(cpuDir, "cpu.cfs_period_us"), "100000\n");
+        write(new File(cpuDir, "cpu.stat"), "nr_periods 100\nnr_throttled 10\nthrottled_time 1000\n");
+        write(new File(cpuDir, "cpuacct.usage"), "0\n");
+        File memoryDir = new File(root, "memory/docker/abc");
+        write(new File(memoryDir, "memory.usage_in_bytes"), "104857600\n");
+        write(new File(memoryDir, "memory.limit_in_bytes"), "9223372036854771712\n");
+        File pressure = write(folder.newFile("pressure"), "some avg10=0.00 avg60=0.00 avg300=0.00 total=0\n");
+
+        CgroupMetricReader reader = CgroupMetricReader.detect(root, procSelfCgroup, pressure);
+        assertNotNull(reader);
+        assertEquals(1, reader.getVersion());
+        long start = System.nanoTime();
+        reader.refresh(start, 4);
+        write(new File(cpuDir, "cpu.stat"), "nr_periods 110\nnr_throttled 20\nthrottled_time 5000\n");
+        write(new File(cpuDir, "cpuacct.usage"), "250000000\n");
+        reader.refresh(start + TimeUnit.SECONDS.toNanos(1), 4);
+        // 0.25 cores used of the quota of 0.5 cores.
+        assertEquals(0.5, reader.getCpuUsage(), 0.001);
+        assertEquals(1, reader.getCpuThrottleRatio(), 0.001);
+        assertEquals(-1, reader.getMemoryUsage(), 0.001);
+        assertEquals(0, reader.getMemoryPressure(), 0.001);
+    }
+
+    @Test
+    public void testCgroupUnavailable() throws IOException {
+        assertNull(CgroupMetricReader.detect(new File(folder.getRoot(), "absent"), folder.newFile("self-cgroup"),
+            folder.newFile("pressure")));
+        assertNull(CgroupMetricReader.detect(folder.newFolder("cgroup"), folder.newFile("self-cgroup2"),
+            folder.newFile("pressure2")));
+    }
+
+    @Test
+    public void testParse() {
+        String cpuStat = "usage_usec 100\nuser_usec 60\nnr_periods_x 1\nnr_periods 7\n";
+        assertEquals(100, CgroupMetricReader.parseKeyedValue(cpuStat, "usage_usec"));
+        assertEquals(7, CgroupMetricReader.parseKeyedValue(cpuStat, "nr_periods"));
+        assertEquals(-1, CgroupMetricReader.parseKeyedValue(cpuStat, "nr_throttled"));
+        assertEquals(-1, CgroupMetricReader.parseKeyedValue(null, "nr_throttled"));
+        assertEquals(-1, CgroupMetricReader.parseLong("max"));
+        assertEquals(-1, CgroupMetricReader.parsePressureAvg10("full avg10=1.00"), 0.001);
+        assertEquals(99.5, CgroupMetricReader.parsePressureAvg10("some avg10=99.50 avg60=0.00"), 0.001);
+    }
+
+    private void writeCpuStatV2(File dir, long usageUsec, long periods, long throttled) throws IOException {
+        write(new File(dir, "cpu.stat"), "usage_usec " + usageUsec + "\nuser_usec 0\nsystem_usec 0\n"
+            + "nr_periods " + periods + "\nnr_throttled " + throttled + "\nthrottled_usec 0\n");
+    }
+
+    private File write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes(StandardCharsets.US_ASCII));
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+}
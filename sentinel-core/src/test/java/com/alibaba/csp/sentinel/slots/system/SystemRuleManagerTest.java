@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.List;
 
 import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.node.ClusterNode;
 import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 
@@ -29,6 +30,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * @author Eric Zhao
@@ -99,6 +102,82 @@ public class SystemRuleManagerTest {
         assertTrue("The entry should be blocked under SystemRule maxCpuUsage=0", blocked);
     }
 
+    @Test
+    public void testLoadCgroupRules() {
+        SystemRule rule1 = new SystemRule();
+        rule1.setHighestCpuThrottleRatio(0.3d);
+        SystemRule rule2 = new SystemRule();
+        rule2.setHighestCpuThrottleRatio(0.2d);
+        SystemRule rule3 = new SystemRule();
+        rule3.setHighestMemoryPressure(0.1d);
+        SystemRule invalidRule = new SystemRule();
+        invalidRule.setHighestMemoryPressure(10d);
+        SystemRuleManager.loadRules(Arrays.asList(rule1, rule2, rule3, invalidRule));
+        assertEquals(0.2d, SystemRuleManager.getCpuThrottleRatioThreshold(), 0.01);
+        assertEquals(0.1d, SystemRuleManager.getMemoryPressureThreshold(), 0.01);
+        assertEquals(2, SystemRuleManager.getRules().size());
+    }
+
+    @Test
+    public void testLoadResourceScopedRules() {
+        SystemRule globalRule = new SystemRule();
+        globalRule.setHighestSystemLoad(4.0d);
+        SystemRule rule1 = new SystemRule();
+        rule1.setResource("slowResource");
+        rule1.setAvgRt(100);
+        SystemRule rule2 = new SystemRule();
+        rule2.setResource("slowResource");
+        rule2.setHighestCpuUsage(0.8d);
+        // Thread threshold is not supported by rules of resources.
+        SystemRule invalidRule = new SystemRule();
+        invalidRule.setResource("anotherResource");
+        invalidRule.setMaxThread(10);
+        SystemRuleManager.loadRules(Arrays.asList(globalRule, rule1, rule2, invalidRule));
+
+        // Thresholds of the resources don't take effect globally.
+        assertEquals(4.0d, SystemRuleManager.getSystemLoadThreshold(), 0.01);
+        assertEquals(Long.MAX_VALUE, SystemRuleManager.getRtThreshold());
+        assertEquals(Double.MAX_VALUE, SystemRuleManager.getCpuUsageThreshold(), 0.01);
+
+        List<SystemRule> rules = SystemRuleManager.getRules();
+        assertEquals(3, rules.size());
+        assertTrue(rules.contains(rule1));
+        assertTrue(rules.contains(rule2));
+        assertNotNull(SystemRuleManager.getResourceStatus("slowResource"));
+        assertNull(SystemRuleManager.getResourceStatus("anotherResource"));
+    }
+
+    @Test
+    public void testCheckResourceScopedRule() throws Exception {
+        String slowResource = "testCheckResourceScopedRule";
+        SystemRule rule = new SystemRule();
+        rule.setResource(slowResource);
+        rule.setAvgRt(100);
+        SystemRuleManager.loadRules(Collections.singletonList(rule));
+        assertFalse(SystemRuleManager.getCheckSystemStatus());
+
+        // max inflight = 20 * 200 / 1000 = 4
+        ClusterNode node = mock(ClusterNode.class);
+        when(node.maxSuccessQps()).thenReturn(20d);
+        when(node.minRt()).thenReturn(200d);
+        when(node.avgRt()).thenReturn(500d);
+        when(node.curThreadNum()).thenReturn(5);
+        SystemRuleManager.getResourceStatus(slowResource).refresh(node, -1, -1);
+
+        boolean blocked = false;
+        try {
+            SystemRuleManager.checkSystem(new StringResourceWrapper(slowResource, EntryType.OUT));
+        } catch (SystemBlockException ex) {
+            blocked = true;
+        }
+        assertTrue("The slow resource should be blocked", blocked);
+        // Other resources are not affected.
+        SystemRuleManager.checkSystem(new StringResourceWrapper("anotherResource", EntryType.IN));
+
+        when(node.curThreadNum()).thenReturn(4);
+        SystemRuleManager.checkSystem(new StringResourceWrapper(slowResource, EntryType.OUT));
+    }
+
     @Before
     public void setUp() throws Exception {
         SystemRuleManager.loadRules(new ArrayList<SystemRule>());
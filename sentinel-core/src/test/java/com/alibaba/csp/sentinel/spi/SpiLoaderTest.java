@@ -94,51 +94,27 @@ public class SpiLoaderTest {
         List<ProcessorSlot> slots2 = spiLoader.loadInstanceList();
         assertNotSame(slots1, slots2);
 
-        List<Class<? extends ProcessorSlot>> prototypeSlotClasses = new ArrayList<>(2);
+        // Slots are linked to each other, so every built-in slot is a prototype held by one chain.
+        List<Class<? extends ProcessorSlot>> prototypeSlotClasses = new ArrayList<>(8);
         prototypeSlotClasses.add(NodeSelectorSlot.class);
         prototypeSlotClasses.add(ClusterBuilderSlot.class);
-
-        List<Class<? extends ProcessorSlot>> singletonSlotClasses = new ArrayList<>(6);
-        singletonSlotClasses.add(LogSlot.class);
-        singletonSlotClasses.add(StatisticSlot.class);
-        singletonSlotClasses.add(AuthoritySlot.class);
-        singletonSlotClasses.add(SystemSlot.class);
-        singletonSlotClasses.add(FlowSlot.class);
-        singletonSlotClasses.add(DegradeSlot.class);
+        prototypeSlotClasses.add(LogSlot.class);
+        prototypeSlotClasses.add(StatisticSlot.class);
+        prototypeSlotClasses.add(AuthoritySlot.class);
+        prototypeSlotClasses.add(SystemSlot.class);
+        prototypeSlotClasses.add(FlowSlot.class);
+        prototypeSlotClasses.add(DegradeSlot.class);
 
         for (int i = 0; i < slots1.size(); i++) {
             ProcessorSlot slot1 = slots1.get(i);
             ProcessorSlot slot2 = slots2.get(i);
             assertSame(slot1.getClass(), slot2.getClass());
 
-            boolean found = false;
-            for (Class<? extends ProcessorSlot> prototypeSlotClass : prototypeSlotClasses) {
-                if (prototypeSlotClass.equals(slot1.getClass())) {
-                    found = true;
-                    assertTrue(prototypeSlotClass.equals(slot2.getClass()));
-                    // Verify prototype function
-                    assertNotSame(slot1, slot2);
-                    break;
-                }
-            }
-
-            if (found) {
-                continue;
-            }
-
-            for (Class<? extends ProcessorSlot> singletonSlotClass : singletonSlotClasses) {
-                if (singletonSlotClass.equals(slot1.getClass())) {
-                    found = true;
-                    assertTrue(singletonSlotClass.equals(slot2.getClass()));
-                    // Verify single function
-                    assertSame(slot1, slot2);
-                    break;
-                }
-            }
-
-            if (!found) {
+            if (!prototypeSlotClasses.contains(slot1.getClass())) {
                 fail("Should found and not go through here");
             }
+            // Verify prototype function
+            assertNotSame(slot1, slot2);
         }
     }
 
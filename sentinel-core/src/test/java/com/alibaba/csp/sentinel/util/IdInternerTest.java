@@ -0,0 +1,49 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link IdInterner}.
+ */
+public class IdInternerTest {
+
+    @Test
+    public void testIntern() {
+        IdInterner interner = new IdInterner();
+        int idA = interner.intern("a");
+        int idB = interner.intern("b");
+        assertNotEquals(idA, idB);
+        assertEquals(idA, interner.intern("a"));
+        assertEquals(2, interner.size());
+    }
+
+    @Test
+    public void testInternBeyondMaxSize() {
+        IdInterner interner = new IdInterner(2);
+        int idA = interner.intern("a");
+        int idB = interner.intern("b");
+        assertEquals(IdInterner.ID_ABSENT, interner.intern("c"));
+        assertEquals(2, interner.size());
+
+        // Interned names keep their ids.
+        assertEquals(idA, interner.intern("a"));
+        assertEquals(idB, interner.intern("b"));
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link IndexedTable}.
+ */
+public class IndexedTableTest {
+
+    @Test
+    public void testGetAndSet() {
+        IndexedTable<String> table = new IndexedTable<>(2);
+        assertEquals(2048, table.capacity());
+        assertNull(table.get(0));
+        assertNull(table.get(-1));
+
+        assertTrue(table.set(0, "a"));
+        assertTrue(table.set(1500, "b"));
+        assertEquals("a", table.get(0));
+        assertEquals("b", table.get(1500));
+        assertNull(table.get(1));
+
+        // Out of capacity.
+        assertFalse(table.set(2048, "c"));
+        assertNull(table.get(2048));
+        assertFalse(table.set(-1, "c"));
+
+        assertNull(table.putIfAbsent(2, "d"));
+        assertEquals("d", table.putIfAbsent(2, "e"));
+        assertEquals("d", table.remove(2));
+        assertNull(table.get(2));
+
+        table.clear();
+        assertNull(table.get(0));
+        assertNull(table.get(1500));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link TimeUtil}.
+ */
+public class TimeUtilTest {
+
+    @Test
+    public void testDefaultClockMode() {
+        assertEquals(TimeUtil.CLOCK_MODE_TICK, TimeUtil.clockMode());
+        long diff = Math.abs(System.currentTimeMillis() - TimeUtil.currentTimeMillis());
+        assertTrue(diff < 1000);
+    }
+
+    @Test
+    public void testTickerRefreshTime() throws Exception {
+        TimeUtil.Ticker ticker = new TimeUtil.Ticker(1, -1);
+        ticker.start();
+
+        long before = ticker.read();
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertTrue(ticker.read() > before);
+        assertFalse(ticker.isParked());
+    }
+
+    @Test
+    public void testAdaptiveTickerParkWhenIdleAndResumeOnRead() throws Exception {
+        TimeUtil.Ticker ticker = new TimeUtil.Ticker(1, 100);
+        ticker.start();
+
+        // No read within the idle time, so the ticker should be parked.
+        waitUntilParked(ticker, true);
+
+        // The time should still be accurate when parked.
+        long diff = Math.abs(System.currentTimeMillis() - ticker.read());
+        assertTrue(diff < 50);
+        // The ticker should be resumed by the read.
+        waitUntilParked(ticker, false);
+
+        // Keep reading, so the ticker should not be parked.
+        for (int i = 0; i < 30; i++) {
+            ticker.read();
+            TimeUnit.MILLISECONDS.sleep(10);
+            assertFalse(ticker.isParked());
+        }
+        long after = ticker.read();
+        assertTrue(Math.abs(System.currentTimeMillis() - after) < 50);
+    }
+
+    private void waitUntilParked(TimeUtil.Ticker ticker, boolean parked) throws InterruptedException {
+        for (int i = 0; i < 300 && ticker.isParked() != parked; i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertEquals(parked, ticker.isParked());
+    }
+}
@@ -127,6 +127,12 @@ public class FlowControllerV1 {
         if (controlBehavior == 2 && entity.getMaxQueueingTimeMs() == null) {
             return Result.ofFail(-1, "maxQueueingTimeMs can't be null when controlBehavior==2");
         }
+        if (controlBehavior == 5 && (entity.getDurationInSec() == null || entity.getDurationInSec() <= 0)) {
+            return Result.ofFail(-1, "durationInSec should be positive when controlBehavior==5");
+        }
+        if (controlBehavior == 5 && entity.getBurstCount() != null && entity.getBurstCount() < 0) {
+            return Result.ofFail(-1, "burstCount can't be negative when controlBehavior==5");
+        }
         if (entity.isClusterMode() && entity.getClusterConfig() == null) {
             return Result.ofFail(-1, "cluster config should be valid");
         }
@@ -164,7 +170,8 @@ public class FlowControllerV1 {
                                                   String limitApp, String resource, Integer grade,
                                                   Double count, Integer strategy, String refResource,
                                                   Integer controlBehavior, Integer warmUpPeriodSec,
-                                                  Integer maxQueueingTimeMs) {
+                                                  Integer maxQueueingTimeMs, Double burstCount,
+                                                  Long durationInSec) {
         if (id == null) {
             return Result.ofFail(-1, "id can't be null");
         }
@@ -203,8 +210,8 @@ public class FlowControllerV1 {
             }
         }
         if (controlBehavior != null) {
-            if (controlBehavior != 0 && controlBehavior != 1 && controlBehavior != 2) {
-                return Result.ofFail(-1, "controlBehavior must be in [0, 1, 2], but " + controlBehavior + " got");
+            if (controlBehavior != 0 && controlBehavior != 1 && controlBehavior != 2 && controlBehavior != 5) {
+                return Result.ofFail(-1, "controlBehavior must be in [0, 1, 2, 5], but " + controlBehavior + " got");
             }
             if (controlBehavior == 1 && warmUpPeriodSec == null) {
                 return Result.ofFail(-1, "warmUpPeriodSec can't be null when controlBehavior==1");
@@ -212,6 +219,12 @@ public class FlowControllerV1 {
             if (controlBehavior == 2 && maxQueueingTimeMs == null) {
                 return Result.ofFail(-1, "maxQueueingTimeMs can't be null when controlBehavior==2");
             }
+            if (controlBehavior == 5 && (durationInSec == null || durationInSec <= 0)) {
+                return Result.ofFail(-1, "durationInSec should be positive when controlBehavior==5");
+            }
+            if (controlBehavior == 5 && burstCount != null && burstCount < 0) {
+                return Result.ofFail(-1, "burstCount can't be negative when controlBehavior==5");
+            }
             entity.setControlBehavior(controlBehavior);
             if (warmUpPeriodSec != null) {
                 entity.setWarmUpPeriodSec(warmUpPeriodSec);
@@ -219,6 +232,12 @@ public class FlowControllerV1 {
             if (maxQueueingTimeMs != null) {
                 entity.setMaxQueueingTimeMs(maxQueueingTimeMs);
             }
+            if (burstCount != null) {
+                entity.setBurstCount(burstCount);
+            }
+            if (durationInSec != null) {
+                entity.setDurationInSec(durationInSec);
+            }
         }
         Date date = new Date();
         entity.setGmtModified(date);
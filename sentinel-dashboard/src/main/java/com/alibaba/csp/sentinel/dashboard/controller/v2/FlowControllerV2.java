@@ -128,6 +128,12 @@ public class FlowControllerV2 {
         if (controlBehavior == 2 && entity.getMaxQueueingTimeMs() == null) {
             return Result.ofFail(-1, "maxQueueingTimeMs can't be null when controlBehavior==2");
         }
+        if (controlBehavior == 5 && (entity.getDurationInSec() == null || entity.getDurationInSec() <= 0)) {
+            return Result.ofFail(-1, "durationInSec should be positive when controlBehavior==5");
+        }
+        if (controlBehavior == 5 && entity.getBurstCount() != null && entity.getBurstCount() < 0) {
+            return Result.ofFail(-1, "burstCount can't be negative when controlBehavior==5");
+        }
         if (entity.isClusterMode() && entity.getClusterConfig() == null) {
             return Result.ofFail(-1, "cluster config should be valid");
         }
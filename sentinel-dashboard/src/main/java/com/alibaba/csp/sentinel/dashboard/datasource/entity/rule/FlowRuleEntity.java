@@ -42,7 +42,7 @@ public class FlowRuleEntity implements RuleEntity {
     private Integer strategy;
     private String refResource;
     /**
-     * 0. default, 1. warm up, 2. rate limiter
+     * 0. default, 1. warm up, 2. rate limiter, 5. token bucket
      */
     private Integer controlBehavior;
     private Integer warmUpPeriodSec;
@@ -50,6 +50,11 @@ public class FlowRuleEntity implements RuleEntity {
      * max queueing time in rate limiter behavior
      */
     private Integer maxQueueingTimeMs;
+    /**
+     * extra burst tokens and refill duration in token bucket behavior
+     */
+    private Double burstCount;
+    private Long durationInSec;
 
     private boolean clusterMode;
     /**
@@ -74,6 +79,8 @@ public class FlowRuleEntity implements RuleEntity {
         entity.setControlBehavior(rule.getControlBehavior());
         entity.setWarmUpPeriodSec(rule.getWarmUpPeriodSec());
         entity.setMaxQueueingTimeMs(rule.getMaxQueueingTimeMs());
+        entity.setBurstCount(rule.getBurstCount());
+        entity.setDurationInSec(rule.getDurationInSec());
         entity.setClusterMode(rule.isClusterMode());
         entity.setClusterConfig(rule.getClusterConfig());
         return entity;
@@ -188,6 +195,22 @@ public class FlowRuleEntity implements RuleEntity {
         this.maxQueueingTimeMs = maxQueueingTimeMs;
     }
 
+    public Double getBurstCount() {
+        return burstCount;
+    }
+
+    public void setBurstCount(Double burstCount) {
+        this.burstCount = burstCount;
+    }
+
+    public Long getDurationInSec() {
+        return durationInSec;
+    }
+
+    public void setDurationInSec(Long durationInSec) {
+        this.durationInSec = durationInSec;
+    }
+
     public boolean isClusterMode() {
         return clusterMode;
     }
@@ -241,6 +264,12 @@ public class FlowRuleEntity implements RuleEntity {
         if (this.maxQueueingTimeMs != null) {
             flowRule.setMaxQueueingTimeMs(maxQueueingTimeMs);
         }
+        if (this.burstCount != null) {
+            flowRule.setBurstCount(burstCount);
+        }
+        if (this.durationInSec != null) {
+            flowRule.setDurationInSec(durationInSec);
+        }
         flowRule.setClusterMode(clusterMode);
         flowRule.setClusterConfig(clusterConfig);
         return flowRule;
@@ -69,6 +69,7 @@ app.controller('DegradeCtl', ['$scope', '$stateParams', 'DegradeService', 'ngDia
         limitApp: 'default',
         minRequestAmount: 5,
         statIntervalMs: 1000,
+        percentile: 0.99,
       };
       $scope.degradeRuleDialog = {
         title: '新增降级规则',
@@ -33,6 +33,7 @@ app.service('DegradeService', ['$http', function ($http) {
         statIntervalMs: rule.statIntervalMs,
         minRequestAmount: rule.minRequestAmount,
         slowRatioThreshold: rule.slowRatioThreshold,
+        percentile: rule.percentile,
     };
     return $http({
         url: '/degrade/rule/' + rule.id,
@@ -92,6 +93,16 @@ app.service('DegradeService', ['$http', function ($http) {
               return false;
           }
       }
+      if (rule.grade == 3) {
+          if (rule.percentile == undefined || rule.percentile === '') {
+              alert('RT 分位数不能为空');
+              return false;
+          }
+          if (rule.percentile <= 0 || rule.percentile > 1) {
+              alert('RT 分位数超出范围：(0.0 - 1.0]');
+              return false;
+          }
+      }
       return true;
   };
 }]);
@@ -25,6 +25,8 @@ app.service('FlowServiceV1', ['$http', function ($http) {
             controlBehavior: rule.controlBehavior,
             warmUpPeriodSec: rule.warmUpPeriodSec,
             maxQueueingTimeMs: rule.maxQueueingTimeMs,
+            burstCount: rule.burstCount,
+            durationInSec: rule.durationInSec,
             app: rule.app,
             ip: rule.ip,
             port: rule.port
@@ -49,6 +51,8 @@ app.service('FlowServiceV1', ['$http', function ($http) {
             controlBehavior: rule.controlBehavior,
             warmUpPeriodSec: rule.warmUpPeriodSec,
             maxQueueingTimeMs: rule.maxQueueingTimeMs,
+            burstCount: rule.burstCount,
+            durationInSec: rule.durationInSec,
         };
 
         return $http({
@@ -110,6 +114,15 @@ app.service('FlowServiceV1', ['$http', function ($http) {
             alert('排队超时时间必须大于 0');
             return false;
         }
+        if (rule.controlBehavior == 5 && notNumberGreaterThanZero(rule.durationInSec)) {
+            alert('令牌补充周期必须大于 0');
+            return false;
+        }
+        if (rule.controlBehavior == 5 && rule.burstCount !== undefined && rule.burstCount !== ''
+            && notNumberAtLeastZero(rule.burstCount)) {
+            alert('突发令牌数必须大于等于 0');
+            return false;
+        }
         if (rule.clusterMode && (rule.clusterConfig === undefined || rule.clusterConfig.thresholdType === undefined)) {
             alert('集群限流配置不正确');
             return false;
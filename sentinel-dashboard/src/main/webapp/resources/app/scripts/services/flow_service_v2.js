@@ -76,6 +76,15 @@ app.service('FlowServiceV2', ['$http', function ($http) {
             alert('排队超时时间必须大于 0');
             return false;
         }
+        if (rule.controlBehavior == 5 && notNumberGreaterThanZero(rule.durationInSec)) {
+            alert('令牌补充周期必须大于 0');
+            return false;
+        }
+        if (rule.controlBehavior == 5 && rule.burstCount !== undefined && rule.burstCount !== ''
+            && notNumberAtLeastZero(rule.burstCount)) {
+            alert('突发令牌数必须大于等于 0');
+            return false;
+        }
         if (rule.clusterMode && (rule.clusterConfig === undefined || rule.clusterConfig.thresholdType === undefined)) {
             alert('集群限流配置不正确');
             return false;
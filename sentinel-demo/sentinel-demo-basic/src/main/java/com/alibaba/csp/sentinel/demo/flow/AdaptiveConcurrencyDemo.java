@@ -0,0 +1,157 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.demo.flow;
+
+import java.util.Collections;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+
+/**
+ * <p>Simulation of the adaptive concurrency limit (the gradient algorithm by default, run with
+ * argument "vegas" for the Vegas algorithm).</p>
+ * <p>
+ * The downstream serves {@code capacity} requests in parallel, and the rest requests are queued,
+ * so the RT grows when the concurrency exceeds the capacity. The capacity halves after a while, and
+ * the concurrency of the resource should follow the capacity (with a small queue) without any static threshold.
+ * </p>
+ */
+public class AdaptiveConcurrencyDemo {
+
+    private static final String RESOURCE_NAME = "downstream";
+    private static final int CALLER_COUNT = 200;
+    private static final int BASE_RT_MS = 20;
+
+    private static final AtomicInteger pass = new AtomicInteger();
+    private static final AtomicInteger block = new AtomicInteger();
+
+    private static final DownstreamStub downstream = new DownstreamStub(40);
+
+    private static volatile boolean stop = false;
+    private static int seconds = 60;
+
+    public static void main(String[] args) throws Exception {
+        boolean vegas = args.length > 0 && "vegas".equalsIgnoreCase(args[0]);
+        initFlowRule(vegas);
+        System.out.println("Downstream capacity: " + downstream.capacity + ", algorithm: "
+            + (vegas ? "vegas" : "gradient"));
+
+        for (int i = 0; i < CALLER_COUNT; i++) {
+            Thread t = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    while (!stop) {
+                        Entry entry = null;
+                        try {
+                            entry = SphU.entry(RESOURCE_NAME);
+                            downstream.call();
+                            pass.incrementAndGet();
+                        } catch (BlockException e) {
+                            block.incrementAndGet();
+                            sleep(5);
+                        } catch (InterruptedException e) {
+                            return;
+                        } finally {
+                            if (entry != null) {
+                                entry.exit();
+                            }
+                        }
+                    }
+                }
+            });
+            t.setName("caller-" + i);
+            t.start();
+        }
+        tick();
+    }
+
+    private static void initFlowRule(boolean vegas) {
+        FlowRule rule = new FlowRule(RESOURCE_NAME)
+            .setGrade(RuleConstant.FLOW_GRADE_ADAPTIVE_CONCURRENCY)
+            // Max concurrency.
+            .setCount(CALLER_COUNT)
+            .setAdaptiveStrategy(vegas ? RuleConstant.ADAPTIVE_CONCURRENCY_VEGAS
+                : RuleConstant.ADAPTIVE_CONCURRENCY_GRADIENT);
+        FlowRuleManager.loadRules(Collections.singletonList(rule));
+    }
+
+    private static void tick() {
+        long oldPass = 0;
+        long oldBlock = 0;
+        while (!stop) {
+            sleep(1000);
+            long globalPass = pass.get();
+            long globalBlock = block.get();
+            ClusterNode node = ClusterBuilderSlot.getClusterNode(RESOURCE_NAME);
+            System.out.println(seconds + " pass:" + (globalPass - oldPass) + ", block:" + (globalBlock - oldBlock)
+                + ", concurrency:" + (node == null ? 0 : node.curThreadNum())
+                + ", avgRt:" + (node == null ? 0 : node.avgRt()));
+            oldPass = globalPass;
+            oldBlock = globalBlock;
+
+            if (seconds == 30) {
+                downstream.capacity = 20;
+                System.out.println("Downstream capacity drops to " + downstream.capacity);
+            }
+            if (seconds-- <= 0) {
+                stop = true;
+            }
+        }
+        System.exit(0);
+    }
+
+    private static void sleep(long timeMs) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(timeMs);
+        } catch (InterruptedException e) {
+            // Ignore.
+        }
+    }
+
+    /**
+     * Downstream with limited capacity, the requests over the capacity have to wait.
+     */
+    private static class DownstreamStub {
+
+        private final Semaphore permits = new Semaphore(CALLER_COUNT, true);
+        private volatile int capacity;
+
+        DownstreamStub(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void call() throws InterruptedException {
+            // Only the first {capacity} permits of the semaphore can be used.
+            int unusable = CALLER_COUNT - capacity;
+            permits.acquire(unusable + 1);
+            permits.release(unusable);
+            try {
+                TimeUnit.MILLISECONDS.sleep(BASE_RT_MS);
+            } finally {
+                permits.release();
+            }
+        }
+    }
+}
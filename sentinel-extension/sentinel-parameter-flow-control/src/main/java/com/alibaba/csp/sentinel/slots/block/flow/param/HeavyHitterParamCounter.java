@@ -0,0 +1,350 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.param;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * <p>Parameter counter of the heavy-hitter sketch mode, whose memory is bounded regardless of the cardinality
+ * of the parameter values.</p>
+ * <p>
+ * The request count of every value (including the blocked ones, so that a limited hot value stays hot) is estimated by
+ * a Count-Min sketch (with conservative update) over a sliding window of two statistic durations. Values whose
+ * estimated count reaches half of the threshold are promoted into a small exact table of at most {@code topK} entries,
+ * which limits them with exact token buckets like the default mode. Once the table is full, the entry with the lowest
+ * estimated count is replaced (Space-Saving style) by a hotter value. The sketch only overestimates, so the cold values
+ * are not blocked by the sketch error: they are promoted earlier at worst. Values which can't be promoted (the exact
+ * table is full of hotter values) are limited by the lower bound of the estimated count
+ * ({@code estimate - e / width * total}), so they are only blocked when the real count exceeds the threshold (with high
+ * probability).
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public class HeavyHitterParamCounter {
+
+    public static final int DEFAULT_DEPTH = 4;
+    public static final int DEFAULT_WIDTH = 2048;
+
+    private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L,
+        0xD6E8FEB86659FD93L, 0x27D4EB2F165667C5L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L, 0xFF51AFD7ED558CCDL};
+
+    private final int depth;
+    private final int mask;
+    private final int topK;
+    private final long windowMs;
+    private final double errorRate;
+
+    /**
+     * Sketches of the current and the previous window.
+     */
+    private final AtomicIntegerArray[] sketches;
+    private final AtomicLong[] totals;
+    private volatile int currentIdx = 0;
+    private volatile long currentWindowStart = -1;
+
+    private final Map<Object, ExactCounter> exactCounters;
+    private final Object lock = new Object();
+
+    /**
+     * The lowest estimated count in the full exact table found by the last scan, which saves the scan
+     * for the values not hotter than it within {@link #coldestCacheMs}.
+     */
+    private volatile long coldestEstimate = -1;
+    private volatile long coldestScanTime;
+    private final long coldestCacheMs;
+
+    public HeavyHitterParamCounter(int topK, long windowMs) {
+        this(topK, windowMs, DEFAULT_DEPTH, DEFAULT_WIDTH);
+    }
+
+    /**
+     * @param topK     max count of the values counted exactly
+     * @param windowMs statistic duration in ms
+     * @param depth    depth (count of the hash functions) of the sketch, in [1, 8]
+     * @param width    width of the sketch, which will be rounded up to power of 2
+     */
+    public HeavyHitterParamCounter(int topK, long windowMs, int depth, int width) {
+        AssertUtil.isTrue(topK > 0, "topK should be positive");
+        AssertUtil.isTrue(windowMs > 0, "windowMs should be positive");
+        AssertUtil.isTrue(depth > 0 && depth <= SEEDS.length, "depth should be in [1, " + SEEDS.length + "]");
+        AssertUtil.isTrue(width > 0 && width <= (1 << 24), "width should be in [1, 2^24]");
+        int w = Integer.highestOneBit(width);
+        if (w < width) {
+            w <<= 1;
+        }
+        this.depth = depth;
+        this.mask = w - 1;
+        this.topK = topK;
+        this.windowMs = windowMs;
+        this.sketches = new AtomicIntegerArray[] {new AtomicIntegerArray(depth * w),
+            new AtomicIntegerArray(depth * w)};
+        this.totals = new AtomicLong[] {new AtomicLong(), new AtomicLong()};
+        this.errorRate = Math.E / w;
+        this.exactCounters = new ConcurrentHashMap<>(topK * 2);
+        this.coldestCacheMs = Math.max(1, windowMs / 10);
+    }
+
+    /**
+     * Try to acquire tokens for the value.
+     *
+     * @param value        parameter value
+     * @param acquireCount count to acquire
+     * @param tokenCount   threshold of the value per duration
+     * @param maxCount     max tokens of the value (threshold + burst count)
+     * @param currentTime  current time in ms
+     * @return true if passed, otherwise false
+     */
+    public boolean tryAcquire(Object value, int acquireCount, long tokenCount, long maxCount, long currentTime) {
+        rotateIfNeeded(currentTime);
+        int hash = value.hashCode();
+        ExactCounter counter = exactCounters.get(value);
+        if (counter == null) {
+            long estimate = estimate(hash, currentTime);
+            add(hash, acquireCount);
+            if (estimate + acquireCount <= Math.max(1, tokenCount / 2)) {
+                return true;
+            }
+            long lowerBound = Math.max(0, estimate - errorBound(currentTime));
+            counter = promote(value, estimate, lowerBound, maxCount, currentTime);
+            if (counter == null) {
+                // The exact table is full of hotter values, so limit the value by the lower bound of the estimation.
+                return lowerBound + acquireCount <= tokenCount;
+            }
+        } else {
+            add(hash, acquireCount);
+        }
+        return counter.tryAcquire(acquireCount, tokenCount, maxCount, windowMs, currentTime);
+    }
+
+    /**
+     * Give back the tokens acquired by {@link #tryAcquire(Object, int, long, long, long)}, e.g. when only a part
+     * of a batch of values is acquired. Only the values counted exactly hold tokens, and the requests are still
+     * counted in the sketch.
+     *
+     * @param value        parameter value
+     * @param releaseCount count to give back
+     * @param maxCount     max tokens of the value (threshold + burst count)
+     */
+    public void release(Object value, int releaseCount, long maxCount) {
+        ExactCounter counter = exactCounters.get(value);
+        if (counter != null) {
+            counter.release(releaseCount, maxCount);
+        }
+    }
+
+    /**
+     * Estimate the request count of the value in the sliding window (the current window and the weighted
+     * previous window).
+     *
+     * @param value       parameter value
+     * @param currentTime current time in ms
+     * @return the estimated request count, which is never less than the real count
+     */
+    public long estimate(Object value, long currentTime) {
+        rotateIfNeeded(currentTime);
+        return estimate(value.hashCode(), currentTime);
+    }
+
+    /**
+     * @return the max overestimation of the sketch (with high probability)
+     */
+    private long errorBound(long currentTime) {
+        return (long)(errorRate * slidingCount(totals[currentIdx].get(), totals[1 - currentIdx].get(),
+            currentTime));
+    }
+
+    private long slidingCount(long currentCount, long previousCount, long currentTime) {
+        long elapsed = Math.max(0, Math.min(windowMs, currentTime - currentWindowStart));
+        return currentCount + previousCount * (windowMs - elapsed) / windowMs;
+    }
+
+    private long estimate(int hash, long currentTime) {
+        AtomicIntegerArray current = sketches[currentIdx];
+        AtomicIntegerArray previous = sketches[1 - currentIdx];
+        long currentMin = Long.MAX_VALUE;
+        long previousMin = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int i = index(hash, row);
+            currentMin = Math.min(currentMin, current.get(i));
+            previousMin = Math.min(previousMin, previous.get(i));
+        }
+        return slidingCount(currentMin, previousMin, currentTime);
+    }
+
+    private void add(int hash, int count) {
+        int idx = currentIdx;
+        totals[idx].addAndGet(count);
+        AtomicIntegerArray current = sketches[idx];
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, current.get(index(hash, row)));
+        }
+        // Conservative update: only the counters less than the new estimation are raised.
+        int target = min + count;
+        for (int row = 0; row < depth; row++) {
+            int i = index(hash, row);
+            int old;
+            while ((old = current.get(i)) < target) {
+                if (current.compareAndSet(i, old, target)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private ExactCounter promote(Object value, long estimate, long lowerBound, long maxCount, long currentTime) {
+        if (estimate <= coldestEstimate && currentTime - coldestScanTime < coldestCacheMs) {
+            return null;
+        }
+        synchronized (lock) {
+            ExactCounter counter = exactCounters.get(value);
+            if (counter != null) {
+                return counter;
+            }
+            if (exactCounters.size() >= topK) {
+                Object coldest = null;
+                long coldestEstimate = Long.MAX_VALUE;
+                for (Object key : exactCounters.keySet()) {
+                    long keyEstimate = estimate(key.hashCode(), currentTime);
+                    if (keyEstimate < coldestEstimate) {
+                        coldest = key;
+                        coldestEstimate = keyEstimate;
+                    }
+                }
+                if (coldest == null || coldestEstimate >= estimate) {
+                    this.coldestEstimate = coldestEstimate;
+                    this.coldestScanTime = currentTime;
+                    return null;
+                }
+                exactCounters.remove(coldest);
+                this.coldestEstimate = -1;
+            }
+            // Requests already passed in current window are taken into account.
+            counter = new ExactCounter(Math.max(0, maxCount - lowerBound), currentTime);
+            exactCounters.put(value, counter);
+            return counter;
+        }
+    }
+
+    private void rotateIfNeeded(long currentTime) {
+        long windowStart = currentWindowStart;
+        if (windowStart >= 0 && currentTime - windowStart < windowMs) {
+            return;
+        }
+        synchronized (lock) {
+            windowStart = currentWindowStart;
+            if (windowStart < 0) {
+                this.currentWindowStart = currentTime;
+                return;
+            }
+            long passed = currentTime - windowStart;
+            if (passed < windowMs) {
+                return;
+            }
+            int nextIdx = 1 - currentIdx;
+            clear(sketches[nextIdx]);
+            totals[nextIdx].set(0);
+            if (passed >= windowMs * 2) {
+                // The previous window is also outdated.
+                clear(sketches[currentIdx]);
+                totals[currentIdx].set(0);
+            }
+            this.currentWindowStart = currentTime - passed % windowMs;
+            this.currentIdx = nextIdx;
+        }
+    }
+
+    private static void clear(AtomicIntegerArray sketch) {
+        for (int i = 0; i < sketch.length(); i++) {
+            sketch.lazySet(i, 0);
+        }
+    }
+
+    private int index(int hash, int row) {
+        long x = (hash ^ SEEDS[row]) * 0xFF51AFD7ED558CCDL;
+        x ^= x >>> 33;
+        x *= 0xC4CEB9FE1A85EC53L;
+        x ^= x >>> 33;
+        return row * (mask + 1) + ((int)x & mask);
+    }
+
+    /**
+     * @return count of the values counted exactly
+     */
+    public int getExactCount() {
+        return exactCounters.size();
+    }
+
+    boolean isCountedExactly(Object value) {
+        return exactCounters.containsKey(value);
+    }
+
+    /**
+     * Exact token bucket of a hot value, in the same algorithm as the default mode.
+     */
+    private static final class ExactCounter {
+
+        private final AtomicLong tokens;
+        private final AtomicLong lastAddTokenTime;
+
+        ExactCounter(long tokens, long currentTime) {
+            this.tokens = new AtomicLong(tokens);
+            this.lastAddTokenTime = new AtomicLong(currentTime);
+        }
+
+        boolean tryAcquire(int acquireCount, long tokenCount, long maxCount, long durationMs, long currentTime) {
+            while (true) {
+                long passTime = currentTime - lastAddTokenTime.get();
+                long restQps = tokens.get();
+                if (passTime > durationMs) {
+                    long toAddCount = (passTime * tokenCount) / durationMs;
+                    long newQps = toAddCount + restQps > maxCount ? (maxCount - acquireCount)
+                        : (restQps + toAddCount - acquireCount);
+                    if (newQps < 0) {
+                        return false;
+                    }
+                    if (tokens.compareAndSet(restQps, newQps)) {
+                        lastAddTokenTime.set(currentTime);
+                        return true;
+                    }
+                } else {
+                    if (restQps - acquireCount < 0) {
+                        return false;
+                    }
+                    if (tokens.compareAndSet(restQps, restQps - acquireCount)) {
+                        return true;
+                    }
+                }
+                Thread.yield();
+            }
+        }
+
+        void release(int releaseCount, long maxCount) {
+            while (true) {
+                long restQps = tokens.get();
+                if (tokens.compareAndSet(restQps, Math.min(maxCount, restQps + releaseCount))) {
+                    return;
+                }
+            }
+        }
+    }
+}
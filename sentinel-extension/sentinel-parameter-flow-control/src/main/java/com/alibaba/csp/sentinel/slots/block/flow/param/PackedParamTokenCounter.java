@@ -0,0 +1,326 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.param;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * <p>Allocation-free token counter of the default parameter flow checker.</p>
+ * <p>
+ * The rest tokens and the last time when tokens were added of each value are packed into one {@code long}
+ * slot, so that a check needs only one hash lookup and one CAS. The values are kept in an open-addressing
+ * table, where the primitive wrapper values (long, int, short, byte, char and boolean) are stored as primitive
+ * keys, and other values (e.g. {@code String}) are compared by {@code equals}. Nothing is allocated for
+ * a value once it's in the table.
+ * </p>
+ * <p>
+ * The capacity of the table is fixed: when none of the probed slots is free, the slot with the
+ * least recent refill time is taken over by the new value, which works like the eviction of the LRU cache map.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+public class PackedParamTokenCounter {
+
+    /**
+     * Bits of the time in ms, which will not overflow until year 2109.
+     */
+    private static final int TIME_BITS = 42;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+
+    /**
+     * Max token count per duration of a value, rules with larger threshold use the cache maps.
+     */
+    public static final long MAX_TOKEN_COUNT = (1L << (Long.SIZE - TIME_BITS)) - 1;
+
+    private static final int MAX_PROBE = 8;
+
+    private static final int KIND_EMPTY = 0;
+    private static final int KIND_CLAIMING = 1;
+    private static final int KIND_OBJECT = 2;
+    private static final int KIND_LONG = 3;
+    private static final int KIND_INT = 4;
+    private static final int KIND_SHORT = 5;
+    private static final int KIND_BYTE = 6;
+    private static final int KIND_CHAR = 7;
+    private static final int KIND_BOOLEAN = 8;
+
+    private final int mask;
+    private final AtomicIntegerArray kinds;
+    private final long[] primitiveKeys;
+    private final Object[] objectKeys;
+    private final AtomicLongArray states;
+
+    /**
+     * @param capacity max count of the values, which will be rounded up to power of 2
+     */
+    public PackedParamTokenCounter(int capacity) {
+        AssertUtil.isTrue(capacity > 0 && capacity <= (1 << 24), "capacity should be in [1, 2^24]");
+        int size = Math.max(MAX_PROBE, Integer.highestOneBit(capacity));
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.kinds = new AtomicIntegerArray(size);
+        this.primitiveKeys = new long[size];
+        this.objectKeys = new Object[size];
+        this.states = new AtomicLongArray(size);
+    }
+
+    /**
+     * Try to acquire tokens for the value, in the same algorithm as the default parameter flow checker.
+     *
+     * @param value        parameter value
+     * @param acquireCount count to acquire
+     * @param tokenCount   threshold of the value per duration
+     * @param maxCount     max tokens of the value (threshold + burst count), no more than {@link #MAX_TOKEN_COUNT}
+     * @param durationMs   statistic duration in ms
+     * @param currentTime  current time in ms
+     * @return true if passed, otherwise false
+     */
+    public boolean tryAcquire(Object value, int acquireCount, long tokenCount, long maxCount, long durationMs,
+                              long currentTime) {
+        int kind = kindOf(value);
+        long key = kind == KIND_OBJECT ? 0 : primitiveKeyOf(value);
+        int hash = kind == KIND_OBJECT ? value.hashCode() : primitiveHash(key, kind);
+        return tryAcquire(kind, key, value, hash, acquireCount, tokenCount, maxCount, durationMs, currentTime);
+    }
+
+    /**
+     * Try to acquire tokens for a {@code long} value without boxing it.
+     *
+     * @see #tryAcquire(Object, int, long, long, long, long)
+     */
+    public boolean tryAcquire(long value, int acquireCount, long tokenCount, long maxCount, long durationMs,
+                              long currentTime) {
+        return tryAcquire(KIND_LONG, value, null, primitiveHash(value, KIND_LONG), acquireCount, tokenCount,
+            maxCount, durationMs, currentTime);
+    }
+
+    /**
+     * Give back the tokens acquired by {@link #tryAcquire(Object, int, long, long, long, long)}, e.g. when only
+     * a part of a batch of values is acquired. The rest tokens will not exceed {@code maxCount}, and nothing
+     * happens if the value has been evicted.
+     *
+     * @param value        parameter value
+     * @param releaseCount count to give back
+     * @param maxCount     max tokens of the value (threshold + burst count)
+     */
+    public void release(Object value, int releaseCount, long maxCount) {
+        int kind = kindOf(value);
+        long key = kind == KIND_OBJECT ? 0 : primitiveKeyOf(value);
+        int hash = kind == KIND_OBJECT ? value.hashCode() : primitiveHash(key, kind);
+        int idx = find(kind, key, value, hash);
+        if (idx < 0) {
+            return;
+        }
+        while (true) {
+            long state = states.get(idx);
+            long newQps = Math.min(maxCount, tokensOf(state) + releaseCount);
+            if (states.compareAndSet(idx, state, pack(newQps, timeOf(state)))) {
+                return;
+            }
+        }
+    }
+
+    private boolean tryAcquire(int kind, long key, Object value, int hash, int acquireCount, long tokenCount,
+                               long maxCount, long durationMs, long currentTime) {
+        if (acquireCount > maxCount) {
+            return false;
+        }
+        while (true) {
+            int idx = find(kind, key, value, hash);
+            if (idx < 0) {
+                // Token never added, just replenish the tokens and consume {@code acquireCount} immediately.
+                if (insert(kind, key, value, hash, pack(maxCount - acquireCount, currentTime))) {
+                    return true;
+                }
+                continue;
+            }
+
+            long state = states.get(idx);
+            long restQps = tokensOf(state);
+            // Calculate the time duration since last token was added.
+            long passTime = currentTime - timeOf(state);
+            long newState;
+            // A simplified token bucket algorithm that will replenish the tokens only when statistic window has passed.
+            if (passTime > durationMs) {
+                long toAddCount = (passTime * tokenCount) / durationMs;
+                long newQps = toAddCount + restQps > maxCount ? (maxCount - acquireCount)
+                    : (restQps + toAddCount - acquireCount);
+                if (newQps < 0) {
+                    return false;
+                }
+                newState = pack(newQps, currentTime);
+            } else {
+                if (restQps - acquireCount < 0) {
+                    return false;
+                }
+                newState = pack(restQps - acquireCount, timeOf(state));
+            }
+            if (states.compareAndSet(idx, state, newState)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return index of the value, or -1 if absent
+     */
+    private int find(int kind, long key, Object value, int hash) {
+        int start = spread(hash);
+        for (int i = 0; i < MAX_PROBE; i++) {
+            int idx = (start + i) & mask;
+            int slotKind = waitForClaim(idx);
+            if (slotKind == KIND_EMPTY) {
+                return -1;
+            }
+            if (matches(idx, slotKind, kind, key, value)) {
+                return idx;
+            }
+        }
+        return -1;
+    }
+
+    private boolean matches(int idx, int slotKind, int kind, long key, Object value) {
+        return slotKind == kind && (kind == KIND_OBJECT ? value.equals(objectKeys[idx]) : primitiveKeys[idx] == key);
+    }
+
+    /**
+     * Insert the value into the first empty slot or the least recently refilled slot in the probe range.
+     *
+     * @return false if the slot has been changed or the value has been inserted by another thread,
+     * and the lookup should be retried
+     */
+    private boolean insert(int kind, long key, Object value, int hash, long state) {
+        int start = spread(hash);
+        int target = -1;
+        int targetKind = KIND_EMPTY;
+        long oldestTime = Long.MAX_VALUE;
+        for (int i = 0; i < MAX_PROBE; i++) {
+            int idx = (start + i) & mask;
+            int slotKind = waitForClaim(idx);
+            if (slotKind == KIND_EMPTY) {
+                target = idx;
+                targetKind = KIND_EMPTY;
+                break;
+            }
+            if (matches(idx, slotKind, kind, key, value)) {
+                return false;
+            }
+            long time = timeOf(states.get(idx));
+            if (time < oldestTime) {
+                oldestTime = time;
+                target = idx;
+                targetKind = slotKind;
+            }
+        }
+        if (!kinds.compareAndSet(target, targetKind, KIND_CLAIMING)) {
+            return false;
+        }
+        // A concurrent check of the evicted value may consume the tokens of the new value before
+        // the key is replaced, which is as inaccurate as the eviction itself.
+        primitiveKeys[target] = key;
+        objectKeys[target] = kind == KIND_OBJECT ? value : null;
+        states.set(target, state);
+        kinds.set(target, kind);
+        return true;
+    }
+
+    private int waitForClaim(int idx) {
+        int kind;
+        while ((kind = kinds.get(idx)) == KIND_CLAIMING) {
+            Thread.yield();
+        }
+        return kind;
+    }
+
+    private static int primitiveHash(long key, int kind) {
+        return (int)(key ^ (key >>> 32)) * 31 + kind;
+    }
+
+    private int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * @return the count of the values in the table
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i <= mask; i++) {
+            if (kinds.get(i) >= KIND_OBJECT) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Get the rest tokens of the value. Package-private for test.
+     *
+     * @return the rest tokens, or -1 if the value is absent
+     */
+    long getRestTokens(Object value) {
+        int kind = kindOf(value);
+        long key = kind == KIND_OBJECT ? 0 : primitiveKeyOf(value);
+        int hash = kind == KIND_OBJECT ? value.hashCode() : primitiveHash(key, kind);
+        int idx = find(kind, key, value, hash);
+        return idx < 0 ? -1 : tokensOf(states.get(idx));
+    }
+
+    private static int kindOf(Object value) {
+        if (value instanceof Long) {
+            return KIND_LONG;
+        } else if (value instanceof Integer) {
+            return KIND_INT;
+        } else if (value instanceof Short) {
+            return KIND_SHORT;
+        } else if (value instanceof Byte) {
+            return KIND_BYTE;
+        } else if (value instanceof Character) {
+            return KIND_CHAR;
+        } else if (value instanceof Boolean) {
+            return KIND_BOOLEAN;
+        }
+        return KIND_OBJECT;
+    }
+
+    private static long primitiveKeyOf(Object value) {
+        if (value instanceof Character) {
+            return (Character)value;
+        } else if (value instanceof Boolean) {
+            return (Boolean)value ? 1 : 0;
+        }
+        return ((Number)value).longValue();
+    }
+
+    static long pack(long tokens, long time) {
+        return (tokens << TIME_BITS) | (time & TIME_MASK);
+    }
+
+    static long tokensOf(long state) {
+        return state >>> TIME_BITS;
+    }
+
+    static long timeOf(long state) {
+        return state & TIME_MASK;
+    }
+}
@@ -15,11 +15,7 @@
  */
 package com.alibaba.csp.sentinel.slots.block.flow.param;
 
-import java.lang.reflect.Array;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -51,18 +47,9 @@ public final class ParamFlowChecker {
             return true;
         }
 
-        int paramIdx = rule.getParamIdx();
-        if (args.length <= paramIdx) {
-            return true;
-        }
-
-        // Get parameter value.
-        Object value = args[paramIdx];
-
-        // Assign value with the result of paramFlowKey method
-        if (value instanceof ParamFlowArgument) {
-            value = ((ParamFlowArgument) value).paramFlowKey();
-        }
+        // Get parameter value by the compiled extractor of the rule,
+        // which resolves the value of ParamFlowArgument by its paramFlowKey method.
+        Object value = rule.getValueExtractor().extract(args);
         // If value is null, then pass
         if (value == null) {
             return true;
@@ -78,22 +65,27 @@ public final class ParamFlowChecker {
     private static boolean passLocalCheck(ResourceWrapper resourceWrapper, ParamFlowRule rule, int count,
                                           Object value) {
         try {
-            if (Collection.class.isAssignableFrom(value.getClass())) {
-                for (Object param : ((Collection)value)) {
+            int kind = rule.getValueExtractor().kindOf(value);
+            if (kind == ParamValueExtractor.KIND_SINGLE) {
+                return passSingleValueCheck(resourceWrapper, rule, count, value);
+            } else if (isBatchCheckable(rule)) {
+                // Check the values all or nothing, so that a blocked value won't leak the tokens of the others.
+                return passBatchLocalCheck(resourceWrapper, rule, count, ParamValueExtractor.toArray(value, kind));
+            } else if (kind == ParamValueExtractor.KIND_COLLECTION) {
+                for (Object param : ((Collection<?>)value)) {
                     if (!passSingleValueCheck(resourceWrapper, rule, count, param)) {
                         return false;
                     }
                 }
-            } else if (value.getClass().isArray()) {
-                int length = Array.getLength(value);
+            } else {
+                // Random access lists and arrays are read by typed access.
+                int length = ParamValueExtractor.length(value, kind);
                 for (int i = 0; i < length; i++) {
-                    Object param = Array.get(value, i);
+                    Object param = ParamValueExtractor.elementAt(value, kind, i);
                     if (!passSingleValueCheck(resourceWrapper, rule, count, param)) {
                         return false;
                     }
                 }
-            } else {
-                return passSingleValueCheck(resourceWrapper, rule, count, value);
             }
         } catch (Throwable e) {
             RecordLog.warn("[ParamFlowChecker] Unexpected error", e);
@@ -107,6 +99,8 @@ public final class ParamFlowChecker {
         if (rule.getGrade() == RuleConstant.FLOW_GRADE_QPS) {
             if (rule.getControlBehavior() == RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER) {
                 return passThrottleLocalCheck(resourceWrapper, rule, acquireCount, value);
+            } else if (rule.isSketchMode()) {
+                return passSketchLocalCheck(resourceWrapper, rule, acquireCount, value);
             } else {
                 return passDefaultLocalCheck(resourceWrapper, rule, acquireCount, value);
             }
@@ -127,6 +121,10 @@ public final class ParamFlowChecker {
     static boolean passDefaultLocalCheck(ResourceWrapper resourceWrapper, ParamFlowRule rule, int acquireCount,
                                          Object value) {
         ParameterMetric metric = getParameterMetric(resourceWrapper);
+        PackedParamTokenCounter packedCounter = metric == null ? null : metric.getRulePackedCounter(rule);
+        if (packedCounter != null) {
+            return passPackedLocalCheck(packedCounter, rule, acquireCount, value);
+        }
         CacheMap<Object, AtomicLong> tokenCounters = metric == null ? null : metric.getRuleTokenCounter(rule);
         CacheMap<Object, AtomicLong> timeCounters = metric == null ? null : metric.getRuleTimeCounter(rule);
 
@@ -134,17 +132,16 @@ public final class ParamFlowChecker {
             return true;
         }
 
-        // Calculate max token count (threshold)
-        Set<Object> exclusionItems = rule.getParsedHotItems().keySet();
-        long tokenCount = (long)rule.getCount();
-        if (exclusionItems.contains(value)) {
-            tokenCount = rule.getParsedHotItems().get(value);
-        }
-
+        long tokenCount = getTokenCount(rule, value);
         if (tokenCount == 0) {
             return false;
         }
+        return acquireDefaultTokens(tokenCounters, timeCounters, rule, acquireCount, value, tokenCount);
+    }
 
+    private static boolean acquireDefaultTokens(CacheMap<Object, AtomicLong> tokenCounters,
+                                                CacheMap<Object, AtomicLong> timeCounters, ParamFlowRule rule,
+                                                int acquireCount, Object value, long tokenCount) {
         long maxCount = tokenCount + rule.getBurstCount();
         if (acquireCount > maxCount) {
             return false;
@@ -201,6 +198,164 @@ public final class ParamFlowChecker {
         }
     }
 
+    private static void releaseDefaultTokens(CacheMap<Object, AtomicLong> tokenCounters, Object value,
+                                             int releaseCount, long maxCount) {
+        AtomicLong restQps = tokenCounters.get(value);
+        if (restQps == null) {
+            return;
+        }
+        while (true) {
+            long oldQps = restQps.get();
+            if (restQps.compareAndSet(oldQps, Math.min(maxCount, oldQps + releaseCount))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Check in the same algorithm as {@link #passDefaultLocalCheck}, with the packed token counter
+     * which doesn't allocate anything for a value once it's counted.
+     */
+    static boolean passPackedLocalCheck(PackedParamTokenCounter counter, ParamFlowRule rule, int acquireCount,
+                                        Object value) {
+        long tokenCount = getTokenCount(rule, value);
+        if (tokenCount == 0) {
+            return false;
+        }
+
+        long maxCount = tokenCount + rule.getBurstCount();
+        if (acquireCount > maxCount) {
+            return false;
+        }
+        return counter.tryAcquire(value, acquireCount, tokenCount, maxCount, rule.getDurationInSec() * 1000,
+            TimeUtil.currentTimeMillis());
+    }
+
+    static boolean passSketchLocalCheck(ResourceWrapper resourceWrapper, ParamFlowRule rule, int acquireCount,
+                                        Object value) {
+        ParameterMetric metric = getParameterMetric(resourceWrapper);
+        HeavyHitterParamCounter counter = metric == null ? null : metric.getRuleSketchCounter(rule);
+        if (counter == null) {
+            return true;
+        }
+
+        long tokenCount = getTokenCount(rule, value);
+        if (tokenCount == 0) {
+            return false;
+        }
+
+        long maxCount = tokenCount + rule.getBurstCount();
+        if (acquireCount > maxCount) {
+            return false;
+        }
+        return counter.tryAcquire(value, acquireCount, tokenCount, maxCount, TimeUtil.currentTimeMillis());
+    }
+
+    /**
+     * Calculate max token count (threshold) of the value, with only one lookup of the hot items.
+     */
+    private static long getTokenCount(ParamFlowRule rule, Object value) {
+        Integer itemThreshold = rule.getParsedHotItems().get(value);
+        return itemThreshold == null ? (long)rule.getCount() : itemThreshold;
+    }
+
+    private static boolean isBatchCheckable(ParamFlowRule rule) {
+        return rule.getGrade() == RuleConstant.FLOW_GRADE_QPS
+            && rule.getControlBehavior() != RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER;
+    }
+
+    /**
+     * <p>All-or-nothing check of the values of a collection or array parameter, for QPS rules with the default
+     * control behavior (including the packed counter and the sketch mode).</p>
+     * <p>
+     * The thresholds of all values are resolved before any token is acquired, and the counter store of the rule
+     * is looked up only once for the batch. If any value is blocked, the tokens acquired for the former values
+     * are given back, so the batch either consumes the tokens of all values or of none of them.
+     * The given back tokens might be a little inaccurate if the tokens are replenished concurrently.
+     * </p>
+     *
+     * @param values values of the parameter, where null values pass
+     */
+    static boolean passBatchLocalCheck(ResourceWrapper resourceWrapper, ParamFlowRule rule, int acquireCount,
+                                       Object[] values) {
+        ParameterMetric metric = getParameterMetric(resourceWrapper);
+        if (metric == null) {
+            return true;
+        }
+        PackedParamTokenCounter packedCounter = null;
+        HeavyHitterParamCounter sketchCounter = null;
+        CacheMap<Object, AtomicLong> tokenCounters = null;
+        CacheMap<Object, AtomicLong> timeCounters = null;
+        if (rule.isSketchMode()) {
+            sketchCounter = metric.getRuleSketchCounter(rule);
+            if (sketchCounter == null) {
+                return true;
+            }
+        } else {
+            packedCounter = metric.getRulePackedCounter(rule);
+            if (packedCounter == null) {
+                tokenCounters = metric.getRuleTokenCounter(rule);
+                timeCounters = metric.getRuleTimeCounter(rule);
+                if (tokenCounters == null || timeCounters == null) {
+                    return true;
+                }
+            }
+        }
+
+        // Resolve the thresholds of all values first, so that the batch fails before acquiring any token
+        // if any value could never pass.
+        long[] tokenCounts = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            long tokenCount = getTokenCount(rule, values[i]);
+            if (tokenCount == 0 || acquireCount > tokenCount + rule.getBurstCount()) {
+                return false;
+            }
+            tokenCounts[i] = tokenCount;
+        }
+
+        long durationMs = rule.getDurationInSec() * 1000;
+        long currentTime = TimeUtil.currentTimeMillis();
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            long maxCount = tokenCounts[i] + rule.getBurstCount();
+            boolean pass;
+            if (sketchCounter != null) {
+                pass = sketchCounter.tryAcquire(value, acquireCount, tokenCounts[i], maxCount, currentTime);
+            } else if (packedCounter != null) {
+                pass = packedCounter.tryAcquire(value, acquireCount, tokenCounts[i], maxCount, durationMs,
+                    currentTime);
+            } else {
+                pass = acquireDefaultTokens(tokenCounters, timeCounters, rule, acquireCount, value,
+                    tokenCounts[i]);
+            }
+            if (!pass) {
+                // Roll back the tokens acquired for the former values.
+                for (int j = 0; j < i; j++) {
+                    Object acquired = values[j];
+                    if (acquired == null) {
+                        continue;
+                    }
+                    long acquiredMaxCount = tokenCounts[j] + rule.getBurstCount();
+                    if (sketchCounter != null) {
+                        sketchCounter.release(acquired, acquireCount, acquiredMaxCount);
+                    } else if (packedCounter != null) {
+                        packedCounter.release(acquired, acquireCount, acquiredMaxCount);
+                    } else {
+                        releaseDefaultTokens(tokenCounters, acquired, acquireCount, acquiredMaxCount);
+                    }
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
     static boolean passThrottleLocalCheck(ResourceWrapper resourceWrapper, ParamFlowRule rule, int acquireCount,
                                           Object value) {
         ParameterMetric metric = getParameterMetric(resourceWrapper);
@@ -258,27 +413,10 @@ public final class ParamFlowChecker {
         return ParameterMetricStorage.getParamMetric(resourceWrapper);
     }
 
-    @SuppressWarnings("unchecked")
-    private static Collection<Object> toCollection(Object value) {
-        if (value instanceof Collection) {
-            return (Collection<Object>)value;
-        } else if (value.getClass().isArray()) {
-            List<Object> params = new ArrayList<Object>();
-            int length = Array.getLength(value);
-            for (int i = 0; i < length; i++) {
-                Object param = Array.get(value, i);
-                params.add(param);
-            }
-            return params;
-        } else {
-            return Collections.singletonList(value);
-        }
-    }
-
     private static boolean passClusterCheck(ResourceWrapper resourceWrapper, ParamFlowRule rule, int count,
                                             Object value) {
         try {
-            Collection<Object> params = toCollection(value);
+            Collection<Object> params = rule.getValueExtractor().toCollection(value);
 
             TokenService clusterService = pickClusterService();
             if (clusterService == null) {
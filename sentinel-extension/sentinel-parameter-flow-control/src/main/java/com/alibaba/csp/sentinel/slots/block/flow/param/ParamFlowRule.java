@@ -63,6 +63,14 @@ public class ParamFlowRule extends AbstractRule {
     private int burstCount = 0;
     private long durationInSec = 1;
 
+    /**
+     * Max count of the hottest parameter values counted exactly in the heavy-hitter sketch mode (since 1.8.1).
+     * If positive, the parameter values are counted by a sketch with bounded memory, and only the top-K
+     * values are counted exactly (see {@link HeavyHitterParamCounter}). Only available for QPS grade
+     * with default control behavior. 0 (by default) means all values are counted exactly in LRU caches.
+     */
+    private int sketchTopK = 0;
+
     /**
      * Original exclusion items of parameters.
      */
@@ -73,6 +81,11 @@ public class ParamFlowRule extends AbstractRule {
      */
     private Map<Object, Integer> hotItems = new HashMap<Object, Integer>();
 
+    /**
+     * Compiled extractor of the parameter value. Only for internal use.
+     */
+    private ParamValueExtractor valueExtractor;
+
     /**
      * Indicating whether the rule is for cluster mode.
      */
@@ -118,6 +131,19 @@ public class ParamFlowRule extends AbstractRule {
         return this;
     }
 
+    public int getSketchTopK() {
+        return sketchTopK;
+    }
+
+    public ParamFlowRule setSketchTopK(int sketchTopK) {
+        this.sketchTopK = sketchTopK;
+        return this;
+    }
+
+    public boolean isSketchMode() {
+        return sketchTopK > 0;
+    }
+
     public int getGrade() {
         return grade;
     }
@@ -133,6 +159,7 @@ public class ParamFlowRule extends AbstractRule {
 
     public ParamFlowRule setParamIdx(Integer paramIdx) {
         this.paramIdx = paramIdx;
+        this.valueExtractor = null;
         return this;
     }
 
@@ -170,6 +197,24 @@ public class ParamFlowRule extends AbstractRule {
         return this;
     }
 
+    /**
+     * @return the compiled extractor of the parameter value, which is compiled on demand if the rule
+     * is not loaded by the rule manager
+     */
+    ParamValueExtractor getValueExtractor() {
+        ParamValueExtractor extractor = this.valueExtractor;
+        if (extractor == null) {
+            extractor = ParamValueExtractor.of(this);
+            this.valueExtractor = extractor;
+        }
+        return extractor;
+    }
+
+    ParamFlowRule setValueExtractor(ParamValueExtractor valueExtractor) {
+        this.valueExtractor = valueExtractor;
+        return this;
+    }
+
     public boolean isClusterMode() {
         return clusterMode;
     }
@@ -202,6 +247,7 @@ public class ParamFlowRule extends AbstractRule {
         if (maxQueueingTimeMs != that.maxQueueingTimeMs) { return false; }
         if (burstCount != that.burstCount) { return false; }
         if (durationInSec != that.durationInSec) { return false; }
+        if (sketchTopK != that.sketchTopK) { return false; }
         if (clusterMode != that.clusterMode) { return false; }
         if (!Objects.equals(paramIdx, that.paramIdx)) { return false; }
         if (!Objects.equals(paramFlowItemList, that.paramFlowItemList)) { return false; }
@@ -220,6 +266,7 @@ public class ParamFlowRule extends AbstractRule {
         result = 31 * result + maxQueueingTimeMs;
         result = 31 * result + burstCount;
         result = 31 * result + (int)(durationInSec ^ (durationInSec >>> 32));
+        result = 31 * result + sketchTopK;
         result = 31 * result + (paramFlowItemList != null ? paramFlowItemList.hashCode() : 0);
         result = 31 * result + (clusterMode ? 1 : 0);
         result = 31 * result + (clusterConfig != null ? clusterConfig.hashCode() : 0);
@@ -236,6 +283,7 @@ public class ParamFlowRule extends AbstractRule {
             ", maxQueueingTimeMs=" + maxQueueingTimeMs +
             ", burstCount=" + burstCount +
             ", durationInSec=" + durationInSec +
+            ", sketchTopK=" + sketchTopK +
             ", paramFlowItemList=" + paramFlowItemList +
             ", clusterMode=" + clusterMode +
             ", clusterConfig=" + clusterConfig +
@@ -18,12 +18,15 @@ package com.alibaba.csp.sentinel.slots.block.flow.param;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
 import com.alibaba.csp.sentinel.property.PropertyListener;
 import com.alibaba.csp.sentinel.property.SentinelProperty;
+import com.alibaba.csp.sentinel.slotchain.RuleAwareProcessorSlotChain;
+import com.alibaba.csp.sentinel.slots.block.RuleSnapshot;
+import com.alibaba.csp.sentinel.slots.block.RuleUpdateMetricStorage;
+import com.alibaba.csp.sentinel.slots.block.RuleUpdateUtil;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 
 /**
@@ -35,7 +38,12 @@ import com.alibaba.csp.sentinel.util.AssertUtil;
  */
 public final class ParamFlowRuleManager {
 
-    private static final Map<String, List<ParamFlowRule>> PARAM_FLOW_RULES = new ConcurrentHashMap<>();
+    /**
+     * Rule type of the parameter flow rules in {@link RuleUpdateMetricStorage}.
+     */
+    public static final String RULE_TYPE = "paramFlow";
+
+    private static volatile RuleSnapshot<List<ParamFlowRule>> paramFlowRules = RuleSnapshot.empty();
 
     private final static RulePropertyListener PROPERTY_LISTENER = new RulePropertyListener();
     private static SentinelProperty<List<ParamFlowRule>> currentProperty = new DynamicSentinelProperty<>();
@@ -75,11 +83,11 @@ public final class ParamFlowRuleManager {
     }
 
     public static List<ParamFlowRule> getRulesOfResource(String resourceName) {
-        return new ArrayList<>(PARAM_FLOW_RULES.get(resourceName));
+        return new ArrayList<>(paramFlowRules.get(resourceName));
     }
 
     public static boolean hasRules(String resourceName) {
-        List<ParamFlowRule> rules = PARAM_FLOW_RULES.get(resourceName);
+        List<ParamFlowRule> rules = paramFlowRules.get(resourceName);
         return rules != null && !rules.isEmpty();
     }
 
@@ -90,32 +98,48 @@ public final class ParamFlowRuleManager {
      */
     public static List<ParamFlowRule> getRules() {
         List<ParamFlowRule> rules = new ArrayList<>();
-        for (Map.Entry<String, List<ParamFlowRule>> entry : PARAM_FLOW_RULES.entrySet()) {
+        for (Map.Entry<String, List<ParamFlowRule>> entry : paramFlowRules.getRuleMap().entrySet()) {
             rules.addAll(entry.getValue());
         }
         return rules;
     }
 
+    static RuleSnapshot<List<ParamFlowRule>> getRuleSnapshot() {
+        return paramFlowRules;
+    }
+
     static class RulePropertyListener implements PropertyListener<List<ParamFlowRule>> {
 
         @Override
         public void configUpdate(List<ParamFlowRule> list) {
-            Map<String, List<ParamFlowRule>> rules = aggregateAndPrepareParamRules(list);
-            if (rules != null) {
-                PARAM_FLOW_RULES.clear();
-                PARAM_FLOW_RULES.putAll(rules);
-            }
-            RecordLog.info("[ParamFlowRuleManager] Parameter flow rules received: {}", PARAM_FLOW_RULES);
+            Map<String, List<ParamFlowRule>> rules = reloadFrom(list);
+            RecordLog.info("[ParamFlowRuleManager] Parameter flow rules received: {}", rules);
         }
 
         @Override
         public void configLoad(List<ParamFlowRule> list) {
+            Map<String, List<ParamFlowRule>> rules = reloadFrom(list);
+            RecordLog.info("[ParamFlowRuleManager] Parameter flow rules received: {}", rules);
+        }
+
+        private synchronized Map<String, List<ParamFlowRule>> reloadFrom(List<ParamFlowRule> list) {
+            long start = System.nanoTime();
             Map<String, List<ParamFlowRule>> rules = aggregateAndPrepareParamRules(list);
-            if (rules != null) {
-                PARAM_FLOW_RULES.clear();
-                PARAM_FLOW_RULES.putAll(rules);
+            if (rules == null) {
+                return null;
+            }
+            // Keep the rule lists of unchanged resources, whose parameter metrics are kept as well.
+            int changed = RuleUpdateUtil.retainUnchanged(paramFlowRules.getRuleMap(), rules);
+            if (changed > 0) {
+                paramFlowRules = RuleSnapshot.of(rules);
+                RuleAwareProcessorSlotChain.onRulesUpdated();
+            }
+            int ruleCount = 0;
+            for (List<ParamFlowRule> ruleList : rules.values()) {
+                ruleCount += ruleList.size();
             }
-            RecordLog.info("[ParamFlowRuleManager] Parameter flow rules received: {}", PARAM_FLOW_RULES);
+            RuleUpdateMetricStorage.record(RULE_TYPE, start, rules.size(), ruleCount, changed);
+            return rules;
         }
 
         private Map<String, List<ParamFlowRule>> aggregateAndPrepareParamRules(List<ParamFlowRule> list) {
@@ -128,20 +152,16 @@ public final class ParamFlowRuleManager {
             }
 
             // Clear unused parameter metrics.
-            for (Map.Entry<String, List<ParamFlowRule>> entry : PARAM_FLOW_RULES.entrySet()) {
+            for (Map.Entry<String, List<ParamFlowRule>> entry : paramFlowRules.getRuleMap().entrySet()) {
                 String resource = entry.getKey();
                 if (!newRuleMap.containsKey(resource)) {
                     ParameterMetricStorage.clearParamMetricForResource(resource);
                     continue;
                 }
-                List<ParamFlowRule> newRuleList = newRuleMap.get(resource);
-                List<ParamFlowRule> oldRuleList = new ArrayList<>(entry.getValue());
-                oldRuleList.removeAll(newRuleList);
-                for (ParamFlowRule rule : oldRuleList) {
-                    ParameterMetric parameterMetric = ParameterMetricStorage.getParamMetricForResource(resource);
-                    if (parameterMetric != null) {
-                        parameterMetric.clearForRule(rule);
-                    }
+                ParameterMetric parameterMetric = ParameterMetricStorage.getParamMetricForResource(resource);
+                if (parameterMetric != null) {
+                    // Counters of the removed rules are dropped in one replacement of the metric snapshot.
+                    parameterMetric.retainRules(newRuleMap.get(resource));
                 }
             }
 
@@ -48,7 +48,16 @@ public final class ParamFlowRuleUtil {
             && rule.getGrade() >= 0 && rule.getParamIdx() != null
             && rule.getBurstCount() >= 0 && rule.getControlBehavior() >= 0
             && rule.getDurationInSec() > 0 && rule.getMaxQueueingTimeMs() >= 0
-            && checkCluster(rule);
+            && checkCluster(rule) && checkSketchMode(rule);
+    }
+
+    private static boolean checkSketchMode(/*@PreChecked*/ ParamFlowRule rule) {
+        if (rule.getSketchTopK() < 0) {
+            return false;
+        }
+        // Sketch mode is only available for QPS grade with default control behavior.
+        return !rule.isSketchMode() || (rule.getGrade() == RuleConstant.FLOW_GRADE_QPS
+            && rule.getControlBehavior() == RuleConstant.CONTROL_BEHAVIOR_DEFAULT);
     }
 
     private static boolean checkCluster(/*@PreChecked*/ ParamFlowRule rule) {
@@ -70,7 +79,7 @@ public final class ParamFlowRuleUtil {
     }
 
     /**
-     * Fill the parameter rule with parsed items.
+     * Fill the parameter rule with parsed items and the compiled parameter value extractor.
      *
      * @param rule valid parameter rule
      */
@@ -82,6 +91,9 @@ public final class ParamFlowRuleUtil {
 
             Map<Object, Integer> itemMap = parseHotItems(rule.getParamFlowItemList());
             rule.setParsedHotItems(itemMap);
+            if (rule.getParamIdx() != null) {
+                rule.setValueExtractor(ParamValueExtractor.of(rule));
+            }
         }
     }
 
@@ -19,7 +19,9 @@ import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleCheckerSlot;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleSnapshotCache;
 import com.alibaba.csp.sentinel.spi.Spi;
 
 import java.util.List;
@@ -31,8 +33,10 @@ import java.util.List;
  * @author Eric Zhao
  * @since 0.2.0
  */
-@Spi(order = -3000)
-public class ParamFlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+@Spi(isSingleton = false, order = -3000)
+public class ParamFlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> implements RuleCheckerSlot {
+
+    private final RuleSnapshotCache<List<ParamFlowRule>> ruleCache = new RuleSnapshotCache<>();
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode node, int count,
@@ -51,6 +55,11 @@ public class ParamFlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
         fireExit(context, resourceWrapper, count, args);
     }
 
+    @Override
+    public boolean hasRules(ResourceWrapper resourceWrapper) {
+        return ParamFlowRuleManager.hasRules(resourceWrapper.getName());
+    }
+
     void applyRealParamIdx(/*@NonNull*/ ParamFlowRule rule, int length) {
         int paramIdx = rule.getParamIdx();
         if (paramIdx < 0) {
@@ -67,10 +76,10 @@ public class ParamFlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
         if (args == null) {
             return;
         }
-        if (!ParamFlowRuleManager.hasRules(resourceWrapper.getName())) {
+        List<ParamFlowRule> rules = ruleCache.get(ParamFlowRuleManager.getRuleSnapshot(), resourceWrapper);
+        if (rules == null || rules.isEmpty()) {
             return;
         }
-        List<ParamFlowRule> rules = ParamFlowRuleManager.getRulesOfResource(resourceWrapper.getName());
 
         for (ParamFlowRule rule : rules) {
             applyRealParamIdx(rule, args.length);
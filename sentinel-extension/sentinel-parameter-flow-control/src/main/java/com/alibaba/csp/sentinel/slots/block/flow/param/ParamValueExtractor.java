@@ -0,0 +1,241 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.param;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * <p>Compiled extractor of the parameter value of a rule, which is built once when the rule is loaded.</p>
+ * <p>
+ * The extractor resolves the parameter index (negative index counts from the end of the arguments), and
+ * remembers the kind of the last checked value class (a single value, a collection, an object array or
+ * a primitive array), so that the values of the collection or array parameters are read by typed access
+ * rather than checking the class hierarchy and calling {@link java.lang.reflect.Array} by reflection
+ * on every call.
+ * </p>
+ *
+ * @since 1.8.1
+ */
+final class ParamValueExtractor {
+
+    static final int KIND_SINGLE = 0;
+    static final int KIND_COLLECTION = 1;
+    static final int KIND_RANDOM_ACCESS_LIST = 2;
+    static final int KIND_OBJECT_ARRAY = 3;
+    static final int KIND_INT_ARRAY = 4;
+    static final int KIND_LONG_ARRAY = 5;
+    static final int KIND_SHORT_ARRAY = 6;
+    static final int KIND_BYTE_ARRAY = 7;
+    static final int KIND_CHAR_ARRAY = 8;
+    static final int KIND_BOOLEAN_ARRAY = 9;
+    static final int KIND_DOUBLE_ARRAY = 10;
+    static final int KIND_FLOAT_ARRAY = 11;
+
+    private final int paramIdx;
+
+    /**
+     * Kind of the last checked value class. Most call sites pass the same type of arguments,
+     * so the class check is a single reference comparison.
+     */
+    private volatile KindProfile profile = new KindProfile(Void.class, KIND_SINGLE);
+
+    ParamValueExtractor(int paramIdx) {
+        this.paramIdx = paramIdx;
+    }
+
+    static ParamValueExtractor of(/*@Valid*/ ParamFlowRule rule) {
+        return new ParamValueExtractor(rule.getParamIdx());
+    }
+
+    int getParamIdx() {
+        return paramIdx;
+    }
+
+    /**
+     * Get the parameter value from the arguments, where {@link ParamFlowArgument} is resolved to its key.
+     *
+     * @param args arguments of the invocation
+     * @return the parameter value, or null if absent
+     */
+    Object extract(Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        int idx = paramIdx < 0 ? args.length + paramIdx : paramIdx;
+        if (idx < 0 || idx >= args.length) {
+            return null;
+        }
+        Object value = args[idx];
+        if (value instanceof ParamFlowArgument) {
+            return ((ParamFlowArgument)value).paramFlowKey();
+        }
+        return value;
+    }
+
+    /**
+     * @param value non-null parameter value
+     * @return kind of the value
+     */
+    int kindOf(Object value) {
+        Class<?> type = value.getClass();
+        KindProfile p = profile;
+        if (p.type == type) {
+            return p.kind;
+        }
+        int kind = resolveKind(type);
+        this.profile = new KindProfile(type, kind);
+        return kind;
+    }
+
+    /**
+     * @return count of the values of a collection (other than {@link #KIND_COLLECTION}) or array parameter
+     */
+    static int length(Object value, int kind) {
+        switch (kind) {
+            case KIND_RANDOM_ACCESS_LIST:
+                return ((List<?>)value).size();
+            case KIND_OBJECT_ARRAY:
+                return ((Object[])value).length;
+            case KIND_INT_ARRAY:
+                return ((int[])value).length;
+            case KIND_LONG_ARRAY:
+                return ((long[])value).length;
+            case KIND_SHORT_ARRAY:
+                return ((short[])value).length;
+            case KIND_BYTE_ARRAY:
+                return ((byte[])value).length;
+            case KIND_CHAR_ARRAY:
+                return ((char[])value).length;
+            case KIND_BOOLEAN_ARRAY:
+                return ((boolean[])value).length;
+            case KIND_DOUBLE_ARRAY:
+                return ((double[])value).length;
+            case KIND_FLOAT_ARRAY:
+                return ((float[])value).length;
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * @return the value at the index of a collection (other than {@link #KIND_COLLECTION}) or array parameter,
+     * where primitive values are boxed in the same way as {@link java.lang.reflect.Array#get(Object, int)}
+     */
+    static Object elementAt(Object value, int kind, int i) {
+        switch (kind) {
+            case KIND_RANDOM_ACCESS_LIST:
+                return ((List<?>)value).get(i);
+            case KIND_OBJECT_ARRAY:
+                return ((Object[])value)[i];
+            case KIND_INT_ARRAY:
+                return ((int[])value)[i];
+            case KIND_LONG_ARRAY:
+                return ((long[])value)[i];
+            case KIND_SHORT_ARRAY:
+                return ((short[])value)[i];
+            case KIND_BYTE_ARRAY:
+                return ((byte[])value)[i];
+            case KIND_CHAR_ARRAY:
+                return ((char[])value)[i];
+            case KIND_BOOLEAN_ARRAY:
+                return ((boolean[])value)[i];
+            case KIND_DOUBLE_ARRAY:
+                return ((double[])value)[i];
+            case KIND_FLOAT_ARRAY:
+                return ((float[])value)[i];
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * @return the values of a collection or array parameter
+     */
+    static Object[] toArray(Object value, int kind) {
+        if (kind == KIND_COLLECTION) {
+            return ((Collection<?>)value).toArray();
+        }
+        int length = length(value, kind);
+        Object[] values = new Object[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = elementAt(value, kind, i);
+        }
+        return values;
+    }
+
+    /**
+     * Convert the parameter value to a collection of values, e.g. for requesting cluster tokens.
+     */
+    @SuppressWarnings("unchecked")
+    Collection<Object> toCollection(Object value) {
+        int kind = kindOf(value);
+        if (kind == KIND_COLLECTION || kind == KIND_RANDOM_ACCESS_LIST) {
+            return (Collection<Object>)value;
+        } else if (kind == KIND_SINGLE) {
+            return Collections.singletonList(value);
+        }
+        int length = length(value, kind);
+        List<Object> params = new ArrayList<Object>(length);
+        for (int i = 0; i < length; i++) {
+            params.add(elementAt(value, kind, i));
+        }
+        return params;
+    }
+
+    static int resolveKind(Class<?> type) {
+        if (Collection.class.isAssignableFrom(type)) {
+            return List.class.isAssignableFrom(type) && RandomAccess.class.isAssignableFrom(type)
+                ? KIND_RANDOM_ACCESS_LIST : KIND_COLLECTION;
+        }
+        if (!type.isArray()) {
+            return KIND_SINGLE;
+        }
+        Class<?> componentType = type.getComponentType();
+        if (!componentType.isPrimitive()) {
+            return KIND_OBJECT_ARRAY;
+        } else if (componentType == int.class) {
+            return KIND_INT_ARRAY;
+        } else if (componentType == long.class) {
+            return KIND_LONG_ARRAY;
+        } else if (componentType == short.class) {
+            return KIND_SHORT_ARRAY;
+        } else if (componentType == byte.class) {
+            return KIND_BYTE_ARRAY;
+        } else if (componentType == char.class) {
+            return KIND_CHAR_ARRAY;
+        } else if (componentType == boolean.class) {
+            return KIND_BOOLEAN_ARRAY;
+        } else if (componentType == double.class) {
+            return KIND_DOUBLE_ARRAY;
+        }
+        return KIND_FLOAT_ARRAY;
+    }
+
+    private static final class KindProfile {
+
+        private final Class<?> type;
+        private final int kind;
+
+        KindProfile(Class<?> type, int kind) {
+            this.type = type;
+            this.kind = kind;
+        }
+    }
+}
@@ -16,18 +16,27 @@
 package com.alibaba.csp.sentinel.slots.block.flow.param;
 
 import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.statistic.cache.CacheMap;
 import com.alibaba.csp.sentinel.slots.statistic.cache.ConcurrentLinkedHashMapWrapper;
 
 /**
- * Metrics for frequent ("hot spot") parameters.
+ * <p>Metrics for frequent ("hot spot") parameters.</p>
+ * <p>
+ * Since 1.8.1, the counters are kept in an immutable snapshot, where the counters of the rules are indexed by
+ * the position of the rule and the thread counters are indexed by the parameter index. The snapshot is replaced
+ * atomically when rules are initialized or removed, so the checkers and the statistic callbacks only read
+ * arrays without any lock, and rules are looked up by reference before {@code equals}.
+ * </p>
  *
  * @author Eric Zhao
  * @since 0.2.0
@@ -40,19 +49,7 @@ public class ParameterMetric {
 
     private final Object lock = new Object();
 
-    /**
-     * Format: (rule, (value, timeRecorder))
-     *
-     * @since 1.6.0
-     */
-    private final Map<ParamFlowRule, CacheMap<Object, AtomicLong>> ruleTimeCounters = new HashMap<>();
-    /**
-     * Format: (rule, (value, tokenCounter))
-     *
-     * @since 1.6.0
-     */
-    private final Map<ParamFlowRule, CacheMap<Object, AtomicLong>> ruleTokenCounter = new HashMap<>();
-    private final Map<Integer, CacheMap<Object, AtomicInteger>> threadCountMap = new HashMap<>();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
 
     /**
      * Get the token counter for given parameter rule.
@@ -62,7 +59,8 @@ public class ParameterMetric {
      * @since 1.6.0
      */
     public CacheMap<Object, AtomicLong> getRuleTokenCounter(ParamFlowRule rule) {
-        return ruleTokenCounter.get(rule);
+        RuleCounters counters = getRuleCounters(rule);
+        return counters == null ? null : counters.tokenCounter;
     }
 
     /**
@@ -73,52 +71,154 @@ public class ParameterMetric {
      * @since 1.6.0
      */
     public CacheMap<Object, AtomicLong> getRuleTimeCounter(ParamFlowRule rule) {
-        return ruleTimeCounters.get(rule);
+        RuleCounters counters = getRuleCounters(rule);
+        return counters == null ? null : counters.timeCounter;
+    }
+
+    /**
+     * Get the heavy-hitter counter for given parameter rule in sketch mode.
+     *
+     * @param rule valid parameter rule
+     * @return the associated heavy-hitter counter
+     * @since 1.8.1
+     */
+    public HeavyHitterParamCounter getRuleSketchCounter(ParamFlowRule rule) {
+        RuleCounters counters = getRuleCounters(rule);
+        return counters == null ? null : counters.sketchCounter;
+    }
+
+    /**
+     * Get the packed token counter for given parameter rule.
+     *
+     * @param rule valid parameter rule
+     * @return the associated packed token counter, or null if the rule uses the token and time counters
+     * @since 1.8.1
+     */
+    public PackedParamTokenCounter getRulePackedCounter(ParamFlowRule rule) {
+        RuleCounters counters = getRuleCounters(rule);
+        return counters == null ? null : counters.packedCounter;
+    }
+
+    private RuleCounters getRuleCounters(ParamFlowRule rule) {
+        Snapshot snapshot = this.snapshot;
+        int position = snapshot.indexOf(rule);
+        return position < 0 ? null : snapshot.counters[position];
     }
 
     public void clear() {
         synchronized (lock) {
-            threadCountMap.clear();
-            ruleTimeCounters.clear();
-            ruleTokenCounter.clear();
+            this.snapshot = Snapshot.EMPTY;
         }
     }
 
     public void clearForRule(ParamFlowRule rule) {
         synchronized (lock) {
-            ruleTimeCounters.remove(rule);
-            ruleTokenCounter.remove(rule);
-            threadCountMap.remove(rule.getParamIdx());
+            Snapshot snapshot = this.snapshot;
+            int position = snapshot.indexOf(rule);
+            if (position < 0) {
+                return;
+            }
+            ParamFlowRule[] retained = snapshot.rules.clone();
+            retained[position] = null;
+            this.snapshot = snapshot.retain(retained);
         }
     }
 
-    public void initialize(ParamFlowRule rule) {
-        if (!ruleTimeCounters.containsKey(rule)) {
-            synchronized (lock) {
-                if (ruleTimeCounters.get(rule) == null) {
-                    long size = Math.min(BASE_PARAM_MAX_CAPACITY * rule.getDurationInSec(), TOTAL_MAX_CAPACITY);
-                    ruleTimeCounters.put(rule, new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(size));
-                }
+    /**
+     * Remove the counters of the rules which are absent in given rules, and the thread counters of
+     * the parameter indexes which are no longer used. The retained counters are bound to the equal
+     * rule instances in given rules, so that the rules passed on entry are found by reference.
+     * The snapshot is replaced once.
+     *
+     * @param rules current rules of the resource
+     * @since 1.8.1
+     */
+    public void retainRules(Collection<ParamFlowRule> rules) {
+        synchronized (lock) {
+            Snapshot snapshot = this.snapshot;
+            ParamFlowRule[] retained = new ParamFlowRule[snapshot.rules.length];
+            boolean changed = false;
+            for (int i = 0; i < retained.length; i++) {
+                retained[i] = findEqual(rules, snapshot.rules[i]);
+                changed |= retained[i] != snapshot.rules[i];
+            }
+            if (changed) {
+                this.snapshot = snapshot.retain(retained);
             }
         }
+    }
 
-        if (!ruleTokenCounter.containsKey(rule)) {
-            synchronized (lock) {
-                if (ruleTokenCounter.get(rule) == null) {
-                    long size = Math.min(BASE_PARAM_MAX_CAPACITY * rule.getDurationInSec(), TOTAL_MAX_CAPACITY);
-                    ruleTokenCounter.put(rule, new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(size));
-                }
+    private static ParamFlowRule findEqual(Collection<ParamFlowRule> rules, ParamFlowRule rule) {
+        if (rules == null) {
+            return null;
+        }
+        for (ParamFlowRule r : rules) {
+            if (r == rule) {
+                return r;
+            }
+        }
+        for (ParamFlowRule r : rules) {
+            if (rule.equals(r)) {
+                return r;
+            }
+        }
+        return null;
+    }
+
+    public void initialize(ParamFlowRule rule) {
+        Snapshot snapshot = this.snapshot;
+        if (snapshot.indexOf(rule) >= 0 && snapshot.hasThreadCounter(rule.getParamIdx())) {
+            return;
+        }
+        synchronized (lock) {
+            snapshot = this.snapshot;
+            ParamFlowRule[] rules = snapshot.rules;
+            RuleCounters[] counters = snapshot.counters;
+            if (snapshot.indexOf(rule) < 0) {
+                rules = Arrays.copyOf(rules, rules.length + 1);
+                rules[rules.length - 1] = rule;
+                counters = Arrays.copyOf(counters, counters.length + 1);
+                counters[counters.length - 1] = newRuleCounters(rule);
+            }
+            CacheMap<Object, AtomicInteger>[] threadCounts = snapshot.threadCounts;
+            Integer paramIdx = rule.getParamIdx();
+            if (paramIdx != null && paramIdx >= 0 && !snapshot.hasThreadCounter(paramIdx)) {
+                threadCounts = Arrays.copyOf(threadCounts, Math.max(threadCounts.length, paramIdx + 1));
+                threadCounts[paramIdx] = new ConcurrentLinkedHashMapWrapper<Object, AtomicInteger>(
+                    THREAD_COUNT_MAX_CAPACITY);
             }
+            this.snapshot = new Snapshot(rules, counters, threadCounts);
         }
+    }
 
-        if (!threadCountMap.containsKey(rule.getParamIdx())) {
-            synchronized (lock) {
-                if (threadCountMap.get(rule.getParamIdx()) == null) {
-                    threadCountMap.put(rule.getParamIdx(),
-                        new ConcurrentLinkedHashMapWrapper<Object, AtomicInteger>(THREAD_COUNT_MAX_CAPACITY));
-                }
+    private static RuleCounters newRuleCounters(ParamFlowRule rule) {
+        if (rule.isSketchMode()) {
+            return new RuleCounters(null, null,
+                new HeavyHitterParamCounter(rule.getSketchTopK(), rule.getDurationInSec() * 1000), null);
+        }
+        long size = Math.min(BASE_PARAM_MAX_CAPACITY * rule.getDurationInSec(), TOTAL_MAX_CAPACITY);
+        if (SentinelConfig.paramFlowPackedCounter() && isPackable(rule)) {
+            return new RuleCounters(null, null, null, new PackedParamTokenCounter((int)size));
+        }
+        return new RuleCounters(new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(size),
+            new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(size), null, null);
+    }
+
+    /**
+     * @return true if the rule is checked by the default checker, and all thresholds fit in the packed counter
+     */
+    private static boolean isPackable(ParamFlowRule rule) {
+        if (rule.getGrade() != RuleConstant.FLOW_GRADE_QPS
+            || rule.getControlBehavior() == RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER) {
+            return false;
+        }
+        long maxThreshold = (long)rule.getCount();
+        if (rule.getParsedHotItems() != null) {
+            for (Integer itemThreshold : rule.getParsedHotItems().values()) {
+                maxThreshold = Math.max(maxThreshold, itemThreshold);
             }
         }
+        return maxThreshold + rule.getBurstCount() <= PackedParamTokenCounter.MAX_TOKEN_COUNT;
     }
 
     @SuppressWarnings("rawtypes")
@@ -128,8 +228,9 @@ public class ParameterMetric {
         }
 
         try {
-            for (int index = 0; index < args.length; index++) {
-                CacheMap<Object, AtomicInteger> threadCount = threadCountMap.get(index);
+            CacheMap<Object, AtomicInteger>[] threadCounts = snapshot.threadCounts;
+            for (int index = 0; index < args.length && index < threadCounts.length; index++) {
+                CacheMap<Object, AtomicInteger> threadCount = threadCounts[index];
                 if (threadCount == null) {
                     continue;
                 }
@@ -187,8 +288,9 @@ public class ParameterMetric {
         }
 
         try {
-            for (int index = 0; index < args.length; index++) {
-                CacheMap<Object, AtomicInteger> threadCount = threadCountMap.get(index);
+            CacheMap<Object, AtomicInteger>[] threadCounts = snapshot.threadCounts;
+            for (int index = 0; index < args.length && index < threadCounts.length; index++) {
+                CacheMap<Object, AtomicInteger> threadCount = threadCounts[index];
                 if (threadCount == null) {
                     continue;
                 }
@@ -237,9 +339,10 @@ public class ParameterMetric {
             RecordLog.warn("[ParameterMetric] Param exception", e);
         }
     }
-
     public long getThreadCount(int index, Object value) {
-        CacheMap<Object, AtomicInteger> cacheMap = threadCountMap.get(index);
+        CacheMap<Object, AtomicInteger>[] threadCounts = snapshot.threadCounts;
+        CacheMap<Object, AtomicInteger> cacheMap = index >= 0 && index < threadCounts.length ? threadCounts[index]
+            : null;
         if (cacheMap == null) {
             return 0;
         }
@@ -249,19 +352,165 @@ public class ParameterMetric {
     }
 
     /**
-     * Get the token counter map. Package-private for test.
+     * Get a copy of the token counter map. Package-private for test.
      *
      * @return the token counter map
      */
     Map<ParamFlowRule, CacheMap<Object, AtomicLong>> getRuleTokenCounterMap() {
-        return ruleTokenCounter;
+        Map<ParamFlowRule, CacheMap<Object, AtomicLong>> map = new HashMap<>();
+        Snapshot snapshot = this.snapshot;
+        for (int i = 0; i < snapshot.rules.length; i++) {
+            if (snapshot.counters[i].tokenCounter != null) {
+                map.put(snapshot.rules[i], snapshot.counters[i].tokenCounter);
+            }
+        }
+        return map;
     }
 
     Map<Integer, CacheMap<Object, AtomicInteger>> getThreadCountMap() {
-        return threadCountMap;
+        Map<Integer, CacheMap<Object, AtomicInteger>> map = new HashMap<>();
+        CacheMap<Object, AtomicInteger>[] threadCounts = snapshot.threadCounts;
+        for (int i = 0; i < threadCounts.length; i++) {
+            if (threadCounts[i] != null) {
+                map.put(i, threadCounts[i]);
+            }
+        }
+        return map;
     }
 
     Map<ParamFlowRule, CacheMap<Object, AtomicLong>> getRuleTimeCounterMap() {
-        return ruleTimeCounters;
+        Map<ParamFlowRule, CacheMap<Object, AtomicLong>> map = new HashMap<>();
+        Snapshot snapshot = this.snapshot;
+        for (int i = 0; i < snapshot.rules.length; i++) {
+            if (snapshot.counters[i].timeCounter != null) {
+                map.put(snapshot.rules[i], snapshot.counters[i].timeCounter);
+            }
+        }
+        return map;
+    }
+
+    Map<ParamFlowRule, HeavyHitterParamCounter> getRuleSketchCounterMap() {
+        Map<ParamFlowRule, HeavyHitterParamCounter> map = new HashMap<>();
+        Snapshot snapshot = this.snapshot;
+        for (int i = 0; i < snapshot.rules.length; i++) {
+            if (snapshot.counters[i].sketchCounter != null) {
+                map.put(snapshot.rules[i], snapshot.counters[i].sketchCounter);
+            }
+        }
+        return map;
+    }
+
+    Map<ParamFlowRule, PackedParamTokenCounter> getRulePackedCounterMap() {
+        Map<ParamFlowRule, PackedParamTokenCounter> map = new HashMap<>();
+        Snapshot snapshot = this.snapshot;
+        for (int i = 0; i < snapshot.rules.length; i++) {
+            if (snapshot.counters[i].packedCounter != null) {
+                map.put(snapshot.rules[i], snapshot.counters[i].packedCounter);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Counters of a rule, only one kind of the counters is present for a rule (the token counter
+     * and the time counter are present together).
+     */
+    private static final class RuleCounters {
+
+        private final CacheMap<Object, AtomicLong> tokenCounter;
+        private final CacheMap<Object, AtomicLong> timeCounter;
+        private final HeavyHitterParamCounter sketchCounter;
+        private final PackedParamTokenCounter packedCounter;
+
+        RuleCounters(CacheMap<Object, AtomicLong> tokenCounter, CacheMap<Object, AtomicLong> timeCounter,
+                     HeavyHitterParamCounter sketchCounter, PackedParamTokenCounter packedCounter) {
+            this.tokenCounter = tokenCounter;
+            this.timeCounter = timeCounter;
+            this.sketchCounter = sketchCounter;
+            this.packedCounter = packedCounter;
+        }
+    }
+
+    /**
+     * Immutable snapshot of the counters, which should never be modified after published.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new ParamFlowRule[0], new RuleCounters[0],
+            newThreadCounts(0));
+
+        /**
+         * Rules and their counters at the same position.
+         */
+        private final ParamFlowRule[] rules;
+        private final RuleCounters[] counters;
+        /**
+         * Thread counters indexed by the parameter index, may contain nulls.
+         */
+        private final CacheMap<Object, AtomicInteger>[] threadCounts;
+
+        Snapshot(ParamFlowRule[] rules, RuleCounters[] counters, CacheMap<Object, AtomicInteger>[] threadCounts) {
+            this.rules = rules;
+            this.counters = counters;
+            this.threadCounts = threadCounts;
+        }
+
+        /**
+         * @return position of the rule, or -1 if absent
+         */
+        int indexOf(ParamFlowRule rule) {
+            // The same rule instance is checked for each entry, which saves calculating its hash code.
+            for (int i = 0; i < rules.length; i++) {
+                if (rules[i] == rule) {
+                    return i;
+                }
+            }
+            for (int i = 0; i < rules.length; i++) {
+                if (rules[i].equals(rule)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        boolean hasThreadCounter(Integer paramIdx) {
+            return paramIdx == null || paramIdx < 0
+                || (paramIdx < threadCounts.length && threadCounts[paramIdx] != null);
+        }
+
+        /**
+         * @param retained the rule instance to keep the counters at each position, or null if not retained
+         * @return new snapshot with the retained rules and the thread counters used by them
+         */
+        Snapshot retain(ParamFlowRule[] retained) {
+            int size = 0;
+            for (ParamFlowRule r : retained) {
+                if (r != null) {
+                    size++;
+                }
+            }
+            ParamFlowRule[] newRules = new ParamFlowRule[size];
+            RuleCounters[] newCounters = new RuleCounters[size];
+            CacheMap<Object, AtomicInteger>[] newThreadCounts = newThreadCounts(threadCounts.length);
+            int j = 0;
+            for (int i = 0; i < rules.length; i++) {
+                if (retained[i] == null) {
+                    continue;
+                }
+                newRules[j] = retained[i];
+                newCounters[j] = counters[i];
+                j++;
+                Integer paramIdx = rules[i].getParamIdx();
+                if (paramIdx != null && paramIdx >= 0 && paramIdx < threadCounts.length) {
+                    newThreadCounts[paramIdx] = threadCounts[paramIdx];
+                }
+            }
+            return new Snapshot(newRules, newCounters, newThreadCounts);
+        }
+
+        @SuppressWarnings("unchecked")
+        static CacheMap<Object, AtomicInteger>[] newThreadCounts(int length) {
+            return (CacheMap<Object, AtomicInteger>[])new CacheMap[length];
+        }
     }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.param;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class HeavyHitterParamCounterTest extends AbstractTimeBasedTest {
+
+    @Test
+    public void testLimitHotValueExactly() {
+        HeavyHitterParamCounter counter = new HeavyHitterParamCounter(4, 1000);
+        long now = 100000;
+        int passed = 0;
+        for (int i = 0; i < 50; i++) {
+            if (counter.tryAcquire("hot", 1, 10, 10, now)) {
+                passed++;
+            }
+        }
+        assertEquals(10, passed);
+        assertTrue(counter.isCountedExactly("hot"));
+
+        // Tokens are replenished in the next duration.
+        passed = 0;
+        for (int i = 0; i < 50; i++) {
+            if (counter.tryAcquire("hot", 1, 10, 10, now + 1001)) {
+                passed++;
+            }
+        }
+        assertEquals(10, passed);
+    }
+
+    @Test
+    public void testColdValuesNotBlocked() {
+        // A small sketch to make collisions frequent.
+        HeavyHitterParamCounter counter = new HeavyHitterParamCounter(8, 1000, 4, 256);
+        long now = 100000;
+        for (int i = 0; i < 100000; i++) {
+            assertTrue(counter.tryAcquire("user-" + i, 1, 5, 5, now + i / 100));
+        }
+        assertTrue(counter.getExactCount() <= 8);
+    }
+
+    @Test
+    public void testEstimateNeverLessThanRealCount() {
+        HeavyHitterParamCounter counter = new HeavyHitterParamCounter(4, 1000, 2, 64);
+        long now = 100000;
+        for (int i = 0; i < 1000; i++) {
+            counter.tryAcquire(i % 200, 1, 1000, 1000, now);
+        }
+        for (int i = 0; i < 200; i++) {
+            assertTrue(counter.estimate(i, now) >= 5);
+        }
+    }
+
+    @Test
+    public void testReplaceColdestExactValue() {
+        HeavyHitterParamCounter counter = new HeavyHitterParamCounter(2, 1000);
+        long now = 100000;
+        for (int i = 0; i < 3; i++) {
+            counter.tryAcquire("a", 1, 2, 2, now);
+            counter.tryAcquire("b", 1, 2, 2, now);
+        }
+        assertTrue(counter.isCountedExactly("a"));
+        assertTrue(counter.isCountedExactly("b"));
+
+        // "a" and "b" turn cold, while "c" turns hot.
+        now += 2500;
+        counter.tryAcquire("a", 1, 2, 2, now);
+        int passed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (counter.tryAcquire("c", 1, 2, 2, now)) {
+                passed++;
+            }
+        }
+        assertEquals(2, passed);
+        assertTrue(counter.isCountedExactly("c"));
+        assertFalse(counter.isCountedExactly("b"));
+    }
+
+    @Test
+    public void testLimitByEstimateWhenExactTableIsFull() {
+        HeavyHitterParamCounter counter = new HeavyHitterParamCounter(1, 1000);
+        long now = 100000;
+        for (int i = 0; i < 10; i++) {
+            counter.tryAcquire("a", 1, 4, 4, now);
+        }
+        assertTrue(counter.isCountedExactly("a"));
+        // "b" is not hotter than "a", so it's limited by the estimated count.
+        int passed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (counter.tryAcquire("b", 1, 4, 4, now)) {
+                passed++;
+            }
+        }
+        assertEquals(4, passed);
+        assertFalse(counter.isCountedExactly("b"));
+    }
+
+    @Test
+    public void testSketchModeCheck() {
+        String resourceName = "testSketchModeCheck";
+        ResourceWrapper resourceWrapper = new StringResourceWrapper(resourceName, EntryType.IN);
+        ParamFlowRule rule = new ParamFlowRule(resourceName)
+            .setCount(3)
+            .setParamIdx(0)
+            .setSketchTopK(16);
+        assertTrue(ParamFlowRuleUtil.isValidRule(rule));
+        assertFalse(ParamFlowRuleUtil.isValidRule(new ParamFlowRule(resourceName).setCount(3).setParamIdx(0)
+            .setSketchTopK(16).setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER)));
+
+        ParameterMetricStorage.initParamMetricsFor(resourceWrapper, rule);
+        ParameterMetric metric = ParameterMetricStorage.getParamMetric(resourceWrapper);
+        assertNotNull(metric.getRuleSketchCounter(rule));
+        assertNull(metric.getRuleTokenCounter(rule));
+        assertNull(metric.getRuleTimeCounter(rule));
+
+        setCurrentMillis(100000);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 1, "hot"));
+        }
+        assertFalse(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 1, "hot"));
+        assertTrue(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 1, "cold"));
+        sleep(1100);
+        assertTrue(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 1, "hot"));
+    }
+
+    @After
+    public void tearDown() {
+        ParameterMetricStorage.getMetricsMap().clear();
+    }
+}
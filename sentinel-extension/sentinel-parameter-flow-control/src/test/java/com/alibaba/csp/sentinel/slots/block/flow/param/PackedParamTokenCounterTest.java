@@ -0,0 +1,173 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.param;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PackedParamTokenCounterTest extends AbstractTimeBasedTest {
+
+    @After
+    public void tearDown() {
+        SentinelConfig.removeConfig(SentinelConfig.PARAM_FLOW_PACKED_COUNTER);
+        ParameterMetricStorage.getMetricsMap().clear();
+    }
+
+    @Test
+    public void testPackState() {
+        long time = System.currentTimeMillis();
+        long state = PackedParamTokenCounter.pack(PackedParamTokenCounter.MAX_TOKEN_COUNT, time);
+        assertEquals(PackedParamTokenCounter.MAX_TOKEN_COUNT, PackedParamTokenCounter.tokensOf(state));
+        assertEquals(time, PackedParamTokenCounter.timeOf(state));
+    }
+
+    @Test
+    public void testLimitAndRefill() {
+        PackedParamTokenCounter counter = new PackedParamTokenCounter(16);
+        long now = 100000;
+        assertEquals(3, acquire(counter, 10L, 3, now));
+        assertEquals(3, acquire(counter, "a", 3, now));
+        assertEquals(0, counter.getRestTokens(10L));
+        assertEquals(-1, counter.getRestTokens(11L));
+
+        // Tokens are not replenished until the duration has passed.
+        assertEquals(0, acquire(counter, 10L, 3, now + 1000));
+        assertEquals(3, acquire(counter, 10L, 3, now + 1001));
+        assertEquals(3, acquire(counter, "a", 3, now + 2000));
+    }
+
+    @Test
+    public void testBurstCount() {
+        PackedParamTokenCounter counter = new PackedParamTokenCounter(16);
+        long now = 100000;
+        int passed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (counter.tryAcquire(1L, 1, 3, 5, 1000, now)) {
+                passed++;
+            }
+        }
+        assertEquals(5, passed);
+        assertFalse(counter.tryAcquire(2L, 6, 3, 5, 1000, now));
+    }
+
+    @Test
+    public void testDistinguishValueTypes() {
+        PackedParamTokenCounter counter = new PackedParamTokenCounter(16);
+        long now = 100000;
+        assertEquals(3, acquire(counter, 1L, 3, now));
+        assertEquals(3, acquire(counter, 1, 3, now));
+        assertEquals(3, acquire(counter, (short)1, 3, now));
+        assertEquals(3, acquire(counter, "1", 3, now));
+        // The primitive long shares the counter with the boxed one.
+        assertFalse(counter.tryAcquire(1L, 1, 3, 3, 1000, now));
+        assertEquals(4, counter.size());
+    }
+
+    @Test
+    public void testEvictLeastRecentlyRefilledValue() {
+        PackedParamTokenCounter counter = new PackedParamTokenCounter(8);
+        long now = 100000;
+        for (int i = 0; i < 100; i++) {
+            assertTrue(counter.tryAcquire(i, 1, 1, 1, 1000, now + i));
+        }
+        assertEquals(8, counter.size());
+        // The latest value is still limited.
+        assertFalse(counter.tryAcquire(99, 1, 1, 1, 1000, now + 100));
+    }
+
+    @Test
+    public void testConcurrentAcquire() throws Exception {
+        final PackedParamTokenCounter counter = new PackedParamTokenCounter(64);
+        final long now = 100000;
+        final int threadCount = 8;
+        final AtomicInteger passed = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 1000; j++) {
+                        if (counter.tryAcquire("hot", 1, 100, 100, 1000, now)) {
+                            passed.incrementAndGet();
+                        }
+                    }
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+        assertEquals(100, passed.get());
+        assertEquals(1, counter.size());
+    }
+
+    @Test
+    public void testPackedCounterCheck() {
+        SentinelConfig.setConfig(SentinelConfig.PARAM_FLOW_PACKED_COUNTER, "true");
+        String resourceName = "testPackedCounterCheck";
+        ResourceWrapper resourceWrapper = new StringResourceWrapper(resourceName, EntryType.IN);
+        ParamFlowRule rule = new ParamFlowRule(resourceName)
+            .setCount(3)
+            .setParamIdx(0);
+        ParamFlowRule throttleRule = new ParamFlowRule(resourceName)
+            .setCount(3)
+            .setParamIdx(1)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER);
+        ParameterMetricStorage.initParamMetricsFor(resourceWrapper, rule);
+        ParameterMetricStorage.initParamMetricsFor(resourceWrapper, throttleRule);
+
+        ParameterMetric metric = ParameterMetricStorage.getParamMetric(resourceWrapper);
+        assertNotNull(metric.getRulePackedCounter(rule));
+        assertNull(metric.getRuleTokenCounter(rule));
+        assertNull(metric.getRuleTimeCounter(rule));
+        assertNull(metric.getRulePackedCounter(throttleRule));
+        assertNotNull(metric.getRuleTimeCounter(throttleRule));
+
+        setCurrentMillis(100000);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 1, 42L));
+        }
+        assertFalse(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 1, 42L));
+        assertTrue(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 1, 43L));
+        sleep(1100);
+        assertTrue(ParamFlowChecker.passSingleValueCheck(resourceWrapper, rule, 1, 42L));
+    }
+
+    private static int acquire(PackedParamTokenCounter counter, Object value, long threshold, long currentTime) {
+        int passed = 0;
+        for (int i = 0; i < 5; i++) {
+            if (counter.tryAcquire(value, 1, threshold, threshold, 1000, currentTime)) {
+                passed++;
+            }
+        }
+        return passed;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.param;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParamFlowBatchCheckerTest extends AbstractTimeBasedTest {
+
+    @Before
+    public void setUp() {
+        setCurrentMillis(100000);
+    }
+
+    @After
+    public void tearDown() {
+        SentinelConfig.removeConfig(SentinelConfig.PARAM_FLOW_PACKED_COUNTER);
+        ParameterMetricStorage.getMetricsMap().clear();
+    }
+
+    @Test
+    public void testRollbackWhenAnyValueBlocked() {
+        ParamFlowRule rule = new ParamFlowRule("testRollbackWhenAnyValueBlocked")
+            .setParamIdx(0)
+            .setCount(1);
+        assertRollback(rule);
+    }
+
+    @Test
+    public void testRollbackWithPackedCounter() {
+        SentinelConfig.setConfig(SentinelConfig.PARAM_FLOW_PACKED_COUNTER, "true");
+        ParamFlowRule rule = new ParamFlowRule("testRollbackWithPackedCounter")
+            .setParamIdx(0)
+            .setCount(1);
+        assertRollback(rule);
+    }
+
+    @Test
+    public void testRollbackInSketchMode() {
+        ParamFlowRule rule = new ParamFlowRule("testRollbackInSketchMode")
+            .setParamIdx(0)
+            .setCount(2)
+            .setSketchTopK(16);
+        ResourceWrapper resourceWrapper = prepare(rule);
+
+        assertTrue(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, Arrays.asList("a", "a")));
+        assertFalse(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, Collections.singletonList("a")));
+        assertTrue(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, Collections.singletonList("b")));
+        // "b" turns hot and is counted exactly in the batch, whose token is given back as "a" is blocked.
+        assertFalse(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, Arrays.asList("b", "a")));
+        assertTrue(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, Collections.singletonList("b")));
+        assertFalse(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, Collections.singletonList("b")));
+    }
+
+    @Test
+    public void testDuplicateValuesInBatch() {
+        ParamFlowRule rule = new ParamFlowRule("testDuplicateValuesInBatch")
+            .setParamIdx(0)
+            .setCount(2);
+        ResourceWrapper resourceWrapper = prepare(rule);
+
+        assertFalse(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, new long[] {1L, 1L, 1L}));
+        assertTrue(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, new long[] {1L, 1L}));
+        assertFalse(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, new long[] {1L}));
+    }
+
+    @Test
+    public void testFailFastWithZeroThresholdItem() {
+        ParamFlowItem item = new ParamFlowItem().setObject("z")
+            .setClassType(String.class.getName())
+            .setCount(0);
+        ParamFlowRule rule = new ParamFlowRule("testFailFastWithZeroThresholdItem")
+            .setParamIdx(0)
+            .setCount(1)
+            .setParamFlowItemList(Collections.singletonList(item));
+        ResourceWrapper resourceWrapper = prepare(rule);
+
+        assertFalse(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, (Object)new String[] {"a", "z"}));
+        assertTrue(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, (Object)new String[] {"a", null}));
+        assertFalse(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, (Object)new String[] {"a"}));
+    }
+
+    @Test
+    public void testRateLimiterCheckedPerValue() {
+        ParamFlowRule rule = new ParamFlowRule("testRateLimiterCheckedPerValue")
+            .setParamIdx(0)
+            .setCount(1)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER);
+        ResourceWrapper resourceWrapper = prepare(rule);
+
+        assertTrue(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, Collections.singletonList("a")));
+        // The queueing of rate limiter can't be rolled back, so "b" has passed.
+        assertFalse(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, Arrays.asList("b", "a")));
+        assertFalse(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, Collections.singletonList("b")));
+    }
+
+    private void assertRollback(ParamFlowRule rule) {
+        ResourceWrapper resourceWrapper = prepare(rule);
+
+        assertTrue(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, Collections.singletonList("a")));
+        // "b" and "c" are acquired before "a" is blocked, and their tokens are given back.
+        assertFalse(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, Arrays.asList("b", "c", "a")));
+        assertTrue(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, new HashSet<>(Arrays.asList("b", "c"))));
+        assertFalse(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, (Object)new Object[] {"b"}));
+    }
+
+    private ResourceWrapper prepare(ParamFlowRule rule) {
+        ParamFlowRuleUtil.fillExceptionFlowItems(rule);
+        ResourceWrapper resourceWrapper = new StringResourceWrapper(rule.getResource(), EntryType.IN);
+        ParameterMetricStorage.initParamMetricsFor(resourceWrapper, rule);
+        return resourceWrapper;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.param;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ParamValueExtractorTest {
+
+    @After
+    public void tearDown() {
+        ParameterMetricStorage.getMetricsMap().clear();
+    }
+
+    @Test
+    public void testExtract() {
+        ParamValueExtractor extractor = new ParamValueExtractor(1);
+        assertNull(extractor.extract(null));
+        assertNull(extractor.extract(new Object[] {"a"}));
+        assertEquals("b", extractor.extract(new Object[] {"a", "b"}));
+        assertEquals("key", extractor.extract(new Object[] {"a", new ParamFlowArgument() {
+            @Override
+            public Object paramFlowKey() {
+                return "key";
+            }
+        }}));
+
+        ParamValueExtractor lastExtractor = new ParamValueExtractor(-1);
+        assertEquals("c", lastExtractor.extract(new Object[] {"a", "b", "c"}));
+        assertNull(new ParamValueExtractor(-4).extract(new Object[] {"a", "b", "c"}));
+    }
+
+    @Test
+    public void testKindOf() {
+        ParamValueExtractor extractor = new ParamValueExtractor(0);
+        assertEquals(ParamValueExtractor.KIND_SINGLE, extractor.kindOf("a"));
+        assertEquals(ParamValueExtractor.KIND_RANDOM_ACCESS_LIST, extractor.kindOf(new ArrayList<Object>()));
+        assertEquals(ParamValueExtractor.KIND_COLLECTION, extractor.kindOf(new LinkedList<Object>()));
+        assertEquals(ParamValueExtractor.KIND_COLLECTION, extractor.kindOf(new HashSet<Object>()));
+        assertEquals(ParamValueExtractor.KIND_OBJECT_ARRAY, extractor.kindOf(new String[0]));
+        assertEquals(ParamValueExtractor.KIND_INT_ARRAY, extractor.kindOf(new int[0]));
+        assertEquals(ParamValueExtractor.KIND_LONG_ARRAY, extractor.kindOf(new long[0]));
+        assertEquals(ParamValueExtractor.KIND_CHAR_ARRAY, extractor.kindOf(new char[0]));
+        assertEquals(ParamValueExtractor.KIND_BOOLEAN_ARRAY, extractor.kindOf(new boolean[0]));
+        assertEquals(ParamValueExtractor.KIND_FLOAT_ARRAY, extractor.kindOf(new float[0]));
+        // The cached kind is replaced when the value class changes.
+        assertEquals(ParamValueExtractor.KIND_SINGLE, extractor.kindOf(1));
+    }
+
+    @Test
+    public void testElementAtBoxesAsReflection() {
+        Object[] arrays = {new int[] {1, 2}, new long[] {1L, 2L}, new short[] {1, 2}, new byte[] {1, 2},
+            new char[] {'a', 'b'}, new boolean[] {true, false}, new double[] {1.5, 2.5}, new float[] {1.5f, 2.5f},
+            new String[] {"a", "b"}};
+        for (Object array : arrays) {
+            int kind = ParamValueExtractor.resolveKind(array.getClass());
+            assertEquals(java.lang.reflect.Array.getLength(array), ParamValueExtractor.length(array, kind));
+            for (int i = 0; i < ParamValueExtractor.length(array, kind); i++) {
+                assertEquals(java.lang.reflect.Array.get(array, i), ParamValueExtractor.elementAt(array, kind, i));
+            }
+        }
+    }
+
+    @Test
+    public void testToCollection() {
+        ParamValueExtractor extractor = new ParamValueExtractor(0);
+        List<Object> list = new ArrayList<Object>(Arrays.<Object>asList("a", "b"));
+        assertSame(list, extractor.toCollection(list));
+        assertEquals(Collections.<Object>singletonList("a"), extractor.toCollection("a"));
+        Collection<Object> values = extractor.toCollection(new long[] {1L, 2L});
+        assertEquals(Arrays.<Object>asList(1L, 2L), values);
+    }
+
+    @Test
+    public void testCompiledWhenRuleLoadedAndParamIdxChanged() {
+        ParamFlowRule rule = new ParamFlowRule("abc").setParamIdx(0).setCount(1);
+        ParamFlowRuleUtil.fillExceptionFlowItems(rule);
+        ParamValueExtractor extractor = rule.getValueExtractor();
+        assertSame(extractor, rule.getValueExtractor());
+        assertEquals(0, extractor.getParamIdx());
+
+        rule.setParamIdx(2);
+        assertEquals(2, rule.getValueExtractor().getParamIdx());
+    }
+
+    @Test
+    public void testCheckCollectionAndArrayValues() {
+        String resourceName = "testCheckCollectionAndArrayValues";
+        ResourceWrapper resourceWrapper = new StringResourceWrapper(resourceName, EntryType.IN);
+        ParamFlowRule rule = new ParamFlowRule(resourceName)
+            .setCount(1)
+            .setParamIdx(0);
+        ParamFlowRuleUtil.fillExceptionFlowItems(rule);
+        ParameterMetricStorage.initParamMetricsFor(resourceWrapper, rule);
+
+        assertTrue(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, new int[] {1, 2}));
+        assertFalse(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, Arrays.asList(3, 2)));
+        assertTrue(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, new LinkedList<Object>(Arrays.asList(4, 5))));
+        assertFalse(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, (Object)new Integer[] {6, 5}));
+        assertTrue(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, new long[] {1L, 2L}));
+    }
+}
@@ -18,10 +18,12 @@ package com.alibaba.csp.sentinel.slots.block.flow.param;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -181,6 +183,55 @@ public class ParameterMetricTest {
         assertEquals(0, threadCountMap.size());
     }
 
+    @Test
+    public void testRetainRules() {
+        ParameterMetric metric = new ParameterMetric();
+        ParamFlowRule rule1 = new ParamFlowRule("abc").setParamIdx(0);
+        ParamFlowRule rule2 = new ParamFlowRule("abc").setParamIdx(1).setCount(5);
+        ParamFlowRule rule3 = new ParamFlowRule("abc").setParamIdx(1).setCount(10);
+        metric.initialize(rule1);
+        metric.initialize(rule2);
+        metric.initialize(rule3);
+        CacheMap<Object, AtomicLong> timeRecordMap3 = metric.getRuleTimeCounter(rule3);
+        CacheMap<Object, AtomicInteger> threadCountMap1 = metric.getThreadCountMap().get(1);
+        assertEquals(2, metric.getThreadCountMap().size());
+
+        // An equal rule from the reloaded rules keeps the counters.
+        ParamFlowRule reloadedRule3 = new ParamFlowRule("abc").setParamIdx(1).setCount(10);
+        metric.retainRules(Collections.singletonList(reloadedRule3));
+        assertNull(metric.getRuleTimeCounter(rule1));
+        assertNull(metric.getRuleTimeCounter(rule2));
+        assertSame(timeRecordMap3, metric.getRuleTimeCounter(rule3));
+        assertEquals(1, metric.getThreadCountMap().size());
+        assertSame(threadCountMap1, metric.getThreadCountMap().get(1));
+        // The counters are bound to the reloaded instance, which is passed by the slot on entry.
+        assertSame(reloadedRule3, metric.getRuleTimeCounterMap().keySet().iterator().next());
+        assertSame(timeRecordMap3, metric.getRuleTimeCounter(reloadedRule3));
+
+        metric.retainRules(null);
+        assertEquals(0, metric.getRuleTimeCounterMap().size());
+        assertEquals(0, metric.getThreadCountMap().size());
+    }
+
+    @Test
+    public void testInitializeAfterResolvingParamIdx() {
+        ParameterMetric metric = new ParameterMetric();
+        ParamFlowRule rule = new ParamFlowRule("abc").setParamIdx(-1);
+        metric.initialize(rule);
+        CacheMap<Object, AtomicLong> timeRecordMap = metric.getRuleTimeCounter(rule);
+        assertNotNull(timeRecordMap);
+        assertEquals(0, metric.getThreadCountMap().size());
+
+        // The negative index is resolved by the slot with the arguments.
+        rule.setParamIdx(2);
+        metric.initialize(rule);
+        assertSame(timeRecordMap, metric.getRuleTimeCounter(rule));
+        assertNotNull(metric.getThreadCountMap().get(2));
+        metric.addThreadCount("a", "b", "c");
+        assertEquals(1, metric.getThreadCount(2, "c"));
+        assertEquals(0, metric.getThreadCount(5, "c"));
+    }
+
     private static final int PARAM_TYPE_NORMAL = 0;
     private static final int PARAM_TYPE_ARRAY = 1;
     private static final int PARAM_TYPE_COLLECTION = 2;
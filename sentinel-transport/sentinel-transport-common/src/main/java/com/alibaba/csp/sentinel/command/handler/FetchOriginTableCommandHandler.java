@@ -0,0 +1,60 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.command.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.alibaba.csp.sentinel.command.CommandHandler;
+import com.alibaba.csp.sentinel.command.CommandRequest;
+import com.alibaba.csp.sentinel.command.CommandResponse;
+import com.alibaba.csp.sentinel.command.annotation.CommandMapping;
+import com.alibaba.csp.sentinel.command.vo.OriginTableVo;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.fastjson.JSONArray;
+
+/**
+ * Fetch statistics of the origin tables (origin count, evicted origins and overflowed lookups) of resources.
+ *
+ * @since 1.8.1
+ */
+@CommandMapping(name = "originTable", desc = "get origin table statistics of resources, "
+    + "request param: id={resourceName} (optional), type=notZero to ignore resources without origins")
+public class FetchOriginTableCommandHandler implements CommandHandler<String> {
+
+    @Override
+    public CommandResponse<String> handle(CommandRequest request) {
+        String name = request.getParam("id");
+        String type = request.getParam("type");
+        List<OriginTableVo> list = new ArrayList<OriginTableVo>();
+        for (Map.Entry<ResourceWrapper, ClusterNode> entry : ClusterBuilderSlot.getClusterNodeMap().entrySet()) {
+            if (StringUtil.isNotEmpty(name) && !name.equals(entry.getKey().getName())) {
+                continue;
+            }
+            ClusterNode node = entry.getValue();
+            if ("notZero".equalsIgnoreCase(type) && node.getOriginCountMap().isEmpty()
+                && node.getOverflowOriginNode() == null) {
+                continue;
+            }
+            list.add(OriginTableVo.fromClusterNode(entry.getKey(), node));
+        }
+        return CommandResponse.ofSuccess(JSONArray.toJSONString(list));
+    }
+}
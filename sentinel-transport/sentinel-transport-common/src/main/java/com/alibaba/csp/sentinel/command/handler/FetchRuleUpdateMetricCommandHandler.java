@@ -0,0 +1,41 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.command.handler;
+
+import com.alibaba.csp.sentinel.command.CommandHandler;
+import com.alibaba.csp.sentinel.command.CommandRequest;
+import com.alibaba.csp.sentinel.command.CommandResponse;
+import com.alibaba.csp.sentinel.command.annotation.CommandMapping;
+import com.alibaba.csp.sentinel.slots.block.RuleUpdateMetricStorage;
+import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.fastjson.JSON;
+
+/**
+ * @since 1.8.1
+ */
+@CommandMapping(name = "getRuleUpdateMetrics",
+    desc = "get timing metrics of the latest rule updates, request param: type={ruleType} (optional)")
+public class FetchRuleUpdateMetricCommandHandler implements CommandHandler<String> {
+
+    @Override
+    public CommandResponse<String> handle(CommandRequest request) {
+        String type = request.getParam("type");
+        if (StringUtil.isBlank(type)) {
+            return CommandResponse.ofSuccess(JSON.toJSONString(RuleUpdateMetricStorage.getMetrics()));
+        }
+        return CommandResponse.ofSuccess(JSON.toJSONString(RuleUpdateMetricStorage.getMetric(type)));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.command.vo;
+
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.StatisticNode;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+
+/**
+ * View object of the origin table of a {@link ClusterNode}, which helps sizing the origin table.
+ *
+ * @since 1.8.1
+ */
+public class OriginTableVo {
+
+    private String resource;
+
+    private Integer originCount;
+    private Integer maxOriginCount;
+    private Long evictedCount;
+    private Long overflowCount;
+    private Long overflowPassQps;
+    private Long overflowBlockQps;
+
+    public static OriginTableVo fromClusterNode(ResourceWrapper id, ClusterNode node) {
+        if (node == null) {
+            return null;
+        }
+        OriginTableVo vo = new OriginTableVo();
+        vo.resource = id.getShowName();
+        vo.originCount = node.getOriginCountMap().size();
+        vo.maxOriginCount = node.getMaxOriginCount();
+        vo.evictedCount = node.getEvictedOriginCount();
+        vo.overflowCount = node.getOverflowOriginCount();
+        StatisticNode overflowNode = node.getOverflowOriginNode();
+        vo.overflowPassQps = overflowNode == null ? 0L : (long) overflowNode.passQps();
+        vo.overflowBlockQps = overflowNode == null ? 0L : (long) overflowNode.blockQps();
+        return vo;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public void setResource(String resource) {
+        this.resource = resource;
+    }
+
+    public Integer getOriginCount() {
+        return originCount;
+    }
+
+    public void setOriginCount(Integer originCount) {
+        this.originCount = originCount;
+    }
+
+    public Integer getMaxOriginCount() {
+        return maxOriginCount;
+    }
+
+    public void setMaxOriginCount(Integer maxOriginCount) {
+        this.maxOriginCount = maxOriginCount;
+    }
+
+    public Long getEvictedCount() {
+        return evictedCount;
+    }
+
+    public void setEvictedCount(Long evictedCount) {
+        this.evictedCount = evictedCount;
+    }
+
+    public Long getOverflowCount() {
+        return overflowCount;
+    }
+
+    public void setOverflowCount(Long overflowCount) {
+        this.overflowCount = overflowCount;
+    }
+
+    public Long getOverflowPassQps() {
+        return overflowPassQps;
+    }
+
+    public void setOverflowPassQps(Long overflowPassQps) {
+        this.overflowPassQps = overflowPassQps;
+    }
+
+    public Long getOverflowBlockQps() {
+        return overflowBlockQps;
+    }
+
+    public void setOverflowBlockQps(Long overflowBlockQps) {
+        this.overflowBlockQps = overflowBlockQps;
+    }
+}